@@ -0,0 +1,80 @@
+package com.communityhub.dao;
+
+import com.communityhub.model.Request;
+import com.communityhub.model.UrgencyLevel;
+import com.communityhub.util.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestDAO primary-key reads, requester lookups and inserts against a scratch SQLite file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestDAOBenchmark {
+
+    @Param({"10000"})
+    public int requests;
+
+    private BenchmarkDatabase database;
+    private RequestDAO requestDAO;
+    private List<String> requestIds;
+    private List<String> requesterIds;
+    private List<String> resourceIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.create();
+        requesterIds = database.insertUsers(200, "REQUESTER");
+        resourceIds = database.insertResources(1000, requesterIds.get(0));
+        requestIds = database.insertRequests(requests, requesterIds, resourceIds);
+        requestDAO = new RequestDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Request read() throws Exception {
+        return requestDAO.read(requestIds.get(next(requestIds.size())));
+    }
+
+    @Benchmark
+    public List<Request> findByRequester() throws Exception {
+        return requestDAO.findByField("requester_id", requesterIds.get(next(requesterIds.size())));
+    }
+
+    @Benchmark
+    public Request create() throws Exception {
+        Request request = new Request(requesterIds.get(next(requesterIds.size())),
+            resourceIds.get(next(resourceIds.size())), "Benchmark request", UrgencyLevel.MEDIUM);
+        requestDAO.create(request);
+        return request;
+    }
+
+    private int next(int bound) {
+        cursor = (cursor + 7919) & Integer.MAX_VALUE;
+        return cursor % bound;
+    }
+}
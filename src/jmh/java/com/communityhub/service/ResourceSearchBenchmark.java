@@ -0,0 +1,60 @@
+package com.communityhub.service;
+
+import com.communityhub.model.Resource;
+import com.communityhub.util.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResourceService.searchResources over small and large resource tables
+ * A common word matches many rows; a resource number matches one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceSearchBenchmark {
+
+    @Param({"1000", "100000"})
+    public int resources;
+
+    @Param({"water", "#77"})
+    public String query;
+
+    private BenchmarkDatabase database;
+    private ResourceService resourceService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.create();
+        List<String> owners = database.insertUsers(1, "VOLUNTEER");
+        database.insertResources(resources, owners.get(0));
+        resourceService = new ResourceService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Resource> searchResources() throws Exception {
+        return resourceService.searchResources(query);
+    }
+}
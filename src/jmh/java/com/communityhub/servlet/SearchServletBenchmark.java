@@ -0,0 +1,52 @@
+package com.communityhub.servlet;
+
+import com.communityhub.core.Constants;
+import com.communityhub.model.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchServlet's conversion of search results to maps and then to JSON
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchServletBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int results;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Resource> resources;
+
+    @Setup
+    public void setUp() {
+        resources = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            resources.add(new Resource("Winter coat #" + i, "Donated coat in good condition, size " + (i % 5 + 1),
+                Constants.ResourceCategory.CLOTHING, 1 + i % 10, "District " + i % 20, "555-0100", "owner-" + i % 50));
+        }
+    }
+
+    @Benchmark
+    public String serializeResults() throws Exception {
+        return objectMapper.writeValueAsString(SearchServlet.convertToJsonFormat(resources));
+    }
+}
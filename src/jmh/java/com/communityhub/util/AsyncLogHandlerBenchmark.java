@@ -0,0 +1,108 @@
+package com.communityhub.util;
+
+import com.communityhub.core.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.stream.Stream;
+
+/**
+ * An INFO log call from several request threads, with and without AsyncLogHandler
+ * sync: a FileHandler on the root logger, as with logging.async.enabled=false, which formats
+ * and flushes on the calling thread. async-block and async-drop put the same file behind an
+ * AsyncLogHandler with each overflow policy; async-drop measures what the calling thread pays
+ * when the writer cannot keep up, async-block the rate the writer sustains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AsyncLogHandlerBenchmark {
+
+    private static final int LOG_FILE_LIMIT = 10 * 1024 * 1024;
+
+    @Param({"sync", "async-block", "async-drop"})
+    public String mode;
+
+    private Path directory;
+    private Handler handler;
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-bench-");
+        String pattern = directory.resolve("bench-%g.log").toString();
+        if ("sync".equals(mode)) {
+            handler = new FileHandler(pattern, LOG_FILE_LIMIT, 2, true);
+            handler.setFormatter(new SimpleFormatter());
+        } else {
+            FileHandler file = new BatchedFileHandler(pattern);
+            file.setFormatter(new SimpleFormatter());
+            AsyncLogHandler.OverflowPolicy policy = "async-drop".equals(mode)
+                ? AsyncLogHandler.OverflowPolicy.DROP : AsyncLogHandler.OverflowPolicy.BLOCK;
+            handler = new AsyncLogHandler(Constants.Logging.ASYNC_BUFFER_SIZE, Constants.Logging.ASYNC_BATCH_SIZE,
+                                          policy, file);
+        }
+
+        logger = Logger.getLogger("com.communityhub.bench.AsyncLogHandlerBenchmark");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(java.util.logging.Level.INFO);
+        logger.addHandler(handler);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.removeHandler(handler);
+        handler.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void logInfo() {
+        logger.log(java.util.logging.Level.INFO, "Request updated: {0}", "req-4711");
+    }
+
+    /**
+     * Flushes once per batch rather than after every record, like the handler LoggingConfig uses
+     */
+    private static final class BatchedFileHandler extends FileHandler {
+        BatchedFileHandler(String pattern) throws IOException {
+            super(pattern, LOG_FILE_LIMIT, 2, true);
+        }
+
+        @Override
+        public void flush() {
+            if (AsyncLogHandler.originThreadName() == null) {
+                super.flush();
+            }
+        }
+    }
+}
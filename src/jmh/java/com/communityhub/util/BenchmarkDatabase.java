@@ -0,0 +1,179 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.exception.DatabaseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scratch SQLite database for benchmarks
+ *
+ * Points db.url at a temporary file, creates the schema through DBConnection and bulk-loads
+ * rows with batched inserts in one transaction, so seeding 100k rows takes seconds rather
+ * than one commit per row. Application logging is raised to WARNING so console output does
+ * not dominate the measurements.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final String[] WORDS = {
+        "water", "blanket", "rice", "insulin", "bicycle", "laptop", "textbook", "tent",
+        "coat", "formula", "wheelchair", "generator", "pasta", "bandage", "ladder", "charger"
+    };
+    private static final String[] CATEGORIES = {
+        Constants.ResourceCategory.FOOD, Constants.ResourceCategory.CLOTHING, Constants.ResourceCategory.MEDICAL,
+        Constants.ResourceCategory.SHELTER, Constants.ResourceCategory.TRANSPORTATION,
+        Constants.ResourceCategory.EDUCATION, Constants.ResourceCategory.TOOLS, Constants.ResourceCategory.TECHNOLOGY
+    };
+    private static final String[] URGENCY = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final String[] STATUS = {"PENDING", "ASSIGNED", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+
+    private final Path file;
+    private final Random random = new Random(42);
+
+    private BenchmarkDatabase(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates a fresh database file and its schema
+     * @return Open benchmark database
+     * @throws IOException if the file cannot be created
+     * @throws DatabaseException if the schema cannot be created
+     */
+    public static BenchmarkDatabase create() throws IOException, DatabaseException {
+        Logger.getLogger("com.communityhub").setLevel(Level.WARNING);
+        Path file = Files.createTempFile("community-hub-bench-", ".db");
+        ConfigurationManager.getInstance().setProperty("db.url", "jdbc:sqlite:" + file.toAbsolutePath());
+        DBConnection.getInstance().closeConnection();
+        DBConnection.getInstance().initializeDatabase();
+        return new BenchmarkDatabase(file);
+    }
+
+    /**
+     * Inserts users with the given role
+     * @param count Number of users
+     * @param role ADMIN, VOLUNTEER or REQUESTER
+     * @return IDs of the inserted users
+     * @throws SQLException if the insert fails
+     * @throws DatabaseException if no connection is available
+     */
+    public List<String> insertUsers(int count, String role) throws SQLException, DatabaseException {
+        List<String> ids = new ArrayList<>(count);
+        String prefix = role.toLowerCase() + "-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        insert("INSERT INTO users (user_id, username, email, password_hash, role) VALUES (?, ?, ?, ?, ?)", count,
+            (stmt, i) -> {
+                String id = UUID.randomUUID().toString();
+                ids.add(id);
+                stmt.setString(1, id);
+                stmt.setString(2, prefix + i);
+                stmt.setString(3, prefix + i + "@bench.example");
+                stmt.setString(4, "not-a-real-hash");
+                stmt.setString(5, role);
+            });
+        return ids;
+    }
+
+    /**
+     * Inserts resources with names and descriptions drawn from a small vocabulary
+     * @param count Number of resources
+     * @param createdBy Owning user ID
+     * @return IDs of the inserted resources
+     * @throws SQLException if the insert fails
+     * @throws DatabaseException if no connection is available
+     */
+    public List<String> insertResources(int count, String createdBy) throws SQLException, DatabaseException {
+        List<String> ids = new ArrayList<>(count);
+        insert("INSERT INTO resources (resource_id, name, description, category, quantity, location, contact_info, created_by) "
+               + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", count,
+            (stmt, i) -> {
+                String id = UUID.randomUUID().toString();
+                ids.add(id);
+                stmt.setString(1, id);
+                stmt.setString(2, word() + " " + word() + " #" + i);
+                stmt.setString(3, "Donated " + word() + " and " + word() + " in good condition");
+                stmt.setString(4, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                stmt.setInt(5, 1 + random.nextInt(50));
+                stmt.setString(6, "District " + random.nextInt(20));
+                stmt.setString(7, "555-01" + String.format("%02d", random.nextInt(100)));
+                stmt.setString(8, createdBy);
+            });
+        return ids;
+    }
+
+    /**
+     * Inserts requests spread over the given requesters and resources
+     * @param count Number of requests
+     * @param requesterIds Requesters to choose from
+     * @param resourceIds Resources to choose from
+     * @return IDs of the inserted requests
+     * @throws SQLException if the insert fails
+     * @throws DatabaseException if no connection is available
+     */
+    public List<String> insertRequests(int count, List<String> requesterIds, List<String> resourceIds)
+            throws SQLException, DatabaseException {
+        List<String> ids = new ArrayList<>(count);
+        insert("INSERT INTO requests (request_id, requester_id, resource_id, status, description, urgency_level) "
+               + "VALUES (?, ?, ?, ?, ?, ?)", count,
+            (stmt, i) -> {
+                String id = UUID.randomUUID().toString();
+                ids.add(id);
+                stmt.setString(1, id);
+                stmt.setString(2, requesterIds.get(random.nextInt(requesterIds.size())));
+                stmt.setString(3, resourceIds.get(random.nextInt(resourceIds.size())));
+                stmt.setString(4, STATUS[random.nextInt(STATUS.length)]);
+                stmt.setString(5, "Need " + word() + " for family of " + (1 + random.nextInt(6)));
+                stmt.setString(6, URGENCY[random.nextInt(URGENCY.length)]);
+            });
+        return ids;
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private void insert(String sql, int count, RowBinder binder) throws SQLException, DatabaseException {
+        Connection connection = DBConnection.getInstance().getConnection();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                binder.bind(stmt, i);
+                stmt.addBatch();
+                if (i % 1000 == 999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement stmt, int index) throws SQLException;
+    }
+
+    /**
+     * Closes the connection and deletes the database file
+     */
+    @Override
+    public void close() throws IOException {
+        DBConnection.getInstance().closeConnection();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Paths.get(file + "-journal"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.communityhub.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing and verification at the configured iteration count
+ * Runs on the calling thread, without PasswordHashExecutor
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordUtilsBenchmark {
+
+    private static final String PASSWORD = "Correct-Horse-42";
+
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        storedHash = PasswordUtils.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtils.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return PasswordUtils.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    public boolean verifyWrongPassword() {
+        return PasswordUtils.verifyPassword("Wrong-Horse-42", storedHash);
+    }
+}
@@ -0,0 +1,73 @@
+package com.communityhub.util;
+
+import com.communityhub.exception.InvalidInputException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidationUtils on the inputs registration and request forms submit
+ * The invalid case includes the cost of building the InvalidInputException
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationUtilsBenchmark {
+
+    public String email = "jane.volunteer@example.org";
+    public String invalidEmail = "jane.volunteer@@example";
+    public String username = "jane_volunteer";
+    public String password = "Correct-Horse-42";
+    public String phone = "+1 (555) 010-2030";
+    public String userText = "Need <b>two</b> blankets & a \"warm\" coat for my son's school trip";
+
+    @Benchmark
+    public String validateEmail() throws InvalidInputException {
+        ValidationUtils.validateEmail(email);
+        return email;
+    }
+
+    @Benchmark
+    public Object validateInvalidEmail() {
+        try {
+            ValidationUtils.validateEmail(invalidEmail);
+            return invalidEmail;
+        } catch (InvalidInputException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String validateUsername() throws InvalidInputException {
+        ValidationUtils.validateUsername(username);
+        return username;
+    }
+
+    @Benchmark
+    public String validatePassword() throws InvalidInputException {
+        ValidationUtils.validatePassword(password);
+        return password;
+    }
+
+    @Benchmark
+    public String validatePhoneNumber() throws InvalidInputException {
+        ValidationUtils.validatePhoneNumber(phone);
+        return phone;
+    }
+
+    @Benchmark
+    public String sanitizeInput() {
+        return ValidationUtils.sanitizeInput(userText);
+    }
+}
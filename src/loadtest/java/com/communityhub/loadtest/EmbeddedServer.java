@@ -0,0 +1,75 @@
+package com.communityhub.loadtest;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.WebResourceRoot;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.valves.RemoteIpValve;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.apache.catalina.webresources.StandardRoot;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * The Community Hub webapp running in embedded Tomcat
+ *
+ * The webapp directory supplies web.xml and the JSPs; the compiled classes are mounted at
+ * WEB-INF/classes so the @WebServlet/@WebFilter/@WebListener annotations are scanned exactly
+ * as in the WAR. The webapp class loader delegates to the parent first, so the harness and
+ * the webapp share one copy of ConfigurationManager and DBConnection; that is how the
+ * harness points the app at its scratch database.
+ *
+ * RemoteIpValve trusts X-Forwarded-For from localhost, which lets each virtual user present
+ * its own client address to the per-address login throttling.
+ */
+final class EmbeddedServer {
+
+    static final String CONTEXT_PATH = "/community-hub";
+
+    private final Tomcat tomcat = new Tomcat();
+    private int port;
+
+    /**
+     * Starts Tomcat
+     * @param webappDir Directory containing WEB-INF/web.xml and the JSPs
+     * @param classesDir Compiled application classes
+     * @param requestedPort Port to listen on, 0 for any free port
+     * @throws Exception if the server fails to start
+     */
+    void start(File webappDir, File classesDir, int requestedPort) throws Exception {
+        File baseDir = Files.createTempDirectory("community-hub-tomcat").toFile();
+        tomcat.setBaseDir(baseDir.getAbsolutePath());
+        tomcat.setPort(requestedPort);
+        tomcat.getConnector().setProperty("maxThreads", "200");
+        tomcat.getEngine().getPipeline().addValve(new RemoteIpValve());
+
+        Context context = tomcat.addWebapp(CONTEXT_PATH, webappDir.getAbsolutePath());
+        WebResourceRoot resources = new StandardRoot(context);
+        resources.addPreResources(new DirResourceSet(resources, "/WEB-INF/classes",
+            classesDir.getAbsolutePath(), "/"));
+        context.setResources(resources);
+        context.setParentClassLoader(EmbeddedServer.class.getClassLoader());
+        ((StandardContext) context).setDelegate(true);
+
+        tomcat.start();
+        if (!context.getState().isAvailable()) {
+            throw new IllegalStateException("Webapp failed to start, see the log above");
+        }
+        port = tomcat.getConnector().getLocalPort();
+    }
+
+    /**
+     * Gets the base URL of the webapp
+     * @return URL without a trailing slash
+     */
+    String getBaseUrl() {
+        return "http://localhost:" + port + CONTEXT_PATH;
+    }
+
+    void stop() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
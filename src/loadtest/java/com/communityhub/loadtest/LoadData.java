@@ -0,0 +1,149 @@
+package com.communityhub.loadtest;
+
+import com.communityhub.core.Constants;
+import com.communityhub.util.DBConnection;
+import com.communityhub.util.PasswordUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Accounts and rows the load journeys work with
+ *
+ * Requesters and volunteers share one password whose hash is computed once. Every volunteer
+ * gets a queue of requests already ASSIGNED to them, which volunteer journeys take and move
+ * through IN_PROGRESS to COMPLETED. Rows are bulk-inserted with batched statements.
+ */
+final class LoadData {
+
+    static final String PASSWORD = "LoadTest-2024!";
+    static final String[] SEARCH_TERMS = {"water", "blanket", "rice", "coat", "laptop", "tent", "insulin", "bike"};
+
+    private static final String[] CATEGORIES = {
+        Constants.ResourceCategory.FOOD, Constants.ResourceCategory.CLOTHING, Constants.ResourceCategory.MEDICAL,
+        Constants.ResourceCategory.SHELTER, Constants.ResourceCategory.TRANSPORTATION,
+        Constants.ResourceCategory.EDUCATION, Constants.ResourceCategory.TECHNOLOGY
+    };
+    private static final String[] URGENCY = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+
+    private final List<String> requesters = new ArrayList<>();
+    private final Map<String, Queue<String>> assignedByVolunteer = new LinkedHashMap<>();
+    private final List<String> volunteers = new ArrayList<>();
+    private final List<String> resourceIds = new ArrayList<>();
+
+    /**
+     * Seeds the database the webapp is using
+     * @param options Harness options
+     * @return Seeded data
+     * @throws Exception if seeding fails
+     */
+    static LoadData seed(LoadOptions options) throws Exception {
+        LoadData data = new LoadData();
+        Random random = new Random(options.getInt("seed", 42));
+        String hash = PasswordUtils.hashPassword(PASSWORD);
+        Connection connection = DBConnection.getInstance().getConnection();
+
+        List<String> requesterIds = new ArrayList<>();
+        List<String> volunteerIds = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO users (user_id, username, email, password_hash, role) VALUES (?, ?, ?, ?, ?)")) {
+            addUsers(stmt, options.getInt("requesters", 100), "loadreq", "REQUESTER", hash, data.requesters, requesterIds);
+            addUsers(stmt, options.getInt("volunteers", 40), "loadvol", "VOLUNTEER", hash, data.volunteers, volunteerIds);
+            stmt.executeBatch();
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO resources (resource_id, name, description, category, quantity, location, contact_info, created_by) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int resources = options.getInt("resources", 1000);
+            for (int i = 0; i < resources; i++) {
+                String id = UUID.randomUUID().toString();
+                data.resourceIds.add(id);
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                stmt.setString(1, id);
+                stmt.setString(2, "Donated " + term + " #" + i);
+                stmt.setString(3, "Gently used " + term + ", pick up any weekday");
+                stmt.setString(4, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                stmt.setInt(5, 1 + random.nextInt(40));
+                stmt.setString(6, "District " + random.nextInt(12));
+                stmt.setString(7, "555-0199");
+                stmt.setString(8, volunteerIds.get(random.nextInt(volunteerIds.size())));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO requests (request_id, requester_id, resource_id, volunteer_id, status, description, urgency_level) "
+                + "VALUES (?, ?, ?, ?, 'ASSIGNED', ?, ?)")) {
+            int perVolunteer = options.getInt("assigned-per-volunteer", 500);
+            for (int v = 0; v < volunteerIds.size(); v++) {
+                Queue<String> queue = new ConcurrentLinkedQueue<>();
+                for (int i = 0; i < perVolunteer; i++) {
+                    String id = UUID.randomUUID().toString();
+                    queue.add(id);
+                    stmt.setString(1, id);
+                    stmt.setString(2, requesterIds.get(random.nextInt(requesterIds.size())));
+                    stmt.setString(3, data.resourceIds.get(random.nextInt(data.resourceIds.size())));
+                    stmt.setString(4, volunteerIds.get(v));
+                    stmt.setString(5, "Seeded load-test request " + i);
+                    stmt.setString(6, URGENCY[random.nextInt(URGENCY.length)]);
+                    stmt.addBatch();
+                }
+                data.assignedByVolunteer.put(data.volunteers.get(v), queue);
+            }
+            stmt.executeBatch();
+        }
+
+        connection.commit();
+        return data;
+    }
+
+    private static void addUsers(PreparedStatement stmt, int count, String prefix, String role, String hash,
+                                 List<String> usernames, List<String> ids) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID().toString();
+            String username = prefix + i;
+            stmt.setString(1, id);
+            stmt.setString(2, username);
+            stmt.setString(3, username + "@load.example");
+            stmt.setString(4, hash);
+            stmt.setString(5, role);
+            stmt.addBatch();
+            usernames.add(username);
+            ids.add(id);
+        }
+    }
+
+    List<String> getRequesters() {
+        return Collections.unmodifiableList(requesters);
+    }
+
+    List<String> getVolunteers() {
+        return Collections.unmodifiableList(volunteers);
+    }
+
+    List<String> getResourceIds() {
+        return Collections.unmodifiableList(resourceIds);
+    }
+
+    /**
+     * Takes the next assigned request for a volunteer
+     * @param volunteer Volunteer username
+     * @return Request ID, or null when the volunteer has none left
+     */
+    String takeAssignedRequest(String volunteer) {
+        Queue<String> queue = assignedByVolunteer.get(volunteer);
+        return queue != null ? queue.poll() : null;
+    }
+}
@@ -0,0 +1,200 @@
+package com.communityhub.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives journeys against the server in closed- or open-loop fashion
+ *
+ * Closed loop: a fixed number of virtual users each run journeys back to back, so offered
+ * load falls when the server slows down. This shows capacity at a given concurrency.
+ *
+ * Open loop: journeys start at Poisson-distributed arrival times at a fixed average rate
+ * whether or not earlier ones have finished, like real traffic. Each journey's "session"
+ * time is measured from its scheduled arrival, so a backed-up generator shows up as latency
+ * rather than silently lowering the load. Arrivals beyond --max-sessions in flight are
+ * recorded as rejected sessions.
+ */
+final class LoadGenerator {
+
+    private final LoadOptions options;
+    private final String baseUrl;
+    private final LoadData data;
+    private final LoadReport report;
+    private final String[] journeys;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger clientNumbers = new AtomicInteger();
+    private final HttpClient client;
+
+    LoadGenerator(LoadOptions options, String baseUrl, LoadData data, LoadReport report) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.report = report;
+
+        Map<String, Integer> mix = options.getMix();
+        this.journeys = mix.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[journeys.length];
+        int total = 0;
+        for (int i = 0; i < journeys.length; i++) {
+            total += mix.get(journeys[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newCachedThreadPool(daemonThreads("loadtest-http")))
+            .build();
+    }
+
+    /**
+     * Runs warm-up and then the measured period
+     * @throws InterruptedException if interrupted
+     */
+    void run() throws InterruptedException {
+        long warmupNanos = TimeUnit.SECONDS.toNanos(options.getInt("warmup", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(options.getInt("duration", 60));
+        long start = System.nanoTime();
+        long measureAt = start + warmupNanos;
+        long endAt = measureAt + durationNanos;
+
+        if ("open".equals(options.getString("mode", "closed"))) {
+            runOpen(measureAt, endAt);
+        } else {
+            runClosed(measureAt, endAt);
+        }
+    }
+
+    private void runClosed(long measureAt, long endAt) throws InterruptedException {
+        int users = options.getInt("users", 20);
+        long seed = options.getInt("seed", 42);
+        ExecutorService pool = Executors.newFixedThreadPool(users, daemonThreads("loadtest-vu"));
+        for (int i = 0; i < users; i++) {
+            Random random = new Random(seed + i);
+            VirtualUser user = newUser(random);
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < endAt) {
+                        runSession(user, pickJourney(random), System.nanoTime());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        waitForMeasurement(measureAt, endAt);
+        pool.shutdownNow();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void runOpen(long measureAt, long endAt) throws InterruptedException {
+        double rate = options.getDouble("rate", 5);
+        int maxSessions = options.getInt("max-sessions", 500);
+        Semaphore inFlight = new Semaphore(maxSessions);
+        Random arrivals = new Random(options.getInt("seed", 42));
+        ExecutorService pool = Executors.newCachedThreadPool(daemonThreads("loadtest-session"));
+        Thread measurer = new Thread(() -> {
+            try {
+                waitForMeasurement(measureAt, endAt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "loadtest-measure");
+        measurer.start();
+
+        long next = System.nanoTime();
+        while (next < endAt) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduled = next;
+            next += (long) (-Math.log(1 - arrivals.nextDouble()) / rate * 1e9);
+            if (!inFlight.tryAcquire()) {
+                report.record("session", 0, false);
+                continue;
+            }
+            Random random = new Random(arrivals.nextLong());
+            pool.execute(() -> {
+                try {
+                    runSession(newUser(random), pickJourney(random), scheduled);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        measurer.join();
+        pool.shutdownNow();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void runSession(VirtualUser user, String journey, long scheduledNanos) throws InterruptedException {
+        boolean ok = user.run(journey);
+        report.record("session", System.nanoTime() - scheduledNanos, ok);
+        report.record("session:" + journey, System.nanoTime() - scheduledNanos, ok);
+    }
+
+    private void waitForMeasurement(long measureAt, long endAt) throws InterruptedException {
+        sleepUntil(measureAt);
+        report.startMeasuring();
+        sleepUntil(endAt);
+        report.stopMeasuring();
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private VirtualUser newUser(Random random) {
+        return new VirtualUser(client, baseUrl, data, report, random,
+            options.getInt("think-ms", 300), clientNumbers.incrementAndGet());
+    }
+
+    private String pickJourney(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return journeys[i];
+            }
+        }
+        return journeys[journeys.length - 1];
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    static List<String> describe(LoadOptions options) {
+        List<String> lines = new ArrayList<>();
+        if ("open".equals(options.getString("mode", "closed"))) {
+            lines.add("open loop, " + options.getDouble("rate", 5) + " sessions/s");
+        } else {
+            lines.add("closed loop, " + options.getInt("users", 20) + " virtual users");
+        }
+        lines.add("mix " + options.getMix() + ", think " + options.getInt("think-ms", 300) + " ms, warm-up "
+                  + options.getInt("warmup", 10) + " s, measured " + options.getInt("duration", 60) + " s");
+        return lines;
+    }
+}
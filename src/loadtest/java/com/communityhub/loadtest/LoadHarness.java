@@ -0,0 +1,72 @@
+package com.communityhub.loadtest;
+
+import com.communityhub.core.ConfigurationManager;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the webapp in embedded Tomcat against a scratch database and drives user journeys
+ *
+ * Usage (see LoadOptions for every option):
+ *   mvn -P loadtest verify -Dloadtest.args="--users=50 --duration=120 --save-baseline=loadtest-baseline.json"
+ *   mvn -P loadtest verify -Dloadtest.args="--users=50 --duration=120 --baseline=loadtest-baseline.json"
+ *
+ * The second form exits with status 1, failing the build, when throughput, p99 latency or
+ * error rate of any step regresses beyond the tolerances.
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+
+        Path database = Files.createTempFile("community-hub-load-", ".db");
+        ConfigurationManager.getInstance().setProperty("db.url", "jdbc:sqlite:" + database.toAbsolutePath());
+
+        EmbeddedServer server = new EmbeddedServer();
+        server.start(new File(options.getString("webapp", "src/main/webapp")),
+                     new File(options.getString("classes", "target/classes")),
+                     options.getInt("port", 0));
+        int exitCode = 0;
+        try {
+            LoadData data = LoadData.seed(options);
+            System.out.println("Server at " + server.getBaseUrl() + ", database " + database);
+            LoadGenerator.describe(options).forEach(System.out::println);
+
+            LoadReport report = new LoadReport();
+            new LoadGenerator(options, server.getBaseUrl(), data, report).run();
+
+            Map<String, Object> summary = report.summarize(options);
+            LoadReport.print(summary, System.out);
+            LoadReport.write(summary, new File(options.getString("report", "target/loadtest-result.json")));
+
+            String saveBaseline = options.getString("save-baseline", null);
+            if (saveBaseline != null) {
+                LoadReport.write(summary, new File(saveBaseline));
+                System.out.println("Baseline saved to " + saveBaseline);
+            }
+            String baseline = options.getString("baseline", null);
+            if (baseline != null) {
+                List<String> regressions = LoadReport.compare(summary, new File(baseline),
+                    options.getDouble("tolerance", 0.25), options.getDouble("error-tolerance", 0.01));
+                if (regressions.isEmpty()) {
+                    System.out.println("No regressions against " + baseline);
+                } else {
+                    System.out.println("REGRESSIONS against " + baseline + ":");
+                    regressions.forEach(line -> System.out.println("  " + line));
+                    exitCode = 1;
+                }
+            }
+        } finally {
+            server.stop();
+            Files.deleteIfExists(database);
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,90 @@
+package com.communityhub.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options for the load harness, given as --name=value
+ *
+ * --mode=closed|open         closed: fixed number of virtual users; open: sessions arrive at --rate
+ * --users=20                 closed loop: concurrent virtual users
+ * --rate=5                   open loop: new sessions per second (Poisson arrivals)
+ * --max-sessions=500         open loop: sessions in flight before arrivals are counted as rejected
+ * --duration=60              measured seconds
+ * --warmup=10                seconds run before measuring
+ * --think-ms=300             mean think time between steps (exponentially distributed)
+ * --mix=requester:70,volunteer:30
+ * --requesters=100 --volunteers=40 --resources=1000 --assigned-per-volunteer=500
+ * --seed=42
+ * --report=target/loadtest-result.json
+ * --save-baseline=path       write this run's results as the new baseline
+ * --baseline=path            compare against a saved baseline and exit 1 on regression
+ * --tolerance=0.25           allowed relative throughput drop and p99 latency increase
+ * --error-tolerance=0.01     allowed absolute increase in error rate
+ * --webapp=src/main/webapp --classes=target/classes --port=0
+ *
+ * Later occurrences of an option win, so defaults passed by the build can be overridden.
+ */
+final class LoadOptions {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private LoadOptions() {
+    }
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if (arg == null || arg.isEmpty()) {
+                continue;
+            }
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg.substring(2) : arg.substring(2, equals);
+            String value = equals < 0 ? "true" : arg.substring(equals + 1);
+            options.values.put(name, value);
+        }
+        return options;
+    }
+
+    String getString(String name, String defaultValue) {
+        String value = values.get(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    double getDouble(String name, double defaultValue) {
+        String value = values.get(name);
+        return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Parses --mix into journey weights
+     * @return Weights keyed by journey name, in the order given
+     */
+    Map<String, Integer> getMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : getString("mix", "requester:70,volunteer:30").split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad --mix entry: " + part);
+            }
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Gets all options for inclusion in the report
+     * @return Copy of the parsed options
+     */
+    Map<String, String> asMap() {
+        return new LinkedHashMap<>(values);
+    }
+}
@@ -0,0 +1,171 @@
+package com.communityhub.loadtest;
+
+import com.communityhub.util.LatencyHistogram;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-step latency, throughput and error counts for a load run, plus baseline comparison
+ *
+ * Each step (login, dashboard, search, ...) gets a LatencyHistogram and success/error
+ * counters. Nothing is recorded until measuring starts, so warm-up traffic is excluded.
+ * The "session" step is a whole journey; in open-loop mode it is timed from the session's
+ * scheduled arrival, so queueing delay in the generator is not hidden.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 100};
+    private static final double LATENCY_FLOOR_MS = 5.0;
+
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private long measureStartNanos;
+    private long measureEndNanos;
+
+    void startMeasuring() {
+        measureStartNanos = System.nanoTime();
+        measuring = true;
+    }
+
+    void stopMeasuring() {
+        measuring = false;
+        measureEndNanos = System.nanoTime();
+    }
+
+    /**
+     * Records one completed step
+     * @param step Step name
+     * @param nanos Latency
+     * @param success Whether the response was what the journey expected
+     */
+    void record(String step, long nanos, boolean success) {
+        if (!measuring) {
+            return;
+        }
+        StepStats stats = steps.computeIfAbsent(step, key -> new StepStats());
+        stats.latency.recordNanos(nanos);
+        (success ? stats.successes : stats.errors).increment();
+    }
+
+    /**
+     * Summarises the run
+     * @param options Options the run used
+     * @return Report tree, also the baseline format
+     */
+    Map<String, Object> summarize(LoadOptions options) {
+        double seconds = Math.max(1e-9, (measureEndNanos - measureStartNanos) / 1e9);
+        Map<String, Object> stepSummaries = new LinkedHashMap<>();
+        steps.keySet().stream().sorted().forEach(name -> {
+            StepStats stats = steps.get(name);
+            long successes = stats.successes.sum();
+            long errors = stats.errors.sum();
+            long total = successes + errors;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", total);
+            summary.put("errors", errors);
+            summary.put("errorRate", total == 0 ? 0.0 : (double) errors / total);
+            summary.put("throughputPerSec", round(total / seconds));
+            for (double percentile : PERCENTILES) {
+                String key = percentile == 100 ? "maxMs" : "p" + (int) percentile + "Ms";
+                summary.put(key, round(stats.latency.getValueAtPercentile(percentile) / 1000.0));
+            }
+            stepSummaries.put(name, summary);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options.asMap());
+        report.put("measuredSeconds", round(seconds));
+        report.put("steps", stepSummaries);
+        return report;
+    }
+
+    static void print(Map<String, Object> report, PrintStream out) {
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> stepSummaries = (Map<String, Map<String, Object>>) report.get("steps");
+        out.printf("%n%-20s %9s %8s %9s %9s %9s %9s %9s%n",
+            "step", "count", "err%", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Map<String, Object>> entry : stepSummaries.entrySet()) {
+            Map<String, Object> s = entry.getValue();
+            out.printf("%-20s %9d %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(),
+                (Long) s.get("count"), (Double) s.get("errorRate") * 100, (Double) s.get("throughputPerSec"),
+                (Double) s.get("p50Ms"), (Double) s.get("p90Ms"), (Double) s.get("p99Ms"), (Double) s.get("maxMs"));
+        }
+        out.printf("measured %.1f s%n", (Double) report.get("measuredSeconds"));
+    }
+
+    static void write(Map<String, Object> report, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    /**
+     * Compares a report with a saved baseline
+     * @param report This run
+     * @param baselineFile Saved report
+     * @param tolerance Allowed relative throughput drop and p99 increase (0.25 = 25%)
+     * @param errorTolerance Allowed absolute error-rate increase (0.01 = one percentage point)
+     * @return Regression messages; empty if none
+     * @throws IOException if the baseline cannot be read
+     */
+    static List<String> compare(Map<String, Object> report, File baselineFile, double tolerance,
+                                double errorTolerance) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baseline = mapper.readTree(baselineFile).path("steps");
+        JsonNode current = mapper.valueToTree(report).path("steps");
+        List<String> regressions = new ArrayList<>();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = baseline.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            String step = entry.getKey();
+            JsonNode was = entry.getValue();
+            JsonNode now = current.path(step);
+            if (now.isMissingNode()) {
+                regressions.add(step + ": step missing from this run");
+                continue;
+            }
+            double wasThroughput = was.path("throughputPerSec").asDouble();
+            double nowThroughput = now.path("throughputPerSec").asDouble();
+            if (nowThroughput < wasThroughput * (1 - tolerance)) {
+                regressions.add(String.format("%s: throughput %.1f/s vs baseline %.1f/s", step, nowThroughput, wasThroughput));
+            }
+            double wasP99 = was.path("p99Ms").asDouble();
+            double nowP99 = now.path("p99Ms").asDouble();
+            if (nowP99 > Math.max(wasP99 * (1 + tolerance), wasP99 + LATENCY_FLOOR_MS)) {
+                regressions.add(String.format("%s: p99 %.1f ms vs baseline %.1f ms", step, nowP99, wasP99));
+            }
+            double wasErrors = was.path("errorRate").asDouble();
+            double nowErrors = now.path("errorRate").asDouble();
+            if (nowErrors > wasErrors + errorTolerance) {
+                regressions.add(String.format("%s: error rate %.2f%% vs baseline %.2f%%", step,
+                    nowErrors * 100, wasErrors * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class StepStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
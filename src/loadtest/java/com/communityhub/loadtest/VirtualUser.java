@@ -0,0 +1,204 @@
+package com.communityhub.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated person's journey through the site
+ *
+ * Requester journey: login, dashboard, search, create a request, view requests, logout.
+ * Volunteer journey: login, dashboard, view requests, accept an assigned request, mark it
+ * completed, logout.
+ *
+ * Each step is one HTTP request, timed and recorded under its step name. Redirects are not
+ * followed; a step succeeds when the status (and for redirects the target) is what a real
+ * browser would expect. Cookies are kept per journey, and the journey presents its own
+ * client address through X-Forwarded-For.
+ */
+final class VirtualUser {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadData data;
+    private final LoadReport report;
+    private final Random random;
+    private final long meanThinkMs;
+    private final String clientAddress;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    VirtualUser(HttpClient client, String baseUrl, LoadData data, LoadReport report, Random random,
+                long meanThinkMs, int clientNumber) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.report = report;
+        this.random = random;
+        this.meanThinkMs = meanThinkMs;
+        this.clientAddress = "10." + ((clientNumber >> 16) & 0xff) + "." + ((clientNumber >> 8) & 0xff) + "."
+                             + (clientNumber & 0xff);
+    }
+
+    /**
+     * Runs a journey
+     * @param journey "requester" or "volunteer"
+     * @return true if every step succeeded
+     */
+    boolean run(String journey) throws InterruptedException {
+        cookies.clear();
+        switch (journey) {
+            case "requester":
+                return requesterJourney();
+            case "volunteer":
+                return volunteerJourney();
+            default:
+                throw new IllegalArgumentException("Unknown journey: " + journey);
+        }
+    }
+
+    private boolean requesterJourney() throws InterruptedException {
+        List<String> requesters = data.getRequesters();
+        if (!login(requesters.get(random.nextInt(requesters.size())))) {
+            return false;
+        }
+        boolean ok = step("dashboard", get("/dashboard"), 200, null);
+        think();
+        String term = LoadData.SEARCH_TERMS[random.nextInt(LoadData.SEARCH_TERMS.length)];
+        ok &= step("search", get("/search?q=" + encode(term)), 200, null);
+        think();
+        List<String> resources = data.getResourceIds();
+        ok &= step("create-request", post("/requests", form(
+            "action", "create",
+            "resourceId", resources.get(random.nextInt(resources.size())),
+            "description", "Need " + term + " for my family this week",
+            "urgencyLevel", random.nextInt(4) == 0 ? "HIGH" : "MEDIUM")), 302, "/requests");
+        think();
+        ok &= step("requests", get("/requests"), 200, null);
+        think();
+        ok &= step("logout", get("/logout"), 302, null);
+        return ok;
+    }
+
+    private boolean volunteerJourney() throws InterruptedException {
+        List<String> volunteers = data.getVolunteers();
+        String volunteer = volunteers.get(random.nextInt(volunteers.size()));
+        if (!login(volunteer)) {
+            return false;
+        }
+        boolean ok = step("dashboard", get("/dashboard"), 200, null);
+        think();
+        ok &= step("requests", get("/requests"), 200, null);
+        think();
+        String requestId = data.takeAssignedRequest(volunteer);
+        if (requestId != null) {
+            ok &= step("volunteer-accept", post("/volunteer-action", form(
+                "action", "accept-request", "requestId", requestId, "redirectUrl", EmbeddedServer.CONTEXT_PATH + "/requests")),
+                302, "/requests");
+            think();
+            ok &= step("volunteer-complete", post("/volunteer-action", form(
+                "action", "mark-completed", "requestId", requestId, "redirectUrl", EmbeddedServer.CONTEXT_PATH + "/requests")),
+                302, "/requests");
+            think();
+        }
+        ok &= step("logout", get("/logout"), 302, null);
+        return ok;
+    }
+
+    private boolean login(String username) throws InterruptedException {
+        boolean ok = step("login-page", get("/login"), 200, null);
+        think();
+        return step("login", post("/login", form("username", username, "password", LoadData.PASSWORD)),
+                    302, "/dashboard") && ok;
+    }
+
+    /**
+     * Sends one request and records it
+     * @param expectedStatus Status a browser would get on success
+     * @param expectedLocation Suffix the redirect target must end with, or null
+     */
+    private boolean step(String name, HttpRequest.Builder request, int expectedStatus, String expectedLocation)
+            throws InterruptedException {
+        if (!cookies.isEmpty()) {
+            StringBuilder header = new StringBuilder();
+            cookies.forEach((key, value) -> header.append(header.length() > 0 ? "; " : "").append(key).append('=').append(value));
+            request.header("Cookie", header.toString());
+        }
+        request.header("X-Forwarded-For", clientAddress).timeout(TIMEOUT);
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            storeCookies(response);
+            String location = response.headers().firstValue("Location").orElse("");
+            success = response.statusCode() == expectedStatus
+                      && (expectedLocation == null || location.endsWith(expectedLocation));
+        } catch (IOException e) {
+            success = false;
+        }
+        report.record(name, System.nanoTime() - start, success);
+        return success;
+    }
+
+    private void storeCookies(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            int equals = header.indexOf('=');
+            if (equals <= 0) {
+                continue;
+            }
+            int end = header.indexOf(';');
+            String name = header.substring(0, equals).trim();
+            String value = header.substring(equals + 1, end < 0 ? header.length() : end).trim();
+            boolean expired = header.toLowerCase().contains("max-age=0");
+            if (expired || value.isEmpty()) {
+                cookies.remove(name);
+            } else {
+                cookies.put(name, value);
+            }
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (meanThinkMs > 0) {
+            long pause = (long) (-Math.log(1 - random.nextDouble()) * meanThinkMs);
+            TimeUnit.MILLISECONDS.sleep(Math.min(pause, meanThinkMs * 10));
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static String form(String... pairs) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(encode(pairs[i])).append('=').append(encode(pairs[i + 1]));
+        }
+        return body.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
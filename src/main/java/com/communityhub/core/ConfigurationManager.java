@@ -91,21 +91,91 @@ public final class ConfigurationManager {
         properties.setProperty("db.connection.timeout", String.valueOf(Constants.Database.CONNECTION_TIMEOUT));
         properties.setProperty("db.pool.max", String.valueOf(Constants.Database.MAX_POOL_SIZE));
         properties.setProperty("db.pool.min", String.valueOf(Constants.Database.MIN_POOL_SIZE));
+        properties.setProperty("db.profiling.enabled", String.valueOf(Constants.Database.PROFILING_ENABLED));
+        properties.setProperty("db.profiling.max.statements", String.valueOf(Constants.Database.PROFILING_MAX_STATEMENTS));
+        properties.setProperty("db.nplusone.threshold", String.valueOf(Constants.Database.NPLUSONE_THRESHOLD));
+        properties.setProperty("db.mysql.enabled", String.valueOf(Constants.Database.MYSQL_ENABLED));
+        properties.setProperty("db.mysql.url", Constants.Database.MYSQL_URL);
+        properties.setProperty("db.mysql.user", Constants.Database.MYSQL_USER);
+        properties.setProperty("db.mysql.password", Constants.Database.MYSQL_PASSWORD);
+        properties.setProperty("db.replica.urls", Constants.Database.REPLICA_URLS);
+        properties.setProperty("db.replica.pool.size", String.valueOf(Constants.Database.REPLICA_POOL_SIZE));
+        properties.setProperty("db.replica.health.interval.ms", String.valueOf(Constants.Database.REPLICA_HEALTH_INTERVAL_MS));
+        properties.setProperty("db.replica.health.timeout.seconds", String.valueOf(Constants.Database.REPLICA_HEALTH_TIMEOUT_SECONDS));
+        properties.setProperty("db.replica.sticky.ms", String.valueOf(Constants.Database.REPLICA_STICKY_MS));
         
         // Session
         properties.setProperty("session.timeout.hours", String.valueOf(Constants.Session.TIMEOUT_HOURS));
         properties.setProperty("session.refresh.minutes", String.valueOf(Constants.Session.REFRESH_INTERVAL_MINUTES));
+        properties.setProperty("cache.user.size", String.valueOf(Constants.Cache.USER_CACHE_SIZE));
+        properties.setProperty("cache.expiry.minutes", String.valueOf(Constants.Cache.CACHE_EXPIRY_MINUTES));
+        properties.setProperty("session.idle.timeout.minutes", String.valueOf(Constants.Session.IDLE_TIMEOUT_MINUTES));
+        properties.setProperty("session.registry.shards", String.valueOf(Constants.Session.REGISTRY_SHARDS));
+        properties.setProperty("session.expiry.tick.ms", String.valueOf(Constants.Session.EXPIRY_TICK_MS));
+        properties.setProperty("session.store.type", Constants.Session.STORE_TYPE);
+        properties.setProperty("session.store.path", Constants.Session.STORE_PATH);
+        properties.setProperty("session.store.flush.ms", String.valueOf(Constants.Session.STORE_FLUSH_MS));
+        properties.setProperty("session.store.touch.interval.ms", String.valueOf(Constants.Session.STORE_TOUCH_INTERVAL_MS));
+        properties.setProperty("session.store.revalidate.ms", String.valueOf(Constants.Session.STORE_REVALIDATE_MS));
         
         // Security
         properties.setProperty("security.max.login.attempts", String.valueOf(Constants.Security.MAX_LOGIN_ATTEMPTS));
         properties.setProperty("security.lockout.duration.ms", String.valueOf(Constants.Security.LOCKOUT_DURATION_MS));
+        properties.setProperty("security.max.login.attempts.per.source", String.valueOf(Constants.Security.MAX_LOGIN_ATTEMPTS_PER_SOURCE));
+        properties.setProperty("security.login.source.header", Constants.Security.LOGIN_SOURCE_HEADER);
+        properties.setProperty("security.login.trusted.proxies", Constants.Security.LOGIN_TRUSTED_PROXIES);
+        properties.setProperty("security.login.tracker.capacity", String.valueOf(Constants.Security.LOGIN_TRACKER_CAPACITY));
+        properties.setProperty("security.login.attempt.wait.ms", String.valueOf(Constants.Security.LOGIN_ATTEMPT_WAIT_MS));
+        properties.setProperty("security.password.pbkdf2.iterations", String.valueOf(Constants.Security.PBKDF2_ITERATIONS));
+        properties.setProperty("security.password.hash.queue.capacity", String.valueOf(Constants.Security.PASSWORD_HASH_QUEUE_CAPACITY));
+        properties.setProperty("security.password.hash.timeout.ms", String.valueOf(Constants.Security.PASSWORD_HASH_TIMEOUT_MS));
+        properties.setProperty("security.auth.mode", Constants.Security.AUTH_MODE);
+        properties.setProperty("security.token.ttl.minutes", String.valueOf(Constants.Security.AUTH_TOKEN_TTL_MINUTES));
+        properties.setProperty("security.token.revocation.poll.ms", String.valueOf(Constants.Security.AUTH_TOKEN_REVOCATION_POLL_MS));
         properties.setProperty("security.password.min.length", String.valueOf(Constants.Security.PASSWORD_MIN_LENGTH));
         
+        // Notifications
+        properties.setProperty("notification.outbox.batch.size", String.valueOf(Constants.Notification.OUTBOX_BATCH_SIZE));
+        properties.setProperty("notification.outbox.poll.interval.ms", String.valueOf(Constants.Notification.OUTBOX_POLL_INTERVAL_MS));
+        properties.setProperty("notification.outbox.max.attempts", String.valueOf(Constants.Notification.OUTBOX_MAX_ATTEMPTS));
+        properties.setProperty("notification.outbox.backoff.base.ms", String.valueOf(Constants.Notification.OUTBOX_BACKOFF_BASE_MS));
+        properties.setProperty("notification.outbox.backoff.max.ms", String.valueOf(Constants.Notification.OUTBOX_BACKOFF_MAX_MS));
+        properties.setProperty("notification.ratelimit.idle.eviction.ms", String.valueOf(Constants.Notification.RATE_LIMIT_IDLE_EVICTION_MS));
+        properties.setProperty("notification.fanout.chunk.size", String.valueOf(Constants.Notification.FANOUT_CHUNK_SIZE));
+        properties.setProperty("notification.fanout.max.pending", String.valueOf(Constants.Notification.FANOUT_MAX_PENDING));
+        properties.setProperty("notification.digest.window.ms", String.valueOf(Constants.Notification.DIGEST_WINDOW_MS));
+        properties.setProperty("notification.scheduler.tick.ms", String.valueOf(Constants.Notification.SCHEDULER_TICK_MS));
+        properties.setProperty("notification.scheduler.load.horizon.ms", String.valueOf(Constants.Notification.SCHEDULER_LOAD_HORIZON_MS));
+        // Per-priority limits use notification.ratelimit.priority.<1-5>.capacity / .refill.per.minute
+
         // Logging
         properties.setProperty("logging.directory", Constants.Logging.LOG_DIRECTORY);
         properties.setProperty("logging.file.pattern", Constants.Logging.LOG_FILE_PATTERN);
         properties.setProperty("logging.file.count", String.valueOf(Constants.Logging.LOG_FILE_COUNT));
         properties.setProperty("logging.file.size.mb", String.valueOf(Constants.Logging.LOG_FILE_SIZE_MB));
+        properties.setProperty("logging.async.enabled", String.valueOf(Constants.Logging.ASYNC_ENABLED));
+        properties.setProperty("logging.async.buffer.size", String.valueOf(Constants.Logging.ASYNC_BUFFER_SIZE));
+        properties.setProperty("logging.async.batch.size", String.valueOf(Constants.Logging.ASYNC_BATCH_SIZE));
+        properties.setProperty("logging.async.overflow.policy", Constants.Logging.ASYNC_OVERFLOW_POLICY);
+        
+        // Metrics
+        properties.setProperty("metrics.scrape.token", Constants.Metrics.SCRAPE_TOKEN);
+        properties.setProperty("tracing.slow.threshold.ms", String.valueOf(Constants.Tracing.SLOW_THRESHOLD_MS));
+        properties.setProperty("tracing.max.spans", String.valueOf(Constants.Tracing.MAX_SPANS));
+        properties.setProperty("tracing.max.endpoints", String.valueOf(Constants.Tracing.MAX_ENDPOINTS));
+        properties.setProperty("jfr.settings", Constants.FlightRecorder.SETTINGS);
+        properties.setProperty("jfr.max.age.minutes", String.valueOf(Constants.FlightRecorder.MAX_AGE_MINUTES));
+        properties.setProperty("jfr.max.size.mb", String.valueOf(Constants.FlightRecorder.MAX_SIZE_MB));
+        properties.setProperty("jfr.dao.threshold.ms", String.valueOf(Constants.FlightRecorder.DAO_THRESHOLD_MS));
+        properties.setProperty("retention.chunk.size", String.valueOf(Constants.Retention.CHUNK_SIZE));
+        properties.setProperty("retention.scan.range", String.valueOf(Constants.Retention.SCAN_RANGE));
+        properties.setProperty("retention.target.chunk.ms", String.valueOf(Constants.Retention.TARGET_CHUNK_MS));
+        properties.setProperty("retention.pause.ms", String.valueOf(Constants.Retention.PAUSE_MS));
+        properties.setProperty("archive.enabled", String.valueOf(Constants.Archive.ENABLED));
+        properties.setProperty("archive.after.days", String.valueOf(Constants.Archive.AFTER_DAYS));
+        properties.setProperty("archive.batch.size", String.valueOf(Constants.Archive.BATCH_SIZE));
+        properties.setProperty("archive.interval.minutes", String.valueOf(Constants.Archive.INTERVAL_MINUTES));
+        properties.setProperty("archive.pause.ms", String.valueOf(Constants.Archive.PAUSE_MS));
         
         logger.info("Loaded hardcoded default properties");
     }
@@ -72,6 +72,18 @@ public final class Constants {
         public static final int CONNECTION_TIMEOUT = 30;
         public static final int MAX_POOL_SIZE = 10;
         public static final int MIN_POOL_SIZE = 2;
+        public static final boolean PROFILING_ENABLED = true;
+        public static final int PROFILING_MAX_STATEMENTS = 500;
+        public static final int NPLUSONE_THRESHOLD = 10; // distinct parameter sets per statement per request
+        public static final boolean MYSQL_ENABLED = false;
+        public static final String MYSQL_URL = "jdbc:mysql://localhost:3306/community_hub";
+        public static final String MYSQL_USER = "root";
+        public static final String MYSQL_PASSWORD = "";
+        public static final String REPLICA_URLS = ""; // comma-separated; empty sends every read to the primary
+        public static final int REPLICA_POOL_SIZE = 4; // connections per replica
+        public static final long REPLICA_HEALTH_INTERVAL_MS = 5000;
+        public static final int REPLICA_HEALTH_TIMEOUT_SECONDS = 2;
+        public static final long REPLICA_STICKY_MS = 5000; // reads stay on the primary this long after a user's mutation
         
         private Database() {}
     }
@@ -80,6 +92,23 @@ public final class Constants {
     public static final class Session {
         public static final int TIMEOUT_HOURS = 8;
         public static final int REFRESH_INTERVAL_MINUTES = 30;
+        public static final int IDLE_TIMEOUT_MINUTES = 30;
+        
+        // Session registry: shard count (power of two) and expiry wheel resolution
+        public static final int REGISTRY_SHARDS = 16;
+        public static final long EXPIRY_TICK_MS = 1000;
+        public static final int EXPIRY_WHEEL_SIZE = 64;
+        public static final int EXPIRY_WHEEL_LEVELS = 4;
+        
+        // Shared session store: "none" keeps sessions node-local, "sqlite" persists them to STORE_PATH
+        public static final String STORE_TYPE = "none";
+        public static final String STORE_TYPE_NONE = "none";
+        public static final String STORE_TYPE_SQLITE = "sqlite";
+        public static final String STORE_PATH = "community_hub_sessions.db";
+        public static final String STORE_COOKIE = "CH_SID";
+        public static final long STORE_FLUSH_MS = 1000;
+        public static final long STORE_TOUCH_INTERVAL_MS = 60_000;
+        public static final long STORE_REVALIDATE_MS = 5000;
         
         private Session() {}
     }
@@ -88,12 +117,30 @@ public final class Constants {
     public static final class Security {
         public static final int MAX_LOGIN_ATTEMPTS = 5;
         public static final long LOCKOUT_DURATION_MS = 15 * 60 * 1000; // 15 minutes
+        // Failed logins per client address before it is locked out; 0 disables the limit
+        public static final int MAX_LOGIN_ATTEMPTS_PER_SOURCE = 0;
+        // Header carrying the client address when requests arrive through a trusted proxy, e.g. X-Forwarded-For
+        public static final String LOGIN_SOURCE_HEADER = "";
+        public static final String LOGIN_TRUSTED_PROXIES = "";
+        public static final long LOGIN_ATTEMPT_WAIT_MS = 5000;
+        public static final int LOGIN_TRACKER_CAPACITY = 65536;
         public static final int PASSWORD_MIN_LENGTH = 8;
         public static final int PASSWORD_MAX_LENGTH = 128;
         public static final int USERNAME_MIN_LENGTH = 3;
         public static final int USERNAME_MAX_LENGTH = 50;
         public static final String PASSWORD_HASH_ALGORITHM = "SHA-256";
         public static final int SALT_LENGTH = 16;
+        // PBKDF2-HMAC-SHA256 work factor; roughly 23 hashes/s per core at 100k iterations
+        public static final int PBKDF2_ITERATIONS = 100_000;
+        public static final int PASSWORD_HASH_QUEUE_CAPACITY = 64;
+        public static final long PASSWORD_HASH_TIMEOUT_MS = 5000;
+        
+        // Authentication mode: "session" (HTTP session) or "token" (stateless signed cookie)
+        public static final String AUTH_MODE = "session";
+        public static final String AUTH_MODE_TOKEN = "token";
+        public static final String AUTH_TOKEN_COOKIE = "CH_AUTH";
+        public static final int AUTH_TOKEN_TTL_MINUTES = 30;
+        public static final long AUTH_TOKEN_REVOCATION_POLL_MS = 10_000;
         
         private Security() {}
     }
@@ -146,22 +193,101 @@ public final class Constants {
     public static final class Cache {
         public static final int RESOURCE_CACHE_SIZE = 100;
         public static final int REQUEST_CACHE_SIZE = 200;
-        public static final int USER_CACHE_SIZE = 50;
+        public static final int USER_CACHE_SIZE = 10_000;
         public static final long CACHE_EXPIRY_MINUTES = 15;
         
         private Cache() {}
     }
     
+    // ========== Notification Configuration ==========
+    public static final class Notification {
+        public static final int OUTBOX_BATCH_SIZE = 100;
+        public static final long OUTBOX_POLL_INTERVAL_MS = 1000;
+        public static final int OUTBOX_MAX_ATTEMPTS = 8;
+        public static final long OUTBOX_BACKOFF_BASE_MS = 5000;
+        public static final long OUTBOX_BACKOFF_MAX_MS = 60 * 60 * 1000; // 1 hour
+        public static final int MIN_PRIORITY = 1;
+        public static final int MAX_PRIORITY = 5;
+        public static final int HIGH_PRIORITY_THRESHOLD = 4;
+        public static final int RATE_LIMIT_CAPACITY = 5;
+        public static final int RATE_LIMIT_REFILL_PER_MINUTE = 5;
+        public static final int HIGH_PRIORITY_RATE_LIMIT_CAPACITY = 20;
+        public static final int HIGH_PRIORITY_RATE_LIMIT_REFILL_PER_MINUTE = 20;
+        public static final long RATE_LIMIT_IDLE_EVICTION_MS = 10 * 60 * 1000; // 10 minutes
+        public static final int FANOUT_CHUNK_SIZE = 500;
+        public static final long FANOUT_MAX_PENDING = 20000;
+        public static final int FANOUT_PROGRESS_LOG_CHUNKS = 20;
+        public static final long DIGEST_WINDOW_MS = 2 * 60 * 1000; // 2 minutes
+        public static final long SCHEDULER_TICK_MS = 1000;
+        public static final int SCHEDULER_WHEEL_SIZE = 64;
+        public static final int SCHEDULER_WHEEL_LEVELS = 4;
+        public static final long SCHEDULER_LOAD_HORIZON_MS = 60 * 60 * 1000; // 1 hour
+        public static final int SCHEDULER_LOAD_PAGE_SIZE = 5000;
+
+        private Notification() {}
+    }
+
     // ========== Logging Configuration ==========
     public static final class Logging {
         public static final String LOG_DIRECTORY = "logs";
         public static final String LOG_FILE_PATTERN = "community-hub-%g.log";
         public static final int LOG_FILE_COUNT = 5;
         public static final int LOG_FILE_SIZE_MB = 10;
+        public static final boolean ASYNC_ENABLED = true;
+        public static final int ASYNC_BUFFER_SIZE = 8192; // rounded up to a power of two
+        public static final int ASYNC_BATCH_SIZE = 256;
+        public static final String ASYNC_OVERFLOW_POLICY = "DROP"; // DROP or BLOCK; WARNING and above always wait
         
         private Logging() {}
     }
     
+    // ========== Metrics Configuration ==========
+    public static final class Metrics {
+        public static final String SCRAPE_TOKEN = ""; // empty: /metrics is admin-only
+        
+        private Metrics() {}
+    }
+    
+    // ========== Flight Recorder Configuration ==========
+    public static final class FlightRecorder {
+        public static final String SETTINGS = "default"; // JDK settings file: default or profile
+        public static final long MAX_AGE_MINUTES = 30;
+        public static final long MAX_SIZE_MB = 256;
+        public static final long DAO_THRESHOLD_MS = 0; // record every DAO query
+        
+        private FlightRecorder() {}
+    }
+    
+    // ========== Request Tracing Configuration ==========
+    public static final class Tracing {
+        public static final long SLOW_THRESHOLD_MS = 1000;
+        public static final int MAX_SPANS = 256;
+        public static final int MAX_ENDPOINTS = 200;
+        
+        private Tracing() {}
+    }
+    
+    // ========== Retention / Cleanup Configuration ==========
+    public static final class Retention {
+        public static final int CHUNK_SIZE = 2000; // rows deleted per transaction (upper bound)
+        public static final int SCAN_RANGE = 50000; // rowids scanned per transaction when collecting
+        public static final long TARGET_CHUNK_MS = 100; // chunks slower than this shrink
+        public static final long PAUSE_MS = 20; // pause after each commit so foreground writers get the lock
+        
+        private Retention() {}
+    }
+    
+    // ========== Hot/Cold Archival Configuration ==========
+    public static final class Archive {
+        public static final boolean ENABLED = true;
+        public static final int AFTER_DAYS = 90; // closed requests older than this move to requests_archive
+        public static final int BATCH_SIZE = 500; // requests moved per transaction
+        public static final long INTERVAL_MINUTES = 60; // delay between archival runs
+        public static final long PAUSE_MS = 50; // pause after each batch so foreground writers get the lock
+        
+        private Archive() {}
+    }
+    
     // ========== Date/Time Formats ==========
     public static final class DateFormat {
         public static final String DATE_TIME = "yyyy-MM-dd HH:mm:ss";
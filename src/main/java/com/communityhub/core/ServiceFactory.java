@@ -2,7 +2,7 @@ package com.communityhub.core;
 
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.service.*;
-import com.communityhub.util.SessionManager;
+import com.communityhub.util.SessionRegistry;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -105,12 +105,12 @@ public final class ServiceFactory {
     }
     
     /**
-     * Gets the SessionManager instance
+     * Gets the SessionRegistry instance
      * 
-     * @return SessionManager instance
+     * @return SessionRegistry instance
      */
-    public SessionManager getSessionManager() {
-        return SessionManager.getInstance();
+    public SessionRegistry getSessionRegistry() {
+        return SessionRegistry.getInstance();
     }
     
     /**
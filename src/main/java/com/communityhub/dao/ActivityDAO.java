@@ -23,7 +23,16 @@ public class ActivityDAO {
     private java.sql.Connection connection;
     
     public ActivityDAO() throws DatabaseException {
-        this.connection = com.communityhub.util.DBConnection.getInstance().getConnection();
+        this.connection = com.communityhub.util.TimedConnection.wrap(
+            com.communityhub.util.DBConnection.getInstance().getConnection(), "ActivityDAO");
+    }
+    
+    /**
+     * Activity queries only read, so they may run on a read replica (see ReplicaRouter)
+     */
+    private java.sql.Connection readConnection() {
+        java.sql.Connection replica = com.communityhub.util.ReplicaRouter.routeRead("ActivityDAO");
+        return replica != null ? replica : connection;
     }
     
     /**
@@ -77,7 +86,7 @@ public class ActivityDAO {
                            "JOIN resources res ON r.resource_id = res.resource_id " +
                            "ORDER BY r.created_at DESC LIMIT ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(requestSQL)) {
+        try (PreparedStatement stmt = readConnection().prepareStatement(requestSQL)) {
             stmt.setInt(1, limit * 2); // Get more to filter
             ResultSet rs = stmt.executeQuery();
             
@@ -108,12 +117,12 @@ public class ActivityDAO {
         }
         
         // Get recent resources created
-        String resourceSQL = "SELECT resource_id, name, created_at, created_by, u.username " +
+        String resourceSQL = "SELECT r.resource_id, r.name, r.created_at, r.created_by, u.username " +
                             "FROM resources r " +
                             "JOIN users u ON r.created_by = u.user_id " +
                             "ORDER BY r.created_at DESC LIMIT ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(resourceSQL)) {
+        try (PreparedStatement stmt = readConnection().prepareStatement(resourceSQL)) {
             stmt.setInt(1, limit);
             ResultSet rs = stmt.executeQuery();
             
@@ -160,7 +169,7 @@ public class ActivityDAO {
                     "WHERE r.volunteer_id = ? " +
                     "ORDER BY r.updated_at DESC LIMIT ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = readConnection().prepareStatement(sql)) {
             stmt.setString(1, volunteerId);
             stmt.setInt(2, limit);
             ResultSet rs = stmt.executeQuery();
@@ -226,7 +235,7 @@ public class ActivityDAO {
                            "WHERE r.requester_id = ? " +
                            "ORDER BY r.updated_at DESC LIMIT ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(requestSQL)) {
+        try (PreparedStatement stmt = readConnection().prepareStatement(requestSQL)) {
             stmt.setString(1, requesterId);
             stmt.setInt(2, limit);
             ResultSet rs = stmt.executeQuery();
@@ -283,13 +292,13 @@ public class ActivityDAO {
         }
         
         // Get feedback submitted by requester
-        String feedbackSQL = "SELECT feedback_id, rating, comments, created_at, r.request_id " +
+        String feedbackSQL = "SELECT f.feedback_id, f.rating, f.comments, f.created_at, r.request_id " +
                             "FROM feedback f " +
                             "LEFT JOIN requests r ON f.request_id = r.request_id " +
                             "WHERE f.user_id = ? " +
                             "ORDER BY f.created_at DESC LIMIT ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(feedbackSQL)) {
+        try (PreparedStatement stmt = readConnection().prepareStatement(feedbackSQL)) {
             stmt.setString(1, requesterId);
             stmt.setInt(2, limit);
             ResultSet rs = stmt.executeQuery();
@@ -2,11 +2,14 @@ package com.communityhub.dao;
 
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.util.DBConnection;
+import com.communityhub.util.ReplicaRouter;
+import com.communityhub.util.TimedConnection;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -23,10 +26,22 @@ public abstract class BaseDAO<T> implements DatabaseOperations<T> {
     
     /**
      * Constructor initializes database connection
+     * Statements executed on it are timed per DAO class (see TimedConnection)
      * @throws DatabaseException if connection cannot be established
      */
     protected BaseDAO() throws DatabaseException {
-        this.connection = DBConnection.getInstance().getConnection();
+        this.connection = TimedConnection.wrap(DBConnection.getInstance().getConnection(), getClass().getSimpleName());
+    }
+    
+    /**
+     * Gets the connection for a read-only query
+     * A read replica when ReplicaRouter routes this read there, otherwise the primary connection.
+     * Use it only in methods that read and never write: read, find*, count.
+     * @return Connection to run the query on
+     */
+    protected Connection readConnection() {
+        Connection replica = ReplicaRouter.routeRead(getClass().getSimpleName());
+        return replica != null ? replica : connection;
     }
     
     /**
@@ -37,6 +52,8 @@ public abstract class BaseDAO<T> implements DatabaseOperations<T> {
      */
     protected void executeInTransaction(DatabaseOperation operation) throws DatabaseException {
         boolean originalAutoCommit = true;
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
         
         try {
             originalAutoCommit = connection.getAutoCommit();
@@ -71,6 +88,7 @@ public abstract class BaseDAO<T> implements DatabaseOperations<T> {
             } catch (SQLException e) {
                 logger.log(Level.WARNING, "Failed to restore auto-commit setting", e);
             }
+            transactionLock.unlock();
         }
     }
     
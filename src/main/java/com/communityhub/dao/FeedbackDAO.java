@@ -115,7 +115,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectByIdSQL());
+            stmt = readConnection().prepareStatement(getSelectByIdSQL());
             stmt.setString(1, feedbackId);
             rs = stmt.executeQuery();
             
@@ -193,7 +193,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectAllSQL());
+            stmt = readConnection().prepareStatement(getSelectAllSQL());
             rs = stmt.executeQuery();
             
             while (rs.next()) {
@@ -236,7 +236,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getCountSQL());
+            stmt = readConnection().prepareStatement(getCountSQL());
             rs = stmt.executeQuery();
             
             if (rs.next()) {
@@ -259,7 +259,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         
         try {
             String sql = "SELECT * FROM " + getTableName() + " WHERE " + fieldName + " = ?";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             stmt.setObject(1, value);
             rs = stmt.executeQuery();
             
@@ -304,6 +304,73 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         return findByField("request_id", requestId);
     }
     
+    /**
+     * Finds feedback by request ID, including feedback_archive when asked
+     * @param requestId ID of the request
+     * @param includeArchived true to include feedback moved by RequestArchiver
+     * @return List of feedback for the request
+     * @throws DatabaseException if search fails
+     */
+    public List<Feedback> findByRequestId(String requestId, boolean includeArchived) throws DatabaseException {
+        if (!includeArchived) {
+            return findByRequestId(requestId);
+        }
+        if (requestId == null || requestId.trim().isEmpty()) {
+            throw new DatabaseException("Request ID cannot be null or empty");
+        }
+        
+        return findWithArchive("request_id", requestId);
+    }
+    
+    /**
+     * Finds feedback by user ID, including feedback_archive when asked
+     * @param userId ID of the user
+     * @param includeArchived true to include feedback moved by RequestArchiver
+     * @return List of feedback from the user
+     * @throws DatabaseException if search fails
+     */
+    public List<Feedback> findByUserId(String userId, boolean includeArchived) throws DatabaseException {
+        if (!includeArchived) {
+            return findByUserId(userId);
+        }
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new DatabaseException("User ID cannot be null or empty");
+        }
+        
+        return findWithArchive("user_id", userId);
+    }
+    
+    /**
+     * Runs the same filter over feedback and feedback_archive as one UNION ALL query
+     * Archive rows still present in feedback (a batch caught mid-move) are skipped
+     */
+    private List<Feedback> findWithArchive(String fieldName, Object value) throws DatabaseException {
+        List<Feedback> feedbacks = new ArrayList<>();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        
+        try {
+            String sql = "SELECT " + RequestArchiveDAO.FEEDBACK_COLUMNS + " FROM feedback WHERE " + fieldName + " = ?" +
+                         " UNION ALL SELECT " + RequestArchiveDAO.FEEDBACK_COLUMNS + " FROM feedback_archive archived WHERE " +
+                         fieldName + " = ? AND NOT EXISTS (SELECT 1 FROM feedback hot WHERE hot.feedback_id = archived.feedback_id)";
+            stmt = readConnection().prepareStatement(sql);
+            stmt.setObject(1, value);
+            stmt.setObject(2, value);
+            rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                feedbacks.add(mapResultSetToEntity(rs));
+            }
+            
+            return feedbacks;
+            
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to find feedback by " + fieldName + " including archive", "find feedback", e);
+        } finally {
+            closeResources(rs, stmt);
+        }
+    }
+    
     /**
      * Finds feedback by type
      * @param feedbackType Type of feedback
@@ -344,7 +411,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         
         try {
             String sql = "SELECT * FROM " + getTableName() + " WHERE rating >= 4 ORDER BY created_at DESC";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             rs = stmt.executeQuery();
             
             while (rs.next()) {
@@ -372,7 +439,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         
         try {
             String sql = "SELECT * FROM " + getTableName() + " WHERE rating <= 2 ORDER BY created_at DESC";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             rs = stmt.executeQuery();
             
             while (rs.next()) {
@@ -399,7 +466,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         
         try {
             String sql = "SELECT AVG(CAST(rating AS REAL)) FROM " + getTableName() + " WHERE rating > 0";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             rs = stmt.executeQuery();
             
             if (rs.next()) {
@@ -428,7 +495,7 @@ public class FeedbackDAO extends BaseDAO<Feedback> {
         try {
             LocalDateTime cutoffTime = LocalDateTime.now().minusDays(days);
             String sql = "SELECT * FROM " + getTableName() + " WHERE created_at >= ? ORDER BY created_at DESC";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             stmt.setTimestamp(1, Timestamp.valueOf(cutoffTime));
             rs = stmt.executeQuery();
             
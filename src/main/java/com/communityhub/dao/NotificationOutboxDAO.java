@@ -0,0 +1,311 @@
+package com.communityhub.dao;
+
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.OutboxNotification;
+import com.communityhub.util.DBConnection;
+import com.communityhub.util.TimedConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * DAO for the notification_outbox table
+ *
+ * Notifications are inserted in the same transaction as the change that triggered them
+ * (see RequestDAO.update(Request, List)) so a crash can never lose or invent a notification.
+ * The relay in NotificationService reads due rows in batches and marks them in bulk.
+ *
+ * Every method the relay calls holds DBConnection's transaction lock: the relay threads share
+ * the connection with request threads, so an unlocked commit or rollback would end another
+ * thread's open transaction, and an unlocked read could see outbox rows not yet committed.
+ */
+public class NotificationOutboxDAO {
+
+    private static final Logger logger = Logger.getLogger(NotificationOutboxDAO.class.getName());
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DELIVERED = "DELIVERED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    // SQLite's default host parameter limit is 999, keep IN lists well below it
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notification_outbox (user_id, title, message, priority, reference_id, status, " +
+        "attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String SELECT_DUE_SQL =
+        "SELECT outbox_id, user_id, title, message, priority, reference_id, attempts, next_attempt_at, " +
+        "last_error, created_at FROM notification_outbox " +
+        "WHERE status = ? AND next_attempt_at <= ? ORDER BY next_attempt_at, outbox_id LIMIT ?";
+
+    private static final String RESCHEDULE_SQL =
+        "UPDATE notification_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? " +
+        "WHERE outbox_id = ?";
+
+    private final Connection connection;
+
+    public NotificationOutboxDAO() throws DatabaseException {
+        this.connection = TimedConnection.wrap(DBConnection.getInstance().getConnection(), "NotificationOutboxDAO");
+    }
+
+    /**
+     * Adds notifications to the outbox using the caller's current transaction
+     * Does not commit - callers run this inside executeInTransaction or commit themselves
+     * @param notifications Notifications to insert
+     * @throws SQLException if insertion fails
+     */
+    void insertAll(List<OutboxNotification> notifications) throws SQLException {
+        if (notifications == null || notifications.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT_SQL)) {
+            for (OutboxNotification notification : notifications) {
+                stmt.setString(1, notification.getUserId());
+                stmt.setString(2, notification.getTitle());
+                stmt.setString(3, notification.getMessage());
+                stmt.setInt(4, notification.getPriority());
+                stmt.setString(5, notification.getReferenceId());
+                stmt.setString(6, STATUS_PENDING);
+                stmt.setLong(7, notification.getNextAttemptAt());
+                stmt.setTimestamp(8, Timestamp.valueOf(notification.getCreatedAt()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Adds notifications to the outbox in their own transaction
+     * Used for notifications that are not tied to another database change
+     * @param notifications Notifications to insert
+     * @throws DatabaseException if insertion fails
+     */
+    public void enqueue(List<OutboxNotification> notifications) throws DatabaseException {
+        if (notifications == null || notifications.isEmpty()) {
+            return;
+        }
+
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try {
+            insertAll(notifications);
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to enqueue notifications", "enqueue notifications", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the next batch of pending notifications that are due for delivery
+     * @param limit Maximum number of rows to return
+     * @return Due notifications, oldest first
+     * @throws DatabaseException if query fails
+     */
+    public List<OutboxNotification> findDueBatch(int limit) throws DatabaseException {
+        List<OutboxNotification> notifications = new ArrayList<>();
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_DUE_SQL)) {
+            stmt.setString(1, STATUS_PENDING);
+            stmt.setLong(2, System.currentTimeMillis());
+            stmt.setInt(3, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
+            }
+
+            return notifications;
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to read notification outbox", "read notification outbox", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets every pending notification of the given users, due or not
+     * Used by the relay to coalesce a user's queued notifications into one delivery
+     * @param userIds Users to look up
+     * @return Pending notifications ordered by user, oldest first
+     * @throws DatabaseException if query fails
+     */
+    public List<OutboxNotification> findPendingForUsers(List<String> userIds) throws DatabaseException {
+        List<OutboxNotification> notifications = new ArrayList<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return notifications;
+        }
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try {
+            for (int from = 0; from < userIds.size(); from += MAX_IDS_PER_STATEMENT) {
+                List<String> chunk = userIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, userIds.size()));
+                String sql = "SELECT outbox_id, user_id, title, message, priority, reference_id, attempts, " +
+                             "next_attempt_at, last_error, created_at FROM notification_outbox " +
+                             "WHERE status = ? AND user_id IN (" +
+                             String.join(",", Collections.nCopies(chunk.size(), "?")) + ") " +
+                             "ORDER BY user_id, outbox_id";
+
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, STATUS_PENDING);
+                    int index = 2;
+                    for (String userId : chunk) {
+                        stmt.setString(index++, userId);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            notifications.add(mapResultSetToNotification(rs));
+                        }
+                    }
+                }
+            }
+            return notifications;
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to read pending notifications", "read notification outbox", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Marks notifications as delivered in bulk
+     * @param outboxIds IDs of delivered rows
+     * @throws DatabaseException if update fails
+     */
+    public void markDelivered(List<Long> outboxIds) throws DatabaseException {
+        if (outboxIds == null || outboxIds.isEmpty()) {
+            return;
+        }
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try {
+            for (int from = 0; from < outboxIds.size(); from += MAX_IDS_PER_STATEMENT) {
+                List<Long> chunk = outboxIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, outboxIds.size()));
+                String sql = "UPDATE notification_outbox SET status = ?, delivered_at = ? WHERE outbox_id IN (" +
+                             String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, STATUS_DELIVERED);
+                    stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                    int index = 3;
+                    for (Long id : chunk) {
+                        stmt.setLong(index++, id);
+                    }
+                    stmt.executeUpdate();
+                }
+            }
+            connection.commit();
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to mark notifications delivered", "update notification outbox", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Stores the retry state of failed deliveries in one batch
+     * Rows whose attempt count reached maxAttempts are parked as FAILED
+     * @param failed Notifications with updated attempts, nextAttemptAt and lastError
+     * @param maxAttempts Attempt limit after which a row is no longer retried
+     * @throws DatabaseException if update fails
+     */
+    public void reschedule(List<OutboxNotification> failed, int maxAttempts) throws DatabaseException {
+        if (failed == null || failed.isEmpty()) {
+            return;
+        }
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(RESCHEDULE_SQL)) {
+            for (OutboxNotification notification : failed) {
+                stmt.setString(1, notification.getAttempts() >= maxAttempts ? STATUS_FAILED : STATUS_PENDING);
+                stmt.setInt(2, notification.getAttempts());
+                stmt.setLong(3, notification.getNextAttemptAt());
+                stmt.setString(4, notification.getLastError());
+                stmt.setLong(5, notification.getOutboxId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            connection.commit();
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to reschedule notifications", "update notification outbox", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Counts notifications still waiting for delivery
+     * @return Number of pending rows
+     * @throws DatabaseException if query fails
+     */
+    public long countPending() throws DatabaseException {
+        String sql = "SELECT COUNT(*) FROM notification_outbox WHERE status = ?";
+
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_PENDING);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to count pending notifications", "count notifications", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    private OutboxNotification mapResultSetToNotification(ResultSet rs) throws SQLException {
+        Timestamp createdTimestamp = rs.getTimestamp("created_at");
+        LocalDateTime createdAt = (createdTimestamp != null) ? createdTimestamp.toLocalDateTime() : LocalDateTime.now();
+
+        return new OutboxNotification(
+            rs.getLong("outbox_id"),
+            rs.getString("user_id"),
+            rs.getString("title"),
+            rs.getString("message"),
+            rs.getInt("priority"),
+            rs.getString("reference_id"),
+            rs.getInt("attempts"),
+            rs.getLong("next_attempt_at"),
+            rs.getString("last_error"),
+            createdAt
+        );
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            logger.log(Level.SEVERE, "Failed to rollback notification outbox transaction", rollbackEx);
+        }
+    }
+}
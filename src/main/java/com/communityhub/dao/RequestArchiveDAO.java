@@ -0,0 +1,162 @@
+package com.communityhub.dao;
+
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.RequestStatus;
+import com.communityhub.util.DBConnection;
+import com.communityhub.util.TimedConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * DAO that moves closed requests and their feedback into the archive tables
+ *
+ * One batch is one transaction of four set-based statements, and the first statement is
+ * already a write, so the batch never has to upgrade a read lock:
+ *   1. copy up to N closed, old requests into requests_archive, stamped with the batch id
+ *   2. copy their feedback into feedback_archive
+ *   3. delete that feedback from feedback
+ *   4. delete those requests from requests
+ * Steps 2-4 select by the batch stamp in requests_archive, so each delete only removes rows
+ * whose archive copy exists. The batch holds the shared connection's transaction lock, like
+ * BaseDAO.executeInTransaction; code that commits without it can still land between these
+ * statements, but a rolled-back copy turns the deletes into no-ops and a half-committed batch
+ * leaves rows in both tables, which the next batch copies again (INSERT OR REPLACE) and
+ * deletes. Rows are never lost, only moved late.
+ *
+ * Timestamps written by the DAOs are epoch millis; seed rows that still carry the SQLite
+ * CURRENT_TIMESTAMP text default sort after every integer and are never considered old.
+ */
+public class RequestArchiveDAO {
+
+    private static final Logger logger = Logger.getLogger(RequestArchiveDAO.class.getName());
+
+    static final String REQUEST_COLUMNS =
+        "request_id, requester_id, resource_id, volunteer_id, status, description, urgency_level, created_at, updated_at";
+    static final String FEEDBACK_COLUMNS =
+        "feedback_id, user_id, request_id, rating, comments, feedback_type, created_at";
+
+    private static final String BATCH_IDS_SQL =
+        "SELECT request_id FROM requests_archive WHERE archived_at = ?";
+
+    private static final String ARCHIVE_REQUESTS_SQL =
+        "INSERT OR REPLACE INTO requests_archive (" + REQUEST_COLUMNS + ", archived_at) " +
+        "SELECT " + REQUEST_COLUMNS + ", ? FROM requests " +
+        "WHERE status IN (?, ?) AND updated_at < ? LIMIT ?";
+
+    private static final String ARCHIVE_FEEDBACK_SQL =
+        "INSERT OR REPLACE INTO feedback_archive (" + FEEDBACK_COLUMNS + ", archived_at) " +
+        "SELECT " + FEEDBACK_COLUMNS + ", ? FROM feedback WHERE request_id IN (" + BATCH_IDS_SQL + ")";
+
+    private static final String DELETE_FEEDBACK_SQL =
+        "DELETE FROM feedback WHERE request_id IN (" + BATCH_IDS_SQL + ")";
+
+    private static final String DELETE_REQUESTS_SQL =
+        "DELETE FROM requests WHERE request_id IN (" + BATCH_IDS_SQL + ")";
+
+    private final Connection connection;
+    private long lastBatchStamp;
+
+    public RequestArchiveDAO() throws DatabaseException {
+        this.connection = TimedConnection.wrap(DBConnection.getInstance().getConnection(), "RequestArchiveDAO");
+    }
+
+    /**
+     * Moves one batch of closed requests last updated before the cutoff, with their feedback
+     * @param cutoff Requests completed or cancelled before this instant are moved
+     * @param limit Maximum number of requests to move
+     * @return Number of requests and feedback rows moved
+     * @throws DatabaseException if the batch fails; it is rolled back as a whole
+     */
+    public BatchResult archiveBatch(Timestamp cutoff, int limit) throws DatabaseException {
+        long batchStamp = nextBatchStamp();
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try {
+            int requests;
+            try (PreparedStatement stmt = connection.prepareStatement(ARCHIVE_REQUESTS_SQL)) {
+                stmt.setLong(1, batchStamp);
+                stmt.setString(2, RequestStatus.COMPLETED.name());
+                stmt.setString(3, RequestStatus.CANCELLED.name());
+                stmt.setTimestamp(4, cutoff);
+                stmt.setInt(5, limit);
+                requests = stmt.executeUpdate();
+            }
+            if (requests == 0) {
+                connection.commit();
+                return new BatchResult(0, 0);
+            }
+
+            int feedback;
+            try (PreparedStatement stmt = connection.prepareStatement(ARCHIVE_FEEDBACK_SQL)) {
+                stmt.setLong(1, batchStamp);
+                stmt.setLong(2, batchStamp);
+                feedback = stmt.executeUpdate();
+            }
+            executeForBatch(DELETE_FEEDBACK_SQL, batchStamp);
+            int deleted = executeForBatch(DELETE_REQUESTS_SQL, batchStamp);
+            if (deleted != requests) {
+                throw new SQLException("Archived " + requests + " requests but deleted " + deleted);
+            }
+
+            connection.commit();
+            return new BatchResult(requests, feedback);
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to archive closed requests", "archive requests", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    private int executeForBatch(String sql, long batchStamp) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, batchStamp);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Batch stamps double as archived_at and must differ between batches of this process
+     */
+    private synchronized long nextBatchStamp() {
+        lastBatchStamp = Math.max(System.currentTimeMillis(), lastBatchStamp + 1);
+        return lastBatchStamp;
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            logger.log(Level.SEVERE, "Failed to rollback archive transaction", rollbackEx);
+        }
+    }
+
+    /**
+     * Row counts of one archival batch or run
+     */
+    public static final class BatchResult {
+        private final long requests;
+        private final long feedback;
+
+        public BatchResult(long requests, long feedback) {
+            this.requests = requests;
+            this.feedback = feedback;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getFeedback() {
+            return feedback;
+        }
+    }
+}
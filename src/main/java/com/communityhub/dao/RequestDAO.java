@@ -1,6 +1,7 @@
 package com.communityhub.dao;
 
 import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.OutboxNotification;
 import com.communityhub.model.Request;
 import com.communityhub.model.RequestStatus;
 import com.communityhub.model.UrgencyLevel;
@@ -18,8 +19,11 @@ import java.util.List;
  */
 public class RequestDAO extends BaseDAO<Request> {
     
+    private final NotificationOutboxDAO outboxDAO;
+    
     public RequestDAO() throws DatabaseException {
         super();
+        this.outboxDAO = new NotificationOutboxDAO();
     }
     
     @Override
@@ -123,7 +127,7 @@ public class RequestDAO extends BaseDAO<Request> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectByIdSQL());
+            stmt = readConnection().prepareStatement(getSelectByIdSQL());
             stmt.setString(1, requestId);
             rs = stmt.executeQuery();
             
@@ -144,27 +148,46 @@ public class RequestDAO extends BaseDAO<Request> {
         validateEntity(request, "update");
         validateId(request.getRequestId(), "update");
         
+        executeInTransaction(() -> executeUpdate(request));
+    }
+    
+    /**
+     * Updates a request and writes its notifications to the outbox in the same transaction
+     * Either both the status change and its notifications are committed or neither is
+     * @param request Request to update
+     * @param notifications Notifications triggered by the update
+     * @throws DatabaseException if update fails
+     */
+    public void update(Request request, List<OutboxNotification> notifications) throws DatabaseException {
+        validateEntity(request, "update");
+        validateId(request.getRequestId(), "update");
+        
         executeInTransaction(() -> {
-            PreparedStatement stmt = null;
-            try {
-                stmt = connection.prepareStatement(getUpdateSQL());
-                setUpdateParameters(stmt, request);
-                
-                int rowsAffected = stmt.executeUpdate();
-                if (rowsAffected == 0) {
-                    throw new SQLException("Request not found for update: " + request.getRequestId());
-                }
-                
-                logger.info("Request updated successfully: " + request.getRequestId());
-                
-            } catch (SQLException e) {
-                throw new DatabaseException("Failed to update request", "update request", e);
-            } finally {
-                closeStatement(stmt);
-            }
+            executeUpdate(request);
+            outboxDAO.insertAll(notifications);
         });
     }
     
+    private void executeUpdate(Request request) throws DatabaseException {
+        PreparedStatement stmt = null;
+        try {
+            stmt = connection.prepareStatement(getUpdateSQL());
+            setUpdateParameters(stmt, request);
+            
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Request not found for update: " + request.getRequestId());
+            }
+            
+            logger.info("Request updated successfully: " + request.getRequestId());
+            
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to update request", "update request", e);
+        } finally {
+            closeStatement(stmt);
+        }
+    }
+    
     @Override
     public void delete(String requestId) throws DatabaseException {
         validateId(requestId, "delete");
@@ -197,7 +220,7 @@ public class RequestDAO extends BaseDAO<Request> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectAllSQL());
+            stmt = readConnection().prepareStatement(getSelectAllSQL());
             rs = stmt.executeQuery();
             
             while (rs.next()) {
@@ -240,7 +263,7 @@ public class RequestDAO extends BaseDAO<Request> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getCountSQL());
+            stmt = readConnection().prepareStatement(getCountSQL());
             rs = stmt.executeQuery();
             
             if (rs.next()) {
@@ -263,7 +286,7 @@ public class RequestDAO extends BaseDAO<Request> {
         
         try {
             String sql = "SELECT * FROM " + getTableName() + " WHERE " + fieldName + " = ?";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             stmt.setObject(1, value);
             rs = stmt.executeQuery();
             
@@ -279,4 +302,77 @@ public class RequestDAO extends BaseDAO<Request> {
             closeResources(rs, stmt);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Gets a request, looking in requests_archive too when asked
+     * @param requestId Request ID
+     * @param includeArchived true to find requests moved by RequestArchiver
+     * @return Request if found, null otherwise
+     * @throws DatabaseException if query fails
+     */
+    public Request read(String requestId, boolean includeArchived) throws DatabaseException {
+        if (!includeArchived) {
+            return read(requestId);
+        }
+        validateId(requestId, "read");
+        List<Request> requests = findWithArchive(getPrimaryKeyColumn() + " = ?", requestId, "read request");
+        return requests.isEmpty() ? null : requests.get(0);
+    }
+    
+    /**
+     * Gets all requests, including archived ones when asked
+     * @param includeArchived true to append requests moved by RequestArchiver
+     * @return List of requests
+     * @throws DatabaseException if query fails
+     */
+    public List<Request> findAll(boolean includeArchived) throws DatabaseException {
+        return includeArchived ? findWithArchive(null, null, "find all requests") : findAll();
+    }
+    
+    /**
+     * Finds requests by a column value, including archived ones when asked
+     * @param fieldName Column name
+     * @param value Value to match
+     * @param includeArchived true to append requests moved by RequestArchiver
+     * @return List of matching requests
+     * @throws DatabaseException if query fails
+     */
+    public List<Request> findByField(String fieldName, Object value, boolean includeArchived) throws DatabaseException {
+        return includeArchived ? findWithArchive(fieldName + " = ?", value, "find requests") : findByField(fieldName, value);
+    }
+    
+    /**
+     * Runs the same filter over requests and requests_archive as one UNION ALL query
+     * Archive rows still present in requests (a batch caught mid-move) are skipped
+     */
+    private List<Request> findWithArchive(String condition, Object value, String operation) throws DatabaseException {
+        String hotWhere = condition == null ? "" : " WHERE " + condition;
+        String archiveWhere = " WHERE " + (condition == null ? "" : condition + " AND ") +
+                              "NOT EXISTS (SELECT 1 FROM requests hot WHERE hot.request_id = archived.request_id)";
+        String sql = "SELECT " + RequestArchiveDAO.REQUEST_COLUMNS + " FROM requests" + hotWhere +
+                     " UNION ALL SELECT " + RequestArchiveDAO.REQUEST_COLUMNS + " FROM requests_archive archived" + archiveWhere;
+        List<Request> requests = new ArrayList<>();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        
+        try {
+            stmt = readConnection().prepareStatement(sql);
+            if (condition != null) {
+                stmt.setObject(1, value);
+                stmt.setObject(2, value);
+            }
+            rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                requests.add(mapResultSetToEntity(rs));
+            }
+            
+            return requests;
+            
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to " + operation + " including archive", operation, e);
+        } finally {
+            closeResources(rs, stmt);
+        }
+    }
+}
@@ -118,7 +118,7 @@ public class ResourceDAO extends BaseDAO<Resource> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectByIdSQL());
+            stmt = readConnection().prepareStatement(getSelectByIdSQL());
             stmt.setString(1, resourceId);
             rs = stmt.executeQuery();
             
@@ -192,7 +192,7 @@ public class ResourceDAO extends BaseDAO<Resource> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectAllSQL());
+            stmt = readConnection().prepareStatement(getSelectAllSQL());
             rs = stmt.executeQuery();
             
             while (rs.next()) {
@@ -235,7 +235,7 @@ public class ResourceDAO extends BaseDAO<Resource> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getCountSQL());
+            stmt = readConnection().prepareStatement(getCountSQL());
             rs = stmt.executeQuery();
             
             if (rs.next()) {
@@ -258,7 +258,7 @@ public class ResourceDAO extends BaseDAO<Resource> {
         
         try {
             String sql = "SELECT * FROM " + getTableName() + " WHERE " + fieldName + " = ?";
-            stmt = connection.prepareStatement(sql);
+            stmt = readConnection().prepareStatement(sql);
             stmt.setObject(1, value);
             rs = stmt.executeQuery();
             
@@ -0,0 +1,319 @@
+package com.communityhub.dao;
+
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.OutboxNotification;
+import com.communityhub.model.ScheduledNotification;
+import com.communityhub.util.DBConnection;
+import com.communityhub.util.TimedConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * DAO for the scheduled_notifications table
+ *
+ * The table is the source of truth for scheduled notifications; the in-memory timing wheel
+ * only holds IDs of timers that are due soon. Firing moves the notification into the outbox
+ * and advances or closes the schedule in one transaction, so a timer fires at most once per
+ * period even if it is loaded into the wheel twice.
+ *
+ * Writes and the scheduler's reads hold DBConnection's transaction lock from the first
+ * statement to the commit or rollback, since the scheduler thread shares the connection
+ * with request threads.
+ */
+public class ScheduledNotificationDAO {
+
+    private static final Logger logger = Logger.getLogger(ScheduledNotificationDAO.class.getName());
+
+    public static final String STATUS_SCHEDULED = "SCHEDULED";
+    public static final String STATUS_FIRED = "FIRED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    // SQLite's default host parameter limit is 999, keep IN lists well below it
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    private static final String SELECT_COLUMNS =
+        "SELECT schedule_id, user_id, title, message, priority, fire_at, period_ms, created_at " +
+        "FROM scheduled_notifications ";
+
+    private final Connection connection;
+    private final NotificationOutboxDAO outboxDAO;
+
+    public ScheduledNotificationDAO() throws DatabaseException {
+        this.connection = TimedConnection.wrap(DBConnection.getInstance().getConnection(), "ScheduledNotificationDAO");
+        this.outboxDAO = new NotificationOutboxDAO();
+    }
+
+    /**
+     * Persists a scheduled notification and assigns its ID
+     * @param notification Notification to schedule
+     * @return Generated schedule ID
+     * @throws DatabaseException if insertion fails
+     */
+    public long insert(ScheduledNotification notification) throws DatabaseException {
+        String sql = "INSERT INTO scheduled_notifications (user_id, title, message, priority, fire_at, " +
+                     "period_ms, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, notification.getUserId());
+            stmt.setString(2, notification.getTitle());
+            stmt.setString(3, notification.getMessage());
+            stmt.setInt(4, notification.getPriority());
+            stmt.setLong(5, notification.getFireAt());
+            stmt.setLong(6, notification.getPeriodMs());
+            stmt.setString(7, STATUS_SCHEDULED);
+            stmt.setTimestamp(8, Timestamp.valueOf(notification.getCreatedAt()));
+            stmt.executeUpdate();
+
+            long scheduleId;
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Creating scheduled notification failed, no ID obtained");
+                }
+                scheduleId = keys.getLong(1);
+            }
+            connection.commit();
+
+            notification.setScheduleId(scheduleId);
+            return scheduleId;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to schedule notification", "insert scheduled notification", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Cancels a scheduled notification
+     * @param scheduleId Schedule ID
+     * @return true if a pending schedule was cancelled
+     * @throws DatabaseException if update fails
+     */
+    public boolean cancel(long scheduleId) throws DatabaseException {
+        String sql = "UPDATE scheduled_notifications SET status = ? WHERE schedule_id = ? AND status = ?";
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_CANCELLED);
+            stmt.setLong(2, scheduleId);
+            stmt.setString(3, STATUS_SCHEDULED);
+            int rows = stmt.executeUpdate();
+            connection.commit();
+            return rows > 0;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to cancel scheduled notification", "cancel scheduled notification", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets one page of pending schedules firing before the given time
+     * Pages are ordered by (fire_at, schedule_id); pass the last row of the previous page to continue
+     * @param fireBefore Exclusive upper bound for fire_at (epoch millis)
+     * @param afterFireAt fire_at of the last row of the previous page, or Long.MIN_VALUE
+     * @param afterScheduleId schedule_id of the last row of the previous page, or 0
+     * @param limit Maximum number of rows
+     * @return Pending schedules
+     * @throws DatabaseException if query fails
+     */
+    public List<ScheduledNotification> findPendingBefore(long fireBefore, long afterFireAt, long afterScheduleId,
+                                                         int limit) throws DatabaseException {
+        String sql = SELECT_COLUMNS +
+                     "WHERE status = ? AND fire_at < ? AND (fire_at > ? OR (fire_at = ? AND schedule_id > ?)) " +
+                     "ORDER BY fire_at, schedule_id LIMIT ?";
+        List<ScheduledNotification> notifications = new ArrayList<>();
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_SCHEDULED);
+            stmt.setLong(2, fireBefore);
+            stmt.setLong(3, afterFireAt);
+            stmt.setLong(4, afterFireAt);
+            stmt.setLong(5, afterScheduleId);
+            stmt.setInt(6, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
+            }
+            return notifications;
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to load scheduled notifications", "load scheduled notifications", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Fires due schedules: writes their notifications to the outbox, closes one-shot schedules
+     * and moves recurring schedules to their next firing, all in one transaction
+     * Schedules that were cancelled or are not due yet are skipped
+     * @param scheduleIds IDs of expired timers
+     * @param nowMs Current time in epoch milliseconds
+     * @return Recurring schedules with their updated fireAt
+     * @throws DatabaseException if the transaction fails
+     */
+    public List<ScheduledNotification> fire(List<Long> scheduleIds, long nowMs) throws DatabaseException {
+        List<ScheduledNotification> rescheduled = new ArrayList<>();
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return rescheduled;
+        }
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try {
+            List<ScheduledNotification> due = new ArrayList<>(scheduleIds.size());
+            for (int from = 0; from < scheduleIds.size(); from += MAX_IDS_PER_STATEMENT) {
+                List<Long> chunk = scheduleIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, scheduleIds.size()));
+                due.addAll(findDue(chunk, nowMs));
+            }
+
+            List<OutboxNotification> notifications = new ArrayList<>(due.size());
+            List<Long> fired = new ArrayList<>();
+            for (ScheduledNotification schedule : due) {
+                notifications.add(new OutboxNotification(schedule.getUserId(), schedule.getTitle(),
+                                                         schedule.getMessage(), schedule.getPriority(), null));
+                if (schedule.isRecurring()) {
+                    // Skip periods missed while the application was down instead of replaying them
+                    long missed = (nowMs - schedule.getFireAt()) / schedule.getPeriodMs();
+                    schedule.setFireAt(schedule.getFireAt() + (missed + 1) * schedule.getPeriodMs());
+                    rescheduled.add(schedule);
+                } else {
+                    fired.add(schedule.getScheduleId());
+                }
+            }
+
+            outboxDAO.insertAll(notifications);
+            markFired(fired);
+            updateFireAt(rescheduled);
+            connection.commit();
+            return rescheduled;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to fire scheduled notifications", "fire scheduled notifications", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Counts pending schedules
+     * @return Number of pending rows
+     * @throws DatabaseException if query fails
+     */
+    public long countPending() throws DatabaseException {
+        String sql = "SELECT COUNT(*) FROM scheduled_notifications WHERE status = ?";
+
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_SCHEDULED);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to count scheduled notifications", "count scheduled notifications", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    private List<ScheduledNotification> findDue(List<Long> scheduleIds, long nowMs) throws SQLException {
+        String sql = SELECT_COLUMNS + "WHERE status = ? AND fire_at <= ? AND schedule_id IN (" +
+                     String.join(",", Collections.nCopies(scheduleIds.size(), "?")) + ")";
+        List<ScheduledNotification> due = new ArrayList<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_SCHEDULED);
+            stmt.setLong(2, nowMs);
+            int index = 3;
+            for (Long id : scheduleIds) {
+                stmt.setLong(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    due.add(mapResultSetToNotification(rs));
+                }
+            }
+        }
+        return due;
+    }
+
+    private void markFired(List<Long> scheduleIds) throws SQLException {
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "UPDATE scheduled_notifications SET status = ? WHERE schedule_id = ?")) {
+            for (Long id : scheduleIds) {
+                stmt.setString(1, STATUS_FIRED);
+                stmt.setLong(2, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void updateFireAt(List<ScheduledNotification> schedules) throws SQLException {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "UPDATE scheduled_notifications SET fire_at = ? WHERE schedule_id = ?")) {
+            for (ScheduledNotification schedule : schedules) {
+                stmt.setLong(1, schedule.getFireAt());
+                stmt.setLong(2, schedule.getScheduleId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private ScheduledNotification mapResultSetToNotification(ResultSet rs) throws SQLException {
+        Timestamp createdTimestamp = rs.getTimestamp("created_at");
+        LocalDateTime createdAt = (createdTimestamp != null) ? createdTimestamp.toLocalDateTime() : LocalDateTime.now();
+
+        return new ScheduledNotification(
+            rs.getLong("schedule_id"),
+            rs.getString("user_id"),
+            rs.getString("title"),
+            rs.getString("message"),
+            rs.getInt("priority"),
+            rs.getLong("fire_at"),
+            rs.getLong("period_ms"),
+            createdAt
+        );
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            logger.log(Level.SEVERE, "Failed to rollback scheduled notification transaction", rollbackEx);
+        }
+    }
+}
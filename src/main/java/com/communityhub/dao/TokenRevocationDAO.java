@@ -0,0 +1,140 @@
+package com.communityhub.dao;
+
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.TokenRevocation;
+import com.communityhub.util.DBConnection;
+import com.communityhub.util.TimedConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * DAO for the auth_token_revocations table
+ *
+ * Every node keeps the live revocations in memory and polls this table for rows newer than
+ * the last one it has seen, so a logout on one node is honoured by all of them within one
+ * poll interval. Rows are deleted once every token they could match has expired.
+ */
+public class TokenRevocationDAO {
+
+    private static final Logger logger = Logger.getLogger(TokenRevocationDAO.class.getName());
+
+    private final Connection connection;
+
+    public TokenRevocationDAO() throws DatabaseException {
+        this.connection = TimedConnection.wrap(DBConnection.getInstance().getConnection(), "TokenRevocationDAO");
+    }
+
+    /**
+     * Persists a revocation and assigns its ID
+     * @param revocation Revocation to store
+     * @return Generated revocation ID
+     * @throws DatabaseException if insertion fails
+     */
+    public long insert(TokenRevocation revocation) throws DatabaseException {
+        String sql = "INSERT INTO auth_token_revocations (token_id, user_id, revoked_at, expires_at) " +
+                     "VALUES (?, ?, ?, ?)";
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, revocation.getTokenId());
+            stmt.setString(2, revocation.getUserId());
+            stmt.setLong(3, revocation.getRevokedAt());
+            stmt.setLong(4, revocation.getExpiresAt());
+            stmt.executeUpdate();
+
+            long revocationId;
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Creating token revocation failed, no ID obtained");
+                }
+                revocationId = keys.getLong(1);
+            }
+            connection.commit();
+
+            revocation.setRevocationId(revocationId);
+            return revocationId;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to revoke token", "insert token revocation", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets unexpired revocations with an ID greater than the given one, oldest first
+     * @param afterRevocationId Last revocation ID already seen, or 0
+     * @param nowMs Current time; rows expired before it are skipped
+     * @return Revocations
+     * @throws DatabaseException if query fails
+     */
+    public List<TokenRevocation> findAfter(long afterRevocationId, long nowMs) throws DatabaseException {
+        String sql = "SELECT revocation_id, token_id, user_id, revoked_at, expires_at " +
+                     "FROM auth_token_revocations WHERE revocation_id > ? AND expires_at > ? " +
+                     "ORDER BY revocation_id";
+        List<TokenRevocation> revocations = new ArrayList<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, afterRevocationId);
+            stmt.setLong(2, nowMs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    revocations.add(new TokenRevocation(
+                        rs.getLong("revocation_id"),
+                        rs.getString("token_id"),
+                        rs.getString("user_id"),
+                        rs.getLong("revoked_at"),
+                        rs.getLong("expires_at")));
+                }
+            }
+            return revocations;
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to load token revocations", "find token revocations", e);
+        }
+    }
+
+    /**
+     * Deletes revocations that can no longer match any valid token
+     * @param nowMs Current time
+     * @return Number of rows deleted
+     * @throws DatabaseException if deletion fails
+     */
+    public int deleteExpired(long nowMs) throws DatabaseException {
+        String sql = "DELETE FROM auth_token_revocations WHERE expires_at <= ?";
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, nowMs);
+            int rows = stmt.executeUpdate();
+            connection.commit();
+            return rows;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to delete expired token revocations", "delete token revocations", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            logger.log(Level.SEVERE, "Failed to rollback token revocation transaction", rollbackEx);
+        }
+    }
+}
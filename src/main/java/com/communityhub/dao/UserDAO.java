@@ -210,7 +210,7 @@ public class UserDAO extends BaseDAO<User> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getSelectAllSQL());
+            stmt = readConnection().prepareStatement(getSelectAllSQL());
             rs = stmt.executeQuery();
             
             while (rs.next()) {
@@ -253,7 +253,7 @@ public class UserDAO extends BaseDAO<User> {
         ResultSet rs = null;
         
         try {
-            stmt = connection.prepareStatement(getCountSQL());
+            stmt = readConnection().prepareStatement(getCountSQL());
             rs = stmt.executeQuery();
             
             if (rs.next()) {
@@ -337,6 +337,78 @@ public class UserDAO extends BaseDAO<User> {
         return findByField("role", role.toString());
     }
     
+    /**
+     * Gets one page of user IDs for a role, ordered by user ID
+     * Uses keyset pagination so each page costs the same regardless of how deep the scan is
+     * @param role Role to search for
+     * @param afterUserId Last user ID of the previous page, or null for the first page
+     * @param limit Maximum number of IDs to return
+     * @return User IDs of the page (empty when there are no more)
+     * @throws DatabaseException if search fails
+     */
+    public List<String> findUserIdsByRole(UserRole role, String afterUserId, int limit) throws DatabaseException {
+        if (role == null) {
+            throw new DatabaseException("Role cannot be null");
+        }
+        
+        List<String> userIds = new ArrayList<>(limit);
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        
+        try {
+            String sql = "SELECT user_id FROM " + getTableName() + " WHERE role = ?" +
+                         (afterUserId != null ? " AND user_id > ?" : "") +
+                         " ORDER BY user_id LIMIT ?";
+            stmt = connection.prepareStatement(sql);
+            int index = 1;
+            stmt.setString(index++, role.toString());
+            if (afterUserId != null) {
+                stmt.setString(index++, afterUserId);
+            }
+            stmt.setInt(index, limit);
+            rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                userIds.add(rs.getString(1));
+            }
+            
+            return userIds;
+            
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to page users by role", "find users by role", e);
+        } finally {
+            closeResources(rs, stmt);
+        }
+    }
+    
+    /**
+     * Counts users with a role
+     * @param role Role to count
+     * @return Number of users with the role
+     * @throws DatabaseException if count fails
+     */
+    public long countByRole(UserRole role) throws DatabaseException {
+        if (role == null) {
+            throw new DatabaseException("Role cannot be null");
+        }
+        
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        
+        try {
+            stmt = readConnection().prepareStatement("SELECT COUNT(*) FROM " + getTableName() + " WHERE role = ?");
+            stmt.setString(1, role.toString());
+            rs = stmt.executeQuery();
+            
+            return rs.next() ? rs.getLong(1) : 0;
+            
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to count users by role", "count users by role", e);
+        } finally {
+            closeResources(rs, stmt);
+        }
+    }
+    
     /**
      * Authenticates a user by username and password hash
      * @param username Username
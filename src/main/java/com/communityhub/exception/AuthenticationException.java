@@ -121,4 +121,18 @@ public class AuthenticationException extends CommunityHubException {
         ex.errorCode = "PASSWORD_RESET_REQUIRED";
         return ex;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Creates an exception for a login that could not be processed because the system is busy
+     * @param username The username attempting to log in
+     * @return AuthenticationException for an overloaded login service
+     */
+    public static AuthenticationException serviceBusy(String username) {
+        AuthenticationException ex = new AuthenticationException(
+            "Password hashing capacity exhausted for username: " + username,
+            "The system is busy. Please try again in a moment.", true);
+        ex.username = username;
+        ex.errorCode = "SERVICE_BUSY";
+        return ex;
+    }
+}
@@ -0,0 +1,114 @@
+package com.communityhub.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification row stored in the transactional outbox
+ * Written in the same transaction as the change that triggered it and
+ * delivered later by the outbox relay (at-least-once)
+ */
+public class OutboxNotification {
+
+    private long outboxId;
+    private String userId;
+    private String title;
+    private String message;
+    private int priority;
+    private String referenceId; // Entity that triggered the notification (e.g. request ID), may be null
+    private int attempts;
+    private long nextAttemptAt; // Epoch millis
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    // Constructor for new notification (not yet persisted)
+    public OutboxNotification(String userId, String title, String message, int priority, String referenceId) {
+        this.userId = userId;
+        this.title = title;
+        this.message = message;
+        this.priority = priority;
+        this.referenceId = referenceId;
+        this.attempts = 0;
+        this.nextAttemptAt = System.currentTimeMillis();
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Constructor for existing notification (from database)
+    public OutboxNotification(long outboxId, String userId, String title, String message, int priority,
+                              String referenceId, int attempts, long nextAttemptAt, String lastError,
+                              LocalDateTime createdAt) {
+        this.outboxId = outboxId;
+        this.userId = userId;
+        this.title = title;
+        this.message = message;
+        this.priority = priority;
+        this.referenceId = referenceId;
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public long getOutboxId() {
+        return outboxId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(long nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxNotification{" +
+                "outboxId=" + outboxId +
+                ", userId='" + userId + '\'' +
+                ", title='" + title + '\'' +
+                ", priority=" + priority +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
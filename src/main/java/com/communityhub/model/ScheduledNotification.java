@@ -0,0 +1,100 @@
+package com.communityhub.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification scheduled for later (optionally recurring) delivery
+ * Persisted in scheduled_notifications and handed to the outbox when it fires
+ */
+public class ScheduledNotification {
+
+    private long scheduleId;
+    private String userId;
+    private String title;
+    private String message;
+    private int priority;
+    private long fireAt;   // Epoch millis of the next firing
+    private long periodMs; // 0 for one-shot notifications
+    private LocalDateTime createdAt;
+
+    // Constructor for new scheduled notification (not yet persisted)
+    public ScheduledNotification(String userId, String title, String message, int priority,
+                                 long fireAt, long periodMs) {
+        this.userId = userId;
+        this.title = title;
+        this.message = message;
+        this.priority = priority;
+        this.fireAt = fireAt;
+        this.periodMs = periodMs;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Constructor for existing scheduled notification (from database)
+    public ScheduledNotification(long scheduleId, String userId, String title, String message, int priority,
+                                 long fireAt, long periodMs, LocalDateTime createdAt) {
+        this.scheduleId = scheduleId;
+        this.userId = userId;
+        this.title = title;
+        this.message = message;
+        this.priority = priority;
+        this.fireAt = fireAt;
+        this.periodMs = periodMs;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public long getScheduleId() {
+        return scheduleId;
+    }
+
+    public void setScheduleId(long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getFireAt() {
+        return fireAt;
+    }
+
+    public void setFireAt(long fireAt) {
+        this.fireAt = fireAt;
+    }
+
+    public long getPeriodMs() {
+        return periodMs;
+    }
+
+    public boolean isRecurring() {
+        return periodMs > 0;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledNotification{" +
+                "scheduleId=" + scheduleId +
+                ", userId='" + userId + '\'' +
+                ", title='" + title + '\'' +
+                ", fireAt=" + fireAt +
+                ", periodMs=" + periodMs +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.communityhub.model;
+
+import java.io.Serializable;
+
+/**
+ * Compact identity stored in the HTTP session in place of the full User object
+ *
+ * Holds only the user ID, the role ordinal, the version of the cached User it was issued
+ * from and, when sessions are persisted, the key of the shared session record. The User
+ * itself is resolved per request from UserCache; when the cached version differs, the
+ * principal is re-issued so role changes apply on the next request.
+ */
+public final class SessionPrincipal implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    /** Session attribute under which the principal is stored */
+    public static final String ATTRIBUTE = "principal";
+
+    private static final UserRole[] ROLES = UserRole.values();
+
+    private final String userId;
+    private final byte roleOrdinal;
+    private final long version;
+    private final String sessionKey;
+
+    private SessionPrincipal(String userId, byte roleOrdinal, long version, String sessionKey) {
+        this.userId = userId;
+        this.roleOrdinal = roleOrdinal;
+        this.version = version;
+        this.sessionKey = sessionKey;
+    }
+
+    /**
+     * Creates a principal for a user
+     * @param user Authenticated user
+     * @param version Version of the cached user
+     * @return Session principal
+     */
+    public static SessionPrincipal of(User user, long version) {
+        return of(user, version, null);
+    }
+
+    /**
+     * Creates a principal for a user whose session is persisted in the shared session store
+     * @param user Authenticated user
+     * @param version Version of the cached user
+     * @param sessionKey Key of the persisted session record, may be null
+     * @return Session principal
+     */
+    public static SessionPrincipal of(User user, long version, String sessionKey) {
+        return new SessionPrincipal(user.getUserId(), (byte) user.getRole().ordinal(), version, sessionKey);
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public UserRole getRole() {
+        return ROLES[roleOrdinal];
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionPrincipal{userId='" + userId + "', role=" + getRole() + ", version=" + version + "}";
+    }
+}
@@ -0,0 +1,58 @@
+package com.communityhub.model;
+
+/**
+ * Persisted form of an authenticated session, shared between application nodes
+ * Keyed by a random session key kept in its own cookie, so any node can restore the login
+ * even though the container's HTTP session (and its ID) only exists on the node that made it.
+ */
+public class SessionRecord {
+
+    private static final UserRole[] ROLES = UserRole.values();
+
+    private final String sessionKey;
+    private final String userId;
+    private final int roleOrdinal;
+    private final long createdAt;        // Epoch millis
+    private volatile long lastAccessAt;  // Epoch millis
+
+    public SessionRecord(String sessionKey, String userId, int roleOrdinal, long createdAt, long lastAccessAt) {
+        this.sessionKey = sessionKey;
+        this.userId = userId;
+        this.roleOrdinal = roleOrdinal;
+        this.createdAt = createdAt;
+        this.lastAccessAt = lastAccessAt;
+    }
+
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public int getRoleOrdinal() {
+        return roleOrdinal;
+    }
+
+    public UserRole getRole() {
+        return ROLES[roleOrdinal];
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastAccessAt() {
+        return lastAccessAt;
+    }
+
+    public void setLastAccessAt(long lastAccessAt) {
+        this.lastAccessAt = lastAccessAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionRecord{userId='" + userId + "', role=" + getRole() + ", lastAccessAt=" + lastAccessAt + "}";
+    }
+}
@@ -0,0 +1,60 @@
+package com.communityhub.model;
+
+/**
+ * Revocation of signed auth tokens, persisted in auth_token_revocations
+ * With a token ID it revokes that single token (logout); without one it revokes every
+ * token of the user issued at or before revokedAt (deactivation, deletion).
+ * Rows are only needed until the newest token they can match has expired.
+ */
+public class TokenRevocation {
+
+    private long revocationId;
+    private final String tokenId;   // null revokes all of the user's tokens
+    private final String userId;
+    private final long revokedAt;   // Epoch millis
+    private final long expiresAt;   // Epoch millis after which the row can be discarded
+
+    // Constructor for new revocation (not yet persisted)
+    public TokenRevocation(String tokenId, String userId, long revokedAt, long expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Constructor for existing revocation (from database)
+    public TokenRevocation(long revocationId, String tokenId, String userId, long revokedAt, long expiresAt) {
+        this(tokenId, userId, revokedAt, expiresAt);
+        this.revocationId = revocationId;
+    }
+
+    public long getRevocationId() {
+        return revocationId;
+    }
+
+    public void setRevocationId(long revocationId) {
+        this.revocationId = revocationId;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getRevokedAt() {
+        return revokedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRevocation{revocationId=" + revocationId + ", tokenId='" + tokenId
+            + "', userId='" + userId + "', revokedAt=" + revokedAt + "}";
+    }
+}
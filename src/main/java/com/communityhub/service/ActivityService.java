@@ -5,6 +5,7 @@ import com.communityhub.dto.ActivityDTO;
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.model.User;
 import com.communityhub.model.UserRole;
+import com.communityhub.util.RequestContext;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +34,10 @@ public class ActivityService {
      * @return List of recent activities
      */
     public List<ActivityDTO> getRecentActivity(User user, int limit) {
+        return RequestContext.span("ActivityService.getRecentActivity", () -> doGetRecentActivity(user, limit));
+    }
+    
+    private List<ActivityDTO> doGetRecentActivity(User user, int limit) {
         // Validate and cap limit
         if (limit <= 0) {
             limit = DEFAULT_LIMIT;
@@ -1,5 +1,7 @@
 package com.communityhub.service;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
 import com.communityhub.dao.UserDAO;
 import com.communityhub.exception.AuthenticationException;
 import com.communityhub.exception.DatabaseException;
@@ -9,12 +11,16 @@ import com.communityhub.model.UserRole;
 import com.communityhub.model.Admin;
 import com.communityhub.model.Volunteer;
 import com.communityhub.model.Requester;
-import com.communityhub.util.SessionManager;
+import com.communityhub.util.LoginAttemptTracker;
+import com.communityhub.util.PasswordHashExecutor;
+import com.communityhub.util.RequestContext;
+import com.communityhub.util.SessionRegistry;
 import com.communityhub.util.ValidationUtils;
 import com.communityhub.util.PasswordUtils;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -24,29 +30,36 @@ import java.util.logging.Level;
  * 
  * MULTITHREADING IMPLEMENTATION (Review-1 Requirement):
  * - REASON: Multiple concurrent users may attempt login simultaneously
- * - SYNCHRONIZATION: login() method is synchronized to prevent race conditions
- *   when checking/updating login attempts and activeUsers map
- * - THREAD-SAFE COLLECTIONS: ConcurrentHashMap used for activeUsers, loginAttempts,
- *   and lastLoginAttempt to handle concurrent access without explicit locking
- * - CRITICAL SECTION: Account lockout check and login attempt recording must be atomic
- *   to prevent multiple threads from bypassing lockout protection
+ * - SYNCHRONIZATION: login() is not synchronized; the user lookup and password hash
+ *   verification run fully in parallel. Only per-key attempt state is guarded, by lock
+ *   stripes inside LoginAttemptTracker, so different users never contend with each other
+ * - SESSIONS: Authenticated sessions live in SessionRegistry, keyed by HTTP session ID and
+ *   expired by its timing wheel; this service holds no per-user session state
+ * - CRITICAL SECTION: Each login reserves an attempt slot in the tracker before verifying
+ *   the password. Failures plus in-flight attempts never exceed the limit, so concurrent
+ *   guesses cannot bypass lockout protection. A login that finds every slot in flight waits
+ *   for one to finish, so concurrent valid logins are delayed, never reported as locked
+ * - CPU ISOLATION: Password hashing runs on PasswordHashExecutor's bounded pool, so a login
+ *   storm cannot take every core from request threads; logins beyond its queue are refused
+ *   as "busy" rather than queued
+ * - BOUNDED MEMORY: Failed attempts are tracked per username and per source address in
+ *   fixed-size trackers, so credential stuffing across many usernames cannot grow memory
+ * - SOURCE LIMIT: Off unless security.max.login.attempts.per.source is set. It counts
+ *   completed failures only, never logins in progress, since many clients can share one
+ *   address behind a proxy or NAT (see LoginServlet for how the address is resolved)
  */
 public class AuthenticationService {
     
     private static final Logger logger = Logger.getLogger(AuthenticationService.class.getName());
     
     private final UserDAO userDAO;
-    private final SessionManager sessionManager;
+    private final SessionRegistry sessionRegistry;
+    private final UserCache userCache;
+    private final PasswordHashExecutor passwordHasher;
     
-    // Thread-safe collections for session management
-    // ConcurrentHashMap allows multiple threads to read/write without blocking
-    private final Map<String, User> activeUsers;
-    private final Map<String, Integer> loginAttempts;
-    private final Map<String, Long> lastLoginAttempt;
-    
-    // Security configuration
-    private static final int MAX_LOGIN_ATTEMPTS = 5;
-    private static final long LOCKOUT_DURATION_MS = 15 * 60 * 1000; // 15 minutes
+    // Sliding-window failed login counters with fixed memory; sourceAttempts is null when disabled
+    private final LoginAttemptTracker usernameAttempts;
+    private final LoginAttemptTracker sourceAttempts;
     
     /**
      * Constructor initializes the authentication service
@@ -54,10 +67,24 @@ public class AuthenticationService {
      */
     public AuthenticationService() throws DatabaseException {
         this.userDAO = new UserDAO();
-        this.sessionManager = SessionManager.getInstance();
-        this.activeUsers = new ConcurrentHashMap<>();
-        this.loginAttempts = new ConcurrentHashMap<>();
-        this.lastLoginAttempt = new ConcurrentHashMap<>();
+        this.sessionRegistry = SessionRegistry.getInstance();
+        this.userCache = UserCache.getInstance();
+        this.passwordHasher = PasswordHashExecutor.getInstance();
+        
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        long lockoutMs = config.getLong("security.lockout.duration.ms", Constants.Security.LOCKOUT_DURATION_MS);
+        this.usernameAttempts = new LoginAttemptTracker(
+            config.getInt("security.login.tracker.capacity", Constants.Security.LOGIN_TRACKER_CAPACITY),
+            config.getInt("security.max.login.attempts", Constants.Security.MAX_LOGIN_ATTEMPTS),
+            lockoutMs, lockoutMs,
+            config.getLong("security.login.attempt.wait.ms", Constants.Security.LOGIN_ATTEMPT_WAIT_MS));
+        int maxPerSource = config.getInt("security.max.login.attempts.per.source",
+                                         Constants.Security.MAX_LOGIN_ATTEMPTS_PER_SOURCE);
+        this.sourceAttempts = maxPerSource > 0
+            ? new LoginAttemptTracker(
+                config.getInt("security.login.tracker.capacity", Constants.Security.LOGIN_TRACKER_CAPACITY),
+                maxPerSource, lockoutMs, lockoutMs)
+            : null;
     }
     
     /**
@@ -69,64 +96,155 @@ public class AuthenticationService {
      * @throws InvalidInputException if input validation fails
      * @throws DatabaseException if database operation fails
      */
-    public synchronized User login(String username, String password) throws AuthenticationException, InvalidInputException, DatabaseException {
+    public User login(String username, String password) throws AuthenticationException, InvalidInputException, DatabaseException {
+        return login(username, password, null);
+    }
+    
+    /**
+     * Authenticates a user with username and password
+     * Failed attempts are limited per username and, when enabled and known, per source address
+     * @param username User's username
+     * @param password User's plain text password
+     * @param sourceAddress Client address the attempt came from, may be null
+     * @return Authenticated user
+     * @throws AuthenticationException if authentication fails
+     * @throws InvalidInputException if input validation fails
+     * @throws DatabaseException if database operation fails
+     */
+    public User login(String username, String password, String sourceAddress)
+            throws AuthenticationException, InvalidInputException, DatabaseException {
+        int span = RequestContext.beginSpan("AuthenticationService.login");
+        try {
+            return doLogin(username, password, sourceAddress);
+        } finally {
+            RequestContext.endSpan(span);
+        }
+    }
+    
+    private User doLogin(String username, String password, String sourceAddress)
+            throws AuthenticationException, InvalidInputException, DatabaseException {
         // Validate input
         ValidationUtils.validateRequired(username, "username");
         ValidationUtils.validateRequired(password, "password");
         
-        // Check if account is locked
-        if (isAccountLocked(username)) {
+        // A locked source address is refused up front; its failures are counted afterwards
+        boolean limitSource = sourceAttempts != null && sourceAddress != null;
+        if (limitSource && sourceAttempts.isLocked(sourceAddress)) {
+            logger.warning("Too many failed logins from source address: " + sourceAddress);
+            throw AuthenticationException.accountLocked(username);
+        }
+        
+        // Reserve an attempt slot, fails if the account is locked
+        if (!usernameAttempts.tryBegin(username)) {
+            if (!usernameAttempts.isLocked(username)) {
+                // Every remaining attempt stayed in flight for the whole wait
+                throw AuthenticationException.serviceBusy(username);
+            }
             throw AuthenticationException.accountLocked(username);
         }
         
+        LoginAttemptTracker.Outcome outcome = LoginAttemptTracker.Outcome.RELEASED;
         try {
             // Find user by username
             User user = userDAO.findByUsername(username);
             if (user == null) {
-                recordFailedLogin(username);
+                outcome = LoginAttemptTracker.Outcome.FAILURE;
                 throw AuthenticationException.invalidLogin(username);
             }
             
-            // Verify password using PasswordUtils
+            // Verify password on the bounded hashing pool
             logger.info("Verifying password for user: " + username);
-            logger.fine("Stored hash: " + user.getPasswordHash());
             
-            if (!PasswordUtils.verifyPassword(password, user.getPasswordHash())) {
-                recordFailedLogin(username);
+            if (!passwordHasher.verify(password, user.getPasswordHash())) {
                 logger.warning("Password verification failed for user: " + username);
+                outcome = LoginAttemptTracker.Outcome.FAILURE;
                 throw AuthenticationException.invalidLogin(username);
             }
             
             // Successful login
-            clearLoginAttempts(username);
-            sessionManager.login(user);
-            activeUsers.put(user.getUserId(), user);
+            outcome = LoginAttemptTracker.Outcome.SUCCESS;
+            upgradePasswordHash(user, password);
             
             logger.info("User logged in successfully: " + username + " (Role: " + user.getRole() + ")");
             return user;
             
         } catch (AuthenticationException e) {
             throw e;
+        } catch (RejectedExecutionException e) {
+            logger.warning("Login rejected, password hashing busy: " + e.getMessage());
+            throw AuthenticationException.serviceBusy(username);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Unexpected error during login", e);
             throw new AuthenticationException("Login failed due to system error");
+        } finally {
+            int failures = usernameAttempts.finish(username, outcome);
+            if (outcome == LoginAttemptTracker.Outcome.FAILURE) {
+                logger.warning("Failed login attempt for user: " + username + " (Attempt " + failures + ")");
+            }
+            if (limitSource && outcome == LoginAttemptTracker.Outcome.FAILURE) {
+                // A valid login must not clear failures counted against the source address
+                sourceAttempts.recordFailure(sourceAddress);
+            }
         }
     }
     
     /**
-     * Logs out the current user
-     * @throws AuthenticationException if no user is logged in
+     * Registers an authenticated HTTP session
+     * @param sessionId HTTP session ID
+     * @param user User returned by login
      */
-    public synchronized void logout() throws AuthenticationException {
-        User currentUser = sessionManager.getCurrentUser();
-        if (currentUser == null) {
-            throw new AuthenticationException("No user is currently logged in");
+    public void startSession(String sessionId, User user) {
+        RequestContext.span("AuthenticationService.startSession", () -> doStartSession(sessionId, user));
+    }
+    
+    private void doStartSession(String sessionId, User user) {
+        sessionRegistry.register(sessionId, user);
+        logger.info("Session started for user: " + user.getUsername()
+                    + ", active sessions: " + sessionRegistry.getActiveCount());
+    }
+    
+    /**
+     * Logs out the user of an HTTP session
+     * @param sessionId HTTP session ID
+     * @throws AuthenticationException if no user is logged in on the session
+     */
+    public void logout(String sessionId) throws AuthenticationException {
+        RequestContext.span("AuthenticationService.logout", () -> doLogout(sessionId));
+    }
+    
+    private void doLogout(String sessionId) throws AuthenticationException {
+        SessionRegistry.RegisteredSession session = sessionRegistry.unregister(sessionId);
+        if (session == null) {
+            throw new AuthenticationException("No user is logged in on this session");
         }
         
-        activeUsers.remove(currentUser.getUserId());
-        sessionManager.logout();
+        logger.info("User logged out: " + session.getUsername());
+    }
+    
+    /**
+     * Logs out a stateless auth token by revoking it on every node
+     * @param token Signed token from the auth cookie
+     * @throws AuthenticationException if the token is not valid
+     * @throws DatabaseException if the revocation cannot be stored
+     */
+    public void logoutToken(String token) throws AuthenticationException, DatabaseException {
+        int span = RequestContext.beginSpan("AuthenticationService.logoutToken");
+        try {
+            doLogoutToken(token);
+        } finally {
+            RequestContext.endSpan(span);
+        }
+    }
+    
+    private void doLogoutToken(String token) throws AuthenticationException, DatabaseException {
+        TokenAuthenticator authenticator = TokenAuthenticator.getInstance();
+        TokenAuthenticator.Claims claims = authenticator.verify(token);
+        if (claims == null) {
+            throw new AuthenticationException("Auth token is invalid or already revoked");
+        }
         
-        logger.info("User logged out: " + currentUser.getUsername());
+        authenticator.revoke(claims);
+        logger.info("Auth token revoked for user: " + claims.getUserId());
     }
     
     /**
@@ -142,6 +260,16 @@ public class AuthenticationService {
      */
     public User register(String username, String email, String password, String confirmPassword, UserRole role) 
             throws InvalidInputException, DatabaseException {
+        int span = RequestContext.beginSpan("AuthenticationService.register");
+        try {
+            return doRegister(username, email, password, confirmPassword, role);
+        } finally {
+            RequestContext.endSpan(span);
+        }
+    }
+    
+    private User doRegister(String username, String email, String password, String confirmPassword, UserRole role) 
+            throws InvalidInputException, DatabaseException {
         
         // Validate input
         ValidationUtils.validateUsername(username);
@@ -159,8 +287,8 @@ public class AuthenticationService {
             throw InvalidInputException.invalidEmail(email);
         }
         
-        // Hash password using PasswordUtils
-        String hashedPassword = PasswordUtils.hashPassword(password);
+        // Hash password on the bounded hashing pool
+        String hashedPassword = passwordHasher.hash(password);
         
         // Create user based on role (polymorphism)
         User newUser;
@@ -197,6 +325,16 @@ public class AuthenticationService {
      */
     public void changePassword(String userId, String currentPassword, String newPassword, String confirmPassword) 
             throws AuthenticationException, InvalidInputException, DatabaseException {
+        int span = RequestContext.beginSpan("AuthenticationService.changePassword");
+        try {
+            doChangePassword(userId, currentPassword, newPassword, confirmPassword);
+        } finally {
+            RequestContext.endSpan(span);
+        }
+    }
+    
+    private void doChangePassword(String userId, String currentPassword, String newPassword, String confirmPassword) 
+            throws AuthenticationException, InvalidInputException, DatabaseException {
         
         ValidationUtils.validateRequired(userId, "user ID");
         ValidationUtils.validateRequired(currentPassword, "current password");
@@ -209,119 +347,61 @@ public class AuthenticationService {
             throw new AuthenticationException("User not found");
         }
         
-        // Verify current password using PasswordUtils
-        if (!PasswordUtils.verifyPassword(currentPassword, user.getPasswordHash())) {
+        // Verify current password on the bounded hashing pool
+        if (!passwordHasher.verify(currentPassword, user.getPasswordHash())) {
             throw new AuthenticationException("Current password is incorrect");
         }
         
-        // Update password using PasswordUtils
-        String hashedNewPassword = PasswordUtils.hashPassword(newPassword);
+        // Hash new password on the bounded hashing pool
+        String hashedNewPassword = passwordHasher.hash(newPassword);
         user.setPasswordHash(hashedNewPassword);
         userDAO.update(user);
+        userCache.invalidate(user.getUserId());
         
         logger.info("Password changed for user: " + user.getUsername());
     }
     
     /**
-     * Gets the currently logged-in user
-     * @return Current user or null if not logged in
+     * Checks that an HTTP session is still registered and records activity on it
+     * @param sessionId HTTP session ID
+     * @return true if the session is logged in and has not expired
      */
-    public User getCurrentUser() {
-        return sessionManager.getCurrentUser();
-    }
-    
-    /**
-     * Checks if a user is currently logged in
-     * @return true if user is logged in
-     */
-    public boolean isLoggedIn() {
-        return sessionManager.isLoggedIn();
-    }
-    
-    /**
-     * Checks if the current user has admin privileges
-     * @return true if current user is admin
-     */
-    public boolean isCurrentUserAdmin() {
-        return sessionManager.isCurrentUserAdmin();
-    }
-    
-    /**
-     * Checks if the current user is a volunteer
-     * @return true if current user is volunteer
-     */
-    public boolean isCurrentUserVolunteer() {
-        return sessionManager.isCurrentUserVolunteer();
-    }
-    
-    /**
-     * Validates user session and refreshes if valid
-     * @return true if session is valid
-     */
-    public boolean validateSession() {
-        if (sessionManager.isSessionValid()) {
-            sessionManager.refreshSession();
-            return true;
-        }
-        return false;
+    public boolean validateSession(String sessionId) {
+        return RequestContext.span("AuthenticationService.validateSession",
+            () -> sessionRegistry.touch(sessionId) != null);
     }
     
     /**
      * Gets all active user sessions
-     * @return Map of active sessions (for admin use)
+     * @param requester User asking for the list
+     * @return Registered sessions (empty for non-admins)
      */
-    public Map<String, User> getActiveSessions() {
-        User currentUser = getCurrentUser();
-        if (currentUser == null || !currentUser.isAdmin()) {
-            return new ConcurrentHashMap<>(); // Return empty map for non-admins
+    public List<SessionRegistry.RegisteredSession> getActiveSessions(User requester) {
+        if (requester == null || !requester.isAdmin()) {
+            return Collections.emptyList();
         }
-        return new ConcurrentHashMap<>(activeUsers);
-    }
-    
-    /**
-     * Records a failed login attempt
-     * @param username Username that failed login
-     */
-    private void recordFailedLogin(String username) {
-        int attempts = loginAttempts.getOrDefault(username, 0) + 1;
-        loginAttempts.put(username, attempts);
-        lastLoginAttempt.put(username, System.currentTimeMillis());
-        
-        logger.warning("Failed login attempt for user: " + username + " (Attempt " + attempts + ")");
-    }
-    
-    /**
-     * Clears login attempts for a user
-     * @param username Username to clear attempts for
-     */
-    private void clearLoginAttempts(String username) {
-        loginAttempts.remove(username);
-        lastLoginAttempt.remove(username);
+        return sessionRegistry.getActiveSessions();
     }
     
     /**
-     * Checks if an account is locked due to too many failed attempts
-     * @param username Username to check
-     * @return true if account is locked
+     * Re-hashes a password stored in a legacy format or with an outdated work factor
+     * Called after a successful login, the only time the plain text password is available.
+     * Failures are logged and retried on the next login.
+     * @param user Authenticated user
+     * @param password Verified plain text password
      */
-    private boolean isAccountLocked(String username) {
-        int attempts = loginAttempts.getOrDefault(username, 0);
-        if (attempts < MAX_LOGIN_ATTEMPTS) {
-            return false;
+    private void upgradePasswordHash(User user, String password) {
+        if (!PasswordUtils.needsRehash(user.getPasswordHash())) {
+            return;
         }
         
-        Long lastAttempt = lastLoginAttempt.get(username);
-        if (lastAttempt == null) {
-            return false;
-        }
-        
-        long timeSinceLastAttempt = System.currentTimeMillis() - lastAttempt;
-        if (timeSinceLastAttempt > LOCKOUT_DURATION_MS) {
-            clearLoginAttempts(username);
-            return false;
+        try {
+            user.setPasswordHash(passwordHasher.hash(password));
+            userDAO.update(user);
+            userCache.invalidate(user.getUserId());
+            logger.info("Upgraded password hash for user: " + user.getUsername());
+        } catch (RejectedExecutionException | DatabaseException e) {
+            logger.log(Level.WARNING, "Could not upgrade password hash for user: " + user.getUsername(), e);
         }
-        
-        return true;
     }
-    
-}
\ No newline at end of file
+}
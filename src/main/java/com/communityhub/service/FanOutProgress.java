@@ -0,0 +1,100 @@
+package com.communityhub.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk or role-based notification fan-out
+ * Updated by the fan-out task as chunks are written to the outbox; safe to read from any thread
+ */
+public class FanOutProgress {
+
+    private final String description;
+    private final long startedAt;
+    private final AtomicLong totalRecipients = new AtomicLong(-1);
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+
+    FanOutProgress(String description) {
+        this.description = description;
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    void setTotalRecipients(long total) {
+        totalRecipients.set(total);
+    }
+
+    void recordChunk(int size) {
+        enqueued.addAndGet(size);
+        chunks.incrementAndGet();
+    }
+
+    void complete() {
+        completion.complete(enqueued.get());
+    }
+
+    void fail(Throwable cause) {
+        completion.completeExceptionally(cause);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return Expected number of recipients, or -1 if not known yet
+     */
+    public long getTotalRecipients() {
+        return totalRecipients.get();
+    }
+
+    public long getEnqueued() {
+        return enqueued.get();
+    }
+
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    public long getElapsedMs() {
+        return System.currentTimeMillis() - startedAt;
+    }
+
+    /**
+     * @return Percentage of recipients enqueued (0-100), or -1 if the total is not known
+     */
+    public int getPercentComplete() {
+        long total = totalRecipients.get();
+        if (total < 0) {
+            return -1;
+        }
+        if (total == 0) {
+            return 100;
+        }
+        return (int) Math.min(100, enqueued.get() * 100 / total);
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Gets a future completed with the number of enqueued notifications when the fan-out finishes
+     * @return Completion future
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public String toString() {
+        return "FanOutProgress{" +
+                "description='" + description + '\'' +
+                ", enqueued=" + enqueued.get() +
+                ", total=" + totalRecipients.get() +
+                ", chunks=" + chunks.get() +
+                ", elapsedMs=" + getElapsedMs() +
+                '}';
+    }
+}
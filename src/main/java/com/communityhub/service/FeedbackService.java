@@ -3,6 +3,7 @@ package com.communityhub.service;
 import com.communityhub.dao.FeedbackDAO;
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.model.Feedback;
+import com.communityhub.util.RequestContext;
 import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -38,6 +39,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public synchronized void submitFeedback(Feedback feedback) throws DatabaseException {
+        RequestContext.span("FeedbackService.submitFeedback", () -> doSubmitFeedback(feedback));
+    }
+    
+    private void doSubmitFeedback(Feedback feedback) throws DatabaseException {
         try {
             feedbackDAO.create(feedback);
             logger.info("Feedback submitted successfully by user: " + feedback.getUserId());
@@ -54,6 +59,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public List<Feedback> getAllFeedback() throws DatabaseException {
+        return RequestContext.span("FeedbackService.getAllFeedback", () -> doGetAllFeedback());
+    }
+    
+    private List<Feedback> doGetAllFeedback() throws DatabaseException {
         try {
             List<Feedback> feedbackList = feedbackDAO.findAll();
             logger.info("Retrieved " + feedbackList.size() + " feedback entries");
@@ -72,6 +81,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public List<Feedback> getFeedbackByRequest(String requestId) throws DatabaseException {
+        return RequestContext.span("FeedbackService.getFeedbackByRequest", () -> doGetFeedbackByRequest(requestId));
+    }
+    
+    private List<Feedback> doGetFeedbackByRequest(String requestId) throws DatabaseException {
         try {
             List<Feedback> feedbackList = feedbackDAO.findByRequestId(requestId);
             logger.info("Retrieved " + feedbackList.size() + " feedback entries for request: " + requestId);
@@ -90,6 +103,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public List<Feedback> getFeedbackByUser(String userId) throws DatabaseException {
+        return RequestContext.span("FeedbackService.getFeedbackByUser", () -> doGetFeedbackByUser(userId));
+    }
+    
+    private List<Feedback> doGetFeedbackByUser(String userId) throws DatabaseException {
         try {
             List<Feedback> feedbackList = feedbackDAO.findByUserId(userId);
             logger.info("Retrieved " + feedbackList.size() + " feedback entries from user: " + userId);
@@ -108,6 +125,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public double getAverageRating(String requestId) throws DatabaseException {
+        return RequestContext.span("FeedbackService.getAverageRating", () -> doGetAverageRating(requestId));
+    }
+    
+    private double doGetAverageRating(String requestId) throws DatabaseException {
         try {
             List<Feedback> feedbackList = feedbackDAO.findByRequestId(requestId);
             
@@ -143,6 +164,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public int[] getRatingDistribution(String requestId) throws DatabaseException {
+        return RequestContext.span("FeedbackService.getRatingDistribution", () -> doGetRatingDistribution(requestId));
+    }
+    
+    private int[] doGetRatingDistribution(String requestId) throws DatabaseException {
         try {
             List<Feedback> feedbackList = feedbackDAO.findByRequestId(requestId);
             int[] distribution = new int[6]; // Index 0 unused, 1-5 for ratings
@@ -169,6 +194,10 @@ public class FeedbackService {
      * @throws DatabaseException if database operation fails
      */
     public synchronized void deleteFeedback(String feedbackId) throws DatabaseException {
+        RequestContext.span("FeedbackService.deleteFeedback", () -> doDeleteFeedback(feedbackId));
+    }
+    
+    private void doDeleteFeedback(String feedbackId) throws DatabaseException {
         try {
             feedbackDAO.delete(feedbackId);
             logger.info("Feedback deleted: " + feedbackId);
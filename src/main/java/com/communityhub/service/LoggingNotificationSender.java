@@ -0,0 +1,22 @@
+package com.communityhub.service;
+
+import com.communityhub.model.OutboxNotification;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Default NotificationSender that writes notifications to the application log
+ * Stands in for a real transport (email, push) until one is configured
+ */
+public class LoggingNotificationSender implements NotificationSender {
+    
+    private static final Logger logger = Logger.getLogger(LoggingNotificationSender.class.getName());
+    
+    @Override
+    public void send(OutboxNotification notification) {
+        logger.log(Level.INFO, "Notification sent to user {0}: {1} - {2} (Priority: {3})",
+                   new Object[]{notification.getUserId(), notification.getTitle(),
+                                notification.getMessage(), notification.getPriority()});
+    }
+}
@@ -0,0 +1,63 @@
+package com.communityhub.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.communityhub.model.OutboxNotification;
+
+/**
+ * Combines a user's pending outbox rows into a single delivery
+ *
+ * Rows that share a referenceId describe the same entity (e.g. one request moving
+ * ASSIGNED -> IN_PROGRESS -> COMPLETED); only the newest of them is kept. Rows without a
+ * reference are independent and all kept. When more than one item remains they are sent as
+ * one digest message carrying the highest priority among them.
+ */
+final class NotificationDigest {
+
+    private NotificationDigest() {
+    }
+
+    /**
+     * Builds the notification to deliver for one user's pending rows
+     * @param rows Pending rows of a single user, oldest first
+     * @return The single row itself, or a synthetic digest notification
+     */
+    static OutboxNotification coalesce(List<OutboxNotification> rows) {
+        if (rows.size() == 1) {
+            return rows.get(0);
+        }
+
+        // Later rows for the same reference supersede earlier ones, insertion order is kept
+        Map<String, OutboxNotification> latestByReference = new LinkedHashMap<>();
+        List<OutboxNotification> items = new ArrayList<>();
+        for (OutboxNotification row : rows) {
+            if (row.getReferenceId() == null) {
+                items.add(row);
+            } else {
+                latestByReference.remove(row.getReferenceId());
+                latestByReference.put(row.getReferenceId(), row);
+            }
+        }
+        items.addAll(latestByReference.values());
+
+        if (items.size() == 1) {
+            return items.get(0);
+        }
+
+        int priority = 0;
+        StringBuilder message = new StringBuilder();
+        for (OutboxNotification item : items) {
+            priority = Math.max(priority, item.getPriority());
+            if (message.length() > 0) {
+                message.append('\n');
+            }
+            message.append("- ").append(item.getTitle()).append(": ").append(item.getMessage());
+        }
+
+        return new OutboxNotification(rows.get(0).getUserId(), items.size() + " updates", message.toString(),
+                                      priority, null);
+    }
+}
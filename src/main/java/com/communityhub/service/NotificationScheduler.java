@@ -0,0 +1,191 @@
+package com.communityhub.service;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.dao.ScheduledNotificationDAO;
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.ScheduledNotification;
+import com.communityhub.util.HierarchicalTimingWheel;
+
+/**
+ * Durable scheduler for delayed and recurring notifications
+ *
+ * DESIGN DECISION: Schedules are stored in scheduled_notifications; only the IDs of those
+ * due within the load horizon sit in a hierarchical timing wheel. The horizon is extended
+ * lazily as time passes, so startup reads at most one horizon's worth of rows and memory
+ * stays proportional to the near-term timers rather than every reminder ever created.
+ *
+ * Expired timers are fired in one transaction per tick: their notifications go to the
+ * outbox and the schedule rows are closed or moved to the next period.
+ */
+class NotificationScheduler {
+
+    private static final Logger logger = Logger.getLogger(NotificationScheduler.class.getName());
+
+    // SQLite's default host parameter limit is 999, keep IN lists well below it
+    private static final int MAX_FIRE_BATCH = 500;
+
+    private final ScheduledNotificationDAO scheduledDAO;
+    private final HierarchicalTimingWheel wheel;
+    private final long tickMs;
+    private final long loadHorizonMs;
+    private final int loadPageSize;
+
+    // Guards loadedUntil so a new schedule is either added to the wheel or picked up by the loader
+    private final Object horizonLock = new Object();
+    private long loadedUntil = Long.MIN_VALUE;
+
+    NotificationScheduler() throws DatabaseException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.scheduledDAO = new ScheduledNotificationDAO();
+        this.tickMs = config.getLong("notification.scheduler.tick.ms", Constants.Notification.SCHEDULER_TICK_MS);
+        this.loadHorizonMs = config.getLong("notification.scheduler.load.horizon.ms", Constants.Notification.SCHEDULER_LOAD_HORIZON_MS);
+        this.loadPageSize = Constants.Notification.SCHEDULER_LOAD_PAGE_SIZE;
+        this.wheel = new HierarchicalTimingWheel(tickMs, Constants.Notification.SCHEDULER_WHEEL_SIZE,
+                                                 Constants.Notification.SCHEDULER_WHEEL_LEVELS, System.currentTimeMillis());
+    }
+
+    /**
+     * Starts ticking the wheel and extending the load horizon
+     * @param executor Executor that runs the tick and loader tasks
+     */
+    void start(ScheduledExecutorService executor) {
+        executor.scheduleWithFixedDelay(this::extendHorizon, 0, Math.max(tickMs, loadHorizonMs / 2), TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        logger.info("Notification scheduler started");
+    }
+
+    /**
+     * Persists a schedule and arms its timer if it falls inside the loaded horizon
+     * @param notification Schedule to add
+     * @return Schedule ID
+     * @throws DatabaseException if the schedule cannot be stored
+     */
+    long schedule(ScheduledNotification notification) throws DatabaseException {
+        long scheduleId = scheduledDAO.insert(notification);
+        synchronized (horizonLock) {
+            if (notification.getFireAt() < loadedUntil) {
+                wheel.schedule(scheduleId, notification.getFireAt());
+            }
+        }
+        return scheduleId;
+    }
+
+    /**
+     * Cancels a schedule
+     * @param scheduleId Schedule ID
+     * @return true if a pending schedule was cancelled
+     * @throws DatabaseException if the schedule cannot be updated
+     */
+    boolean cancel(long scheduleId) throws DatabaseException {
+        wheel.cancel(scheduleId);
+        return scheduledDAO.cancel(scheduleId);
+    }
+
+    /**
+     * Gets the number of timers currently armed in memory
+     * @return Armed timer count
+     */
+    int getArmedTimerCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Gets the number of pending schedules in the database
+     * @return Pending schedule count, -1 if it cannot be read
+     */
+    long getPendingScheduleCount() {
+        try {
+            return scheduledDAO.countPending();
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Failed to count scheduled notifications", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Loads schedules that fall between the current horizon and now + horizon into the wheel
+     * The first call also picks up schedules that became overdue while the application was down
+     */
+    private void extendHorizon() {
+        synchronized (horizonLock) {
+            long newLoadedUntil = System.currentTimeMillis() + loadHorizonMs;
+            try {
+                long lastFireAt = loadedUntil == Long.MIN_VALUE ? Long.MIN_VALUE : loadedUntil - 1;
+                long lastScheduleId = Long.MAX_VALUE;
+                int loaded = 0;
+
+                while (true) {
+                    List<ScheduledNotification> page = scheduledDAO.findPendingBefore(
+                        newLoadedUntil, lastFireAt, lastScheduleId, loadPageSize);
+                    for (ScheduledNotification schedule : page) {
+                        wheel.schedule(schedule.getScheduleId(), schedule.getFireAt());
+                    }
+                    loaded += page.size();
+                    if (page.size() < loadPageSize) {
+                        break;
+                    }
+                    ScheduledNotification last = page.get(page.size() - 1);
+                    lastFireAt = last.getFireAt();
+                    lastScheduleId = last.getScheduleId();
+                }
+
+                loadedUntil = newLoadedUntil;
+                if (loaded > 0) {
+                    logger.log(Level.FINE, "Loaded {0} scheduled notifications into the timing wheel", loaded);
+                }
+            } catch (DatabaseException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to load scheduled notifications", e);
+            }
+        }
+    }
+
+    /**
+     * Runs on the scheduler thread every tick
+     * WHY: An exception escaping a scheduleAtFixedRate task cancels it for good, which would
+     * stop every scheduled notification until the next restart
+     */
+    private void tick() {
+        try {
+            fireExpired();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Scheduled notification tick failed", e);
+        }
+    }
+
+    /**
+     * Advances the wheel and fires every expired timer
+     */
+    private void fireExpired() {
+        long now = System.currentTimeMillis();
+        List<Long> expired = wheel.advance(now);
+
+        for (int from = 0; from < expired.size(); from += MAX_FIRE_BATCH) {
+            List<Long> chunk = expired.subList(from, Math.min(from + MAX_FIRE_BATCH, expired.size()));
+            try {
+                List<ScheduledNotification> rescheduled = scheduledDAO.fire(chunk, now);
+                synchronized (horizonLock) {
+                    for (ScheduledNotification schedule : rescheduled) {
+                        if (schedule.getFireAt() < loadedUntil) {
+                            wheel.schedule(schedule.getScheduleId(), schedule.getFireAt());
+                        }
+                    }
+                }
+            } catch (DatabaseException e) {
+                // Rows stay SCHEDULED; re-arm them so the next tick retries
+                logger.log(Level.SEVERE, "Failed to fire scheduled notifications", e);
+                for (Long scheduleId : chunk) {
+                    wheel.schedule(scheduleId, now + tickMs);
+                }
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Unexpected error firing scheduled notifications", e);
+            }
+        }
+    }
+}
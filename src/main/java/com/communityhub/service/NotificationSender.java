@@ -0,0 +1,19 @@
+package com.communityhub.service;
+
+import com.communityhub.model.OutboxNotification;
+
+/**
+ * Transport used by the notification outbox relay to deliver a notification
+ * Implementations may send email, push notifications, etc.
+ * Delivery is at-least-once, so implementations should tolerate duplicates
+ */
+@FunctionalInterface
+public interface NotificationSender {
+    
+    /**
+     * Delivers a single notification
+     * @param notification Notification to deliver
+     * @throws Exception if delivery fails and should be retried
+     */
+    void send(OutboxNotification notification) throws Exception;
+}
@@ -1,30 +1,51 @@
 package com.communityhub.service;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.dao.NotificationOutboxDAO;
 import com.communityhub.dao.UserDAO;
 import com.communityhub.exception.DatabaseException;
-import com.communityhub.model.User;
+import com.communityhub.model.OutboxNotification;
+import com.communityhub.model.ScheduledNotification;
 import com.communityhub.model.UserRole;
+import com.communityhub.util.MetricsRegistry;
+import com.communityhub.util.NotificationDeliveredEvent;
+import com.communityhub.util.TokenBucketRateLimiter;
 
 /**
  * Service for handling notifications with multithreading support
  * Demonstrates ExecutorService, background processing, and concurrent operations
+ * 
+ * DURABILITY: Notifications are persisted to the notification_outbox table instead of an
+ * in-memory queue. A background relay polls the outbox in batches, delivers through the
+ * configured NotificationSender, marks delivered rows in bulk and retries failures with
+ * exponential backoff. Pending rows survive shutdown and crashes (at-least-once delivery).
+ * 
+ * SCHEDULING: Delayed and recurring notifications are persisted in scheduled_notifications
+ * and driven by a hierarchical timing wheel (see NotificationScheduler).
+ * 
+ * DIGESTS: Non-urgent status changes wait in the outbox for a short window; the relay then
+ * sends each user one message covering all of their pending rows, keeping only the newest
+ * row per request.
+ * 
+ * RATE LIMITING: Each priority level has its own per-user token bucket. A notification that
+ * finds its bucket empty is deferred until a token is available rather than dropped.
  */
 public class NotificationService {
     
@@ -33,49 +54,234 @@ public class NotificationService {
     private final ExecutorService notificationExecutor;
     private final ScheduledExecutorService scheduledExecutor;
     private final UserDAO userDAO;
+    private final NotificationOutboxDAO outboxDAO;
+    private final NotificationSender sender;
+    private final NotificationScheduler scheduler;
     
-    // Thread-safe collections for notification management
-    private final BlockingQueue<NotificationTask> notificationQueue;
-    private final Map<String, LocalDateTime> lastNotificationTime;
+    // Per-user rate limiters, indexed by priority
+    private final TokenBucketRateLimiter[] rateLimiters;
+    
+    // Outbox relay configuration
+    private final int outboxBatchSize;
+    private final long outboxPollIntervalMs;
+    private final int outboxMaxAttempts;
+    private final long outboxBackoffBaseMs;
+    private final long outboxBackoffMaxMs;
+    private final int fanOutChunkSize;
+    private final long fanOutMaxPending;
+    
+    // Delivery counters: messages handed to the sender and outbox rows folded into a digest
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
     
     private volatile boolean isRunning = false;
     
     /**
-     * Constructor initializes the notification service
+     * Constructor initializes the notification service with the logging sender
      * @throws DatabaseException if DAO initialization fails
      */
     public NotificationService() throws DatabaseException {
+        this(new LoggingNotificationSender());
+    }
+    
+    /**
+     * Constructor initializes the notification service
+     * @param sender Transport used to deliver notifications
+     * @throws DatabaseException if DAO initialization fails
+     */
+    public NotificationService(NotificationSender sender) throws DatabaseException {
         this.notificationExecutor = Executors.newFixedThreadPool(3);
         this.scheduledExecutor = Executors.newScheduledThreadPool(2);
         this.userDAO = new UserDAO();
-        this.notificationQueue = new LinkedBlockingQueue<>();
-        this.lastNotificationTime = new ConcurrentHashMap<>();
+        this.outboxDAO = new NotificationOutboxDAO();
+        this.sender = sender;
+        this.scheduler = new NotificationScheduler();
+        
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.outboxBatchSize = config.getInt("notification.outbox.batch.size", Constants.Notification.OUTBOX_BATCH_SIZE);
+        this.outboxPollIntervalMs = config.getLong("notification.outbox.poll.interval.ms", Constants.Notification.OUTBOX_POLL_INTERVAL_MS);
+        this.outboxMaxAttempts = config.getInt("notification.outbox.max.attempts", Constants.Notification.OUTBOX_MAX_ATTEMPTS);
+        this.outboxBackoffBaseMs = config.getLong("notification.outbox.backoff.base.ms", Constants.Notification.OUTBOX_BACKOFF_BASE_MS);
+        this.outboxBackoffMaxMs = config.getLong("notification.outbox.backoff.max.ms", Constants.Notification.OUTBOX_BACKOFF_MAX_MS);
+        this.fanOutChunkSize = config.getInt("notification.fanout.chunk.size", Constants.Notification.FANOUT_CHUNK_SIZE);
+        this.fanOutMaxPending = config.getLong("notification.fanout.max.pending", Constants.Notification.FANOUT_MAX_PENDING);
+        this.rateLimiters = createRateLimiters(config);
         
+        registerMetrics();
         startNotificationProcessor();
+        startRateLimiterEviction(config.getLong("notification.ratelimit.idle.eviction.ms",
+                                                Constants.Notification.RATE_LIMIT_IDLE_EVICTION_MS));
+        scheduler.start(scheduledExecutor);
     }
     
     /**
-     * Starts the background notification processor
+     * Exposes delivery counters and executor load as gauges
+     */
+    private void registerMetrics() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) notificationExecutor;
+        registry.gauge("notification_sent_total", "Notifications handed to the sender", sentCount::get);
+        registry.gauge("notification_coalesced_total", "Outbox rows folded into a digest", coalescedCount::get);
+        registry.gauge("notification_scheduled_pending", "Scheduled notifications not yet due",
+                       scheduler::getPendingScheduleCount);
+        registry.gauge("executor_active_threads", "Threads currently running tasks", pool::getActiveCount,
+                       "executor", "notification");
+        registry.gauge("executor_queue_depth", "Tasks waiting for a thread", () -> pool.getQueue().size(),
+                       "executor", "notification");
+    }
+    
+    /**
+     * Creates one rate limiter per priority level
+     * High priorities default to a larger burst and faster refill
+     * @param config Configuration source
+     * @return Limiters indexed by priority
+     */
+    private static TokenBucketRateLimiter[] createRateLimiters(ConfigurationManager config) {
+        TokenBucketRateLimiter[] limiters = new TokenBucketRateLimiter[Constants.Notification.MAX_PRIORITY + 1];
+        
+        for (int priority = Constants.Notification.MIN_PRIORITY; priority <= Constants.Notification.MAX_PRIORITY; priority++) {
+            boolean high = priority >= Constants.Notification.HIGH_PRIORITY_THRESHOLD;
+            String prefix = "notification.ratelimit.priority." + priority;
+            int capacity = config.getInt(prefix + ".capacity", high
+                ? Constants.Notification.HIGH_PRIORITY_RATE_LIMIT_CAPACITY
+                : Constants.Notification.RATE_LIMIT_CAPACITY);
+            int refillPerMinute = config.getInt(prefix + ".refill.per.minute", high
+                ? Constants.Notification.HIGH_PRIORITY_RATE_LIMIT_REFILL_PER_MINUTE
+                : Constants.Notification.RATE_LIMIT_REFILL_PER_MINUTE);
+            limiters[priority] = new TokenBucketRateLimiter(capacity, refillPerMinute, 1, TimeUnit.MINUTES);
+        }
+        return limiters;
+    }
+    
+    /**
+     * Periodically drops rate-limiter state for users who have been idle
+     * @param idleMs Idle time after which a user's buckets are removed
+     */
+    private void startRateLimiterEviction(long idleMs) {
+        scheduledExecutor.scheduleWithFixedDelay(() -> {
+            int removed = 0;
+            for (TokenBucketRateLimiter limiter : rateLimiters) {
+                if (limiter != null) {
+                    removed += limiter.evictIdle(idleMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (removed > 0) {
+                logger.log(Level.FINE, "Evicted {0} idle rate-limit buckets", removed);
+            }
+        }, idleMs, idleMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Starts the background outbox relay
      */
     private void startNotificationProcessor() {
         isRunning = true;
         
-        // Background thread to process notification queue
+        // Background thread to relay the notification outbox
         notificationExecutor.submit(() -> {
             while (isRunning) {
+                int relayed = 0;
                 try {
-                    NotificationTask task = notificationQueue.take(); // Blocks until available
-                    processNotification(task);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
+                    relayed = relayOutboxBatch();
                 } catch (Exception e) {
-                    logger.log(Level.SEVERE, "Error processing notification", e);
+                    logger.log(Level.SEVERE, "Error relaying notification outbox", e);
+                }
+                
+                // A full batch means more rows are probably due, poll again immediately
+                if (relayed < outboxBatchSize) {
+                    try {
+                        Thread.sleep(outboxPollIntervalMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
                 }
             }
         });
         
-        logger.info("Notification processor started");
+        logger.info("Notification outbox relay started");
+    }
+    
+    /**
+     * Delivers one batch of due outbox rows
+     * Each user with a due row gets one delivery covering all of their pending rows (see
+     * NotificationDigest). Delivered rows are marked in one bulk update, failed and
+     * rate-limited rows are rescheduled in one batch.
+     * @return Number of due rows found
+     * @throws DatabaseException if the outbox cannot be read or updated
+     */
+    int relayOutboxBatch() throws DatabaseException {
+        List<OutboxNotification> due = outboxDAO.findDueBatch(outboxBatchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        List<String> userIds = due.stream()
+            .map(OutboxNotification::getUserId)
+            .distinct()
+            .collect(Collectors.toList());
+        Map<String, List<OutboxNotification>> pendingByUser = new LinkedHashMap<>();
+        for (OutboxNotification row : outboxDAO.findPendingForUsers(userIds)) {
+            pendingByUser.computeIfAbsent(row.getUserId(), k -> new ArrayList<>()).add(row);
+        }
+        
+        List<Long> delivered = new ArrayList<>(due.size());
+        List<OutboxNotification> failed = new ArrayList<>();
+        
+        for (List<OutboxNotification> rows : pendingByUser.values()) {
+            OutboxNotification delivery = NotificationDigest.coalesce(rows);
+            NotificationDeliveredEvent event = new NotificationDeliveredEvent();
+            event.begin();
+            try {
+                long deferMs = processNotification(delivery);
+                if (deferMs == 0) {
+                    event.complete(delivery.getUserId(), delivery.getPriority(), rows.size(), delivery.getReferenceId());
+                    for (OutboxNotification row : rows) {
+                        delivered.add(row.getOutboxId());
+                    }
+                    sentCount.incrementAndGet();
+                    coalescedCount.addAndGet(rows.size() - 1);
+                } else {
+                    // Rate limited: retry when a token is available, without counting an attempt
+                    long retryAt = System.currentTimeMillis() + deferMs;
+                    for (OutboxNotification row : rows) {
+                        row.setNextAttemptAt(retryAt);
+                        failed.add(row);
+                    }
+                }
+            } catch (Exception e) {
+                for (OutboxNotification row : rows) {
+                    int attempts = row.getAttempts() + 1;
+                    row.setAttempts(attempts);
+                    row.setNextAttemptAt(System.currentTimeMillis() + computeBackoff(attempts));
+                    row.setLastError(e.toString());
+                    failed.add(row);
+                    
+                    if (attempts >= outboxMaxAttempts) {
+                        logger.log(Level.SEVERE, "Giving up on notification " + row.getOutboxId() +
+                                   " after " + attempts + " attempts", e);
+                    }
+                }
+                logger.log(Level.WARNING, "Notification delivery failed, will retry: " + delivery, e);
+            }
+        }
+        
+        outboxDAO.markDelivered(delivered);
+        outboxDAO.reschedule(failed, outboxMaxAttempts);
+        return due.size();
+    }
+    
+    /**
+     * Computes the retry delay for a failed delivery
+     * Exponential backoff (base * 2^(attempts-1)) capped at the configured maximum,
+     * plus up to 20% jitter so failed batches do not retry in lockstep
+     * @param attempts Number of attempts made so far
+     * @return Delay in milliseconds
+     */
+    private long computeBackoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = Math.min(outboxBackoffBaseMs << exponent, outboxBackoffMaxMs);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
     }
     
     /**
@@ -86,120 +292,219 @@ public class NotificationService {
      * @param priority Priority level (1-5, 5 being highest)
      */
     public void sendNotification(String userId, String title, String message, int priority) {
-        NotificationTask task = new NotificationTask(userId, title, message, priority, LocalDateTime.now());
+        OutboxNotification notification = new OutboxNotification(userId, title, message, priority, null);
         
         try {
-            notificationQueue.offer(task, 5, TimeUnit.SECONDS);
+            outboxDAO.enqueue(List.of(notification));
             logger.log(Level.INFO, "Notification queued for user: {0} - {1}", new Object[]{userId, title});
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        } catch (DatabaseException e) {
             logger.log(Level.WARNING, "Failed to queue notification", e);
         }
     }
     
     /**
      * Sends notifications to multiple users asynchronously
+     * Recipients are written to the outbox in chunks on the notification executor
      * @param userIds List of target user IDs
      * @param title Notification title
      * @param message Notification message
      * @param priority Priority level
+     * @return Progress of the fan-out
      */
-    public void sendBulkNotification(List<String> userIds, String title, String message, int priority) {
-        CompletableFuture.runAsync(() -> {
-            userIds.parallelStream().forEach(userId -> {
-                sendNotification(userId, title, message, priority);
-            });
-        }, notificationExecutor);
+    public FanOutProgress sendBulkNotification(List<String> userIds, String title, String message, int priority) {
+        List<String> recipients = List.copyOf(userIds);
+        FanOutProgress progress = new FanOutProgress("bulk '" + title + "'");
+        progress.setTotalRecipients(recipients.size());
         
-        logger.log(Level.INFO, "Bulk notification initiated for {0} users", userIds.size());
+        runFanOut(progress, () -> {
+            for (int from = 0; from < recipients.size(); from += fanOutChunkSize) {
+                List<String> chunk = recipients.subList(from, Math.min(from + fanOutChunkSize, recipients.size()));
+                enqueueChunk(progress, chunk, title, message, priority);
+            }
+        });
+        
+        logger.log(Level.INFO, "Bulk notification initiated for {0} users", recipients.size());
+        return progress;
     }
     
     /**
      * Sends notification to all users with a specific role
+     * Recipients are streamed from the database one page at a time, so memory use is bounded
+     * by the chunk size rather than the number of users in the role
      * @param role Target user role
      * @param title Notification title
      * @param message Notification message
      * @param priority Priority level
+     * @return Progress of the fan-out
+     */
+    public FanOutProgress sendRoleBasedNotification(UserRole role, String title, String message, int priority) {
+        FanOutProgress progress = new FanOutProgress("role " + role + " '" + title + "'");
+        
+        runFanOut(progress, () -> {
+            progress.setTotalRecipients(userDAO.countByRole(role));
+            
+            String lastUserId = null;
+            while (true) {
+                List<String> page = userDAO.findUserIdsByRole(role, lastUserId, fanOutChunkSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                enqueueChunk(progress, page, title, message, priority);
+                if (page.size() < fanOutChunkSize) {
+                    break;
+                }
+                lastUserId = page.get(page.size() - 1);
+            }
+        });
+        
+        return progress;
+    }
+    
+    /**
+     * Runs a fan-out on the notification executor and completes its progress
+     * @param progress Progress to complete or fail
+     * @param fanOut Fan-out body
      */
-    public void sendRoleBasedNotification(UserRole role, String title, String message, int priority) {
-        CompletableFuture.supplyAsync(() -> {
+    private void runFanOut(FanOutProgress progress, FanOutOperation fanOut) {
+        notificationExecutor.submit(() -> {
             try {
-                return userDAO.findByRole(role);
-            } catch (DatabaseException e) {
-                logger.log(Level.SEVERE, "Failed to fetch users by role", e);
-                return List.<User>of();
+                fanOut.run();
+                progress.complete();
+                logger.log(Level.INFO, "Fan-out finished: {0}", progress);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                progress.fail(e);
+                logger.log(Level.WARNING, "Fan-out interrupted: {0}", progress);
+            } catch (Exception e) {
+                progress.fail(e);
+                logger.log(Level.SEVERE, "Fan-out failed: " + progress, e);
             }
-        }, notificationExecutor).thenAccept(users -> {
-            List<String> userIds = users.stream()
-                .map(User::getUserId)
-                .collect(Collectors.toList());
-            sendBulkNotification(userIds, title, message, priority);
         });
     }
     
+    /**
+     * Writes one chunk of recipients to the outbox in a single transaction
+     * Waits first while the outbox backlog is above the configured limit, so a large
+     * broadcast cannot outrun the relay
+     * @param progress Progress to update
+     * @param userIds Recipients of this chunk
+     * @param title Notification title
+     * @param message Notification message
+     * @param priority Priority level
+     * @throws DatabaseException if the chunk cannot be written
+     * @throws InterruptedException if interrupted while waiting for outbox capacity
+     */
+    private void enqueueChunk(FanOutProgress progress, List<String> userIds, String title, String message,
+                              int priority) throws DatabaseException, InterruptedException {
+        while (outboxDAO.countPending() >= fanOutMaxPending) {
+            if (!isRunning) {
+                throw new IllegalStateException("Notification service shut down during fan-out");
+            }
+            Thread.sleep(outboxPollIntervalMs);
+        }
+        
+        List<OutboxNotification> notifications = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            notifications.add(new OutboxNotification(userId, title, message, priority, null));
+        }
+        outboxDAO.enqueue(notifications);
+        progress.recordChunk(notifications.size());
+        
+        if (progress.getChunks() % Constants.Notification.FANOUT_PROGRESS_LOG_CHUNKS == 0) {
+            logger.log(Level.INFO, "Fan-out progress ({0}%): {1}", new Object[]{progress.getPercentComplete(), progress});
+        }
+    }
+    
+    /**
+     * Body of a fan-out task
+     */
+    @FunctionalInterface
+    private interface FanOutOperation {
+        void run() throws Exception;
+    }
+    
     /**
      * Schedules a delayed notification
+     * The schedule is persisted and survives restarts
      * @param userId Target user ID
      * @param title Notification title
      * @param message Notification message
      * @param priority Priority level
      * @param delay Delay in minutes
+     * @return Schedule ID for cancellation, -1 if it could not be stored
      */
-    public void scheduleNotification(String userId, String title, String message, int priority, long delay) {
-        scheduledExecutor.schedule(() -> {
-            sendNotification(userId, title, message, priority);
-        }, delay, TimeUnit.MINUTES);
+    public long scheduleNotification(String userId, String title, String message, int priority, long delay) {
+        long fireAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(delay);
         
-        logger.log(Level.INFO, "Notification scheduled for user {0} in {1} minutes", new Object[]{userId, delay});
+        try {
+            long scheduleId = scheduler.schedule(new ScheduledNotification(userId, title, message, priority, fireAt, 0));
+            logger.log(Level.INFO, "Notification scheduled for user {0} in {1} minutes", new Object[]{userId, delay});
+            return scheduleId;
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Failed to schedule notification", e);
+            return -1;
+        }
     }
     
     /**
      * Schedules recurring notifications
+     * The schedule is persisted and survives restarts; periods missed while down are skipped
      * @param userId Target user ID
      * @param title Notification title
      * @param message Notification message
      * @param priority Priority level
      * @param initialDelay Initial delay in minutes
      * @param period Period between notifications in minutes
-     * @return ScheduledFuture for cancellation
+     * @return Schedule ID for cancellation, -1 if it could not be stored
      */
-    public ScheduledFuture<?> scheduleRecurringNotification(String userId, String title, String message, 
-                                                          int priority, long initialDelay, long period) {
-        return scheduledExecutor.scheduleAtFixedRate(() -> {
-            sendNotification(userId, title, message, priority);
-        }, initialDelay, period, TimeUnit.MINUTES);
+    public long scheduleRecurringNotification(String userId, String title, String message, 
+                                              int priority, long initialDelay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        long fireAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(initialDelay);
+        
+        try {
+            return scheduler.schedule(new ScheduledNotification(userId, title, message, priority, fireAt,
+                                                                TimeUnit.MINUTES.toMillis(period)));
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Failed to schedule recurring notification", e);
+            return -1;
+        }
     }
     
     /**
-     * Processes a notification task
-     * @param task Notification task to process
+     * Cancels a scheduled or recurring notification
+     * @param scheduleId Schedule ID returned when scheduling
+     * @return true if a pending schedule was cancelled
      */
-    private void processNotification(NotificationTask task) {
+    public boolean cancelScheduledNotification(long scheduleId) {
         try {
-            // Check rate limiting
-            String userId = task.getUserId();
-            LocalDateTime lastNotification = lastNotificationTime.get(userId);
-            LocalDateTime now = LocalDateTime.now();
-            
-            if (lastNotification != null && lastNotification.plusMinutes(1).isAfter(now)) {
-                logger.log(Level.INFO, "Rate limiting notification for user: {0}", userId);
-                return;
-            }
-            
-            // Simulate notification processing (in real app, this would send email, push notification, etc.)
-            Thread.sleep(100); // Simulate processing time
-            
-            // Update last notification time
-            lastNotificationTime.put(userId, now);
-            
-            logger.info(String.format("Notification sent to user %s: %s - %s (Priority: %d)", 
-                       userId, task.getTitle(), task.getMessage(), task.getPriority()));
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Failed to process notification", e);
+            return scheduler.cancel(scheduleId);
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Failed to cancel scheduled notification " + scheduleId, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Processes a notification from the outbox
+     * @param notification Notification to process
+     * @return 0 if delivered, otherwise milliseconds until the user's rate limit allows delivery
+     * @throws Exception if the sender fails to deliver the notification
+     */
+    private long processNotification(OutboxNotification notification) throws Exception {
+        int priority = Math.max(Constants.Notification.MIN_PRIORITY,
+                                Math.min(Constants.Notification.MAX_PRIORITY, notification.getPriority()));
+        long deferMs = rateLimiters[priority].tryAcquireOrDelay(notification.getUserId(), TimeUnit.MILLISECONDS);
+        
+        if (deferMs > 0) {
+            logger.log(Level.FINE, "Rate limiting notification for user: {0}", notification.getUserId());
+            return deferMs;
         }
+        
+        sender.send(notification);
+        return 0;
     }
     
     /**
@@ -208,7 +513,16 @@ public class NotificationService {
      */
     public Map<String, Object> getQueueStatistics() {
         Map<String, Object> stats = new ConcurrentHashMap<>();
-        stats.put("queueSize", notificationQueue.size());
+        try {
+            stats.put("queueSize", outboxDAO.countPending());
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Failed to count pending notifications", e);
+            stats.put("queueSize", -1L);
+        }
+        stats.put("scheduledPending", scheduler.getPendingScheduleCount());
+        stats.put("scheduledArmed", scheduler.getArmedTimerCount());
+        stats.put("sentNotifications", sentCount.get());
+        stats.put("coalescedNotifications", coalescedCount.get());
         stats.put("isRunning", isRunning);
         stats.put("activeThreads", ((ThreadPoolExecutor) notificationExecutor).getActiveCount());
         stats.put("completedTasks", ((ThreadPoolExecutor) notificationExecutor).getCompletedTaskCount());
@@ -237,31 +551,6 @@ public class NotificationService {
             Thread.currentThread().interrupt();
         }
         
-        logger.info("Notification service shut down");
-    }
-    
-    /**
-     * Inner class representing a notification task
-     */
-    private static class NotificationTask {
-        private final String userId;
-        private final String title;
-        private final String message;
-        private final int priority;
-        private final LocalDateTime createdAt;
-        
-        public NotificationTask(String userId, String title, String message, int priority, LocalDateTime createdAt) {
-            this.userId = userId;
-            this.title = title;
-            this.message = message;
-            this.priority = priority;
-            this.createdAt = createdAt;
-        }
-        
-        public String getUserId() { return userId; }
-        public String getTitle() { return title; }
-        public String getMessage() { return message; }
-        public int getPriority() { return priority; }
-        public LocalDateTime getCreatedAt() { return createdAt; }
+        logger.info("Notification service shut down (undelivered notifications remain in the outbox)");
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.communityhub.service;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.dao.RequestArchiveDAO;
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.util.MetricsRegistry;
+
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background job that keeps the requests and feedback tables down to the hot working set
+ *
+ * DESIGN DECISION: Requests that have been COMPLETED or CANCELLED for longer than
+ * archive.after.days are moved, together with their feedback, into requests_archive and
+ * feedback_archive in the same database. Each run moves small batches (archive.batch.size
+ * requests per transaction, see RequestArchiveDAO) and pauses between them, so the write
+ * lock is never held for long. Ordinary reads only see the hot tables; callers that need
+ * history ask for it explicitly (RequestDAO.findByField(field, value, true) and friends).
+ *
+ * WHY: Closed requests are almost never read again but every findAll, status filter and
+ * activity query scanned them, so page cost grew with the age of the installation rather
+ * than with the amount of open work. Same-file tables keep each move a single local
+ * transaction; an attached archive file would need a multi-file commit for every batch.
+ */
+public final class RequestArchiver {
+
+    private static final Logger logger = Logger.getLogger(RequestArchiver.class.getName());
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static volatile RequestArchiver instance;
+
+    private final RequestArchiveDAO archiveDAO;
+    private final long afterMs;
+    private final int batchSize;
+    private final long pauseMs;
+    private final ScheduledExecutorService scheduler;
+    private final MetricsRegistry.Counter requestsMoved;
+    private final MetricsRegistry.Counter feedbackMoved;
+    private volatile boolean stopped;
+
+    private RequestArchiver() throws DatabaseException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.archiveDAO = new RequestArchiveDAO();
+        this.afterMs = TimeUnit.DAYS.toMillis(config.getInt("archive.after.days", Constants.Archive.AFTER_DAYS));
+        this.batchSize = config.getInt("archive.batch.size", Constants.Archive.BATCH_SIZE);
+        this.pauseMs = config.getLong("archive.pause.ms", Constants.Archive.PAUSE_MS);
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.requestsMoved = registry.counter("archive_requests_moved_total", "Closed requests moved to requests_archive");
+        this.feedbackMoved = registry.counter("archive_feedback_moved_total", "Feedback rows moved to feedback_archive");
+
+        long intervalMinutes = config.getLong("archive.interval.minutes", Constants.Archive.INTERVAL_MINUTES);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Checks whether background archival is configured (archive.enabled)
+     * @return true if the archiver should be started
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBoolean("archive.enabled", Constants.Archive.ENABLED);
+    }
+
+    /**
+     * Gets singleton instance, scheduling the background job on first use
+     * @return RequestArchiver instance
+     * @throws DatabaseException if the database connection cannot be obtained
+     */
+    public static RequestArchiver getInstance() throws DatabaseException {
+        if (instance == null) {
+            synchronized (RequestArchiver.class) {
+                if (instance == null) {
+                    instance = new RequestArchiver();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stops the background job if the archiver was ever created
+     * A batch in flight finishes; the remaining batches are left for the next start
+     */
+    public static void shutdownIfStarted() {
+        RequestArchiver current = instance;
+        if (current != null) {
+            current.stopped = true;
+            current.scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Moves every request closed before the retention window, batch by batch
+     * @return Number of requests and feedback rows moved by this run
+     * @throws DatabaseException if a batch fails; earlier batches stay committed
+     */
+    public synchronized RequestArchiveDAO.BatchResult archiveNow() throws DatabaseException {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - afterMs);
+        long requests = 0;
+        long feedback = 0;
+        int failures = 0;
+
+        while (!stopped) {
+            RequestArchiveDAO.BatchResult batch;
+            try {
+                batch = archiveDAO.archiveBatch(cutoff, batchSize);
+                failures = 0;
+            } catch (DatabaseException e) {
+                // Code committing the shared connection outside the transaction lock can fail a
+                // batch midway without losing rows; moving is repeatable, so try again
+                if (++failures >= MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+                logger.log(Level.FINE, "Archive batch failed, retrying", e);
+                if (!pause()) {
+                    break;
+                }
+                continue;
+            }
+            requests += batch.getRequests();
+            feedback += batch.getFeedback();
+            requestsMoved.add(batch.getRequests());
+            feedbackMoved.add(batch.getFeedback());
+
+            if (batch.getRequests() < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        if (requests > 0) {
+            logger.info("Archived " + requests + " closed requests and " + feedback +
+                       " feedback rows last updated before " + cutoff);
+        }
+        return new RequestArchiveDAO.BatchResult(requests, feedback);
+    }
+
+    /**
+     * Gives foreground writers a turn at the lock between batches
+     * @return false if the thread was interrupted
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            archiveNow();
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Archival run failed, retrying next interval", e);
+        }
+    }
+}
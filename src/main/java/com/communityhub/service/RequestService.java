@@ -1,10 +1,15 @@
 package com.communityhub.service;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
 import com.communityhub.dao.RequestDAO;
 import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.OutboxNotification;
 import com.communityhub.model.Request;
 import com.communityhub.model.RequestStatus;
+import com.communityhub.util.RequestContext;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -19,14 +24,19 @@ import java.util.logging.Logger;
  *   of multi-step operations (e.g., status update + volunteer assignment)
  * - CRITICAL SECTION: Volunteer assignment must be atomic to prevent duplicate assignments
  *   or lost updates when multiple admins assign simultaneously
+ * - NOTIFICATIONS: Status changes write their notifications to the outbox in the same
+ *   transaction as the request update, so a committed change is never left unannounced
  */
 public class RequestService {
     
     private static final Logger logger = Logger.getLogger(RequestService.class.getName());
     private final RequestDAO requestDAO;
+    private final long digestWindowMs;
     
     public RequestService() throws DatabaseException {
         this.requestDAO = new RequestDAO();
+        this.digestWindowMs = ConfigurationManager.getInstance()
+            .getLong("notification.digest.window.ms", Constants.Notification.DIGEST_WINDOW_MS);
     }
     
     /**
@@ -35,7 +45,17 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public List<Request> getAllRequests() throws DatabaseException {
-        return requestDAO.findAll();
+        return RequestContext.span("RequestService.getAllRequests", () -> requestDAO.findAll());
+    }
+    
+    /**
+     * Gets all requests, including archived ones when asked
+     * @param includeArchived true to include requests moved to requests_archive
+     * @return List of requests
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Request> getAllRequests(boolean includeArchived) throws DatabaseException {
+        return RequestContext.span("RequestService.getAllRequests", () -> requestDAO.findAll(includeArchived));
     }
     
     /**
@@ -45,7 +65,18 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public Request getRequest(String requestId) throws DatabaseException {
-        return requestDAO.read(requestId);
+        return RequestContext.span("RequestService.getRequest", () -> requestDAO.read(requestId));
+    }
+    
+    /**
+     * Gets a request by ID, looking in the archive too when asked
+     * @param requestId Request ID
+     * @param includeArchived true to find requests moved to requests_archive
+     * @return Request if found, null otherwise
+     * @throws DatabaseException if database operation fails
+     */
+    public Request getRequest(String requestId, boolean includeArchived) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequest", () -> requestDAO.read(requestId, includeArchived));
     }
     
     /**
@@ -54,6 +85,10 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void createRequest(Request request) throws DatabaseException {
+        RequestContext.span("RequestService.createRequest", () -> doCreateRequest(request));
+    }
+    
+    private void doCreateRequest(Request request) throws DatabaseException {
         requestDAO.create(request);
         logger.info("Request created: " + request.getRequestId());
     }
@@ -64,16 +99,40 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void updateRequest(Request request) throws DatabaseException {
+        RequestContext.span("RequestService.updateRequest", () -> doUpdateRequest(request));
+    }
+    
+    private void doUpdateRequest(Request request) throws DatabaseException {
         requestDAO.update(request);
         logger.info("Request updated: " + request.getRequestId());
     }
     
+    /**
+     * Updates a request whose status may have been changed by the caller
+     * Status-change notifications are written to the outbox in the same transaction
+     * @param request Request to update
+     * @param previousStatus Status the request had before the caller changed it
+     * @throws DatabaseException if database operation fails
+     */
+    public void updateRequest(Request request, RequestStatus previousStatus) throws DatabaseException {
+        RequestContext.span("RequestService.updateRequest", () -> doUpdateRequest(request, previousStatus));
+    }
+    
+    private void doUpdateRequest(Request request, RequestStatus previousStatus) throws DatabaseException {
+        requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
+        logger.info("Request updated: " + request.getRequestId() + " (" + previousStatus + " -> " + request.getStatus() + ")");
+    }
+    
     /**
      * Deletes a request
      * @param requestId Request ID to delete
      * @throws DatabaseException if database operation fails
      */
     public void deleteRequest(String requestId) throws DatabaseException {
+        RequestContext.span("RequestService.deleteRequest", () -> doDeleteRequest(requestId));
+    }
+    
+    private void doDeleteRequest(String requestId) throws DatabaseException {
         requestDAO.delete(requestId);
         logger.info("Request deleted: " + requestId);
     }
@@ -85,7 +144,20 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public List<Request> getRequestsByUser(String userId) throws DatabaseException {
-        return requestDAO.findByField("requester_id", userId);
+        return RequestContext.span("RequestService.getRequestsByUser",
+            () -> requestDAO.findByField("requester_id", userId));
+    }
+    
+    /**
+     * Gets requests by user ID, including archived ones when asked
+     * @param userId User ID
+     * @param includeArchived true to include requests moved to requests_archive
+     * @return List of user's requests
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Request> getRequestsByUser(String userId, boolean includeArchived) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequestsByUser",
+            () -> requestDAO.findByField("requester_id", userId, includeArchived));
     }
     
     /**
@@ -95,7 +167,20 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public List<Request> getRequestsByVolunteer(String volunteerId) throws DatabaseException {
-        return requestDAO.findByField("volunteer_id", volunteerId);
+        return RequestContext.span("RequestService.getRequestsByVolunteer",
+            () -> requestDAO.findByField("volunteer_id", volunteerId));
+    }
+    
+    /**
+     * Gets requests by volunteer ID, including archived ones when asked
+     * @param volunteerId Volunteer ID
+     * @param includeArchived true to include requests moved to requests_archive
+     * @return List of volunteer's assigned requests
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Request> getRequestsByVolunteer(String volunteerId, boolean includeArchived) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequestsByVolunteer",
+            () -> requestDAO.findByField("volunteer_id", volunteerId, includeArchived));
     }
     
     /**
@@ -105,7 +190,8 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public List<Request> getRequestsByStatus(RequestStatus status) throws DatabaseException {
-        return requestDAO.findByField("status", status.toString());
+        return RequestContext.span("RequestService.getRequestsByStatus",
+            () -> requestDAO.findByField("status", status.toString()));
     }
     
     /**
@@ -114,6 +200,10 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getActiveRequestCount() throws DatabaseException {
+        return RequestContext.span("RequestService.getActiveRequestCount", () -> doGetActiveRequestCount());
+    }
+    
+    private long doGetActiveRequestCount() throws DatabaseException {
         List<Request> allRequests = requestDAO.findAll();
         return allRequests.stream()
             .filter(request -> 
@@ -128,6 +218,10 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getCompletedRequestCount() throws DatabaseException {
+        return RequestContext.span("RequestService.getCompletedRequestCount", () -> doGetCompletedRequestCount());
+    }
+    
+    private long doGetCompletedRequestCount() throws DatabaseException {
         List<Request> completedRequests = getRequestsByStatus(RequestStatus.COMPLETED);
         return completedRequests.size();
     }
@@ -139,10 +233,15 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void updateRequestStatus(String requestId, RequestStatus status) throws DatabaseException {
+        RequestContext.span("RequestService.updateRequestStatus", () -> doUpdateRequestStatus(requestId, status));
+    }
+    
+    private void doUpdateRequestStatus(String requestId, RequestStatus status) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
+            RequestStatus previousStatus = request.getStatus();
             request.setStatus(status);
-            requestDAO.update(request);
+            requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
             logger.info("Request status updated: " + requestId + " -> " + status);
         }
     }
@@ -154,11 +253,16 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void assignVolunteer(String requestId, String volunteerId) throws DatabaseException {
+        RequestContext.span("RequestService.assignVolunteer", () -> doAssignVolunteer(requestId, volunteerId));
+    }
+    
+    private void doAssignVolunteer(String requestId, String volunteerId) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
+            RequestStatus previousStatus = request.getStatus();
             request.setVolunteerId(volunteerId);
             request.setStatus(RequestStatus.ASSIGNED);
-            requestDAO.update(request);
+            requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
             logger.info("Volunteer assigned to request: " + requestId + " -> " + volunteerId);
         }
     }
@@ -169,6 +273,10 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void escalateRequest(String requestId) throws DatabaseException {
+        RequestContext.span("RequestService.escalateRequest", () -> doEscalateRequest(requestId));
+    }
+    
+    private void doEscalateRequest(String requestId) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
             request.setUrgencyLevel(com.communityhub.model.UrgencyLevel.CRITICAL);
@@ -183,10 +291,15 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void forceCloseRequest(String requestId) throws DatabaseException {
+        RequestContext.span("RequestService.forceCloseRequest", () -> doForceCloseRequest(requestId));
+    }
+    
+    private void doForceCloseRequest(String requestId) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
+            RequestStatus previousStatus = request.getStatus();
             request.setStatus(RequestStatus.COMPLETED);
-            requestDAO.update(request);
+            requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
             logger.info("Request force-closed by admin: " + requestId);
         }
     }
@@ -197,10 +310,15 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void rejectRequest(String requestId) throws DatabaseException {
+        RequestContext.span("RequestService.rejectRequest", () -> doRejectRequest(requestId));
+    }
+    
+    private void doRejectRequest(String requestId) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
+            RequestStatus previousStatus = request.getStatus();
             request.setStatus(RequestStatus.CANCELLED);
-            requestDAO.update(request);
+            requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
             logger.info("Request rejected by admin: " + requestId);
         }
     }
@@ -212,10 +330,15 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void changeRequestStatus(String requestId, RequestStatus newStatus) throws DatabaseException {
+        RequestContext.span("RequestService.changeRequestStatus", () -> doChangeRequestStatus(requestId, newStatus));
+    }
+    
+    private void doChangeRequestStatus(String requestId, RequestStatus newStatus) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
+            RequestStatus previousStatus = request.getStatus();
             request.setStatus(newStatus);
-            requestDAO.update(request);
+            requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
             logger.info("Request status changed by admin: " + requestId + " -> " + newStatus);
         }
     }
@@ -227,6 +350,10 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void changeRequestUrgency(String requestId, com.communityhub.model.UrgencyLevel newUrgency) throws DatabaseException {
+        RequestContext.span("RequestService.changeRequestUrgency", () -> doChangeRequestUrgency(requestId, newUrgency));
+    }
+    
+    private void doChangeRequestUrgency(String requestId, com.communityhub.model.UrgencyLevel newUrgency) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
             request.setUrgencyLevel(newUrgency);
@@ -241,11 +368,16 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public void unassignVolunteer(String requestId) throws DatabaseException {
+        RequestContext.span("RequestService.unassignVolunteer", () -> doUnassignVolunteer(requestId));
+    }
+    
+    private void doUnassignVolunteer(String requestId) throws DatabaseException {
         Request request = requestDAO.read(requestId);
         if (request != null) {
+            RequestStatus previousStatus = request.getStatus();
             request.setVolunteerId(null);
             request.setStatus(RequestStatus.PENDING);
-            requestDAO.update(request);
+            requestDAO.update(request, buildStatusChangeNotifications(request, previousStatus));
             logger.info("Volunteer unassigned from request by admin: " + requestId);
         }
     }
@@ -257,6 +389,11 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getVolunteerCompletedCount(String volunteerId) throws DatabaseException {
+        return RequestContext.span("RequestService.getVolunteerCompletedCount",
+            () -> doGetVolunteerCompletedCount(volunteerId));
+    }
+    
+    private long doGetVolunteerCompletedCount(String volunteerId) throws DatabaseException {
         List<Request> volunteerRequests = getRequestsByVolunteer(volunteerId);
         return volunteerRequests.stream()
             .filter(request -> request.getStatus() == RequestStatus.COMPLETED)
@@ -270,6 +407,11 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getVolunteerActiveCount(String volunteerId) throws DatabaseException {
+        return RequestContext.span("RequestService.getVolunteerActiveCount",
+            () -> doGetVolunteerActiveCount(volunteerId));
+    }
+    
+    private long doGetVolunteerActiveCount(String volunteerId) throws DatabaseException {
         List<Request> volunteerRequests = getRequestsByVolunteer(volunteerId);
         return volunteerRequests.stream()
             .filter(request -> 
@@ -285,6 +427,11 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public double getVolunteerAverageCompletionTime(String volunteerId) throws DatabaseException {
+        return RequestContext.span("RequestService.getVolunteerAverageCompletionTime",
+            () -> doGetVolunteerAverageCompletionTime(volunteerId));
+    }
+    
+    private double doGetVolunteerAverageCompletionTime(String volunteerId) throws DatabaseException {
         List<Request> completedRequests = getRequestsByVolunteer(volunteerId).stream()
             .filter(request -> request.getStatus() == RequestStatus.COMPLETED)
             .toList();
@@ -312,6 +459,11 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getRequesterTotalCount(String requesterId) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequesterTotalCount",
+            () -> doGetRequesterTotalCount(requesterId));
+    }
+    
+    private long doGetRequesterTotalCount(String requesterId) throws DatabaseException {
         List<Request> requesterRequests = getRequestsByUser(requesterId);
         return requesterRequests.size();
     }
@@ -323,6 +475,11 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getRequesterActiveCount(String requesterId) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequesterActiveCount",
+            () -> doGetRequesterActiveCount(requesterId));
+    }
+    
+    private long doGetRequesterActiveCount(String requesterId) throws DatabaseException {
         List<Request> requesterRequests = getRequestsByUser(requesterId);
         return requesterRequests.stream()
             .filter(request -> 
@@ -338,6 +495,11 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getRequesterCompletedCount(String requesterId) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequesterCompletedCount",
+            () -> doGetRequesterCompletedCount(requesterId));
+    }
+    
+    private long doGetRequesterCompletedCount(String requesterId) throws DatabaseException {
         List<Request> requesterRequests = getRequestsByUser(requesterId);
         return requesterRequests.stream()
             .filter(request -> request.getStatus() == RequestStatus.COMPLETED)
@@ -351,9 +513,58 @@ public class RequestService {
      * @throws DatabaseException if database operation fails
      */
     public long getRequesterCancelledCount(String requesterId) throws DatabaseException {
+        return RequestContext.span("RequestService.getRequesterCancelledCount",
+            () -> doGetRequesterCancelledCount(requesterId));
+    }
+    
+    private long doGetRequesterCancelledCount(String requesterId) throws DatabaseException {
         List<Request> requesterRequests = getRequestsByUser(requesterId);
         return requesterRequests.stream()
             .filter(request -> request.getStatus() == RequestStatus.CANCELLED)
             .count();
     }
+    
+    /**
+     * Builds the notifications announcing a request status change
+     * The requester is told about every transition, a newly assigned volunteer about the assignment
+     * Below high priority, delivery waits for the digest window so quick successive changes coalesce
+     * @param request Request after the change
+     * @param previousStatus Status before the change
+     * @return Notifications to write to the outbox (empty if the status did not change)
+     */
+    private List<OutboxNotification> buildStatusChangeNotifications(Request request, RequestStatus previousStatus) {
+        List<OutboxNotification> notifications = new ArrayList<>();
+        RequestStatus newStatus = request.getStatus();
+        if (newStatus == null || newStatus == previousStatus) {
+            return notifications;
+        }
+        
+        // Map urgency (1-4) onto notification priority (2-5)
+        int priority = request.getUrgencyLevel() != null ? request.getUrgencyLevel().getPriority() + 1 : 3;
+        
+        notifications.add(new OutboxNotification(
+            request.getRequesterId(),
+            "Request " + newStatus.getDisplayName(),
+            "Your request " + request.getRequestId() + " is now " + newStatus.getDisplayName() + ". " + newStatus.getDescription(),
+            priority,
+            request.getRequestId()));
+        
+        if (newStatus == RequestStatus.ASSIGNED && request.getVolunteerId() != null) {
+            notifications.add(new OutboxNotification(
+                request.getVolunteerId(),
+                "New Assignment",
+                "You have been assigned to request " + request.getRequestId() + ".",
+                priority,
+                request.getRequestId()));
+        }
+        
+        if (priority < Constants.Notification.HIGH_PRIORITY_THRESHOLD) {
+            long deliverAt = System.currentTimeMillis() + digestWindowMs;
+            for (OutboxNotification notification : notifications) {
+                notification.setNextAttemptAt(deliverAt);
+            }
+        }
+        
+        return notifications;
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.communityhub.service;
 import com.communityhub.dao.ResourceDAO;
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.model.Resource;
+import com.communityhub.util.RequestContext;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -26,7 +27,7 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public List<Resource> getAllResources() throws DatabaseException {
-        return resourceDAO.findAll();
+        return RequestContext.span("ResourceService.getAllResources", () -> resourceDAO.findAll());
     }
     
     /**
@@ -36,7 +37,7 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public Resource getResource(String resourceId) throws DatabaseException {
-        return resourceDAO.read(resourceId);
+        return RequestContext.span("ResourceService.getResource", () -> resourceDAO.read(resourceId));
     }
     
     /**
@@ -45,6 +46,10 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public void createResource(Resource resource) throws DatabaseException {
+        RequestContext.span("ResourceService.createResource", () -> doCreateResource(resource));
+    }
+    
+    private void doCreateResource(Resource resource) throws DatabaseException {
         resourceDAO.create(resource);
         logger.info("Resource created: " + resource.getName());
     }
@@ -55,6 +60,10 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public void updateResource(Resource resource) throws DatabaseException {
+        RequestContext.span("ResourceService.updateResource", () -> doUpdateResource(resource));
+    }
+    
+    private void doUpdateResource(Resource resource) throws DatabaseException {
         resourceDAO.update(resource);
         logger.info("Resource updated: " + resource.getName());
     }
@@ -65,6 +74,10 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public void deleteResource(String resourceId) throws DatabaseException {
+        RequestContext.span("ResourceService.deleteResource", () -> doDeleteResource(resourceId));
+    }
+    
+    private void doDeleteResource(String resourceId) throws DatabaseException {
         resourceDAO.delete(resourceId);
         logger.info("Resource deleted: " + resourceId);
     }
@@ -75,7 +88,7 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public long getResourceCount() throws DatabaseException {
-        return resourceDAO.count();
+        return RequestContext.span("ResourceService.getResourceCount", () -> resourceDAO.count());
     }
     
     /**
@@ -85,6 +98,10 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public List<Resource> searchResources(String query) throws DatabaseException {
+        return RequestContext.span("ResourceService.searchResources", () -> doSearchResources(query));
+    }
+    
+    private List<Resource> doSearchResources(String query) throws DatabaseException {
         List<Resource> allResources = resourceDAO.findAll();
         String lowerQuery = query.toLowerCase();
         
@@ -104,7 +121,8 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public List<Resource> getResourcesByCategory(String category) throws DatabaseException {
-        return resourceDAO.findByField("category", category);
+        return RequestContext.span("ResourceService.getResourcesByCategory",
+            () -> resourceDAO.findByField("category", category));
     }
     
     /**
@@ -114,6 +132,11 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public void updateResourceQuantity(String resourceId, int newQuantity) throws DatabaseException {
+        RequestContext.span("ResourceService.updateResourceQuantity",
+            () -> doUpdateResourceQuantity(resourceId, newQuantity));
+    }
+    
+    private void doUpdateResourceQuantity(String resourceId, int newQuantity) throws DatabaseException {
         Resource resource = resourceDAO.read(resourceId);
         if (resource != null) {
             resource.setQuantity(newQuantity);
@@ -129,6 +152,11 @@ public class ResourceService {
      * @throws DatabaseException if database operation fails
      */
     public void updateResourceCategory(String resourceId, String newCategory) throws DatabaseException {
+        RequestContext.span("ResourceService.updateResourceCategory",
+            () -> doUpdateResourceCategory(resourceId, newCategory));
+    }
+    
+    private void doUpdateResourceCategory(String resourceId, String newCategory) throws DatabaseException {
         Resource resource = resourceDAO.read(resourceId);
         if (resource != null) {
             resource.setCategory(newCategory);
@@ -0,0 +1,359 @@
+package com.communityhub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.dao.TokenRevocationDAO;
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.TokenRevocation;
+import com.communityhub.model.User;
+import com.communityhub.model.UserRole;
+
+/**
+ * Issues and verifies HMAC-signed auth tokens for the stateless authentication mode
+ *
+ * DESIGN DECISION: A token carries user ID, role, login time, issue time, expiry and a token
+ * ID, signed with HMAC-SHA256 under a secret shared by all nodes (security.token.secret).
+ * Any node can verify a token with one MAC computation and no session lookup, so nodes can
+ * be added behind a load balancer without sticky sessions or session replication.
+ *
+ * Tokens are short-lived and re-issued with the same token ID once half their lifetime has
+ * passed, up to the absolute session lifetime. Logout and deactivation write a revocation
+ * row; each node keeps the live revocations in memory and polls for new ones, so the list
+ * stays small (rows are dropped once the tokens they match have expired).
+ *
+ * Token format: base64url(v1|userId|roleOrdinal|authTime|issuedAt|expiresAt|tokenId) "." base64url(mac)
+ */
+public final class TokenAuthenticator {
+
+    private static final Logger logger = Logger.getLogger(TokenAuthenticator.class.getName());
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final int PURGE_EVERY_POLLS = 30;
+    private static final UserRole[] ROLES = UserRole.values();
+    private static volatile TokenAuthenticator instance;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final long ttlMs;
+    private final long maxLifetimeMs;
+    private final TokenRevocationDAO revocationDAO;
+
+    // Live revocations: token ID -> expiry, and user ID -> revocation time
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, TokenRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private volatile long lastRevocationId;
+    private int pollCount;
+    private final ScheduledExecutorService poller;
+
+    /**
+     * Private constructor loads the signing secret and starts polling revocations
+     * @throws DatabaseException if DAO initialization fails
+     */
+    private TokenAuthenticator() throws DatabaseException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.key = new SecretKeySpec(loadSecret(config), MAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(MAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(MAC_ALGORITHM + " not available", e);
+            }
+        });
+        this.ttlMs = TimeUnit.MINUTES.toMillis(
+            config.getInt("security.token.ttl.minutes", Constants.Security.AUTH_TOKEN_TTL_MINUTES));
+        this.maxLifetimeMs = TimeUnit.HOURS.toMillis(
+            config.getInt("session.timeout.hours", Constants.Session.TIMEOUT_HOURS));
+        this.revocationDAO = new TokenRevocationDAO();
+
+        long pollMs = config.getLong("security.token.revocation.poll.ms", Constants.Security.AUTH_TOKEN_REVOCATION_POLL_MS);
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pollRevocations();
+        poller.scheduleWithFixedDelay(this::pollRevocations, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets singleton instance
+     * @return TokenAuthenticator instance
+     * @throws DatabaseException if DAO initialization fails
+     */
+    public static TokenAuthenticator getInstance() throws DatabaseException {
+        if (instance == null) {
+            synchronized (TokenAuthenticator.class) {
+                if (instance == null) {
+                    instance = new TokenAuthenticator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the stateless token mode is configured (security.auth.mode=token)
+     * @return true if requests authenticate with signed tokens instead of HTTP sessions
+     */
+    public static boolean isEnabled() {
+        return Constants.Security.AUTH_MODE_TOKEN.equalsIgnoreCase(
+            ConfigurationManager.getInstance().getString("security.auth.mode", Constants.Security.AUTH_MODE));
+    }
+
+    /**
+     * Stops polling revocations if the authenticator was ever created
+     */
+    public static void shutdownIfStarted() {
+        TokenAuthenticator current = instance;
+        if (current != null) {
+            current.poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Issues a token for a user who just logged in
+     * @param user Authenticated user
+     * @return Signed token
+     */
+    public String issue(User user) {
+        long now = System.currentTimeMillis();
+        return sign(new Claims(user.getUserId(), user.getRole(), now, now,
+                               Math.min(now + ttlMs, now + maxLifetimeMs), UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Re-issues a token with a fresh expiry, keeping its token ID and login time
+     * @param claims Verified claims
+     * @param role Current role of the user
+     * @return Signed token, or null if the absolute lifetime has been reached
+     */
+    public String refresh(Claims claims, UserRole role) {
+        long now = System.currentTimeMillis();
+        long lifetimeEnd = claims.authTime + maxLifetimeMs;
+        if (now >= lifetimeEnd) {
+            return null;
+        }
+        return sign(new Claims(claims.userId, role, claims.authTime, now,
+                               Math.min(now + ttlMs, lifetimeEnd), claims.tokenId));
+    }
+
+    /**
+     * Checks whether a token is old enough to be re-issued
+     * @param claims Verified claims
+     * @return true once half of the token's lifetime has passed
+     */
+    public boolean shouldRefresh(Claims claims) {
+        long now = System.currentTimeMillis();
+        return now - claims.issuedAt >= (claims.expiresAt - claims.issuedAt) / 2
+            && now < claims.authTime + maxLifetimeMs;
+    }
+
+    /**
+     * Verifies a token's signature, expiry and revocation status
+     * @param token Token from the auth cookie
+     * @return Claims, or null if the token is malformed, forged, expired or revoked
+     */
+    public Claims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, dot));
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, mac(payload))) {
+                return null;
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 7 || !VERSION.equals(parts[0])) {
+                return null;
+            }
+            Claims claims = new Claims(parts[1], ROLES[Integer.parseInt(parts[2])], Long.parseLong(parts[3]),
+                                       Long.parseLong(parts[4]), Long.parseLong(parts[5]), parts[6]);
+
+            if (claims.expiresAt <= System.currentTimeMillis() || isRevoked(claims)) {
+                return null;
+            }
+            return claims;
+
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            // Bad base64, number or role ordinal; only a forged or corrupted token gets here
+            return null;
+        }
+    }
+
+    /**
+     * Revokes a single token (logout)
+     * @param claims Claims of the token to revoke
+     * @throws DatabaseException if the revocation cannot be stored
+     */
+    public void revoke(Claims claims) throws DatabaseException {
+        long now = System.currentTimeMillis();
+        TokenRevocation revocation = new TokenRevocation(claims.tokenId, claims.userId, now, now + ttlMs);
+        apply(revocation);
+        revocationDAO.insert(revocation);
+    }
+
+    /**
+     * Revokes every token a user holds (deactivation, deletion)
+     * @param userId User ID
+     * @throws DatabaseException if the revocation cannot be stored
+     */
+    public void revokeUser(String userId) throws DatabaseException {
+        long now = System.currentTimeMillis();
+        TokenRevocation revocation = new TokenRevocation(null, userId, now, now + ttlMs);
+        apply(revocation);
+        revocationDAO.insert(revocation);
+        logger.info("Revoked all auth tokens for user: " + userId);
+    }
+
+    /**
+     * Gets the token lifetime
+     * @return Lifetime in milliseconds
+     */
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    private boolean isRevoked(Claims claims) {
+        if (revokedTokens.containsKey(claims.tokenId)) {
+            return true;
+        }
+        TokenRevocation userRevocation = revokedUsers.get(claims.userId);
+        return userRevocation != null && claims.authTime <= userRevocation.getRevokedAt();
+    }
+
+    private void apply(TokenRevocation revocation) {
+        if (revocation.getTokenId() != null) {
+            revokedTokens.put(revocation.getTokenId(), revocation.getExpiresAt());
+        } else {
+            revokedUsers.merge(revocation.getUserId(), revocation,
+                (current, added) -> added.getRevokedAt() > current.getRevokedAt() ? added : current);
+        }
+    }
+
+    /**
+     * Loads revocations written by any node since the last poll and drops expired ones
+     */
+    private void pollRevocations() {
+        try {
+            long now = System.currentTimeMillis();
+            List<TokenRevocation> revocations = revocationDAO.findAfter(lastRevocationId, now);
+            for (TokenRevocation revocation : revocations) {
+                apply(revocation);
+                lastRevocationId = Math.max(lastRevocationId, revocation.getRevocationId());
+            }
+
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+            revokedUsers.values().removeIf(revocation -> revocation.getExpiresAt() <= now);
+
+            if (++pollCount % PURGE_EVERY_POLLS == 0) {
+                int purged = revocationDAO.deleteExpired(now);
+                if (purged > 0) {
+                    logger.fine("Purged " + purged + " expired token revocations");
+                }
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic task
+            logger.log(Level.WARNING, "Error polling token revocations", e);
+        }
+    }
+
+    private String sign(Claims claims) {
+        byte[] payload = (VERSION + "|" + claims.userId + "|" + claims.role.ordinal() + "|" + claims.authTime
+                          + "|" + claims.issuedAt + "|" + claims.expiresAt + "|" + claims.tokenId)
+                         .getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+    }
+
+    private byte[] mac(byte[] payload) {
+        Mac instance = mac.get();
+        instance.reset();
+        return instance.doFinal(payload);
+    }
+
+    private static byte[] loadSecret(ConfigurationManager config) {
+        String configured = config.getString("security.token.secret", null);
+        if (configured != null && !configured.isEmpty()) {
+            byte[] secret = Base64.getDecoder().decode(configured);
+            if (secret.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("security.token.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+            return secret;
+        }
+
+        // Without a shared secret tokens only validate on this node and not after a restart
+        logger.warning("security.token.secret not set, using a random per-process secret");
+        byte[] secret = new byte[MIN_SECRET_BYTES];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * Verified contents of a token
+     */
+    public static final class Claims {
+        private final String userId;
+        private final UserRole role;
+        private final long authTime;
+        private final long issuedAt;
+        private final long expiresAt;
+        private final String tokenId;
+
+        private Claims(String userId, UserRole role, long authTime, long issuedAt, long expiresAt, String tokenId) {
+            this.userId = userId;
+            this.role = role;
+            this.authTime = authTime;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.tokenId = tokenId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public UserRole getRole() {
+            return role;
+        }
+
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.communityhub.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.dao.UserDAO;
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.User;
+import com.communityhub.util.CacheMissEvent;
+import com.communityhub.util.MetricsRegistry;
+
+/**
+ * Shared, bounded cache of User objects keyed by user ID
+ *
+ * DESIGN DECISION: HTTP sessions keep only a SessionPrincipal; the User is looked up here on
+ * each request. Every load gets a new version number from a global counter, so a principal
+ * whose version no longer matches was issued from a User that has since been reloaded.
+ * UserService and AuthenticationService invalidate entries on every write, so role changes
+ * are visible on the next request instead of surviving in old sessions. Entries also expire
+ * after a TTL to pick up writes made outside those services.
+ *
+ * A lookup that misses reads the database without holding any lock, so an invalidate can
+ * land between its read and its store. Each invalidate bumps a generation counter for the
+ * user's stripe; the lookup notes the generation before reading and only stores its result
+ * if the generation is unchanged, so a load that raced an invalidate is returned once but
+ * never cached. Users sharing a stripe occasionally skip a store for nothing, and are
+ * reloaded on their next lookup.
+ *
+ * When the cache is full a slice of entries is dropped in map iteration order, which for a
+ * hash map is effectively random; a dropped user is simply reloaded on next use.
+ */
+public final class UserCache {
+
+    private static final Logger logger = Logger.getLogger(UserCache.class.getName());
+    private static volatile UserCache instance;
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<String, CachedUser> entries = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final UserDAO userDAO;
+    private final int capacity;
+    private final long ttlMs;
+    private final MetricsRegistry.Counter hits;
+    private final MetricsRegistry.Counter misses;
+    private final MetricsRegistry.Counter evictions;
+
+    /**
+     * Private constructor reads capacity and expiry from configuration
+     * @throws DatabaseException if DAO initialization fails
+     */
+    private UserCache() throws DatabaseException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.userDAO = new UserDAO();
+        this.capacity = Math.max(1, config.getInt("cache.user.size", Constants.Cache.USER_CACHE_SIZE));
+        this.ttlMs = TimeUnit.MINUTES.toMillis(
+            config.getLong("cache.expiry.minutes", Constants.Cache.CACHE_EXPIRY_MINUTES));
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.hits = registry.counter("cache_hits_total", "Cache lookups served from memory", "cache", "user");
+        this.misses = registry.counter("cache_misses_total", "Cache lookups that went to the database", "cache", "user");
+        this.evictions = registry.counter("cache_evictions_total", "Entries dropped to make room", "cache", "user");
+        registry.gauge("cache_size", "Entries currently cached", entries::size, "cache", "user");
+    }
+
+    /**
+     * Gets singleton instance
+     * @return UserCache instance
+     * @throws DatabaseException if DAO initialization fails
+     */
+    public static UserCache getInstance() throws DatabaseException {
+        if (instance == null) {
+            synchronized (UserCache.class) {
+                if (instance == null) {
+                    instance = new UserCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a user and its cache version, loading it from the database if needed
+     * @param userId User ID
+     * @return Cached user, or null if the user no longer exists
+     * @throws DatabaseException if loading fails
+     */
+    public CachedUser lookup(String userId) throws DatabaseException {
+        long now = System.currentTimeMillis();
+        CachedUser cached = entries.get(userId);
+        if (cached != null && now - cached.loadedAtMs < ttlMs) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long generation = generations.get(stripe(userId));
+
+        CacheMissEvent event = new CacheMissEvent();
+        event.begin();
+        User user = userDAO.read(userId);
+        event.complete("user", userId, user != null);
+        if (user == null) {
+            entries.remove(userId);
+            return null;
+        }
+        return store(user, now, generation);
+    }
+
+    /**
+     * Puts a freshly loaded user into the cache (e.g. right after login)
+     * @param user User read from the database
+     * @return Cached user with its new version
+     */
+    public CachedUser put(User user) {
+        return store(user, System.currentTimeMillis(), generations.get(stripe(user.getUserId())));
+    }
+
+    /**
+     * Drops a user so the next lookup reloads it with a new version
+     * @param userId User ID
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            // Bump first: a load that has already read the old row then declines to store it
+            generations.incrementAndGet(stripe(userId));
+            entries.remove(userId);
+        }
+    }
+
+    /**
+     * Gets the number of cached users
+     * @return Entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Caches a loaded user unless the user was invalidated since the load started
+     * @param generation Stripe generation read before the user was loaded
+     */
+    private CachedUser store(User user, long now, long generation) {
+        if (entries.size() >= capacity) {
+            evict();
+        }
+        String userId = user.getUserId();
+        CachedUser loaded = new CachedUser(user, versions.incrementAndGet(), now);
+        // invalidate bumps the generation before it removes, and that remove waits for this compute
+        entries.compute(userId, (id, current) ->
+            generations.get(stripe(id)) == generation ? loaded : current);
+        return loaded;
+    }
+
+    private static int stripe(String userId) {
+        return (userId.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    /**
+     * Drops about an eighth of the entries to make room
+     */
+    private void evict() {
+        int toRemove = Math.max(1, capacity / 8);
+        Iterator<CachedUser> iterator = entries.values().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+        logger.fine("User cache full, evicted entries; size now " + entries.size());
+    }
+
+    /**
+     * A cached user together with the version it was loaded under
+     */
+    public static final class CachedUser {
+        private final User user;
+        private final long version;
+        private final long loadedAtMs;
+
+        private CachedUser(User user, long version, long loadedAtMs) {
+            this.user = user;
+            this.version = version;
+            this.loadedAtMs = loadedAtMs;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
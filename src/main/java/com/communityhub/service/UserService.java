@@ -4,20 +4,24 @@ import com.communityhub.dao.UserDAO;
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.model.User;
 import com.communityhub.model.UserRole;
+import com.communityhub.util.RequestContext;
 
 import java.util.List;
 import java.util.logging.Logger;
 
 /**
  * Service class for user management operations
+ * Every write invalidates the user in UserCache so active sessions see the change on their next request
  */
 public class UserService {
     
     private static final Logger logger = Logger.getLogger(UserService.class.getName());
     private final UserDAO userDAO;
+    private final UserCache userCache;
     
     public UserService() throws DatabaseException {
         this.userDAO = new UserDAO();
+        this.userCache = UserCache.getInstance();
     }
     
     /**
@@ -26,7 +30,7 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public List<User> getAllUsers() throws DatabaseException {
-        return userDAO.findAll();
+        return RequestContext.span("UserService.getAllUsers", () -> userDAO.findAll());
     }
     
     /**
@@ -36,7 +40,7 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public User getUser(String userId) throws DatabaseException {
-        return userDAO.read(userId);
+        return RequestContext.span("UserService.getUser", () -> userDAO.read(userId));
     }
     
     /**
@@ -46,7 +50,7 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public User getUserByUsername(String username) throws DatabaseException {
-        return userDAO.findByUsername(username);
+        return RequestContext.span("UserService.getUserByUsername", () -> userDAO.findByUsername(username));
     }
     
     /**
@@ -56,7 +60,7 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public User getUserByEmail(String email) throws DatabaseException {
-        return userDAO.findByEmail(email);
+        return RequestContext.span("UserService.getUserByEmail", () -> userDAO.findByEmail(email));
     }
     
     /**
@@ -65,7 +69,12 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public void updateUser(User user) throws DatabaseException {
+        RequestContext.span("UserService.updateUser", () -> doUpdateUser(user));
+    }
+    
+    private void doUpdateUser(User user) throws DatabaseException {
         userDAO.update(user);
+        userCache.invalidate(user.getUserId());
         logger.info("User updated: " + user.getUsername());
     }
     
@@ -75,7 +84,13 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public void deleteUser(String userId) throws DatabaseException {
+        RequestContext.span("UserService.deleteUser", () -> doDeleteUser(userId));
+    }
+    
+    private void doDeleteUser(String userId) throws DatabaseException {
         userDAO.delete(userId);
+        userCache.invalidate(userId);
+        revokeTokens(userId);
         logger.info("User deleted: " + userId);
     }
     
@@ -86,7 +101,7 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public List<User> getUsersByRole(UserRole role) throws DatabaseException {
-        return userDAO.findByRole(role);
+        return RequestContext.span("UserService.getUsersByRole", () -> userDAO.findByRole(role));
     }
     
     /**
@@ -95,6 +110,10 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public long getVolunteerCount() throws DatabaseException {
+        return RequestContext.span("UserService.getVolunteerCount", () -> doGetVolunteerCount());
+    }
+    
+    private long doGetVolunteerCount() throws DatabaseException {
         List<User> volunteers = getUsersByRole(UserRole.VOLUNTEER);
         return volunteers.size();
     }
@@ -105,6 +124,10 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public long getRequesterCount() throws DatabaseException {
+        return RequestContext.span("UserService.getRequesterCount", () -> doGetRequesterCount());
+    }
+    
+    private long doGetRequesterCount() throws DatabaseException {
         List<User> requesters = getUsersByRole(UserRole.REQUESTER);
         return requesters.size();
     }
@@ -115,6 +138,10 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public long getAdminCount() throws DatabaseException {
+        return RequestContext.span("UserService.getAdminCount", () -> doGetAdminCount());
+    }
+    
+    private long doGetAdminCount() throws DatabaseException {
         List<User> admins = getUsersByRole(UserRole.ADMIN);
         return admins.size();
     }
@@ -125,7 +152,7 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public long getUserCount() throws DatabaseException {
-        return userDAO.count();
+        return RequestContext.span("UserService.getUserCount", () -> userDAO.count());
     }
     
     /**
@@ -134,10 +161,16 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public void deactivateUser(String userId) throws DatabaseException {
+        RequestContext.span("UserService.deactivateUser", () -> doDeactivateUser(userId));
+    }
+    
+    private void doDeactivateUser(String userId) throws DatabaseException {
         User user = userDAO.read(userId);
         if (user != null) {
             user.setActive(false);
             userDAO.update(user);
+            userCache.invalidate(userId);
+            revokeTokens(userId);
             logger.info("User deactivated by admin: " + userId);
         }
     }
@@ -148,10 +181,15 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public void activateUser(String userId) throws DatabaseException {
+        RequestContext.span("UserService.activateUser", () -> doActivateUser(userId));
+    }
+    
+    private void doActivateUser(String userId) throws DatabaseException {
         User user = userDAO.read(userId);
         if (user != null) {
             user.setActive(true);
             userDAO.update(user);
+            userCache.invalidate(userId);
             logger.info("User activated by admin: " + userId);
         }
     }
@@ -162,10 +200,15 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public void resetUserLockout(String userId) throws DatabaseException {
+        RequestContext.span("UserService.resetUserLockout", () -> doResetUserLockout(userId));
+    }
+    
+    private void doResetUserLockout(String userId) throws DatabaseException {
         User user = userDAO.read(userId);
         if (user != null) {
             user.resetFailedLoginAttempts();
             userDAO.update(user);
+            userCache.invalidate(userId);
             logger.info("User lockout reset by admin: " + userId);
         }
     }
@@ -177,11 +220,27 @@ public class UserService {
      * @throws DatabaseException if database operation fails
      */
     public void changeUserRole(String userId, UserRole newRole) throws DatabaseException {
+        RequestContext.span("UserService.changeUserRole", () -> doChangeUserRole(userId, newRole));
+    }
+    
+    private void doChangeUserRole(String userId, UserRole newRole) throws DatabaseException {
         User user = userDAO.read(userId);
         if (user != null && !user.isAdmin()) { // Prevent changing admin roles
             user.setRole(newRole);
             userDAO.update(user);
+            userCache.invalidate(userId);
             logger.info("User role changed by admin: " + userId + " -> " + newRole);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Revokes the user's stateless auth tokens so no node accepts them any more
+     * @param userId User ID
+     * @throws DatabaseException if the revocation cannot be stored
+     */
+    private void revokeTokens(String userId) throws DatabaseException {
+        if (TokenAuthenticator.isEnabled()) {
+            TokenAuthenticator.getInstance().revokeUser(userId);
+        }
+    }
+}
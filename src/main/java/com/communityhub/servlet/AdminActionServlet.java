@@ -47,13 +47,13 @@ public class AdminActionServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
+        HttpSession session = request.getSession();
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         
         // Verify admin role
         if (!currentUser.isAdmin()) {
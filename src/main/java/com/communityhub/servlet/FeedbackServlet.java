@@ -39,13 +39,12 @@ public class FeedbackServlet extends HttpServlet {
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         String action = request.getParameter("action");
         
         try {
@@ -81,13 +80,13 @@ public class FeedbackServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
+        HttpSession session = request.getSession();
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         String action = request.getParameter("action");
         
         try {
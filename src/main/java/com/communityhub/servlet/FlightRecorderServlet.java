@@ -0,0 +1,140 @@
+package com.communityhub.servlet;
+
+import com.communityhub.model.User;
+import com.communityhub.util.FlightRecorderControl;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Flight Recorder Servlet
+ * Lets administrators control the application's JFR recording
+ *
+ * GET  /admin/jfr                 - recording status (text)
+ * GET  /admin/jfr?action=dump     - download the recording so far as a .jfr file
+ * POST /admin/jfr action=start    - start a recording (optional settings=default|profile)
+ * POST /admin/jfr action=stop     - stop the recording, keeping its data for dump
+ */
+@WebServlet(name = "FlightRecorderServlet", urlPatterns = {"/admin/jfr"})
+public class FlightRecorderServlet extends HttpServlet {
+
+    private static final Logger logger = Logger.getLogger(FlightRecorderServlet.class.getName());
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private FlightRecorderControl control;
+
+    @Override
+    public void init() throws ServletException {
+        control = FlightRecorderControl.getInstance();
+        logger.info("FlightRecorderServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        User currentUser = requireAdmin(request, response);
+        if (currentUser == null) {
+            return;
+        }
+
+        if ("dump".equals(request.getParameter("action"))) {
+            sendDump(response, currentUser);
+            return;
+        }
+        writeStatus(response);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        User currentUser = requireAdmin(request, response);
+        if (currentUser == null) {
+            return;
+        }
+
+        String action = request.getParameter("action");
+        try {
+            if ("start".equals(action)) {
+                control.start(request.getParameter("settings"));
+            } else if ("stop".equals(action)) {
+                control.stop();
+            } else {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid action");
+                return;
+            }
+        } catch (IllegalStateException e) {
+            response.sendError(HttpServletResponse.SC_CONFLICT, e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        logger.info("Admin " + currentUser.getUsername() + " performed flight recorder action: " + action);
+        writeStatus(response);
+    }
+
+    private User requireAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User currentUser = (User) request.getAttribute("user");
+        if (currentUser == null) {
+            response.sendRedirect(request.getContextPath() + "/login");
+            return null;
+        }
+        if (!currentUser.isAdmin()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN,
+                "You don't have permission to control flight recordings");
+            return null;
+        }
+        return currentUser;
+    }
+
+    private void sendDump(HttpServletResponse response, User currentUser) throws IOException {
+        Path file = Files.createTempFile("community-hub-", ".jfr");
+        try {
+            try {
+                control.dump(file);
+            } catch (IllegalStateException e) {
+                response.sendError(HttpServletResponse.SC_CONFLICT, e.getMessage());
+                return;
+            }
+            logger.info("Admin " + currentUser.getUsername() + " downloaded a flight recording");
+
+            String fileName = "community-hub-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+            response.setContentType("application/octet-stream");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+            response.setHeader("Cache-Control", "no-store");
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to delete temporary recording " + file, e);
+            }
+        }
+    }
+
+    private void writeStatus(HttpServletResponse response) throws IOException {
+        response.setContentType("text/plain; charset=utf-8");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+        for (Map.Entry<String, Object> entry : control.getStatus().entrySet()) {
+            out.println(entry.getKey() + ": " + entry.getValue());
+        }
+        out.flush();
+    }
+}
@@ -1,10 +1,17 @@
 package com.communityhub.servlet;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
 import com.communityhub.exception.AuthenticationException;
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.exception.InvalidInputException;
+import com.communityhub.model.SessionPrincipal;
 import com.communityhub.model.User;
 import com.communityhub.service.AuthenticationService;
+import com.communityhub.service.TokenAuthenticator;
+import com.communityhub.service.UserCache;
+import com.communityhub.servlet.filter.UserResolutionFilter;
+import com.communityhub.util.SessionPersistence;
 import com.communityhub.util.ValidationUtils;
 import com.communityhub.util.RequestContext;
 
@@ -15,6 +22,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -23,11 +32,22 @@ public class LoginServlet extends HttpServlet {
     
     private static final Logger logger = Logger.getLogger(LoginServlet.class.getName());
     private AuthenticationService authService;
+    private String sourceHeader;
+    private Set<String> trustedProxies;
     
     @Override
     public void init() throws ServletException {
         try {
             authService = new AuthenticationService();
+            ConfigurationManager config = ConfigurationManager.getInstance();
+            sourceHeader = config.getString("security.login.source.header", Constants.Security.LOGIN_SOURCE_HEADER).trim();
+            trustedProxies = new HashSet<>();
+            for (String proxy : config.getString("security.login.trusted.proxies",
+                                                 Constants.Security.LOGIN_TRUSTED_PROXIES).split(",")) {
+                if (!proxy.trim().isEmpty()) {
+                    trustedProxies.add(proxy.trim());
+                }
+            }
             logger.info("LoginServlet initialized successfully");
         } catch (DatabaseException e) {
             logger.log(Level.SEVERE, "Failed to initialize AuthenticationService", e);
@@ -40,8 +60,7 @@ public class LoginServlet extends HttpServlet {
             throws ServletException, IOException {
         
         // Check if user is already logged in
-        HttpSession session = request.getSession(false);
-        if (session != null && session.getAttribute("user") != null) {
+        if (request.getAttribute("user") != null) {
             response.sendRedirect(request.getContextPath() + "/dashboard");
             return;
         }
@@ -54,9 +73,7 @@ public class LoginServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        // Initialize request context for correlation tracking
-        RequestContext.initialize();
-        
+        // The request context (correlation ID, trace) is opened and cleared by TracingFilter
         try {
             // Defensive null checks: request parameters could be null
             String username = request.getParameter("username");
@@ -72,20 +89,33 @@ public class LoginServlet extends HttpServlet {
             username = username != null ? username.trim() : "";
             
             // Authenticate user
-            User user = authService.login(username, password);
+            User user = authService.login(username, password, resolveSourceAddress(request));
             
             // Defensive check: ensure user object is valid
             if (user == null) {
                 throw new AuthenticationException("Authentication failed: user not found");
             }
             
-            // Create session
-            HttpSession session = request.getSession(true);
-            session.setAttribute("user", user);
-            session.setAttribute("userId", user.getUserId());
-            session.setAttribute("username", user.getUsername());
-            session.setAttribute("userRole", user.getRole().toString());
-            session.setMaxInactiveInterval(30 * 60); // 30 minutes
+            UserCache.CachedUser cached = UserCache.getInstance().put(user);
+            if (TokenAuthenticator.isEnabled()) {
+                // Stateless mode: signed cookie only, no server-side session
+                TokenAuthenticator authenticator = TokenAuthenticator.getInstance();
+                UserResolutionFilter.writeCookie(request, response, Constants.Security.AUTH_TOKEN_COOKIE,
+                                                 authenticator.issue(user), (int) (authenticator.getTtlMs() / 1000));
+            } else {
+                // Persist the login so other nodes can restore it without the container session
+                String sessionKey = null;
+                if (SessionPersistence.isEnabled()) {
+                    sessionKey = SessionPersistence.getInstance().create(user);
+                    UserResolutionFilter.writeCookie(request, response, Constants.Session.STORE_COOKIE, sessionKey, -1);
+                }
+
+                // Create session; it holds only a compact principal, the User is resolved per request
+                HttpSession session = request.getSession(true);
+                session.setAttribute(SessionPrincipal.ATTRIBUTE, SessionPrincipal.of(user, cached.getVersion(), sessionKey));
+                session.setMaxInactiveInterval(30 * 60); // 30 minutes
+                authService.startSession(session.getId(), user);
+            }
             
             // Update request context with authenticated user
             RequestContext.setUserId(user.getUserId());
@@ -113,12 +143,35 @@ public class LoginServlet extends HttpServlet {
             RequestContext.logError("Unexpected error during login", e);
             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
                 "An unexpected error occurred");
-        } finally {
-            // Clear request context to prevent ThreadLocal leaks
-            RequestContext.clear();
         }
     }
     
+    /**
+     * Resolves the client address that per-source login limits are keyed on
+     * The configured header (security.login.source.header, e.g. X-Forwarded-For) is only
+     * believed when the connection comes from a trusted proxy; the client is then the
+     * rightmost address in it that is not itself a trusted proxy. Otherwise the peer
+     * address is used, which behind an untrusted proxy or NAT is shared by many clients.
+     */
+    private String resolveSourceAddress(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (sourceHeader.isEmpty() || !trustedProxies.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        String forwarded = request.getHeader(sourceHeader);
+        if (forwarded == null || forwarded.trim().isEmpty()) {
+            return remoteAddress;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddress;
+    }
+    
     private boolean validateLoginInput(String username, String password, HttpServletRequest request) {
         boolean isValid = true;
         
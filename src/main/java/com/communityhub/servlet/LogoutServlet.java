@@ -1,8 +1,11 @@
 package com.communityhub.servlet;
 
+import com.communityhub.core.Constants;
 import com.communityhub.exception.AuthenticationException;
 import com.communityhub.exception.DatabaseException;
 import com.communityhub.service.AuthenticationService;
+import com.communityhub.servlet.filter.UserResolutionFilter;
+import com.communityhub.util.SessionPersistence;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -49,14 +52,36 @@ public class LogoutServlet extends HttpServlet {
             throws ServletException, IOException {
         
         try {
+            String token = UserResolutionFilter.readCookie(request, Constants.Security.AUTH_TOKEN_COOKIE);
+            if (token != null) {
+                // Revoke the signed token so no node accepts it again
+                try {
+                    authService.logoutToken(token);
+                } catch (AuthenticationException | DatabaseException e) {
+                    logger.warning("Token logout failed: " + e.getMessage());
+                }
+                UserResolutionFilter.clearCookie(request, response, Constants.Security.AUTH_TOKEN_COOKIE);
+            }
+            
+            String sessionKey = UserResolutionFilter.readCookie(request, Constants.Session.STORE_COOKIE);
+            if (sessionKey != null) {
+                // Drop the persisted session so other nodes cannot restore it
+                try {
+                    SessionPersistence.getInstance().remove(sessionKey);
+                } catch (DatabaseException e) {
+                    logger.warning("Session store logout failed: " + e.getMessage());
+                }
+                UserResolutionFilter.clearCookie(request, response, Constants.Session.STORE_COOKIE);
+            }
+            
             HttpSession session = request.getSession(false);
             
             if (session != null) {
-                String username = (String) session.getAttribute("username");
+                String sessionId = session.getId();
                 
                 // Logout from authentication service
                 try {
-                    authService.logout();
+                    authService.logout(sessionId);
                 } catch (AuthenticationException e) {
                     // Log but don't fail the logout process
                     logger.warning("Authentication service logout failed: " + e.getMessage());
@@ -65,7 +90,7 @@ public class LogoutServlet extends HttpServlet {
                 // Invalidate session
                 session.invalidate();
                 
-                logger.info("User logged out successfully: " + username);
+                logger.info("Session logged out: " + sessionId);
             }
             
             // Redirect to login page with success message
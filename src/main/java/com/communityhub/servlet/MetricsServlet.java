@@ -0,0 +1,85 @@
+package com.communityhub.servlet;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.model.User;
+import com.communityhub.util.MetricsRegistry;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.logging.Logger;
+
+/**
+ * Metrics Servlet
+ * Exports MetricsRegistry in the Prometheus text format
+ *
+ * Only administrators may read it. A scraper without a login can instead send
+ * "Authorization: Bearer <metrics.scrape.token>" when that property is set.
+ */
+@WebServlet(name = "MetricsServlet", urlPatterns = {"/metrics"})
+public class MetricsServlet extends HttpServlet {
+
+    private static final Logger logger = Logger.getLogger(MetricsServlet.class.getName());
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private MetricsRegistry registry;
+    private byte[] scrapeToken;
+
+    @Override
+    public void init() throws ServletException {
+        registry = MetricsRegistry.getInstance();
+        String token = ConfigurationManager.getInstance().getString("metrics.scrape.token", Constants.Metrics.SCRAPE_TOKEN);
+        scrapeToken = token == null || token.isEmpty() ? null : token.getBytes(StandardCharsets.UTF_8);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        registry.gauge("jvm_memory_heap_used_bytes", "Heap memory in use", () -> memory.getHeapMemoryUsage().getUsed());
+        registry.gauge("jvm_memory_heap_max_bytes", "Maximum heap memory", () -> memory.getHeapMemoryUsage().getMax());
+        registry.gauge("jvm_threads_live", "Live JVM threads", threads::getThreadCount);
+
+        logger.info("MetricsServlet initialized" + (scrapeToken != null ? " with scrape token" : ""));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!hasScrapeToken(request)) {
+            User currentUser = (User) request.getAttribute("user");
+            if (currentUser == null) {
+                response.sendRedirect(request.getContextPath() + "/login");
+                return;
+            }
+            if (!currentUser.isAdmin()) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN,
+                    "You don't have permission to view metrics");
+                return;
+            }
+        }
+
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+        registry.writePrometheus(out);
+        out.flush();
+    }
+
+    private boolean hasScrapeToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (scrapeToken == null || header == null || !header.startsWith("Bearer ")) {
+            return false;
+        }
+        byte[] presented = header.substring("Bearer ".length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(scrapeToken, presented);
+    }
+}
@@ -45,13 +45,12 @@ public class RequestServlet extends HttpServlet {
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         String action = request.getParameter("action");
         
         try {
@@ -63,17 +62,18 @@ public class RequestServlet extends HttpServlet {
                 return;
             }
             
-            // Load requests based on user role
+            // Load requests based on user role; archived history only when asked for (?archived=true)
+            boolean includeArchived = "true".equals(request.getParameter("archived"));
             List<Request> requests;
             if (currentUser.isAdmin()) {
                 // Admins see all requests
-                requests = requestService.getAllRequests();
+                requests = requestService.getAllRequests(includeArchived);
             } else if (currentUser.getRole().toString().equals("VOLUNTEER")) {
                 // Volunteers see assigned requests
-                requests = requestService.getRequestsByVolunteer(currentUser.getUserId());
+                requests = requestService.getRequestsByVolunteer(currentUser.getUserId(), includeArchived);
             } else {
                 // Requesters see their own requests
-                requests = requestService.getRequestsByUser(currentUser.getUserId());
+                requests = requestService.getRequestsByUser(currentUser.getUserId(), includeArchived);
             }
             
             request.setAttribute("requests", requests);
@@ -126,13 +126,12 @@ public class RequestServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         String action = request.getParameter("action");
         
         try {
@@ -223,8 +222,9 @@ public class RequestServlet extends HttpServlet {
             }
             
             // Update status
+            RequestStatus previousStatus = existingRequest.getStatus();
             existingRequest.setStatus(RequestStatus.valueOf(status));
-            requestService.updateRequest(existingRequest);
+            requestService.updateRequest(existingRequest, previousStatus);
             
             logger.info("Request updated by " + currentUser.getUsername());
             HttpSession sess = request.getSession();
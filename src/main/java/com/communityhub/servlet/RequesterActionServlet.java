@@ -54,15 +54,14 @@ public class RequesterActionServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        
         // Validate session
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
+        HttpSession session = request.getSession();
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         
         // Enforce REQUESTER role (backend security check)
         if (!currentUser.getRole().toString().equals("REQUESTER")) {
@@ -216,9 +215,10 @@ public class RequesterActionServlet extends HttpServlet {
         reason = ValidationUtils.sanitizeInput(reason);
         
         // Update status to CANCELLED
+        RequestStatus previousStatus = targetRequest.getStatus();
         targetRequest.setStatus(RequestStatus.CANCELLED);
         targetRequest.setDescription(targetRequest.getDescription() + " [Cancelled by requester: " + reason + "]");
-        requestService.updateRequest(targetRequest);
+        requestService.updateRequest(targetRequest, previousStatus);
         
         logger.info("Requester " + requester.getUserId() + " cancelled request: " + targetRequest.getRequestId() + 
             " with reason: " + reason);
@@ -11,7 +11,6 @@ import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
@@ -45,8 +44,7 @@ public class SearchServlet extends HttpServlet {
             throws ServletException, IOException {
         
         // Check authentication
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Authentication required\"}");
@@ -107,7 +105,7 @@ public class SearchServlet extends HttpServlet {
         response.getWriter().write("{\"error\":\"Method not allowed\"}");
     }
     
-    private List<Map<String, Object>> convertToJsonFormat(List<Resource> resources) {
+    static List<Map<String, Object>> convertToJsonFormat(List<Resource> resources) {
         List<Map<String, Object>> jsonResults = new ArrayList<>();
         
         for (Resource resource : resources) {
@@ -51,15 +51,14 @@ public class VolunteerActionServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession(false);
-        
         // Validate session
-        if (session == null || session.getAttribute("user") == null) {
+        if (request.getAttribute("user") == null) {
             response.sendRedirect(request.getContextPath() + "/login");
             return;
         }
+        HttpSession session = request.getSession();
         
-        User currentUser = (User) session.getAttribute("user");
+        User currentUser = (User) request.getAttribute("user");
         
         // Enforce VOLUNTEER role (backend security check)
         if (!currentUser.getRole().toString().equals("VOLUNTEER")) {
@@ -151,8 +150,9 @@ public class VolunteerActionServlet extends HttpServlet {
         }
         
         // Update status to IN_PROGRESS
+        RequestStatus previousStatus = targetRequest.getStatus();
         targetRequest.setStatus(RequestStatus.IN_PROGRESS);
-        requestService.updateRequest(targetRequest);
+        requestService.updateRequest(targetRequest, previousStatus);
         
         logger.info("Volunteer " + volunteer.getUserId() + " accepted request: " + targetRequest.getRequestId());
         HttpSession session = request.getSession();
@@ -185,10 +185,11 @@ public class VolunteerActionServlet extends HttpServlet {
         reason = ValidationUtils.sanitizeInput(reason);
         
         // Update status to CANCELLED and clear volunteer assignment
+        RequestStatus previousStatus = targetRequest.getStatus();
         targetRequest.setStatus(RequestStatus.CANCELLED);
         targetRequest.setVolunteerId(null);
         targetRequest.setDescription(targetRequest.getDescription() + " [Rejected: " + reason + "]");
-        requestService.updateRequest(targetRequest);
+        requestService.updateRequest(targetRequest, previousStatus);
         
         logger.info("Volunteer " + volunteer.getUserId() + " rejected request: " + targetRequest.getRequestId() + 
             " with reason: " + reason);
@@ -214,8 +215,9 @@ public class VolunteerActionServlet extends HttpServlet {
         }
         
         // Update status to IN_PROGRESS
+        RequestStatus previousStatus = targetRequest.getStatus();
         targetRequest.setStatus(RequestStatus.IN_PROGRESS);
-        requestService.updateRequest(targetRequest);
+        requestService.updateRequest(targetRequest, previousStatus);
         
         logger.info("Volunteer " + volunteer.getUserId() + " started work on request: " + targetRequest.getRequestId());
         HttpSession session = request.getSession();
@@ -247,8 +249,9 @@ public class VolunteerActionServlet extends HttpServlet {
         }
         
         // Update status to COMPLETED
+        RequestStatus previousStatus = targetRequest.getStatus();
         targetRequest.setStatus(RequestStatus.COMPLETED);
-        requestService.updateRequest(targetRequest);
+        requestService.updateRequest(targetRequest, previousStatus);
         
         logger.info("Volunteer " + volunteer.getUserId() + " marked request as completed: " + targetRequest.getRequestId());
         HttpSession session = request.getSession();
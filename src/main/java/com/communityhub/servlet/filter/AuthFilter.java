@@ -1,5 +1,8 @@
 package com.communityhub.servlet.filter;
 
+import com.communityhub.model.SessionPrincipal;
+import com.communityhub.service.TokenAuthenticator;
+
 import javax.servlet.*;
 import javax.servlet.annotation.WebFilter;
 import javax.servlet.http.HttpServletRequest;
@@ -12,9 +15,11 @@ import java.util.logging.Logger;
 public class AuthFilter implements Filter {
     
     private static final Logger logger = Logger.getLogger(AuthFilter.class.getName());
+    private boolean tokenMode;
     
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
+        tokenMode = TokenAuthenticator.isEnabled();
         logger.info("AuthFilter initialized");
     }
     
@@ -27,9 +32,16 @@ public class AuthFilter implements Filter {
         
         // Get session
         HttpSession session = httpRequest.getSession(false);
+        boolean isLoggedIn;
         
-        // Check if user is logged in
-        boolean isLoggedIn = (session != null && session.getAttribute("user") != null);
+        if (tokenMode) {
+            // Token already verified by UserResolutionFilter, which runs first; no session lookup
+            isLoggedIn = httpRequest.getAttribute("user") != null;
+        } else {
+            // UserResolutionFilter, which runs first, has already dropped the principal of a session
+            // that expired in the registry
+            isLoggedIn = (session != null && session.getAttribute(SessionPrincipal.ATTRIBUTE) != null);
+        }
         
         if (isLoggedIn) {
             // User is authenticated, continue with request
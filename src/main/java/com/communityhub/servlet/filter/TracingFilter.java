@@ -0,0 +1,207 @@
+package com.communityhub.servlet.filter;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.util.HttpRequestEvent;
+import com.communityhub.util.LatencyHistogram;
+import com.communityhub.util.MetricsRegistry;
+import com.communityhub.util.ReplicaRouter;
+import com.communityhub.util.RequestContext;
+import com.communityhub.util.RequestTrace;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Opens a RequestContext and trace around every request
+ *
+ * DESIGN DECISION: Each request gets a correlation ID and a RequestTrace that collects service
+ * spans and DAO statements. When the request finishes, its latency is recorded per endpoint
+ * (servlet name plus the "action" parameter, which is how most servlets here dispatch), and
+ * requests slower than tracing.slow.threshold.ms are written to the slow-request log as one
+ * JSON line containing every span with its offset, duration and nesting depth.
+ *
+ * WHY: A page such as /dashboard runs a dozen queries through several services. The endpoint
+ * percentiles show which pages are slow; the span breakdown of a slow request shows which of
+ * its queries caused it.
+ *
+ * Each request is also emitted as an HttpRequestEvent so Flight Recorder recordings show
+ * requests alongside the DAO queries they ran.
+ *
+ * GET and HEAD requests are marked read-only in the RequestContext, which lets ReplicaRouter
+ * serve their reads from a replica; any other request makes its user sticky to the primary.
+ *
+ * The number of distinct endpoints is capped so an unexpected action value cannot create an
+ * unbounded number of histograms; requests beyond the cap are counted under "other".
+ */
+@WebFilter(filterName = "TracingFilter", urlPatterns = {"/*"})
+public class TracingFilter implements Filter {
+
+    private static final Logger logger = Logger.getLogger(TracingFilter.class.getName());
+    private static final Logger slowLog = Logger.getLogger("com.communityhub.trace.SlowRequests");
+    private static final String OVERFLOW_ENDPOINT = "other";
+    private static final double[] QUANTILES = {50, 95, 99};
+
+    private final Map<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+    private MetricsRegistry registry;
+    private long slowThresholdNanos;
+    private int maxSpans;
+    private int maxEndpoints;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        registry = MetricsRegistry.getInstance();
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+            config.getLong("tracing.slow.threshold.ms", Constants.Tracing.SLOW_THRESHOLD_MS));
+        maxSpans = Math.max(1, config.getInt("tracing.max.spans", Constants.Tracing.MAX_SPANS));
+        maxEndpoints = Math.max(1, config.getInt("tracing.max.endpoints", Constants.Tracing.MAX_ENDPOINTS));
+        logger.info("TracingFilter initialized, slow threshold " + TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos) + " ms");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        RequestContext.initialize();
+        RequestContext.setReadOnly("GET".equals(httpRequest.getMethod()) || "HEAD".equals(httpRequest.getMethod()));
+        RequestTrace trace = RequestContext.startTrace(maxSpans);
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            try {
+                // Any other method may have written; keep this user's reads on the primary for a while
+                if (!RequestContext.isReadOnly()) {
+                    ReplicaRouter.recordWrite(RequestContext.getUserId());
+                }
+                long elapsed = trace.getElapsedNanos();
+                String endpoint = endpointName(httpRequest);
+                endpointHistogram(endpoint).recordNanos(elapsed);
+                event.complete(httpRequest.getMethod(), httpRequest.getRequestURI(), endpoint,
+                    ((HttpServletResponse) response).getStatus());
+
+                if (elapsed >= slowThresholdNanos) {
+                    slowLog.warning(toJson(httpRequest, (HttpServletResponse) response, endpoint, trace, elapsed));
+                }
+            } finally {
+                RequestContext.clear();
+            }
+        }
+    }
+
+    private static String endpointName(HttpServletRequest request) {
+        HttpServletMapping mapping = request.getHttpServletMapping();
+        String servlet = mapping != null && mapping.getServletName() != null ? mapping.getServletName() : "unmapped";
+        String action = request.getParameter("action");
+        return action == null || action.isEmpty() ? servlet : servlet + "?action=" + action;
+    }
+
+    private LatencyHistogram endpointHistogram(String endpoint) {
+        LatencyHistogram histogram = endpoints.get(endpoint);
+        if (histogram != null) {
+            return histogram;
+        }
+        String key = endpoints.size() < maxEndpoints ? endpoint : OVERFLOW_ENDPOINT;
+        return endpoints.computeIfAbsent(key, this::registerEndpoint);
+    }
+
+    private LatencyHistogram registerEndpoint(String endpoint) {
+        LatencyHistogram histogram = registry.histogram("http_endpoint_duration_seconds",
+            "Request latency per servlet and action", "endpoint", endpoint);
+        for (double quantile : QUANTILES) {
+            registry.gauge("http_endpoint_latency_seconds", "Request latency percentiles per servlet and action",
+                () -> LatencyHistogram.toSeconds(histogram.getValueAtPercentile(quantile)),
+                "endpoint", endpoint, "quantile", String.valueOf(quantile / 100));
+        }
+        return histogram;
+    }
+
+    private static String toJson(HttpServletRequest request, HttpServletResponse response, String endpoint,
+                                 RequestTrace trace, long elapsedNanos) {
+        StringBuilder json = new StringBuilder(256 + trace.getSpanCount() * 96);
+        json.append("{\"event\":\"slow_request\"");
+        appendField(json, "correlationId", RequestContext.getCorrelationId());
+        appendField(json, "userId", RequestContext.getUserId());
+        appendField(json, "method", request.getMethod());
+        appendField(json, "uri", request.getRequestURI());
+        appendField(json, "endpoint", endpoint);
+        json.append(",\"status\":").append(response.getStatus());
+        json.append(",\"totalMs\":").append(toMillis(elapsedNanos));
+        json.append(",\"droppedSpans\":").append(trace.getDroppedCount());
+        json.append(",\"spans\":[");
+        for (int i = 0; i < trace.getSpanCount(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('{');
+            json.append("\"name\":");
+            appendString(json, trace.getName(i));
+            if (trace.getDetail(i) != null) {
+                json.append(",\"detail\":");
+                appendString(json, trace.getDetail(i));
+            }
+            json.append(",\"depth\":").append(trace.getDepth(i));
+            json.append(",\"startMs\":").append(toMillis(trace.getStartOffsetNanos(i)));
+            long duration = trace.getDurationNanos(i);
+            json.append(",\"durationMs\":").append(duration >= 0 ? toMillis(duration) : -1);
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        appendString(json, value);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    json.append(' ');
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("TracingFilter destroyed");
+    }
+}
@@ -0,0 +1,239 @@
+package com.communityhub.servlet.filter;
+
+import com.communityhub.core.Constants;
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.SessionPrincipal;
+import com.communityhub.model.SessionRecord;
+import com.communityhub.model.User;
+import com.communityhub.service.TokenAuthenticator;
+import com.communityhub.service.UserCache;
+import com.communityhub.util.RequestContext;
+import com.communityhub.util.SessionPersistence;
+import com.communityhub.util.SessionRegistry;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the authenticated user for the current request
+ *
+ * Session mode: the session holds only a SessionPrincipal. This filter looks the user up in
+ * UserCache and exposes it as the "user" request attribute, which servlets and JSPs read.
+ * The session is touched in SessionRegistry first; a session the registry has expired loses
+ * its principal, so it is rejected on every path and not only those behind AuthFilter.
+ * A principal issued from an older cached version is replaced, and a principal whose user
+ * was deleted is removed so the request is treated as anonymous.
+ *
+ * With a shared session store configured, a request that carries a session key cookie but
+ * has no container session (failover, rolling deploy) is logged back in from the store.
+ *
+ * Token mode (security.auth.mode=token): the user comes from the signed auth cookie instead,
+ * verified by TokenAuthenticator without touching the HTTP session. Tokens past half their
+ * lifetime are re-issued, invalid ones are cleared.
+ */
+@WebFilter(filterName = "UserResolutionFilter", urlPatterns = {"/*"})
+public class UserResolutionFilter implements Filter {
+
+    private static final Logger logger = Logger.getLogger(UserResolutionFilter.class.getName());
+    private boolean tokenMode;
+    private boolean persistentSessions;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        tokenMode = TokenAuthenticator.isEnabled();
+        persistentSessions = !tokenMode && SessionPersistence.isEnabled();
+        logger.info("UserResolutionFilter initialized (" + (tokenMode ? "token" : "session") + " mode)");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+
+        if (tokenMode) {
+            String token = readCookie(httpRequest, Constants.Security.AUTH_TOKEN_COOKIE);
+            if (token != null) {
+                resolveToken(httpRequest, (HttpServletResponse) response, token);
+            }
+        } else {
+            HttpSession session = httpRequest.getSession(false);
+            Object attribute = session != null ? session.getAttribute(SessionPrincipal.ATTRIBUTE) : null;
+            if (attribute instanceof SessionPrincipal) {
+                resolve(httpRequest, session, (SessionPrincipal) attribute);
+            } else if (persistentSessions) {
+                String sessionKey = readCookie(httpRequest, Constants.Session.STORE_COOKIE);
+                if (sessionKey != null) {
+                    restore(httpRequest, (HttpServletResponse) response, sessionKey);
+                }
+            }
+        }
+
+        Object user = httpRequest.getAttribute("user");
+        if (user instanceof User) {
+            RequestContext.setUserId(((User) user).getUserId());
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private void resolve(HttpServletRequest request, HttpSession session, SessionPrincipal principal) {
+        try {
+            // Every authenticated request counts as activity, not just those AuthFilter guards
+            SessionRegistry registry = SessionRegistry.getInstance();
+            if (registry.touch(session.getId()) == null) {
+                logger.info("Session expired in registry, dropping session principal: " + principal.getUserId());
+                session.removeAttribute(SessionPrincipal.ATTRIBUTE);
+                registry.unregister(session.getId());
+                if (persistentSessions && principal.getSessionKey() != null) {
+                    // Otherwise the next request would be logged back in from the store
+                    SessionPersistence.getInstance().remove(principal.getSessionKey());
+                }
+                return;
+            }
+
+            UserCache.CachedUser cached = UserCache.getInstance().lookup(principal.getUserId());
+            if (cached == null) {
+                logger.info("User no longer exists, dropping session principal: " + principal.getUserId());
+                session.removeAttribute(SessionPrincipal.ATTRIBUTE);
+                registry.unregister(session.getId());
+                return;
+            }
+
+            if (cached.getVersion() != principal.getVersion()) {
+                session.setAttribute(SessionPrincipal.ATTRIBUTE,
+                    SessionPrincipal.of(cached.getUser(), cached.getVersion(), principal.getSessionKey()));
+            }
+            if (persistentSessions && principal.getSessionKey() != null) {
+                SessionPersistence persistence = SessionPersistence.getInstance();
+                if (persistence.get(principal.getSessionKey()) == null) {
+                    // Logged out (or expired) on another node
+                    logger.info("Persisted session ended elsewhere, dropping session principal: " + principal.getUserId());
+                    session.removeAttribute(SessionPrincipal.ATTRIBUTE);
+                    registry.unregister(session.getId());
+                    return;
+                }
+                persistence.touch(principal.getSessionKey());
+            }
+            request.setAttribute("user", cached.getUser());
+
+        } catch (DatabaseException e) {
+            // Leave the request anonymous; protected pages redirect to login
+            logger.log(Level.WARNING, "Failed to resolve session user: " + principal.getUserId(), e);
+        } catch (IllegalStateException e) {
+            // Session invalidated concurrently
+            logger.fine("Session invalidated while resolving user: " + e.getMessage());
+        }
+    }
+
+    private void restore(HttpServletRequest request, HttpServletResponse response, String sessionKey) {
+        try {
+            SessionPersistence persistence = SessionPersistence.getInstance();
+            SessionRecord record = persistence.get(sessionKey);
+            UserCache.CachedUser cached = record != null ? UserCache.getInstance().lookup(record.getUserId()) : null;
+            if (cached == null) {
+                if (record != null) {
+                    persistence.remove(sessionKey);
+                }
+                clearCookie(request, response, Constants.Session.STORE_COOKIE);
+                return;
+            }
+
+            HttpSession session = request.getSession(true);
+            session.setAttribute(SessionPrincipal.ATTRIBUTE,
+                SessionPrincipal.of(cached.getUser(), cached.getVersion(), sessionKey));
+            SessionRegistry.getInstance().register(session.getId(), cached.getUser());
+            persistence.touch(sessionKey);
+            request.setAttribute("user", cached.getUser());
+            logger.info("Restored session from session store for user: " + cached.getUser().getUsername());
+
+        } catch (DatabaseException e) {
+            // Leave the request anonymous; protected pages redirect to login
+            logger.log(Level.WARNING, "Failed to restore session from store", e);
+        }
+    }
+
+    private void resolveToken(HttpServletRequest request, HttpServletResponse response, String token) {
+        try {
+            TokenAuthenticator authenticator = TokenAuthenticator.getInstance();
+            TokenAuthenticator.Claims claims = authenticator.verify(token);
+            UserCache.CachedUser cached = claims != null ? UserCache.getInstance().lookup(claims.getUserId()) : null;
+            if (cached == null) {
+                clearCookie(request, response, Constants.Security.AUTH_TOKEN_COOKIE);
+                return;
+            }
+
+            if (authenticator.shouldRefresh(claims)) {
+                String refreshed = authenticator.refresh(claims, cached.getUser().getRole());
+                if (refreshed != null) {
+                    writeCookie(request, response, Constants.Security.AUTH_TOKEN_COOKIE, refreshed,
+                                (int) (authenticator.getTtlMs() / 1000));
+                }
+            }
+            request.setAttribute("user", cached.getUser());
+
+        } catch (DatabaseException e) {
+            // Leave the request anonymous; protected pages redirect to login
+            logger.log(Level.WARNING, "Failed to resolve token user", e);
+        }
+    }
+
+    /**
+     * Gets a cookie value
+     * @param request HTTP request
+     * @param name Cookie name
+     * @return Value, or null if the cookie is absent
+     */
+    public static String readCookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (name.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets an auth cookie (HttpOnly, Secure over HTTPS, scoped to the application)
+     * @param request HTTP request
+     * @param response HTTP response
+     * @param name Cookie name
+     * @param value Cookie value
+     * @param maxAgeSeconds Cookie lifetime, or -1 for a browser-session cookie
+     */
+    public static void writeCookie(HttpServletRequest request, HttpServletResponse response,
+                                   String name, String value, int maxAgeSeconds) {
+        Cookie cookie = new Cookie(name, value);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        String path = request.getContextPath();
+        cookie.setPath(path.isEmpty() ? "/" : path);
+        cookie.setMaxAge(maxAgeSeconds);
+        response.addCookie(cookie);
+    }
+
+    /**
+     * Removes an auth cookie
+     * @param request HTTP request
+     * @param response HTTP response
+     * @param name Cookie name
+     */
+    public static void clearCookie(HttpServletRequest request, HttpServletResponse response, String name) {
+        writeCookie(request, response, name, "", 0);
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("UserResolutionFilter destroyed");
+    }
+}
@@ -1,7 +1,17 @@
 package com.communityhub.servlet.listener;
 
+import com.communityhub.core.ServiceFactory;
+import com.communityhub.service.NotificationService;
+import com.communityhub.service.RequestArchiver;
+import com.communityhub.service.TokenAuthenticator;
 import com.communityhub.util.DataInitializer;
 import com.communityhub.util.DBConnection;
+import com.communityhub.util.FlightRecorderControl;
+import com.communityhub.util.LoggingConfig;
+import com.communityhub.util.PasswordHashExecutor;
+import com.communityhub.util.ReplicaRouter;
+import com.communityhub.util.SessionPersistence;
+import com.communityhub.util.SessionRegistry;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
@@ -20,6 +30,7 @@ public class AppContextListener implements ServletContextListener {
     
     @Override
     public void contextInitialized(ServletContextEvent sce) {
+        LoggingConfig.initialize();
         logger.info("=== APPLICATION STARTUP ===");
         
         try {
@@ -28,10 +39,26 @@ public class AppContextListener implements ServletContextListener {
             dbConnection.initializeDatabase();
             logger.info("Database schema initialized");
             
+            // Send page reads to the read replicas, if any are configured
+            if (ReplicaRouter.isEnabled()) {
+                ReplicaRouter.getInstance();
+                logger.info("Read replica routing started");
+            }
+            
             // Initialize sample data
             DataInitializer.initializeSampleData();
             logger.info("Sample data initialized");
             
+            // Start the notification outbox relay so pending rows from a previous run are delivered
+            ServiceFactory.getInstance().getNotificationService();
+            logger.info("Notification service started");
+            
+            // Move long-closed requests out of the hot tables in the background
+            if (RequestArchiver.isEnabled()) {
+                RequestArchiver.getInstance();
+                logger.info("Request archiver scheduled");
+            }
+            
             logger.info("=== APPLICATION READY ===");
             
         } catch (Exception e) {
@@ -44,11 +71,29 @@ public class AppContextListener implements ServletContextListener {
         logger.info("=== APPLICATION SHUTDOWN ===");
         
         try {
+            // Stop the outbox relay before the connection it uses is closed
+            ServiceFactory factory = ServiceFactory.getInstance();
+            if (factory.isCached(NotificationService.class)) {
+                factory.getNotificationService().shutdown();
+                logger.info("Notification service stopped");
+            }
+            
+            RequestArchiver.shutdownIfStarted();
+            PasswordHashExecutor.shutdownIfStarted();
+            SessionRegistry.shutdownIfStarted();
+            TokenAuthenticator.shutdownIfStarted();
+            SessionPersistence.shutdownIfStarted();
+            FlightRecorderControl.shutdownIfStarted();
+            ReplicaRouter.shutdownIfStarted();
+            
             DBConnection dbConnection = DBConnection.getInstance();
             dbConnection.closeConnection();
             logger.info("Database connection closed");
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error during application shutdown", e);
         }
+        
+        // Last, so the async writer drains everything logged during shutdown
+        LoggingConfig.shutdown();
     }
 }
@@ -1,5 +1,8 @@
 package com.communityhub.servlet.listener;
 
+import com.communityhub.util.MetricsRegistry;
+import com.communityhub.util.SessionRegistry;
+
 import javax.servlet.annotation.WebListener;
 import javax.servlet.http.HttpSessionEvent;
 import javax.servlet.http.HttpSessionListener;
@@ -12,6 +15,10 @@ public class SessionListener implements HttpSessionListener {
     private static final Logger logger = Logger.getLogger(SessionListener.class.getName());
     private static final AtomicInteger activeSessions = new AtomicInteger(0);
     
+    static {
+        MetricsRegistry.getInstance().gauge("http_sessions_active", "Container HTTP sessions", activeSessions::get);
+    }
+    
     @Override
     public void sessionCreated(HttpSessionEvent se) {
         int currentSessions = activeSessions.incrementAndGet();
@@ -27,12 +34,14 @@ public class SessionListener implements HttpSessionListener {
     public void sessionDestroyed(HttpSessionEvent se) {
         int currentSessions = activeSessions.decrementAndGet();
         
-        // Log user logout if user was logged in
-        Object user = se.getSession().getAttribute("user");
-        String username = (String) se.getSession().getAttribute("username");
+        // Release the registry entry now rather than waiting for its idle timer
+        // The persisted session record is deliberately kept: a container session is also destroyed
+        // when this node shuts down, and the login must survive that on the other nodes
+        SessionRegistry.RegisteredSession registered = SessionRegistry.getInstance().unregister(se.getSession().getId());
         
-        if (user != null && username != null) {
-            logger.info("User session destroyed: " + username + 
+        // Log user logout if user was logged in
+        if (registered != null) {
+            logger.info("User session destroyed: " + registered.getUsername() + 
                        ", Active sessions: " + currentSessions);
         } else {
             logger.info("Anonymous session destroyed. Session ID: " + se.getSession().getId() + 
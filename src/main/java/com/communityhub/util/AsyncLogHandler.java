@@ -0,0 +1,335 @@
+package com.communityhub.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * java.util.logging handler that hands records to a single background writer thread
+ *
+ * DESIGN DECISION: Request threads only claim a slot in a bounded ring buffer (one CAS on the
+ * tail sequence) and store the LogRecord there. They do not format, take a handler lock or
+ * touch the disk. A daemon consumer thread drains the buffer in batches of up to batchSize
+ * records, publishes each one to the wrapped sink handlers (which do the formatting) and
+ * flushes the sinks once per batch instead of once per record.
+ *
+ * The buffer is a multi-producer, single-consumer array with a sequence number per slot: a
+ * producer owns slot i after winning the CAS for sequence s and makes the record visible by
+ * writing s + 1 into the slot's sequence; the consumer frees the slot by writing s + capacity.
+ *
+ * WHY: The root logger receives an INFO record for nearly every DAO call and service method.
+ * With a synchronous ConsoleHandler and FileHandler each of those formats the message and
+ * flushes the file on the calling thread, under the handler's lock, so concurrent requests
+ * queue behind each other's log writes.
+ *
+ * When the buffer is full the overflow policy decides: DROP discards the record and counts
+ * it, BLOCK makes the producer wait for space. Records at WARNING and above always wait, so
+ * errors are never lost to a burst of INFO traffic. After close() records are written
+ * synchronously on the calling thread.
+ *
+ * Things that depend on the calling thread are captured before the record is queued: the
+ * source class and method are inferred, and the thread name is stored next to the record.
+ * Formatters read it through originThreadName(). Log parameters are formatted later on the
+ * consumer thread, so they should be immutable values.
+ */
+public final class AsyncLogHandler extends Handler {
+
+    /**
+     * What a producer does when the buffer is full
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+    private static final ThreadLocal<String> deliveringThreadName = new ThreadLocal<>();
+
+    private final Handler[] sinks;
+    private final LogRecord[] records;
+    private final String[] threadNames;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong tail = new AtomicLong();
+    private final Thread consumer;
+
+    private final MetricsRegistry.Counter enqueued;
+    private final MetricsRegistry.Counter dropped;
+    private final MetricsRegistry.Counter producerWaits;
+    private final MetricsRegistry.Counter batches;
+
+    // Consumer-owned read position; published for flush() and depth
+    private volatile long head;
+    private volatile boolean consumerSleeping;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the handler and starts its writer thread
+     * @param bufferSize Ring buffer capacity, rounded up to a power of two
+     * @param batchSize Most records written between sink flushes
+     * @param overflowPolicy What to do with records below WARNING when the buffer is full
+     * @param sinks Handlers that format and write the records
+     */
+    public AsyncLogHandler(int bufferSize, int batchSize, OverflowPolicy overflowPolicy, Handler... sinks) {
+        if (sinks.length == 0) {
+            throw new IllegalArgumentException("At least one sink handler is required");
+        }
+        this.sinks = sinks.clone();
+        this.capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.mask = capacity - 1;
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.records = new LogRecord[capacity];
+        this.threadNames = new String[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        // Records no sink would accept are filtered before they are queued
+        Level lowest = Level.OFF;
+        for (Handler sink : this.sinks) {
+            if (sink.getLevel().intValue() < lowest.intValue()) {
+                lowest = sink.getLevel();
+            }
+        }
+        setLevel(lowest);
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.enqueued = registry.counter("log_records_enqueued_total", "Log records queued for the async writer");
+        this.dropped = registry.counter("log_records_dropped_total", "Log records discarded because the buffer was full");
+        this.producerWaits = registry.counter("log_producer_waits_total",
+            "Log calls that waited for space in the full buffer");
+        this.batches = registry.counter("log_batches_written_total", "Batches written by the async log writer");
+        registry.gauge("log_buffer_depth", "Log records waiting for the async writer", this::getDepth);
+        registry.gauge("log_buffer_capacity", "Capacity of the async log buffer", () -> capacity);
+
+        this.consumer = new Thread(this::drainLoop, "async-log-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Gets the name of the thread that logged the record currently being written
+     * @return Originating thread name while a sink is publishing an async record, otherwise null
+     */
+    public static String originThreadName() {
+        return deliveringThreadName.get();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (record == null || !isLoggable(record)) {
+            return;
+        }
+        // Force caller inference now; on the writer thread the stack would be wrong
+        record.getSourceClassName();
+        String threadName = Thread.currentThread().getName();
+
+        if (!running) {
+            deliver(record, threadName);
+            flushSinks();
+            return;
+        }
+        if (offer(record, threadName)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP && record.getLevel().intValue() < Level.WARNING.intValue()) {
+            dropped.increment();
+            return;
+        }
+
+        producerWaits.increment();
+        while (!offer(record, threadName)) {
+            if (!running) {
+                deliver(record, threadName);
+                flushSinks();
+                return;
+            }
+            wakeConsumer();
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+    }
+
+    private boolean offer(LogRecord record, String threadName) {
+        long sequence = tail.get();
+        while (true) {
+            int index = (int) (sequence & mask);
+            long difference = sequences.get(index) - sequence;
+            if (difference == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    records[index] = record;
+                    threadNames[index] = threadName;
+                    sequences.set(index, sequence + 1);
+                    enqueued.increment();
+                    if (consumerSleeping) {
+                        wakeConsumer();
+                    }
+                    return true;
+                }
+                sequence = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                sequence = tail.get();
+            }
+        }
+    }
+
+    private void wakeConsumer() {
+        consumerSleeping = false;
+        LockSupport.unpark(consumer);
+    }
+
+    private void drainLoop() {
+        while (running || !isEmpty()) {
+            int written = drainBatch();
+            if (written > 0) {
+                flushSinks();
+                batches.increment();
+                continue;
+            }
+            consumerSleeping = true;
+            if (running && isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            consumerSleeping = false;
+        }
+    }
+
+    private int drainBatch() {
+        int written = 0;
+        long position = head;
+        while (written < batchSize) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            LogRecord record = records[index];
+            String threadName = threadNames[index];
+            records[index] = null;
+            threadNames[index] = null;
+            sequences.set(index, position + capacity);
+            position++;
+            head = position;
+            deliver(record, threadName);
+            written++;
+        }
+        return written;
+    }
+
+    private boolean isEmpty() {
+        int index = (int) (head & mask);
+        return sequences.get(index) != head + 1;
+    }
+
+    private void deliver(LogRecord record, String threadName) {
+        deliveringThreadName.set(threadName);
+        try {
+            for (Handler sink : sinks) {
+                try {
+                    sink.publish(record);
+                } catch (RuntimeException e) {
+                    reportError("Sink failed to publish log record", e, ErrorManager.WRITE_FAILURE);
+                }
+            }
+        } finally {
+            deliveringThreadName.remove();
+        }
+    }
+
+    private void flushSinks() {
+        for (Handler sink : sinks) {
+            try {
+                sink.flush();
+            } catch (RuntimeException e) {
+                reportError("Sink failed to flush", e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Waits until records queued before this call have been written, then flushes the sinks
+     */
+    @Override
+    public void flush() {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MS);
+        while (running && head < target && System.nanoTime() < deadline) {
+            wakeConsumer();
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+        flushSinks();
+    }
+
+    /**
+     * Stops the writer after it has drained the buffer, then closes the sinks
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MS);
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A producer publishes its record only after winning the tail CAS. The writer treats a
+        // claimed but unpublished slot as empty and may exit in between, so drain here until
+        // head catches up with every claimed sequence, not just until the next slot looks empty
+        if (!consumer.isAlive()) {
+            while (head < tail.get() && System.nanoTime() < deadline) {
+                if (drainBatch() > 0) {
+                    flushSinks();
+                } else {
+                    LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+                }
+            }
+        }
+        for (Handler sink : sinks) {
+            sink.close();
+        }
+    }
+
+    /**
+     * Gets the number of records waiting to be written
+     * @return Buffer depth
+     */
+    public long getDepth() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getProducerWaitCount() {
+        return producerWaits.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+}
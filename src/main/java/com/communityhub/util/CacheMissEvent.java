@@ -0,0 +1,48 @@
+package com.communityhub.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a cache lookup that had to load from the database
+ * The event duration is the time spent loading
+ */
+@Name("com.communityhub.CacheMiss")
+@Label("Cache Miss")
+@Category({"Community Hub", "Cache"})
+@Description("Cache lookup served by loading from the database")
+public class CacheMissEvent extends Event {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Key")
+    private String key;
+
+    @Label("Found")
+    @Description("Whether the database had an entry for the key")
+    private boolean found;
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param cache Cache name
+     * @param key Key that missed
+     * @param found Whether the load found an entry
+     */
+    public void complete(String cache, String key, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.key = key;
+            this.found = found;
+            this.correlationId = RequestContext.getCorrelationId();
+            commit();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.communityhub.util;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
 import com.communityhub.exception.DatabaseException;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -19,14 +22,11 @@ public class DBConnection {
     private static DBConnection instance;
     private Connection connection;
     
-    // Database configuration
-    private static final String DB_URL = "jdbc:sqlite:community_hub.db";
-    private static final String MYSQL_URL = "jdbc:mysql://localhost:3306/community_hub";
-    private static final String MYSQL_USER = "root";
-    private static final String MYSQL_PASSWORD = "";
+    // Every thread shares one connection and therefore one transaction; see getTransactionLock()
+    private final ReentrantLock transactionLock = new ReentrantLock();
     
-    // Use SQLite by default for easier setup
-    private static final boolean USE_MYSQL = false;
+    // SQLite by default for easier setup; db.mysql.enabled switches to the db.mysql.* settings
+    private static final String DB_URL = "jdbc:sqlite:community_hub.db";
     
     private DBConnection() {
         // Private constructor for singleton pattern
@@ -59,37 +59,99 @@ public class DBConnection {
         }
     }
     
+    /**
+     * Gets the lock that serializes multi-statement transactions on the shared connection
+     * A commit or rollback issued by one thread ends whatever another thread has written so far,
+     * so code that runs several statements before committing holds this lock until it commits
+     * (BaseDAO.executeInTransaction, RequestArchiveDAO). Reentrant, so nested DAO calls are fine.
+     * @return Transaction lock
+     */
+    public ReentrantLock getTransactionLock() {
+        return transactionLock;
+    }
+    
     /**
      * Creates a new database connection
      * @throws DatabaseException if connection creation fails
      */
     private void createConnection() throws DatabaseException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String url = isMySql()
+            ? config.getString("db.mysql.url", Constants.Database.MYSQL_URL)
+            // db.url lets tools such as the benchmarks point at a scratch database file
+            : config.getString("db.url", DB_URL);
+        
+        // CRITICAL: The primary connection has autoCommit FALSE to enable transaction management
+        // This allows proper commit/rollback control in DAO operations
+        connection = openConnection(url, false);
+        logger.info("Database connection established successfully with transaction support");
+    }
+    
+    /**
+     * Opens a connection with the configured driver and credentials
+     * Primary connections are transactional (autoCommit off); replica connections are read-only
+     * with autoCommit on, so a read never holds a snapshot open on the replica.
+     * Both are wrapped by SqlProfiler when profiling is enabled, so per-SQL statistics cover every caller.
+     * @param url JDBC URL
+     * @param replica true for a read replica connection (see ReplicaRouter)
+     * @return Open connection
+     * @throws DatabaseException if the driver is missing or the connection fails
+     */
+    static Connection openConnection(String url, boolean replica) throws DatabaseException {
         try {
-            if (USE_MYSQL) {
+            Connection opened;
+            if (isMySql()) {
+                ConfigurationManager config = ConfigurationManager.getInstance();
                 Class.forName("com.mysql.cj.jdbc.Driver");
-                connection = DriverManager.getConnection(MYSQL_URL, MYSQL_USER, MYSQL_PASSWORD);
+                opened = DriverManager.getConnection(url,
+                    config.getString("db.mysql.user", Constants.Database.MYSQL_USER),
+                    config.getString("db.mysql.password", Constants.Database.MYSQL_PASSWORD));
+                opened.setReadOnly(replica);
             } else {
+                // sqlite-jdbc only accepts the read-only flag before the file is opened
                 Class.forName("org.sqlite.JDBC");
-                connection = DriverManager.getConnection(DB_URL);
+                opened = DriverManager.getConnection(url);
             }
+            opened.setAutoCommit(replica);
             
-            // CRITICAL: Set autoCommit to FALSE to enable transaction management
-            // This allows proper commit/rollback control in DAO operations
-            connection.setAutoCommit(false);
-            logger.info("Database connection established successfully with transaction support");
+            return SqlProfiler.isEnabled() ? SqlProfiler.getInstance().wrap(opened) : opened;
             
         } catch (ClassNotFoundException e) {
             throw new DatabaseException("Database driver not found", e);
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to create database connection", e);
+            throw new DatabaseException("Failed to create database connection to " + url, e);
         }
     }
     
+    private static boolean isMySql() {
+        return ConfigurationManager.getInstance().getBoolean("db.mysql.enabled", Constants.Database.MYSQL_ENABLED);
+    }
+    
     /**
      * Initializes the database schema
      * @throws DatabaseException if initialization fails
      */
     public void initializeDatabase() throws DatabaseException {
+        createTables();
+        
+        // Indexes and later schema changes are versioned migrations (see SchemaMigrator)
+        SchemaMigrator.migrate(getConnection());
+        
+        try (Statement stmt = getConnection().createStatement()) {
+            // Insert sample data if tables are empty
+            insertSampleDataIfEmpty(stmt);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to insert sample data", e);
+        }
+    }
+    
+    /**
+     * Creates any missing tables, without their indexes
+     * Bulk loaders call this, load their rows and then call initializeDatabase, so every index
+     * is built once over the loaded data instead of being updated row by row
+     * @throws DatabaseException if a table cannot be created
+     */
+    public void createTables() throws DatabaseException {
         try (Statement stmt = getConnection().createStatement()) {
             
             // Create users table
@@ -147,10 +209,71 @@ public class DBConnection {
                 "FOREIGN KEY (request_id) REFERENCES requests(request_id)" +
                 ")");
             
-            logger.info("Database schema initialized successfully");
+            // Create notification outbox table (next_attempt_at holds epoch millis)
+            stmt.execute("CREATE TABLE IF NOT EXISTS notification_outbox (" +
+                "outbox_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "user_id TEXT NOT NULL," +
+                "title TEXT NOT NULL," +
+                "message TEXT," +
+                "priority INTEGER DEFAULT 3," +
+                "reference_id TEXT," +
+                "status TEXT DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'DELIVERED', 'FAILED'))," +
+                "attempts INTEGER DEFAULT 0," +
+                "next_attempt_at INTEGER NOT NULL," +
+                "last_error TEXT," +
+                "created_at DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "delivered_at DATETIME" +
+                ")");
             
-            // Insert sample data if tables are empty
-            insertSampleDataIfEmpty(stmt);
+            // Create scheduled notifications table (fire_at holds epoch millis, period_ms 0 = one-shot)
+            stmt.execute("CREATE TABLE IF NOT EXISTS scheduled_notifications (" +
+                "schedule_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "user_id TEXT NOT NULL," +
+                "title TEXT NOT NULL," +
+                "message TEXT," +
+                "priority INTEGER DEFAULT 3," +
+                "fire_at INTEGER NOT NULL," +
+                "period_ms INTEGER DEFAULT 0," +
+                "status TEXT DEFAULT 'SCHEDULED' CHECK (status IN ('SCHEDULED', 'FIRED', 'CANCELLED'))," +
+                "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+                ")");
+            
+            // Revoked auth tokens for the stateless auth mode (times are epoch millis)
+            stmt.execute("CREATE TABLE IF NOT EXISTS auth_token_revocations (" +
+                "revocation_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "token_id TEXT," +
+                "user_id TEXT NOT NULL," +
+                "revoked_at INTEGER NOT NULL," +
+                "expires_at INTEGER NOT NULL" +
+                ")");
+            
+            // Cold storage for closed requests and their feedback (see RequestArchiver)
+            // No foreign keys: archived rows must outlive the users and resources they mention
+            stmt.execute("CREATE TABLE IF NOT EXISTS requests_archive (" +
+                "request_id TEXT PRIMARY KEY," +
+                "requester_id TEXT NOT NULL," +
+                "resource_id TEXT NOT NULL," +
+                "volunteer_id TEXT," +
+                "status TEXT," +
+                "description TEXT," +
+                "urgency_level TEXT," +
+                "created_at DATETIME," +
+                "updated_at DATETIME," +
+                "archived_at INTEGER NOT NULL" +
+                ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS feedback_archive (" +
+                "feedback_id TEXT PRIMARY KEY," +
+                "user_id TEXT NOT NULL," +
+                "request_id TEXT," +
+                "rating INTEGER," +
+                "comments TEXT," +
+                "feedback_type TEXT," +
+                "created_at DATETIME," +
+                "archived_at INTEGER NOT NULL" +
+                ")");
+            
+            connection.commit();
+            logger.info("Database schema initialized successfully");
             
         } catch (SQLException e) {
             throw new DatabaseException("Failed to initialize database schema", e);
@@ -0,0 +1,54 @@
+package com.communityhub.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one JDBC statement executed by a DAO
+ * Emitted by TimedConnection, so it covers every DAO that wraps its connection
+ */
+@Name("com.communityhub.DaoQuery")
+@Label("DAO Query")
+@Category({"Community Hub", "Database"})
+@Description("SQL statement executed by a DAO")
+public class DaoQueryEvent extends Event {
+
+    @Label("DAO")
+    private String dao;
+
+    @Label("Kind")
+    @Description("select, insert, update, delete or other")
+    private String kind;
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    @Label("Correlation ID")
+    @Description("Request that ran the statement, if any")
+    private String correlationId;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param dao DAO name
+     * @param kind Statement kind
+     * @param sql SQL text
+     * @param succeeded Whether the statement completed without an exception
+     */
+    public void complete(String dao, String kind, String sql, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.dao = dao;
+            this.kind = kind;
+            this.sql = sql;
+            this.succeeded = succeeded;
+            this.correlationId = RequestContext.getCorrelationId();
+            commit();
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package com.communityhub.util;
 
-import com.communityhub.dao.ResourceDAO;
-import com.communityhub.dao.RequestDAO;
-import com.communityhub.dao.UserDAO;
 import com.communityhub.exception.DatabaseException;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -50,160 +49,45 @@ public class DataCleanupRunner {
     
     /**
      * Main cleanup execution method
-     * Removes all dummy data in correct order to maintain referential integrity
+     * Removes all dummy data through RetentionEngine: one set-based predicate per table,
+     * chunked deletes committed one by one, dependants (feedback, requests, resources)
+     * removed before the users they reference. An interrupted run resumes when rerun.
      * 
      * @throws DatabaseException if cleanup fails
      */
     public static void cleanupDummyData() throws DatabaseException {
         logger.info("========== STARTING DATA CLEANUP ==========");
         
-        try {
-            Connection conn = DBConnection.getInstance().getConnection();
-            boolean originalAutoCommit = conn.getAutoCommit();
-            
-            try {
-                conn.setAutoCommit(false);
-                
-                // Step 1: Delete dummy requests (must be first due to FK constraints)
-                int requestsDeleted = deleteDummyRequests(conn);
-                logger.info("Deleted " + requestsDeleted + " dummy requests");
-                
-                // Step 2: Delete dummy resources (must be before users)
-                int resourcesDeleted = deleteDummyResources(conn);
-                logger.info("Deleted " + resourcesDeleted + " dummy resources");
-                
-                // Step 3: Delete dummy users (must be last)
-                int usersDeleted = deleteDummyUsers(conn);
-                logger.info("Deleted " + usersDeleted + " dummy users");
-                
-                // Commit transaction
-                conn.commit();
-                logger.info("========== DATA CLEANUP COMPLETED SUCCESSFULLY ==========");
-                logger.info("Summary: " + requestsDeleted + " requests, " + 
-                           resourcesDeleted + " resources, " + usersDeleted + " users removed");
-                
-            } catch (SQLException e) {
-                conn.rollback();
-                logger.log(Level.SEVERE, "Cleanup failed, rolling back changes", e);
-                throw new DatabaseException("Data cleanup failed and was rolled back", e);
-            } finally {
-                conn.setAutoCommit(originalAutoCommit);
-            }
-            
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to initialize cleanup transaction", e);
-        }
-    }
-    
-    /**
-     * Deletes all dummy requests
-     * Criteria: Request IDs matching dummy patterns
-     * 
-     * @param conn Database connection
-     * @return Number of requests deleted
-     * @throws SQLException if deletion fails
-     */
-    private static int deleteDummyRequests(Connection conn) throws SQLException {
-        int totalDeleted = 0;
+        RetentionEngine engine = new RetentionEngine("dummy-data-cleanup")
+            .where("users", "user_id IN (" + placeholders(DUMMY_USER_IDS.length) + ")", (Object[]) DUMMY_USER_IDS)
+            .where("users", "username IN (" + placeholders(DUMMY_USERNAMES.length) + ")", (Object[]) DUMMY_USERNAMES)
+            .where("users", "email LIKE ?", "%@example.com")
+            .where("requests", "request_id IN (" + placeholders(DUMMY_REQUEST_IDS.length) + ")",
+                   (Object[]) DUMMY_REQUEST_IDS);
         
-        // Delete by request ID patterns
-        for (String requestId : DUMMY_REQUEST_IDS) {
-            String sql = "DELETE FROM requests WHERE request_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, requestId);
-                totalDeleted += stmt.executeUpdate();
-            }
-        }
-        
-        // Also delete requests created by dummy users
-        String sql = "DELETE FROM requests WHERE requester_id IN (?, ?, ?, ?, ?, ?) " +
-                    "OR volunteer_id IN (?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            // Requester IDs
-            stmt.setString(1, "req-001");
-            stmt.setString(2, "req-002");
-            stmt.setString(3, "req-003");
-            stmt.setString(4, "admin-001");
-            stmt.setString(5, "vol-001");
-            stmt.setString(6, "vol-002");
-            // Volunteer IDs
-            stmt.setString(7, "vol-001");
-            stmt.setString(8, "vol-002");
-            stmt.setString(9, "admin-001");
-            totalDeleted += stmt.executeUpdate();
+        // Prefix patterns become plain key ranges, cheaper per row than a LIKE match
+        for (String pattern : DUMMY_RESOURCE_PATTERNS) {
+            engine.where("resources", "resource_id >= ? AND resource_id < ?", pattern, prefixUpperBound(pattern));
         }
         
-        return totalDeleted;
+        Map<String, Long> deleted = engine.run();
+        logger.info("========== DATA CLEANUP COMPLETED SUCCESSFULLY ==========");
+        logger.info("Summary: " + deleted.getOrDefault("feedback", 0L) + " feedback, " +
+                   deleted.getOrDefault("requests", 0L) + " requests, " +
+                   deleted.getOrDefault("resources", 0L) + " resources, " +
+                   deleted.getOrDefault("users", 0L) + " users removed");
     }
     
-    /**
-     * Deletes all dummy resources
-     * Criteria: Resource IDs matching dummy patterns (res-*-*)
-     * 
-     * @param conn Database connection
-     * @return Number of resources deleted
-     * @throws SQLException if deletion fails
-     */
-    private static int deleteDummyResources(Connection conn) throws SQLException {
-        int totalDeleted = 0;
-        
-        // Delete resources by pattern
-        for (String pattern : DUMMY_RESOURCE_PATTERNS) {
-            String sql = "DELETE FROM resources WHERE resource_id LIKE ?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, pattern + "%");
-                totalDeleted += stmt.executeUpdate();
-            }
-        }
-        
-        // Also delete resources created by dummy admin user
-        String sql = "DELETE FROM resources WHERE created_by = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, "admin-001");
-            totalDeleted += stmt.executeUpdate();
-        }
-        
-        return totalDeleted;
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
     }
     
     /**
-     * Deletes all dummy users
-     * Criteria: User IDs and usernames matching dummy patterns
-     * IMPORTANT: Preserves any real admin users
-     * 
-     * @param conn Database connection
-     * @return Number of users deleted
-     * @throws SQLException if deletion fails
+     * Smallest string greater than every string starting with prefix
      */
-    private static int deleteDummyUsers(Connection conn) throws SQLException {
-        int totalDeleted = 0;
-        
-        // Delete by user ID
-        for (String userId : DUMMY_USER_IDS) {
-            String sql = "DELETE FROM users WHERE user_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, userId);
-                totalDeleted += stmt.executeUpdate();
-            }
-        }
-        
-        // Delete by username (test usernames only)
-        for (String username : DUMMY_USERNAMES) {
-            String sql = "DELETE FROM users WHERE username = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, username);
-                totalDeleted += stmt.executeUpdate();
-            }
-        }
-        
-        // Delete test users with @example.com emails
-        String sql = "DELETE FROM users WHERE email LIKE ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, "%@example.com");
-            totalDeleted += stmt.executeUpdate();
-        }
-        
-        return totalDeleted;
+    private static String prefixUpperBound(String prefix) {
+        char last = prefix.charAt(prefix.length() - 1);
+        return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
     }
     
     /**
@@ -0,0 +1,517 @@
+package com.communityhub.util;
+
+import com.communityhub.core.Constants;
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.exception.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Synthetic dataset generator for scale testing
+ *
+ * Fills users, resources, requests and feedback with millions of realistic rows:
+ * - Users: a few admins, ~15% volunteers, the rest requesters
+ * - Activity is skewed: a fifth of requesters and resources account for 80% of requests,
+ *   a fifth of volunteers for 70% of assignments
+ * - Requests spread over several years with more recent traffic; status depends on age (old
+ *   requests are mostly COMPLETED or CANCELLED, recent ones PENDING/ASSIGNED/IN_PROGRESS)
+ * - Feedback mostly rates completed requests, with J-shaped ratings
+ *
+ * DESIGN DECISION: Every value of row i is derived from (seed, table, i) alone
+ * WHY: Rows can be generated in parallel chunks in any order and the output is still
+ *      byte-for-byte reproducible for a seed. Foreign keys need no lookup tables either:
+ *      the ID and attributes of user/resource/request j are recomputed on demand.
+ *
+ * DESIGN DECISION: Parallel generation, single batched writer
+ * WHY: SQLite allows one writer, so worker threads build chunks of rows while one thread
+ *      binds them to a prepared INSERT, executes batches and commits in large transactions.
+ *      Synchronous writes are switched off for the load, and IDs are UUID-shaped but
+ *      increase with the row index, so primary-key index inserts append instead of
+ *      splitting random B-tree pages.
+ *
+ * Usage: java DatasetGenerator [--db=path] [--users=N] [--resources=N] [--requests=N]
+ *        [--feedback=N] [--years=N] [--seed=N] [--until=yyyy-MM-dd] [--threads=N]
+ *        [--batch=N] [--commit-every=N]
+ * All generated users can log in with the password in GENERATED_PASSWORD.
+ */
+public class DatasetGenerator {
+
+    private static final Logger logger = Logger.getLogger(DatasetGenerator.class.getName());
+
+    public static final String GENERATED_PASSWORD = "Dataset-2024!";
+
+    private static final long USER_SALT = 0x5553455253L;
+    private static final long RESOURCE_SALT = 0x5245534f55L;
+    private static final long REQUEST_SALT = 0x5245515545L;
+    private static final long FEEDBACK_SALT = 0x4645454442L;
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final String[] CATEGORIES = {
+        Constants.ResourceCategory.FOOD, Constants.ResourceCategory.CLOTHING, Constants.ResourceCategory.MEDICAL,
+        Constants.ResourceCategory.SHELTER, Constants.ResourceCategory.TRANSPORTATION,
+        Constants.ResourceCategory.EDUCATION, Constants.ResourceCategory.TOOLS,
+        Constants.ResourceCategory.TECHNOLOGY, Constants.ResourceCategory.OTHER
+    };
+    // Cumulative category weights: food and clothing dominate donations
+    private static final int[] CATEGORY_WEIGHTS = {30, 50, 60, 68, 73, 81, 87, 95, 100};
+    private static final String[][] ITEMS = {
+        {"Canned vegetables", "Rice", "Pasta", "Baby formula", "Peanut butter", "Cereal"},
+        {"Winter coat", "Sweater", "Thermal socks", "School uniform", "Boots"},
+        {"First aid kit", "Face masks", "Blood pressure monitor", "Crutches", "Insulin cooler"},
+        {"Emergency blankets", "Sleeping bag", "Tent", "Camp bed"},
+        {"Bus pass", "Bicycle", "Child car seat"},
+        {"Textbooks", "School supplies", "Calculator", "Library tote"},
+        {"Drill", "Ladder", "Garden tools", "Toolbox"},
+        {"Laptop", "Tablet", "Phone charger", "Router"},
+        {"Hygiene kit", "Diapers", "Laundry detergent"}
+    };
+    private static final String[] LOCATIONS = {
+        "Community Center", "Donation Center", "Health Center", "Education Center", "Emergency Warehouse",
+        "Family Services", "Library", "Church Hall"
+    };
+    private static final String[] NEEDS = {
+        "Family of four needs", "Single parent needs", "Elderly neighbour needs", "Student needs",
+        "Shelter resident needs", "Newly arrived family needs"
+    };
+    private static final String[] URGENCY = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final int[] URGENCY_WEIGHTS = {30, 75, 93, 100};
+    private static final int[] RATING_WEIGHTS = {7, 13, 25, 55, 100}; // ratings 1..5
+    private static final String[] COMMENTS = {
+        "Very helpful, thank you!", "Quick pickup and friendly volunteer.", "Took a while but arrived.",
+        "Item was not as described.", "Great service.", "Could not reach the volunteer.", ""
+    };
+
+    private final long seed;
+    private final int users;
+    private final int resources;
+    private final long requests;
+    private final long feedback;
+    private final int years;
+    private final long untilMillis;
+    private final int threads;
+    private final int batchSize;
+    private final int commitEvery;
+    private final int admins;
+    private final int volunteers;
+    private final String passwordHash;
+
+    /**
+     * Creates a generator
+     * @param options Options parsed from the command line (see class comment)
+     */
+    public DatasetGenerator(Map<String, String> options) {
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.users = Integer.parseInt(options.getOrDefault("users", "10000"));
+        this.resources = Integer.parseInt(options.getOrDefault("resources", "50000"));
+        this.requests = Long.parseLong(options.getOrDefault("requests", "1000000"));
+        this.feedback = Long.parseLong(options.getOrDefault("feedback", "250000"));
+        this.years = Integer.parseInt(options.getOrDefault("years", "3"));
+        LocalDate until = options.containsKey("until") ? LocalDate.parse(options.get("until")) : LocalDate.now();
+        this.untilMillis = Timestamp.valueOf(until.atStartOfDay()).getTime();
+        this.threads = Integer.parseInt(options.getOrDefault("threads",
+            String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() - 1))));
+        this.batchSize = Integer.parseInt(options.getOrDefault("batch", "5000"));
+        this.commitEvery = Integer.parseInt(options.getOrDefault("commit-every", "200000"));
+
+        if (users < 3 || resources < 1 || requests < 0 || feedback < 0 || years < 1) {
+            throw new IllegalArgumentException("Need at least 3 users and 1 resource");
+        }
+        this.admins = Math.max(1, users / 100);
+        this.volunteers = Math.max(1, users * 15 / 100);
+        this.passwordHash = PasswordUtils.hashPassword(GENERATED_PASSWORD);
+    }
+
+    /**
+     * Generates every table in foreign-key order
+     * @throws DatabaseException if a write fails
+     */
+    public void generate() throws DatabaseException {
+        Connection conn = DBConnection.getInstance().getConnection();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long started = System.nanoTime();
+        try {
+            setBulkLoadPragmas(conn, true);
+            load(conn, pool, "users", users, new UserTable());
+            load(conn, pool, "resources", resources, new ResourceTable());
+            load(conn, pool, "requests", requests, new RequestTable());
+            load(conn, pool, "feedback", feedback, new FeedbackTable());
+            long total = users + resources + requests + feedback;
+            double seconds = (System.nanoTime() - started) / 1e9;
+            logger.info(String.format("Generated %,d rows in %.1f s (%,.0f rows/s), seed %d",
+                total, seconds, total / seconds, seed));
+        } catch (SQLException e) {
+            throw new DatabaseException("Dataset generation failed", "generate dataset", e);
+        } finally {
+            pool.shutdownNow();
+            try {
+                setBulkLoadPragmas(conn, false);
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Could not restore synchronous writes", e);
+            }
+        }
+    }
+
+    /**
+     * Streams one table: chunks are generated on the pool, written in index order
+     */
+    private void load(Connection conn, ExecutorService pool, String name, long rowCount, Table table)
+            throws SQLException, DatabaseException {
+        if (rowCount == 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        int window = threads * 2;
+        Deque<Future<List<Object[]>>> pending = new ArrayDeque<>();
+        long nextChunk = 0;
+        long written = 0;
+        long uncommitted = 0;
+        long nextReport = rowCount / 10;
+
+        try (PreparedStatement stmt = conn.prepareStatement(table.insertSql())) {
+            while (written < rowCount) {
+                while (pending.size() < window && nextChunk < rowCount) {
+                    long from = nextChunk;
+                    long to = Math.min(rowCount, from + batchSize);
+                    pending.add(pool.submit(() -> table.generate(from, to)));
+                    nextChunk = to;
+                }
+                List<Object[]> chunk = take(pending.poll());
+                for (Object[] row : chunk) {
+                    bind(stmt, row);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                long rows = chunk.size();
+                written += rows;
+                uncommitted += rows;
+                if (uncommitted >= commitEvery) {
+                    conn.commit();
+                    uncommitted = 0;
+                }
+                if (written >= nextReport && written < rowCount) {
+                    logger.info(String.format("%s: %,d / %,d rows", name, written, rowCount));
+                    nextReport += rowCount / 10;
+                }
+            }
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            pending.forEach(future -> future.cancel(true));
+            conn.rollback();
+            throw e;
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info(String.format("%s: %,d rows in %.1f s (%,.0f rows/s)", name, rowCount, seconds, rowCount / seconds));
+    }
+
+    private static List<Object[]> take(Future<List<Object[]>> future) throws DatabaseException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Dataset generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DatabaseException("Row generation failed", e.getCause());
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            Object value = row[i];
+            if (value == null) {
+                stmt.setNull(i + 1, Types.VARCHAR);
+            } else if (value instanceof String) {
+                stmt.setString(i + 1, (String) value);
+            } else if (value instanceof Integer) {
+                stmt.setInt(i + 1, (Integer) value);
+            } else {
+                stmt.setTimestamp(i + 1, (Timestamp) value);
+            }
+        }
+    }
+
+    /**
+     * Switches SQLite durability off for the load and back on afterwards
+     * The pragma cannot change inside a transaction, so it runs in autocommit mode
+     */
+    private static void setBulkLoadPragmas(Connection conn, boolean bulk) throws SQLException {
+        conn.commit();
+        conn.setAutoCommit(true);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(bulk ? "PRAGMA synchronous=OFF" : "PRAGMA synchronous=FULL");
+            stmt.execute(bulk ? "PRAGMA cache_size=-262144" : "PRAGMA cache_size=-2000");
+            stmt.execute("PRAGMA temp_store=" + (bulk ? "MEMORY" : "DEFAULT"));
+        } finally {
+            conn.setAutoCommit(false);
+        }
+    }
+
+    // ========== Deterministic row derivation ==========
+
+    private SplittableRandom rowRandom(long salt, long index) {
+        return new SplittableRandom(mix(seed ^ salt) + index * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Builds a UUID-shaped ID that grows with the row index
+     */
+    private String id(long salt, long index) {
+        long high = (mix(seed ^ salt) & 0xFFFF000000000000L) | (index & 0x0000FFFFFFFFFFFFL);
+        long low = mix(seed ^ salt ^ index);
+        char[] chars = new char[36];
+        int pos = 0;
+        for (int nibble = 0; nibble < 32; nibble++) {
+            if (nibble == 8 || nibble == 12 || nibble == 16 || nibble == 20) {
+                chars[pos++] = '-';
+            }
+            long word = nibble < 16 ? high : low;
+            chars[pos++] = HEX[(int) (word >>> (60 - 4 * (nibble & 15))) & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Picks from [0, n) so that the first fifth (the "hot" set) gets hotShare of the picks
+     * hotShare 0.2 is uniform; 0.8 is the usual 80/20 split
+     */
+    private static long skewed(SplittableRandom random, long n, double hotShare) {
+        long hot = Math.max(1, n / 5);
+        if (n <= hot || random.nextDouble() < hotShare) {
+            return random.nextLong(hot);
+        }
+        return hot + random.nextLong(n - hot);
+    }
+
+    private static int weighted(SplittableRandom random, int[] cumulative) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        int i = 0;
+        while (roll >= cumulative[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Age in days, denser towards the present (traffic grows over time)
+     */
+    private double ageDays(SplittableRandom random) {
+        double u = random.nextDouble();
+        return years * 365.0 * u * u;
+    }
+
+    private Timestamp daysAgo(double days) {
+        return new Timestamp(untilMillis - (long) (days * MILLIS_PER_DAY));
+    }
+
+    private String userId(long index) {
+        return id(USER_SALT, index);
+    }
+
+    private String volunteerId(SplittableRandom random) {
+        return userId(admins + skewed(random, volunteers, 0.7));
+    }
+
+    private String requesterId(SplittableRandom random) {
+        int requesters = users - admins - volunteers;
+        return userId(admins + volunteers + skewed(random, requesters, 0.8));
+    }
+
+    /**
+     * Source of rows for one table
+     */
+    private abstract static class Table {
+        abstract String insertSql();
+
+        abstract Object[] row(long index);
+
+        List<Object[]> generate(long from, long to) {
+            List<Object[]> rows = new ArrayList<>((int) (to - from));
+            for (long i = from; i < to; i++) {
+                rows.add(row(i));
+            }
+            return rows;
+        }
+    }
+
+    private final class UserTable extends Table {
+        @Override
+        String insertSql() {
+            return "INSERT INTO users (user_id, username, email, password_hash, role, created_at, updated_at) "
+                   + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        Object[] row(long index) {
+            SplittableRandom random = rowRandom(USER_SALT, index);
+            String role = index < admins ? "ADMIN" : index < admins + volunteers ? "VOLUNTEER" : "REQUESTER";
+            String username = "gen_" + role.toLowerCase() + "_" + index;
+            Timestamp created = daysAgo(years * 365.0 * random.nextDouble());
+            return new Object[] {userId(index), username, username + "@dataset.example", passwordHash, role,
+                                 created, created};
+        }
+    }
+
+    private final class ResourceTable extends Table {
+        @Override
+        String insertSql() {
+            return "INSERT INTO resources (resource_id, name, description, category, quantity, location, "
+                   + "contact_info, created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        Object[] row(long index) {
+            SplittableRandom random = rowRandom(RESOURCE_SALT, index);
+            int category = weighted(random, CATEGORY_WEIGHTS);
+            String item = ITEMS[category][random.nextInt(ITEMS[category].length)];
+            String location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+            // Mostly small donations, occasionally a bulk drop
+            int quantity = random.nextInt(10) == 0 ? 50 + random.nextInt(450) : 1 + random.nextInt(20);
+            String createdBy = random.nextInt(5) == 0 ? userId(random.nextInt(admins)) : volunteerId(random);
+            Timestamp created = daysAgo(ageDays(random));
+            return new Object[] {id(RESOURCE_SALT, index), item + " #" + index,
+                                 item + " donated at " + location + ", pick up on weekdays.",
+                                 CATEGORIES[category], quantity, location + " - Room " + (1 + random.nextInt(30)),
+                                 "hub" + (index % 97) + "@dataset.example", createdBy, created, created};
+        }
+    }
+
+    private final class RequestTable extends Table {
+        @Override
+        String insertSql() {
+            return "INSERT INTO requests (request_id, requester_id, resource_id, volunteer_id, status, description, "
+                   + "urgency_level, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        Object[] row(long index) {
+            SplittableRandom random = rowRandom(REQUEST_SALT, index);
+            double age = ageDays(random);
+            String status = statusForAge(random, age);
+            String volunteer = "PENDING".equals(status) || ("CANCELLED".equals(status) && random.nextBoolean())
+                               ? null : volunteerId(random);
+            long resource = skewed(random, resources, 0.8);
+            String urgency = URGENCY[weighted(random, URGENCY_WEIGHTS)];
+            String description = NEEDS[random.nextInt(NEEDS.length)] + " "
+                                 + ITEMS[random.nextInt(ITEMS.length)][0].toLowerCase() + ".";
+            double updatedAge = "PENDING".equals(status) ? age : Math.max(0, age - random.nextDouble() * 14);
+            return new Object[] {id(REQUEST_SALT, index), requesterId(random), id(RESOURCE_SALT, resource), volunteer,
+                                 status, description, urgency, daysAgo(age), daysAgo(updatedAge)};
+        }
+
+        private String statusForAge(SplittableRandom random, double ageDays) {
+            int roll = random.nextInt(100);
+            if (ageDays > 60) {
+                return roll < 80 ? "COMPLETED" : roll < 95 ? "CANCELLED" : roll < 98 ? "IN_PROGRESS" : "ASSIGNED";
+            }
+            if (ageDays > 7) {
+                return roll < 50 ? "COMPLETED" : roll < 60 ? "CANCELLED" : roll < 75 ? "IN_PROGRESS"
+                       : roll < 90 ? "ASSIGNED" : "PENDING";
+            }
+            return roll < 50 ? "PENDING" : roll < 75 ? "ASSIGNED" : roll < 90 ? "IN_PROGRESS"
+                   : roll < 98 ? "COMPLETED" : "CANCELLED";
+        }
+    }
+
+    private final class FeedbackTable extends Table {
+        private final RequestTable requestRows = new RequestTable();
+
+        @Override
+        String insertSql() {
+            return "INSERT INTO feedback (feedback_id, user_id, request_id, rating, comments, feedback_type, created_at) "
+                   + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        Object[] row(long index) {
+            SplittableRandom random = rowRandom(FEEDBACK_SALT, index);
+            int rating = 1 + weighted(random, RATING_WEIGHTS);
+            String comments = COMMENTS[random.nextInt(COMMENTS.length)];
+            int kind = random.nextInt(100);
+            if (kind < 80 && requests > 0) {
+                // Rate a completed request: its requester gives feedback a few days after the last update
+                for (int attempt = 0; attempt < 4; attempt++) {
+                    Object[] request = requestRows.row(random.nextLong(requests));
+                    if ("COMPLETED".equals(request[4])) {
+                        Timestamp updated = (Timestamp) request[8];
+                        Timestamp created = new Timestamp(Math.min(untilMillis,
+                            updated.getTime() + (long) (random.nextDouble() * 5 * MILLIS_PER_DAY)));
+                        return new Object[] {id(FEEDBACK_SALT, index), request[1], request[0], rating, comments,
+                                             "REQUEST_SPECIFIC", created};
+                    }
+                }
+            }
+            String type = kind < 95 ? "GENERAL" : "SYSTEM_IMPROVEMENT";
+            return new Object[] {id(FEEDBACK_SALT, index), requesterId(random), null, rating, comments, type,
+                                 daysAgo(ageDays(random))};
+        }
+    }
+
+    /**
+     * Parses --key=value arguments
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Main method for generating a dataset from the command line
+     * Usage: java DatasetGenerator --db=scale.db --requests=8000000 --feedback=2000000
+     */
+    public static void main(String[] args) {
+        try {
+            Map<String, String> options = parseOptions(args);
+            if (options.containsKey("db")) {
+                ConfigurationManager.getInstance().setProperty("db.url", "jdbc:sqlite:" + options.get("db"));
+            }
+            // Indexes are built after the load; maintaining them row by row triples load time
+            DBConnection.getInstance().createTables();
+            new DatasetGenerator(options).generate();
+            DBConnection.getInstance().initializeDatabase();
+            DBConnection.getInstance().closeConnection();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (DatabaseException e) {
+            logger.log(Level.SEVERE, "Dataset generation failed: " + e.getMessage(), e);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Starts, stops and dumps the application's Java Flight Recorder recording
+ *
+ * DESIGN DECISION: There is at most one application recording. It uses one of the JDK's
+ * built-in settings files ("default" for continuous use, "profile" for more detail) and
+ * additionally enables the Community Hub events: DaoQueryEvent, HttpRequestEvent,
+ * NotificationDeliveredEvent and CacheMissEvent. DAO queries below jfr.dao.threshold.ms are
+ * not recorded. The recording is kept in a bounded on-disk buffer (jfr.max.age.minutes,
+ * jfr.max.size.mb) so it can be left running and dumped when a problem is noticed.
+ *
+ * WHY: The custom events put SQL, request endpoints and cache misses on the same timeline
+ * as JFR's own allocation, lock contention and GC events, so a slow request can be traced
+ * to the query or monitor that caused it. While no recording is running, emitting an event
+ * costs only an enabled check.
+ *
+ * A stopped recording is retained so it can still be dumped; starting again replaces it.
+ */
+public final class FlightRecorderControl {
+
+    private static final Logger logger = Logger.getLogger(FlightRecorderControl.class.getName());
+    private static volatile FlightRecorderControl instance;
+
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Duration daoThreshold;
+    private Recording recording;
+
+    /**
+     * Private constructor reads recording limits from configuration
+     */
+    private FlightRecorderControl() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.defaultSettings = config.getString("jfr.settings", Constants.FlightRecorder.SETTINGS);
+        this.maxAge = Duration.ofMinutes(
+            config.getLong("jfr.max.age.minutes", Constants.FlightRecorder.MAX_AGE_MINUTES));
+        this.maxSizeBytes = config.getLong("jfr.max.size.mb", Constants.FlightRecorder.MAX_SIZE_MB) * 1024 * 1024;
+        this.daoThreshold = Duration.ofMillis(
+            config.getLong("jfr.dao.threshold.ms", Constants.FlightRecorder.DAO_THRESHOLD_MS));
+    }
+
+    /**
+     * Gets singleton instance
+     * @return FlightRecorderControl instance
+     */
+    public static FlightRecorderControl getInstance() {
+        if (instance == null) {
+            synchronized (FlightRecorderControl.class) {
+                if (instance == null) {
+                    instance = new FlightRecorderControl();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Closes the recording if the control was ever created
+     */
+    public static void shutdownIfStarted() {
+        FlightRecorderControl current = instance;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Starts a new recording, replacing any previous one
+     * @param settings JDK settings name ("default" or "profile"), or null for jfr.settings
+     * @throws IllegalStateException if a recording is already running or JFR is unavailable
+     * @throws IllegalArgumentException if the settings name is unknown
+     */
+    public synchronized void start(String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        String settingsName = settings == null || settings.isEmpty() ? defaultSettings : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settingsName, e);
+        }
+
+        close();
+        Recording started = new Recording(configuration);
+        started.setName("community-hub");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSizeBytes);
+        started.enable(DaoQueryEvent.class).withThreshold(daoThreshold);
+        started.enable(HttpRequestEvent.class);
+        started.enable(NotificationDeliveredEvent.class);
+        started.enable(CacheMissEvent.class);
+        started.start();
+        recording = started;
+        logger.info("Flight recording started with '" + settingsName + "' settings");
+    }
+
+    /**
+     * Stops the running recording; its data stays available for dump()
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized void stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        logger.info("Flight recording stopped");
+    }
+
+    /**
+     * Writes the recording's data so far to a file; the recording keeps running
+     * @param destination File to write
+     * @throws IllegalStateException if there is no recording
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void dump(Path destination) throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No recording to dump");
+        }
+        recording.dump(destination);
+        logger.info("Flight recording dumped to " + destination);
+    }
+
+    /**
+     * Gets the state of the recording for display
+     * @return Ordered map of status fields
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("available", FlightRecorder.isAvailable());
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState());
+        Instant start = recording.getStartTime();
+        Instant stop = recording.getStopTime();
+        status.put("startTime", start);
+        status.put("stopTime", stop);
+        status.put("sizeBytes", recording.getSize());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("maxSizeBytes", recording.getMaxSize());
+        return status;
+    }
+
+    private synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
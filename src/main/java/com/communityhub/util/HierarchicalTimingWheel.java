@@ -0,0 +1,208 @@
+package com.communityhub.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed hierarchical timing wheel keyed by numeric timer IDs
+ *
+ * DESIGN DECISION: Timers live in doubly linked bucket lists. Level 0 has one bucket per
+ * tick, each higher level covers wheelSize times the span of the level below. Scheduling
+ * and cancelling a timer touch one bucket (O(1)); a timer is moved down a level at most
+ * once per level as its deadline approaches ("cascading").
+ *
+ * WHY: A heap-based ScheduledExecutorService pays O(log n) per insert and keeps a
+ * Runnable plus a future per timer. With hundreds of thousands of reminders the wheel
+ * stores one small node per timer and does constant work per tick.
+ *
+ * The wheel only tracks IDs and deadlines; callers keep the payload elsewhere (e.g. in the
+ * database). Methods are synchronized, so a single ticking thread and any number of
+ * scheduling threads can share one instance.
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int levels;
+    private final int bitsPerLevel;
+    private final int mask;
+    private final long maxDeltaTicks;
+    private final Node[][] buckets;
+    private final Map<Long, Node> timers = new HashMap<>();
+    private final List<Long> overdue = new ArrayList<>();
+    private long currentTick;
+
+    /**
+     * Creates a timing wheel
+     * @param tickMs Tick duration in milliseconds (timer resolution)
+     * @param wheelSize Buckets per level, a power of two
+     * @param levels Number of levels; the wheel spans wheelSize^levels ticks
+     * @param startMs Current time in epoch milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs < 1 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        this.tickMs = tickMs;
+        this.levels = levels;
+        this.bitsPerLevel = Integer.numberOfTrailingZeros(wheelSize);
+        if ((long) bitsPerLevel * levels >= 62) {
+            throw new IllegalArgumentException("Wheel span too large");
+        }
+        this.mask = wheelSize - 1;
+        this.maxDeltaTicks = (1L << (bitsPerLevel * levels)) - 1;
+        this.buckets = new Node[levels][wheelSize];
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedules a timer, replacing any existing timer with the same ID
+     * @param id Timer ID
+     * @param deadlineMs Deadline in epoch milliseconds
+     */
+    public synchronized void schedule(long id, long deadlineMs) {
+        Node existing = timers.remove(id);
+        if (existing != null) {
+            unlink(existing);
+        }
+
+        Node node = new Node(id, (deadlineMs + tickMs - 1) / tickMs);
+        timers.put(id, node);
+        place(node);
+    }
+
+    /**
+     * Cancels a timer
+     * @param id Timer ID
+     * @return true if the timer was pending
+     */
+    public synchronized boolean cancel(long id) {
+        Node node = timers.remove(id);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and removes every timer that expired
+     * @param nowMs Current time in epoch milliseconds
+     * @return IDs of expired timers
+     */
+    public synchronized List<Long> advance(long nowMs) {
+        List<Long> expired = new ArrayList<>(overdue);
+        overdue.clear();
+        long targetTick = nowMs / tickMs;
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Move timers from higher levels whose bucket comes due on this tick
+            for (int level = levels - 1; level >= 1; level--) {
+                int shift = bitsPerLevel * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    Node node = detachBucket(level, (int) ((currentTick >>> shift) & mask));
+                    while (node != null) {
+                        Node next = node.next;
+                        node.prev = null;
+                        node.next = null;
+                        place(node);
+                        node = next;
+                    }
+                }
+            }
+
+            // Everything left in the current level 0 bucket is due now
+            Node node = detachBucket(0, (int) (currentTick & mask));
+            while (node != null) {
+                timers.remove(node.id);
+                expired.add(node.id);
+                node = node.next;
+            }
+        }
+
+        // place() adds timers that were already due to the overdue list
+        expired.addAll(overdue);
+        overdue.clear();
+        return expired;
+    }
+
+    /**
+     * Gets the number of pending timers
+     * @return Timer count
+     */
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    private void place(Node node) {
+        long delta = node.deadlineTick - currentTick;
+        if (delta <= 0) {
+            timers.remove(node.id);
+            overdue.add(node.id);
+            return;
+        }
+
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (bitsPerLevel * (level + 1)))) {
+            level++;
+        }
+        // Deadlines beyond the wheel span park in the top level and are re-placed when cascaded
+        long indexTick = delta > maxDeltaTicks ? currentTick + maxDeltaTicks : node.deadlineTick;
+        int index = (int) ((indexTick >>> (bitsPerLevel * level)) & mask);
+
+        node.level = level;
+        node.index = index;
+        node.prev = null;
+        node.next = buckets[level][index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[level][index] = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.level < 0) {
+            return;
+        }
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[node.level][node.index] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.level = -1;
+    }
+
+    private Node detachBucket(int level, int index) {
+        Node head = buckets[level][index];
+        buckets[level][index] = null;
+        for (Node node = head; node != null; node = node.next) {
+            node.level = -1;
+        }
+        return head;
+    }
+
+    /**
+     * Timer node linked into a bucket list
+     */
+    private static final class Node {
+        final long id;
+        final long deadlineTick;
+        Node prev;
+        Node next;
+        int level = -1;
+        int index;
+
+        Node(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.communityhub.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one HTTP request
+ * Emitted by TracingFilter around the servlet that handles the request
+ */
+@Name("com.communityhub.HttpRequest")
+@Label("HTTP Request")
+@Category({"Community Hub", "HTTP"})
+@Description("Request handled by a servlet")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("URI")
+    private String uri;
+
+    @Label("Endpoint")
+    @Description("Servlet name plus the action parameter")
+    private String endpoint;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    @Label("User ID")
+    private String userId;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param method HTTP method
+     * @param uri Request URI
+     * @param endpoint Endpoint name used for latency metrics
+     * @param status Response status
+     */
+    public void complete(String method, String uri, String endpoint, int status) {
+        end();
+        if (shouldCommit()) {
+            this.method = method;
+            this.uri = uri;
+            this.endpoint = endpoint;
+            this.status = status;
+            this.correlationId = RequestContext.getCorrelationId();
+            this.userId = RequestContext.getUserId();
+            commit();
+        }
+    }
+}
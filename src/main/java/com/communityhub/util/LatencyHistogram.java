@@ -0,0 +1,135 @@
+package com.communityhub.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear latency histogram in microsecond resolution
+ *
+ * DESIGN DECISION: Values below 32us get one bucket each; above that, every power of two is
+ * split into 16 equal sub-buckets (the layout HdrHistogram uses), so any recorded value is off
+ * by at most 1/16 (about 6%) while 608 buckets cover up to roughly 12 days. The bucket for a
+ * value is found with a leading-zero count and two shifts, and recording is three atomic
+ * increments on preallocated counters.
+ *
+ * WHY: Recording happens on every DAO statement and every request. A histogram that sorts
+ * samples or keeps a sliding window allocates on the hot path and holds locks; this one never
+ * allocates after construction and cannot grow.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BITS = 5;
+    private static final int LINEAR_BUCKETS = 1 << LINEAR_BITS;        // 0..31 us, exact
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;              // per power of two
+    private static final int MAX_EXPONENT = 40;                        // 2^40 us ~ 12.7 days
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - LINEAR_BITS + 1) * SUB_BUCKETS;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+
+    /**
+     * Records a duration measured with System.nanoTime()
+     * @param nanos Elapsed nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    /**
+     * Records a duration in microseconds; negative values count as zero, huge values are clamped
+     * @param micros Elapsed microseconds
+     */
+    public void recordMicros(long micros) {
+        long value = micros < 0 ? 0 : Math.min(micros, MAX_VALUE);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sumMicros.addAndGet(value);
+    }
+
+    /**
+     * Gets the number of recorded values
+     * @return Count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the sum of recorded values
+     * @return Sum in microseconds
+     */
+    public long getSumMicros() {
+        return sumMicros.get();
+    }
+
+    /**
+     * Counts recorded values that are less than or equal to a bound
+     * Values are counted by bucket, so a bucket straddling the bound is counted only if its upper
+     * edge fits under it.
+     * @param boundMicros Upper bound in microseconds
+     * @return Cumulative count
+     */
+    public long countAtOrBelow(long boundMicros) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT && bucketUpperBound(i) <= boundMicros; i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the value at a percentile
+     * @param percentile Percentile between 0 and 100
+     * @return Upper edge of the bucket holding that percentile, in microseconds; 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return bucketUpperBound(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    /**
+     * Converts a microsecond value to seconds for export
+     * @param micros Microseconds
+     * @return Seconds
+     */
+    public static double toSeconds(long micros) {
+        return micros / (double) TimeUnit.SECONDS.toMicros(1);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int offset = index - LINEAR_BUCKETS;
+        int exponent = LINEAR_BITS + offset / SUB_BUCKETS;
+        int sub = offset % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -1,16 +1,24 @@
 package com.communityhub.util;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.logging.*;
 
 /**
  * Centralized logging configuration for the Community Hub application
  * Provides file logging with rotation and performance monitoring
+ *
+ * When logging.async.enabled is set (the default) the console and file handlers sit behind
+ * an AsyncLogHandler, so logging threads only enqueue records and a background thread
+ * formats, batches and writes them.
  */
 public class LoggingConfig {
     
@@ -36,6 +44,9 @@ public class LoggingConfig {
                 Files.createDirectories(logDir);
             }
             
+            ConfigurationManager config = ConfigurationManager.getInstance();
+            boolean async = config.getBoolean("logging.async.enabled", Constants.Logging.ASYNC_ENABLED);
+            
             // Get root logger
             Logger rootLogger = Logger.getLogger("");
             
@@ -45,17 +56,29 @@ public class LoggingConfig {
                 rootLogger.removeHandler(handler);
             }
             
-            // Add custom console handler
-            ConsoleHandler consoleHandler = new ConsoleHandler();
+            // Console handler
+            ConsoleHandler consoleHandler = async ? new BatchedConsoleHandler() : new ConsoleHandler();
             consoleHandler.setLevel(Level.INFO);
             consoleHandler.setFormatter(new CustomFormatter());
-            rootLogger.addHandler(consoleHandler);
             
-            // Add file handler with rotation
-            FileHandler fileHandler = new FileHandler(LOG_FILE_PATTERN, MAX_LOG_SIZE, MAX_LOG_FILES, true);
+            // File handler with rotation
+            FileHandler fileHandler = async
+                ? new BatchedFileHandler(LOG_FILE_PATTERN, MAX_LOG_SIZE, MAX_LOG_FILES)
+                : new FileHandler(LOG_FILE_PATTERN, MAX_LOG_SIZE, MAX_LOG_FILES, true);
             fileHandler.setLevel(Level.ALL);
             fileHandler.setFormatter(new DetailedFormatter());
-            rootLogger.addHandler(fileHandler);
+            
+            if (async) {
+                AsyncLogHandler.OverflowPolicy policy = parseOverflowPolicy(
+                    config.getString("logging.async.overflow.policy", Constants.Logging.ASYNC_OVERFLOW_POLICY));
+                rootLogger.addHandler(new AsyncLogHandler(
+                    config.getInt("logging.async.buffer.size", Constants.Logging.ASYNC_BUFFER_SIZE),
+                    config.getInt("logging.async.batch.size", Constants.Logging.ASYNC_BATCH_SIZE),
+                    policy, consoleHandler, fileHandler));
+            } else {
+                rootLogger.addHandler(consoleHandler);
+                rootLogger.addHandler(fileHandler);
+            }
             
             // Set root logger level
             rootLogger.setLevel(Level.ALL);
@@ -68,6 +91,7 @@ public class LoggingConfig {
             Logger logger = Logger.getLogger(LoggingConfig.class.getName());
             logger.info("Logging system initialized successfully");
             logger.info("Log files location: " + logDir.toAbsolutePath());
+            logger.info("Asynchronous logging " + (async ? "enabled" : "disabled"));
             
         } catch (IOException e) {
             System.err.println("Failed to initialize logging system: " + e.getMessage());
@@ -75,6 +99,15 @@ public class LoggingConfig {
         }
     }
     
+    private static AsyncLogHandler.OverflowPolicy parseOverflowPolicy(String value) {
+        try {
+            return AsyncLogHandler.OverflowPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown logging.async.overflow.policy '" + value + "', using DROP");
+            return AsyncLogHandler.OverflowPolicy.DROP;
+        }
+    }
+    
     /**
      * Configures specific loggers with appropriate levels
      */
@@ -105,10 +138,10 @@ public class LoggingConfig {
         
         @Override
         public String format(LogRecord record) {
-            LocalDateTime time = LocalDateTime.now();
+            LocalDateTime time = recordTime(record);
             String level = record.getLevel().getName();
             String className = getSimpleClassName(record.getSourceClassName());
-            String message = record.getMessage();
+            String message = formatMessage(record);
             
             StringBuilder sb = new StringBuilder();
             sb.append(time.format(timeFormatter))
@@ -134,12 +167,15 @@ public class LoggingConfig {
         
         @Override
         public String format(LogRecord record) {
-            LocalDateTime time = LocalDateTime.now();
+            LocalDateTime time = recordTime(record);
             String level = record.getLevel().getName();
-            String thread = Thread.currentThread().getName();
+            String thread = AsyncLogHandler.originThreadName();
+            if (thread == null) {
+                thread = Thread.currentThread().getName();
+            }
             String className = record.getSourceClassName();
             String methodName = record.getSourceMethodName();
-            String message = record.getMessage();
+            String message = formatMessage(record);
             
             StringBuilder sb = new StringBuilder();
             sb.append(time.format(timeFormatter))
@@ -169,6 +205,43 @@ public class LoggingConfig {
         }
     }
     
+    /**
+     * File handler that only flushes at the end of an async batch, not after every record
+     */
+    private static class BatchedFileHandler extends FileHandler {
+        BatchedFileHandler(String pattern, int limit, int count) throws IOException {
+            super(pattern, limit, count, true);
+        }
+        
+        @Override
+        public void flush() {
+            if (AsyncLogHandler.originThreadName() == null) {
+                super.flush();
+            }
+        }
+    }
+    
+    /**
+     * Console handler that only flushes at the end of an async batch, not after every record
+     */
+    private static class BatchedConsoleHandler extends ConsoleHandler {
+        @Override
+        public void flush() {
+            if (AsyncLogHandler.originThreadName() == null) {
+                super.flush();
+            }
+        }
+    }
+    
+    /**
+     * Gets the time a record was logged; with async logging it is written later
+     * @param record Log record
+     * @return Local time of the log call
+     */
+    private static LocalDateTime recordTime(LogRecord record) {
+        return LocalDateTime.ofInstant(record.getInstant(), ZoneId.systemDefault());
+    }
+    
     /**
      * Gets simple class name from fully qualified name
      * @param fullClassName Fully qualified class name
@@ -0,0 +1,381 @@
+package com.communityhub.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-memory tracker of failed login attempts per key (username or source IP)
+ *
+ * DESIGN DECISION: State lives in parallel primitive arrays organised as a set-associative
+ * cache: a key hashes to one set of WAYS slots and is identified by a 64-bit fingerprint,
+ * so no String or boxed value is retained per key. Lookups and updates scan one set and are
+ * O(1). When a set is full a slot is evicted in this order of preference: idle slots with
+ * no failures in the window, then idle slots with the fewest failures; ties go to the least
+ * recently used. A flood of random usernames therefore evicts other one-off keys before
+ * a real account's failure count. It can still push that count out, but only by failing
+ * at least as often on every key in the set.
+ *
+ * CRITICAL: Slots that are locked out or reserved by a login in progress are never evicted,
+ * so neither a lockout nor an in-flight reservation can be pushed out by other keys. If every
+ * slot of a set is locked or in flight, a key that is not already tracked there fails closed:
+ * tryBegin refuses it and isLocked reports it locked until a slot frees up. Filling a set
+ * this way can delay logins of other keys in it for one lockout period, but it never buys a
+ * locked key more guesses.
+ *
+ * WHY: Unbounded per-username maps grow with every name a credential-stuffing run tries.
+ * Here memory is allocated once for the configured capacity and stays flat no matter how
+ * many distinct keys are seen.
+ *
+ * Failures are counted with a sliding window approximated from the current and previous
+ * fixed windows (previous count weighted by the part of it still inside the window).
+ * Reaching the limit locks the key for the lockout duration. Each login reserves an
+ * in-flight slot first, so concurrent attempts cannot exceed the limit either. When every
+ * remaining attempt is in flight, tryBegin waits (up to attemptWaitMs) for one to finish
+ * rather than refusing: a valid login is only delayed behind concurrent ones, while
+ * concurrent wrong guesses still lock the key after exactly the allowed number.
+ */
+public class LoginAttemptTracker {
+
+    /**
+     * How a reserved attempt ended
+     */
+    public enum Outcome {
+        /** Credentials were valid; clears the key's failures and lockout */
+        SUCCESS,
+        /** Credentials were invalid; counts as a failure */
+        FAILURE,
+        /** Attempt did not count either way (e.g. a system error) */
+        RELEASED
+    }
+
+    private static final int WAYS = 8;
+    private static final int MAX_LOCK_STRIPES = 256;
+
+    private final int setMask;
+    private final int maxFailures;
+    private final long windowMs;
+    private final long lockoutMs;
+    private final long attemptWaitMs;
+    private final ReentrantLock[] locks;
+    private final Condition[] attemptFinished;
+
+    // Slot state, indexed by set * WAYS + way; a fingerprint of 0 marks an empty slot
+    private final long[] fingerprints;
+    private final long[] lastAccess;
+    private final long[] windowStart;
+    private final int[] currentCount;
+    private final int[] previousCount;
+    private final long[] lockedUntil;
+    private final int[] inFlight;
+
+    /**
+     * Creates a tracker that refuses attempts at once while all remaining ones are in flight
+     * @param capacity Maximum number of tracked keys (rounded up to a power of two, at least WAYS)
+     * @param maxFailures Failures within the window that trigger a lockout
+     * @param windowMs Sliding window length in milliseconds
+     * @param lockoutMs Lockout duration in milliseconds
+     */
+    public LoginAttemptTracker(int capacity, int maxFailures, long windowMs, long lockoutMs) {
+        this(capacity, maxFailures, windowMs, lockoutMs, 0);
+    }
+
+    /**
+     * Creates a tracker
+     * @param capacity Maximum number of tracked keys (rounded up to a power of two, at least WAYS)
+     * @param maxFailures Failures within the window that trigger a lockout
+     * @param windowMs Sliding window length in milliseconds
+     * @param lockoutMs Lockout duration in milliseconds
+     * @param attemptWaitMs How long tryBegin waits for an in-flight attempt of the key to finish
+     */
+    public LoginAttemptTracker(int capacity, int maxFailures, long windowMs, long lockoutMs, long attemptWaitMs) {
+        if (capacity < 1 || maxFailures < 1 || windowMs < 1 || lockoutMs < 0 || attemptWaitMs < 0) {
+            throw new IllegalArgumentException("Capacity, failure limit and window must be positive");
+        }
+        int sets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+        if (sets * WAYS < capacity) {
+            sets <<= 1;
+        }
+        int slots = sets * WAYS;
+
+        this.setMask = sets - 1;
+        this.maxFailures = maxFailures;
+        this.windowMs = windowMs;
+        this.lockoutMs = lockoutMs;
+        this.attemptWaitMs = attemptWaitMs;
+        this.fingerprints = new long[slots];
+        this.lastAccess = new long[slots];
+        this.windowStart = new long[slots];
+        this.currentCount = new int[slots];
+        this.previousCount = new int[slots];
+        this.lockedUntil = new long[slots];
+        this.inFlight = new int[slots];
+
+        this.locks = new ReentrantLock[Math.min(sets, MAX_LOCK_STRIPES)];
+        this.attemptFinished = new Condition[locks.length];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+            attemptFinished[i] = locks[i].newCondition();
+        }
+    }
+
+    /**
+     * Reserves an attempt for the key
+     * Waits up to attemptWaitMs while all remaining attempts are in flight
+     * @param key Username or source address
+     * @return false if the key is locked out, or all remaining attempts stayed in flight
+     *         for the whole wait (see isLocked to tell the two apart)
+     */
+    public boolean tryBegin(String key) {
+        long fingerprint = fingerprint(key);
+        int set = (int) (fingerprint >>> 32) & setMask;
+        int stripe = set & (locks.length - 1);
+        ReentrantLock lock = locks[stripe];
+        long deadline = System.currentTimeMillis() + attemptWaitMs;
+
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                int slot = findOrClaim(set, fingerprint, now);
+                if (slot < 0 || lockedUntil[slot] > now) {
+                    return false;
+                }
+                if (lockedUntil[slot] != 0) {
+                    // Lockout expired, start over with a clean count
+                    lockedUntil[slot] = 0;
+                    currentCount[slot] = 0;
+                    previousCount[slot] = 0;
+                }
+                roll(slot, now);
+                int failures = estimateFailures(slot, now);
+                if (failures + inFlight[slot] < maxFailures) {
+                    inFlight[slot]++;
+                    return true;
+                }
+                if (failures >= maxFailures || now >= deadline) {
+                    return false;
+                }
+                // The outcome of an in-flight attempt decides whether this one may run
+                attemptFinished[stripe].await(deadline - now, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes an attempt reserved with tryBegin
+     * @param key Username or source address
+     * @param outcome How the attempt ended
+     * @return Estimated failures in the current window after this attempt
+     */
+    public int finish(String key, Outcome outcome) {
+        long fingerprint = fingerprint(key);
+        int set = (int) (fingerprint >>> 32) & setMask;
+        int stripe = set & (locks.length - 1);
+        ReentrantLock lock = locks[stripe];
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            int slot = findOrClaim(set, fingerprint, now);
+            if (slot < 0) {
+                // Not reserved with tryBegin, since reserved slots are never evicted
+                return outcome == Outcome.FAILURE ? maxFailures : 0;
+            }
+            if (inFlight[slot] > 0) {
+                inFlight[slot]--;
+                attemptFinished[stripe].signalAll();
+            }
+            roll(slot, now);
+
+            if (outcome == Outcome.SUCCESS) {
+                currentCount[slot] = 0;
+                previousCount[slot] = 0;
+                lockedUntil[slot] = 0;
+            } else if (outcome == Outcome.FAILURE) {
+                currentCount[slot]++;
+                if (estimateFailures(slot, now) >= maxFailures) {
+                    lockedUntil[slot] = now + lockoutMs;
+                }
+            }
+            return estimateFailures(slot, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a failed attempt that was not reserved with tryBegin
+     * For keys limited on completed failures only, where in-flight attempts of unrelated
+     * clients must not count (a source address shared behind a proxy or NAT)
+     * @param key Username or source address
+     * @return Estimated failures in the current window after this attempt
+     */
+    public int recordFailure(String key) {
+        long fingerprint = fingerprint(key);
+        int set = (int) (fingerprint >>> 32) & setMask;
+        ReentrantLock lock = locks[set & (locks.length - 1)];
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            int slot = findOrClaim(set, fingerprint, now);
+            if (slot < 0) {
+                // Cannot be tracked while its set is full of locked keys; treat it as locked
+                return maxFailures;
+            }
+            if (lockedUntil[slot] != 0 && lockedUntil[slot] <= now) {
+                // Lockout expired, start over with a clean count
+                lockedUntil[slot] = 0;
+                currentCount[slot] = 0;
+                previousCount[slot] = 0;
+            }
+            roll(slot, now);
+            currentCount[slot]++;
+            if (lockedUntil[slot] == 0 && estimateFailures(slot, now) >= maxFailures) {
+                lockedUntil[slot] = now + lockoutMs;
+            }
+            return estimateFailures(slot, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a key is currently locked out
+     * @param key Username or source address
+     * @return true if locked out, or not tracked while every slot of its set is locked or in flight
+     */
+    public boolean isLocked(String key) {
+        long fingerprint = fingerprint(key);
+        int set = (int) (fingerprint >>> 32) & setMask;
+        ReentrantLock lock = locks[set & (locks.length - 1)];
+
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            int slot = find(set, fingerprint);
+            if (slot < 0) {
+                return !hasEvictable(set, now);
+            }
+            return lockedUntil[slot] > now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of slots (maximum tracked keys)
+     * @return Capacity
+     */
+    public int getCapacity() {
+        return fingerprints.length;
+    }
+
+    private int find(int set, long fingerprint) {
+        int base = set * WAYS;
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (fingerprints[slot] == fingerprint) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a new key could claim a slot in the set
+     */
+    private boolean hasEvictable(int set, long now) {
+        int base = set * WAYS;
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (fingerprints[slot] == 0 || (inFlight[slot] == 0 && lockedUntil[slot] <= now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the key's slot in its set, claiming (and resetting) a victim slot if absent
+     * Victim preference: empty, then idle and not locked (fewest failures first); ties go to the
+     * least recently used. Locked and in-flight slots are never claimed.
+     * @return Slot index, or -1 if the key is absent and every slot is locked or in flight
+     */
+    private int findOrClaim(int set, long fingerprint, long now) {
+        int base = set * WAYS;
+        int victim = -1;
+        int victimRank = Integer.MAX_VALUE;
+
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (fingerprints[slot] == fingerprint) {
+                lastAccess[slot] = now;
+                return slot;
+            }
+            int rank;
+            if (fingerprints[slot] == 0) {
+                rank = 0;
+            } else if (inFlight[slot] == 0 && lockedUntil[slot] <= now) {
+                roll(slot, now);
+                rank = 1 + Math.min(estimateFailures(slot, now), maxFailures);
+            } else {
+                continue;
+            }
+            if (rank < victimRank || (rank == victimRank && lastAccess[slot] < lastAccess[victim])) {
+                victim = slot;
+                victimRank = rank;
+            }
+        }
+        if (victim < 0) {
+            return -1;
+        }
+
+        fingerprints[victim] = fingerprint;
+        lastAccess[victim] = now;
+        windowStart[victim] = now;
+        currentCount[victim] = 0;
+        previousCount[victim] = 0;
+        lockedUntil[victim] = 0;
+        inFlight[victim] = 0;
+        return victim;
+    }
+
+    /**
+     * Moves the slot's fixed window forward so that it contains now
+     */
+    private void roll(int slot, long now) {
+        long elapsed = now - windowStart[slot];
+        if (elapsed < windowMs) {
+            return;
+        }
+        previousCount[slot] = elapsed < 2 * windowMs ? currentCount[slot] : 0;
+        currentCount[slot] = 0;
+        windowStart[slot] = now - (elapsed % windowMs);
+    }
+
+    private int estimateFailures(int slot, long now) {
+        long elapsed = Math.max(0, now - windowStart[slot]);
+        long weightedPrevious = previousCount[slot] * (windowMs - elapsed) / windowMs;
+        return (int) (currentCount[slot] + weightedPrevious);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key, never 0
+     */
+    private static long fingerprint(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // Final avalanche so the bits used for the set index are well mixed
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash == 0 ? 1 : hash;
+    }
+}
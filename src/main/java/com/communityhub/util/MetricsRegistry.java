@@ -0,0 +1,236 @@
+package com.communityhub.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process registry of counters, gauges and latency histograms
+ *
+ * DESIGN DECISION: Callers look a metric up once (at construction or the first time a label
+ * combination is seen) and keep the returned Counter or LatencyHistogram in a field. Only that
+ * lookup builds strings; incrementing a counter or recording a latency afterwards allocates
+ * nothing. Gauges are suppliers read at export time, so components expose their existing
+ * getters (queue depth, cache size) instead of pushing values.
+ *
+ * The registry is exported in the Prometheus text format by MetricsServlet. Histograms are
+ * exported in seconds with a fixed set of bucket bounds.
+ */
+public final class MetricsRegistry {
+
+    private static final Logger logger = Logger.getLogger(MetricsRegistry.class.getName());
+    private static volatile MetricsRegistry instance;
+
+    /** Exported histogram bucket bounds in microseconds (0.5ms .. 10s) */
+    private static final long[] EXPORT_BOUNDS_MICROS = {
+        500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000,
+        250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+    private static final String[] EXPORT_BOUND_LABELS = new String[EXPORT_BOUNDS_MICROS.length];
+
+    static {
+        for (int i = 0; i < EXPORT_BOUNDS_MICROS.length; i++) {
+            String seconds = BigDecimal.valueOf(LatencyHistogram.toSeconds(EXPORT_BOUNDS_MICROS[i])).toPlainString();
+            EXPORT_BOUND_LABELS[i] = "le=\"" + seconds + "\"";
+        }
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Gets singleton instance
+     * @return MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets or creates a counter
+     * @param name Metric name, ending in _total by convention
+     * @param help Help text
+     * @param labels Alternating label names and values
+     * @return Counter to keep and increment
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).metrics
+            .computeIfAbsent(labelKey(labels), key -> new Counter());
+    }
+
+    /**
+     * Gets or creates a latency histogram
+     * @param name Metric name, ending in _seconds by convention
+     * @param help Help text
+     * @param labels Alternating label names and values
+     * @return Histogram to keep and record into
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) family(name, help, Type.HISTOGRAM).metrics
+            .computeIfAbsent(labelKey(labels), key -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a gauge, replacing any earlier gauge with the same name and labels
+     * @param name Metric name
+     * @param help Help text
+     * @param supplier Reads the current value at export time
+     * @param labels Alternating label names and values
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        family(name, help, Type.GAUGE).metrics.put(labelKey(labels), supplier);
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format (version 0.0.4)
+     * @param out Destination
+     * @throws IOException if writing fails
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.write("# HELP " + name + " " + family.help + "\n");
+            out.write("# TYPE " + name + " " + family.type.exposition + "\n");
+
+            for (Map.Entry<String, Object> metric : family.metrics.entrySet()) {
+                String labels = metric.getKey();
+                switch (family.type) {
+                    case COUNTER:
+                        writeSample(out, name, labels, null, ((Counter) metric.getValue()).get());
+                        break;
+                    case GAUGE:
+                        writeGauge(out, name, labels, (DoubleSupplier) metric.getValue());
+                        break;
+                    default:
+                        writeHistogram(out, name, labels, (LatencyHistogram) metric.getValue());
+                        break;
+                }
+            }
+        }
+    }
+
+    private void writeGauge(Writer out, String name, String labels, DoubleSupplier supplier) throws IOException {
+        double value;
+        try {
+            value = supplier.getAsDouble();
+        } catch (RuntimeException e) {
+            // One broken gauge must not fail the whole scrape
+            logger.log(Level.FINE, "Gauge " + name + " failed", e);
+            return;
+        }
+        writeSample(out, name, labels, null, value);
+    }
+
+    private void writeHistogram(Writer out, String name, String labels, LatencyHistogram histogram) throws IOException {
+        // Read count first so bucket counts never exceed it in a concurrent scrape
+        long count = histogram.getCount();
+        for (int i = 0; i < EXPORT_BOUNDS_MICROS.length; i++) {
+            writeSample(out, name + "_bucket", labels, EXPORT_BOUND_LABELS[i],
+                        Math.min(count, histogram.countAtOrBelow(EXPORT_BOUNDS_MICROS[i])));
+        }
+        writeSample(out, name + "_bucket", labels, "le=\"+Inf\"", count);
+        writeSample(out, name + "_sum", labels, null, LatencyHistogram.toSeconds(histogram.getSumMicros()));
+        writeSample(out, name + "_count", labels, null, count);
+    }
+
+    private static void writeSample(Writer out, String name, String labels, String extraLabel, double value)
+            throws IOException {
+        out.write(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            out.write('{');
+            out.write(labels);
+            if (extraLabel != null) {
+                if (!labels.isEmpty()) {
+                    out.write(',');
+                }
+                out.write(extraLabel);
+            }
+            out.write('}');
+        }
+        out.write(' ');
+        out.write(value == Math.rint(value) && !Double.isInfinite(value)
+                  ? Long.toString((long) value) : Double.toString(value));
+        out.write('\n');
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        return family;
+    }
+
+    private static String labelKey(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        List<String> pairs = new ArrayList<>(labels.length / 2);
+        for (int i = 0; i < labels.length; i += 2) {
+            pairs.add(labels[i] + "=\"" + escape(labels[i + 1]) + "\"");
+        }
+        return String.join(",", pairs);
+    }
+
+    private static String escape(String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), HISTOGRAM("histogram");
+
+        private final String exposition;
+
+        Type(String exposition) {
+            this.exposition = exposition;
+        }
+    }
+
+    private static final class Family {
+        private final Type type;
+        private final String help;
+        private final Map<String, Object> metrics = new ConcurrentSkipListMap<>();
+
+        private Family(Type type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+    }
+
+    /**
+     * Monotonic counter; increments are striped so hot counters do not contend
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+}
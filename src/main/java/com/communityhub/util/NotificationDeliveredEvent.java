@@ -0,0 +1,51 @@
+package com.communityhub.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one notification delivery by the outbox relay
+ * Emitted by NotificationService; one delivery may cover several coalesced outbox rows
+ */
+@Name("com.communityhub.NotificationDelivered")
+@Label("Notification Delivered")
+@Category({"Community Hub", "Notifications"})
+@Description("Notification handed to the sender")
+@StackTrace(false)
+public class NotificationDeliveredEvent extends Event {
+
+    @Label("User ID")
+    private String userId;
+
+    @Label("Priority")
+    private int priority;
+
+    @Label("Outbox Rows")
+    @Description("Pending rows coalesced into this delivery")
+    private int rows;
+
+    @Label("Reference ID")
+    private String referenceId;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param userId Recipient
+     * @param priority Notification priority
+     * @param rows Number of outbox rows delivered
+     * @param referenceId Referenced entity, may be null
+     */
+    public void complete(String userId, int priority, int rows, String referenceId) {
+        end();
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.priority = priority;
+            this.rows = rows;
+            this.referenceId = referenceId;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Dedicated, bounded executor for password hashing and verification
+ *
+ * DESIGN DECISION: Password hashing is deliberately CPU-expensive. Running it on servlet
+ * request threads lets a login storm occupy every core and starve page rendering. All
+ * hashing goes through a small fixed pool (default: half the cores) with a bounded queue;
+ * when the queue is full new work is rejected immediately instead of piling up, and callers
+ * report "busy, try again" to the user.
+ *
+ * Callers still block for the result (with a timeout), but at most the pool size of hashes
+ * run at once regardless of how many request threads are waiting.
+ */
+public final class PasswordHashExecutor {
+
+    private static final Logger logger = Logger.getLogger(PasswordHashExecutor.class.getName());
+    private static volatile PasswordHashExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    /**
+     * Private constructor creates the pool from configuration
+     */
+    private PasswordHashExecutor() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        int threads = config.getInt("security.password.hash.threads",
+                                    Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        int queueCapacity = config.getInt("security.password.hash.queue.capacity",
+                                          Constants.Security.PASSWORD_HASH_QUEUE_CAPACITY);
+        this.timeoutMs = config.getLong("security.password.hash.timeout.ms",
+                                        Constants.Security.PASSWORD_HASH_TIMEOUT_MS);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.gauge("executor_active_threads", "Threads currently running tasks", this::getActiveCount,
+                       "executor", "password-hash");
+        registry.gauge("executor_queue_depth", "Tasks waiting for a thread", this::getQueueDepth,
+                       "executor", "password-hash");
+
+        logger.info("Password hash executor started with " + threads + " threads, queue capacity " + queueCapacity);
+    }
+
+    /**
+     * Gets singleton instance
+     *
+     * @return PasswordHashExecutor instance
+     */
+    public static PasswordHashExecutor getInstance() {
+        if (instance == null) {
+            synchronized (PasswordHashExecutor.class) {
+                if (instance == null) {
+                    instance = new PasswordHashExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Hashes a password on the hashing pool
+     *
+     * @param password Plain text password
+     * @return Encoded hash
+     * @throws RejectedExecutionException if the pool is saturated or the hash timed out
+     */
+    public String hash(String password) {
+        return await(() -> PasswordUtils.hashPassword(password));
+    }
+
+    /**
+     * Verifies a password on the hashing pool
+     *
+     * @param password Plain text password
+     * @param storedHash Stored hash
+     * @return true if the password matches
+     * @throws RejectedExecutionException if the pool is saturated or the verification timed out
+     */
+    public boolean verify(String password, String storedHash) {
+        return await(() -> PasswordUtils.verifyPassword(password, storedHash));
+    }
+
+    /**
+     * Gets the number of hashing tasks waiting in the queue
+     *
+     * @return Queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the number of hashing tasks currently running
+     *
+     * @return Active task count
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Stops the hashing pool
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stops the hashing pool if it was ever created
+     */
+    public static void shutdownIfStarted() {
+        PasswordHashExecutor current = instance;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing timed out after " + timeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
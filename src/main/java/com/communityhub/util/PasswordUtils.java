@@ -1,97 +1,177 @@
 package com.communityhub.util;
 
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 
 /**
- * Password Utilities - BULLETPROOF VERSION
+ * Password Utilities
  * Handles password hashing and verification with salt
- * 
+ *
+ * Current format: pbkdf2-sha256$iterations$salt$hash (PBKDF2WithHmacSHA256, Base64 salt and hash)
+ * Legacy formats still verified: salt:hash (salted SHA-256) and plain SHA-256.
+ * needsRehash() reports hashes that should be upgraded after a successful login.
+ *
+ * PERFORMANCE: Digest, key factory and SecureRandom instances are cached per thread instead
+ * of being created on every call. These methods are CPU-bound by design; request threads
+ * should go through PasswordHashExecutor rather than call them directly.
+ *
  * @author ResoMap Team
- * @version 3.0 - FIXED TRUNCATION ISSUE
+ * @version 4.0 - PBKDF2 WITH CONFIGURABLE WORK FACTOR
  */
 public final class PasswordUtils {
-    
+
     private static final Logger logger = Logger.getLogger(PasswordUtils.class.getName());
-    private static final String HASH_ALGORITHM = "SHA-256";
-    private static final int SALT_LENGTH = 16;
+    private static final String HASH_ALGORITHM = Constants.Security.PASSWORD_HASH_ALGORITHM;
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PBKDF2_PREFIX = "pbkdf2-sha256$";
+    private static final int PBKDF2_KEY_LENGTH_BITS = 256;
+    private static final int SALT_LENGTH = Constants.Security.SALT_LENGTH;
     private static final String SEPARATOR = ":";
-    
+
+    // Per-thread instances: none of these classes are safe to share between threads
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " not available", e);
+        }
+    });
+    private static final ThreadLocal<SecretKeyFactory> KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(PBKDF2_ALGORITHM + " not available", e);
+        }
+    });
+
     // Private constructor prevents instantiation
     private PasswordUtils() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
-    
+
     /**
-     * Hashes a password with a random salt
-     * Format: salt:hash
-     * 
+     * Hashes a password with a random salt using the configured work factor
+     * Format: pbkdf2-sha256$iterations$salt$hash
+     *
      * @param password Plain text password
-     * @return Salted hash in format "salt:hash"
+     * @return Encoded hash
      */
     public static String hashPassword(String password) {
+        return hashPassword(password, getConfiguredIterations());
+    }
+
+    /**
+     * Hashes a password with a random salt and an explicit work factor
+     *
+     * @param password Plain text password
+     * @param iterations PBKDF2 iteration count
+     * @return Encoded hash
+     */
+    public static String hashPassword(String password, int iterations) {
         try {
-            logger.fine("Hashing password (length: " + password.length() + ")");
-            
-            // Generate random salt
             byte[] salt = generateSalt();
-            String saltString = Base64.getEncoder().encodeToString(salt);
-            
-            // Hash password with salt
-            String hash = hashWithSalt(password, salt);
-            
-            // Combine salt and hash
-            String result = saltString + SEPARATOR + hash;
-            
-            logger.fine("Password hashed successfully");
-            logger.fine("Salt length: " + saltString.length());
-            logger.fine("Hash length: " + hash.length());
-            logger.fine("Total length: " + result.length());
-            
-            return result;
-            
+            byte[] hash = pbkdf2(password, salt, iterations);
+
+            Base64.Encoder encoder = Base64.getEncoder();
+            return PBKDF2_PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error hashing password", e);
             throw new RuntimeException("Password hashing failed", e);
         }
     }
-    
+
     /**
      * Verifies a password against a stored hash
-     * Supports both salted (salt:hash) and legacy plain hash formats
-     * 
+     * Supports PBKDF2, legacy salted (salt:hash) and legacy plain hash formats
+     *
      * @param password Plain text password to verify
-     * @param storedHash Stored hash (either "salt:hash" or plain hash)
+     * @param storedHash Stored hash
      * @return true if password matches
      */
     public static boolean verifyPassword(String password, String storedHash) {
         try {
-            logger.fine("Verifying password (length: " + password.length() + ")");
-            logger.fine("Stored hash length: " + storedHash.length());
-            logger.fine("Stored hash format: " + (storedHash.contains(SEPARATOR) ? "SALTED" : "PLAIN"));
-            
-            if (storedHash.contains(SEPARATOR)) {
-                // New salted format: salt:hash
+            if (storedHash.startsWith(PBKDF2_PREFIX)) {
+                return verifyPbkdf2Password(password, storedHash);
+            } else if (storedHash.contains(SEPARATOR)) {
+                // Legacy salted format: salt:hash
                 return verifySaltedPassword(password, storedHash);
             } else {
                 // Legacy plain hash format (for backward compatibility)
                 return verifyPlainHash(password, storedHash);
             }
-            
+
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error verifying password", e);
             return false;
         }
     }
-    
+
+    /**
+     * Checks whether a stored hash should be replaced after a successful login
+     * True for legacy formats and for PBKDF2 hashes below the configured work factor
+     *
+     * @param storedHash Stored hash
+     * @return true if the hash should be upgraded
+     */
+    public static boolean needsRehash(String storedHash) {
+        if (storedHash == null || !storedHash.startsWith(PBKDF2_PREFIX)) {
+            return true;
+        }
+        String[] parts = storedHash.substring(PBKDF2_PREFIX.length()).split("\\$");
+        try {
+            return parts.length != 3 || Integer.parseInt(parts[0]) < getConfiguredIterations();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Gets the configured PBKDF2 iteration count
+     *
+     * @return Iteration count
+     */
+    public static int getConfiguredIterations() {
+        return ConfigurationManager.getInstance()
+            .getInt("security.password.pbkdf2.iterations", Constants.Security.PBKDF2_ITERATIONS);
+    }
+
+    /**
+     * Verifies password against a PBKDF2 hash
+     *
+     * @param password Plain text password
+     * @param encodedHash Hash in format pbkdf2-sha256$iterations$salt$hash
+     * @return true if password matches
+     */
+    private static boolean verifyPbkdf2Password(String password, String encodedHash) throws InvalidKeySpecException {
+        String[] parts = encodedHash.substring(PBKDF2_PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            logger.warning("Invalid PBKDF2 hash format - expected 3 parts, got " + parts.length);
+            return false;
+        }
+
+        int iterations = Integer.parseInt(parts[0]);
+        byte[] salt = Base64.getDecoder().decode(parts[1]);
+        byte[] expectedHash = Base64.getDecoder().decode(parts[2]);
+
+        return MessageDigest.isEqual(expectedHash, pbkdf2(password, salt, iterations));
+    }
+
     /**
-     * Verifies password against salted hash
-     * 
+     * Verifies password against salted hash (legacy support)
+     *
      * @param password Plain text password
      * @param saltedHash Hash in format "salt:hash"
      * @return true if password matches
@@ -104,109 +184,80 @@ public final class PasswordUtils {
                 logger.warning("Invalid salted hash format - expected 2 parts, got " + parts.length);
                 return false;
             }
-            
-            String saltString = parts[0];
-            String expectedHash = parts[1];
-            
-            logger.fine("Extracted salt: " + saltString + " (length: " + saltString.length() + ")");
-            logger.fine("Expected hash: " + expectedHash + " (length: " + expectedHash.length() + ")");
-            
-            // Decode salt
-            byte[] salt = Base64.getDecoder().decode(saltString);
-            
-            // Hash the provided password with the same salt
-            String actualHash = hashWithSalt(password, salt);
-            
-            logger.fine("Actual hash: " + actualHash + " (length: " + actualHash.length() + ")");
-            
-            // Compare hashes
-            boolean matches = expectedHash.equals(actualHash);
-            logger.fine("Password verification result: " + matches);
-            
-            return matches;
-            
+
+            byte[] salt = Base64.getDecoder().decode(parts[0]);
+            byte[] expectedHash = Base64.getDecoder().decode(parts[1]);
+
+            MessageDigest digest = DIGEST.get();
+            digest.reset();
+            digest.update(salt);
+            byte[] actualHash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+
+            return MessageDigest.isEqual(expectedHash, actualHash);
+
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error verifying salted password", e);
             return false;
         }
     }
-    
+
     /**
      * Verifies password against plain hash (legacy support)
-     * 
+     *
      * @param password Plain text password
      * @param plainHash Plain hash without salt
      * @return true if password matches
      */
     private static boolean verifyPlainHash(String password, String plainHash) {
         try {
-            logger.fine("Verifying against plain hash (legacy mode)");
-            
-            // Hash password without salt
-            String actualHash = hashPlain(password);
-            
-            boolean matches = plainHash.equals(actualHash);
-            logger.fine("Plain hash verification result: " + matches);
-            
-            return matches;
-            
+            MessageDigest digest = DIGEST.get();
+            digest.reset();
+            byte[] actualHash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+
+            return MessageDigest.isEqual(plainHash.getBytes(StandardCharsets.UTF_8),
+                                         Base64.getEncoder().encode(actualHash));
+
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error verifying plain hash", e);
             return false;
         }
     }
-    
+
     /**
      * Generates a random salt
-     * 
+     *
      * @return Random salt bytes
      */
     private static byte[] generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
+        RANDOM.get().nextBytes(salt);
         return salt;
     }
-    
+
     /**
-     * Hashes password with salt
-     * 
+     * Derives a PBKDF2 hash
+     *
      * @param password Plain text password
      * @param salt Salt bytes
-     * @return Base64 encoded hash
+     * @param iterations Iteration count
+     * @return Derived key bytes
      */
-    private static String hashWithSalt(String password, byte[] salt) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-        
-        // Add salt to digest
-        digest.update(salt);
-        
-        // Hash password
-        byte[] hashedBytes = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-        
-        // Encode to Base64
-        return Base64.getEncoder().encodeToString(hashedBytes);
-    }
-    
-    /**
-     * Hashes password without salt (legacy support)
-     * 
-     * @param password Plain text password
-     * @return Base64 encoded hash
-     */
-    private static String hashPlain(String password) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-        byte[] hashedBytes = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(hashedBytes);
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) throws InvalidKeySpecException {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, PBKDF2_KEY_LENGTH_BITS);
+        try {
+            return KEY_FACTORY.get().generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
     }
-    
+
     /**
-     * Checks if a hash is in the new salted format
-     * 
+     * Checks if a hash is in a salted format (PBKDF2 or legacy salt:hash)
+     *
      * @param hash Hash to check
      * @return true if hash is salted
      */
     public static boolean isSaltedHash(String hash) {
-        return hash != null && hash.contains(SEPARATOR);
+        return hash != null && (hash.startsWith(PBKDF2_PREFIX) || hash.contains(SEPARATOR));
     }
 }
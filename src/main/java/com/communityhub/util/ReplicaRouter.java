@@ -0,0 +1,320 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.exception.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Routes read-only DAO queries to read replicas, round-robin across the healthy ones
+ *
+ * DESIGN DECISION: Writes and transactions stay on DBConnection's shared primary connection,
+ * serialized by its transaction lock as before. DAO read methods (read, find*, count, the
+ * activity feed) ask for a connection through BaseDAO.readConnection(), which comes here and
+ * falls back to the primary unless every condition for a replica read holds:
+ * - the thread is serving a GET or HEAD request (RequestContext.isReadOnly()); a POST that reads
+ *   a row to modify it, and background jobs, always read the primary
+ * - the thread does not hold the transaction lock
+ * - the current user has not made a mutating request in the last db.replica.sticky.ms, so a
+ *   user redirected to a page after a change sees that change despite replication lag
+ * - at least one replica is healthy
+ * Each replica keeps db.replica.pool.size shared auto-commit connections, used in turn, the
+ * same sharing model as the primary. A daemon thread checks every replica each
+ * db.replica.health.interval.ms: a replica that fails the check is closed and skipped, and is
+ * reconnected on a later check once it answers again.
+ *
+ * WHY: With one connection every dashboard and search competed with writes on the primary.
+ * Replicas take the read traffic of pages; the pages that need their own writes back, and
+ * all read-modify-write paths, still see the primary.
+ *
+ * UserDAO lookups other than findAll and count stay on the primary: they fill UserCache and
+ * back authentication, where a stale row would outlive the replication lag.
+ * Replicas receive the schema through replication; migrations only ever run on the primary.
+ */
+public final class ReplicaRouter {
+
+    private static final Logger logger = Logger.getLogger(ReplicaRouter.class.getName());
+    private static final String ANONYMOUS = "ANONYMOUS";
+    private static volatile ReplicaRouter instance;
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final long stickyMs;
+    private final int healthTimeoutSeconds;
+    private final ReentrantLock transactionLock;
+    private final ScheduledExecutorService healthChecker;
+    private final MetricsRegistry.Counter replicaReads;
+    private final MetricsRegistry.Counter primaryReads;
+
+    private ReplicaRouter() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        int poolSize = Math.max(1, config.getInt("db.replica.pool.size", Constants.Database.REPLICA_POOL_SIZE));
+        List<Replica> configured = new ArrayList<>();
+        for (String url : replicaUrls()) {
+            configured.add(new Replica(url, poolSize));
+        }
+        this.replicas = Collections.unmodifiableList(configured);
+        this.stickyMs = config.getLong("db.replica.sticky.ms", Constants.Database.REPLICA_STICKY_MS);
+        this.healthTimeoutSeconds = config.getInt("db.replica.health.timeout.seconds",
+            Constants.Database.REPLICA_HEALTH_TIMEOUT_SECONDS);
+        this.transactionLock = DBConnection.getInstance().getTransactionLock();
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.replicaReads = registry.counter("db_routed_reads_total", "DAO reads by the connection that served them",
+            "target", "replica");
+        this.primaryReads = registry.counter("db_routed_reads_total", "DAO reads by the connection that served them",
+            "target", "primary");
+        registry.gauge("db_replicas_healthy", "Read replicas currently receiving reads", this::countHealthy);
+
+        // Connect before the first request, then keep checking in the background
+        checkReplicas();
+        long intervalMs = config.getLong("db.replica.health.interval.ms", Constants.Database.REPLICA_HEALTH_INTERVAL_MS);
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Read routing enabled for " + replicas.size() + " replicas, " + countHealthy() + " healthy");
+    }
+
+    /**
+     * Checks whether any read replica is configured (db.replica.urls)
+     * @return true if the router should be started
+     */
+    public static boolean isEnabled() {
+        return !replicaUrls().isEmpty();
+    }
+
+    /**
+     * Gets singleton instance, connecting to the replicas on first use
+     * @return ReplicaRouter instance
+     */
+    public static ReplicaRouter getInstance() {
+        if (instance == null) {
+            synchronized (ReplicaRouter.class) {
+                if (instance == null) {
+                    instance = new ReplicaRouter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stops health checks and closes the replica connections if the router was ever created
+     */
+    public static void shutdownIfStarted() {
+        ReplicaRouter current = instance;
+        if (current != null) {
+            current.healthChecker.shutdownNow();
+            for (Replica replica : current.replicas) {
+                replica.close();
+            }
+        }
+    }
+
+    /**
+     * Picks a replica connection for a read-only query
+     * @param daoName DAO issuing the query, for statement timing (see TimedConnection)
+     * @return Replica connection, or null if the read must go to the primary
+     */
+    public static Connection routeRead(String daoName) {
+        ReplicaRouter router = instance;
+        return router != null ? router.pick(daoName) : null;
+    }
+
+    /**
+     * Keeps a user's reads on the primary for db.replica.sticky.ms after a mutating request
+     * @param userId User who made the request; anonymous requests are ignored
+     */
+    public static void recordWrite(String userId) {
+        ReplicaRouter router = instance;
+        if (router != null && userId != null && !ANONYMOUS.equals(userId)) {
+            router.lastWriteByUser.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    private Connection pick(String daoName) {
+        if (!RequestContext.isReadOnly() || transactionLock.isHeldByCurrentThread() || isSticky(RequestContext.getUserId())) {
+            primaryReads.increment();
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Connection connection = replicas.get((start + i) % replicas.size()).connectionFor(daoName);
+            if (connection != null) {
+                replicaReads.increment();
+                return connection;
+            }
+        }
+        primaryReads.increment();
+        return null;
+    }
+
+    private boolean isSticky(String userId) {
+        Long lastWrite = lastWriteByUser.get(userId);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < stickyMs;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.check(healthTimeoutSeconds);
+        }
+        long expired = System.currentTimeMillis() - stickyMs;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < expired);
+    }
+
+    private int countHealthy() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.pool != null) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    private static List<String> replicaUrls() {
+        List<String> urls = new ArrayList<>();
+        String configured = ConfigurationManager.getInstance().getString("db.replica.urls", Constants.Database.REPLICA_URLS);
+        for (String url : configured.split(",")) {
+            if (!url.trim().isEmpty()) {
+                urls.add(url.trim());
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * One read replica; pool is null while the replica is down
+     */
+    private static final class Replica {
+        private final String url;
+        private final int poolSize;
+        private volatile Pool pool;
+
+        private Replica(String url, int poolSize) {
+            this.url = url;
+            this.poolSize = poolSize;
+        }
+
+        private Connection connectionFor(String daoName) {
+            Pool current = pool;
+            return current != null ? current.next(daoName) : null;
+        }
+
+        /**
+         * Takes the replica out of rotation if it fails the check, or reconnects it if it is down
+         * Only the health thread calls this
+         */
+        private void check(int timeoutSeconds) {
+            Pool current = pool;
+            if (current != null) {
+                if (current.isValid(timeoutSeconds)) {
+                    return;
+                }
+                pool = null;
+                current.close();
+                logger.warning("Read replica " + url + " failed its health check; reads fall back to the primary");
+            }
+            try {
+                Pool opened = Pool.open(url, poolSize);
+                if (opened.isValid(timeoutSeconds)) {
+                    pool = opened;
+                    logger.info("Read replica " + url + " is healthy");
+                } else {
+                    opened.close();
+                }
+            } catch (DatabaseException e) {
+                logger.log(Level.FINE, "Read replica " + url + " is still unavailable", e);
+            }
+        }
+
+        private void close() {
+            Pool current = pool;
+            pool = null;
+            if (current != null) {
+                current.close();
+            }
+        }
+    }
+
+    /**
+     * The open connections of one replica, with their timed wrappers per DAO
+     */
+    private static final class Pool {
+        private final Connection[] connections;
+        private final Map<String, Connection[]> timedByDao = new ConcurrentHashMap<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Pool(Connection[] connections) {
+            this.connections = connections;
+        }
+
+        private static Pool open(String url, int size) throws DatabaseException {
+            Connection[] connections = new Connection[size];
+            try {
+                for (int i = 0; i < size; i++) {
+                    connections[i] = DBConnection.openConnection(url, true);
+                }
+            } catch (DatabaseException e) {
+                new Pool(connections).close();
+                throw e;
+            }
+            return new Pool(connections);
+        }
+
+        private Connection next(String daoName) {
+            Connection[] timed = timedByDao.computeIfAbsent(daoName, dao -> {
+                Connection[] wrapped = new Connection[connections.length];
+                for (int i = 0; i < connections.length; i++) {
+                    wrapped[i] = TimedConnection.wrap(connections[i], dao);
+                }
+                return wrapped;
+            });
+            return timed[Math.floorMod(next.getAndIncrement(), timed.length)];
+        }
+
+        private boolean isValid(int timeoutSeconds) {
+            try {
+                for (Connection connection : connections) {
+                    if (!connection.isValid(timeoutSeconds)) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            for (Connection connection : connections) {
+                if (connection == null) {
+                    continue;
+                }
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.log(Level.FINE, "Error closing replica connection", e);
+                }
+            }
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class RequestContext {
     private static final ThreadLocal<String> correlationId = new ThreadLocal<>();
     private static final ThreadLocal<String> userId = new ThreadLocal<>();
     private static final ThreadLocal<Long> startTime = new ThreadLocal<>();
+    private static final ThreadLocal<RequestTrace> trace = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> readOnly = new ThreadLocal<>();
     
     /**
      * Initializes request context with a unique correlation ID
@@ -29,6 +31,81 @@ public class RequestContext {
         startTime.set(System.currentTimeMillis());
     }
     
+    /**
+     * Starts collecting spans for this request
+     * WHY: Called by TracingFilter so a slow request can be logged with its span breakdown
+     * @param maxSpans Maximum number of spans kept
+     * @return The new trace
+     */
+    public static RequestTrace startTrace(int maxSpans) {
+        RequestTrace requestTrace = new RequestTrace(maxSpans);
+        trace.set(requestTrace);
+        return requestTrace;
+    }
+    
+    /**
+     * Gets the trace for this request
+     * @return Trace, or null if the current thread is not handling a traced request
+     */
+    public static RequestTrace getTrace() {
+        return trace.get();
+    }
+    
+    /**
+     * Runs a service method body inside a span of the current trace
+     * WHY: Outside a traced request (startup, background tasks) the body simply runs
+     * @param name Span name, e.g. "RequestService.getActiveRequestCount"
+     * @param body Method body
+     * @return What the body returned
+     * @throws E whatever the body throws
+     */
+    public static <T, E extends Exception> T span(String name, SpanCall<T, E> body) throws E {
+        int index = beginSpan(name);
+        try {
+            return body.call();
+        } finally {
+            endSpan(index);
+        }
+    }
+    
+    /**
+     * Runs a service method body that returns nothing inside a span of the current trace
+     * @param name Span name
+     * @param body Method body
+     * @throws E whatever the body throws
+     */
+    public static <E extends Exception> void span(String name, SpanRunnable<E> body) throws E {
+        int index = beginSpan(name);
+        try {
+            body.run();
+        } finally {
+            endSpan(index);
+        }
+    }
+    
+    /**
+     * Opens a span in the current trace; close it with endSpan() in a finally block
+     * WHY: For bodies that throw more than one checked exception type, which a span() lambda
+     * would widen to their common supertype
+     * @param name Span name
+     * @return Span index to pass to endSpan()
+     */
+    public static int beginSpan(String name) {
+        RequestTrace requestTrace = trace.get();
+        return requestTrace != null ? requestTrace.begin(name) : -1;
+    }
+    
+    /**
+     * Closes a span opened with beginSpan()
+     * @param index Index returned by beginSpan()
+     */
+    public static void endSpan(int index) {
+        RequestTrace requestTrace = trace.get();
+        if (requestTrace != null) {
+            requestTrace.end(index);
+        }
+    }
+    
     /**
      * Sets the user ID for this request context
      * @param id User ID
@@ -39,6 +116,24 @@ public class RequestContext {
         }
     }
     
+    /**
+     * Marks whether this request only reads (GET and HEAD)
+     * WHY: ReplicaRouter sends reads to replicas only from read-only requests; a POST that reads a
+     * row and writes it back must see the primary's current copy
+     * @param value true if the request is read-only
+     */
+    public static void setReadOnly(boolean value) {
+        readOnly.set(value);
+    }
+    
+    /**
+     * Checks whether this request only reads
+     * @return true inside a GET or HEAD request, false otherwise (including background threads)
+     */
+    public static boolean isReadOnly() {
+        return Boolean.TRUE.equals(readOnly.get());
+    }
+    
     /**
      * Gets the correlation ID for this request
      * @return Correlation ID
@@ -100,5 +195,23 @@ public class RequestContext {
         correlationId.remove();
         userId.remove();
         startTime.remove();
+        trace.remove();
+        readOnly.remove();
+    }
+    
+    /**
+     * A method body run by span()
+     */
+    @FunctionalInterface
+    public interface SpanCall<T, E extends Exception> {
+        T call() throws E;
+    }
+    
+    /**
+     * A method body without a result run by span()
+     */
+    @FunctionalInterface
+    public interface SpanRunnable<E extends Exception> {
+        void run() throws E;
     }
 }
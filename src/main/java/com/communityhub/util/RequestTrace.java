@@ -0,0 +1,153 @@
+package com.communityhub.util;
+
+/**
+ * Span timings collected while one HTTP request is handled
+ *
+ * DESIGN DECISION: A trace belongs to the thread handling the request (see RequestContext), so
+ * it needs no synchronization. Spans are kept in parallel arrays sized once from
+ * tracing.max.spans; a request that issues more spans than that keeps the first ones and counts
+ * the rest as dropped, so a runaway loop cannot grow the trace without bound.
+ *
+ * Service methods open and close spans through RequestContext.span(); DAO statements are
+ * recorded as complete spans by TimedConnection, with the DAO as the name and the SQL as the
+ * detail, kept as two references so recording a statement builds no string, and SqlProfiler
+ * marks N+1 patterns. Depth is tracked so the slow-request log shows which statements ran
+ * inside which service call.
+ */
+public final class RequestTrace {
+
+    private final long startNanos;
+    private final String[] names;
+    private final String[] details;
+    private final long[] startOffsets;
+    private final long[] durations;
+    private final int[] depths;
+    private int spanCount;
+    private int droppedCount;
+    private int depth;
+
+    /**
+     * Starts a trace now
+     * @param maxSpans Maximum number of spans kept
+     */
+    public RequestTrace(int maxSpans) {
+        this.startNanos = System.nanoTime();
+        this.names = new String[maxSpans];
+        this.details = new String[maxSpans];
+        this.startOffsets = new long[maxSpans];
+        this.durations = new long[maxSpans];
+        this.depths = new int[maxSpans];
+    }
+
+    /**
+     * Opens a span; it must be closed with end() on the same thread
+     * @param name Span name
+     * @return Span index to pass to end(), or -1 if the span was dropped
+     */
+    public int begin(String name) {
+        int index = spanCount < names.length ? spanCount++ : -1;
+        if (index < 0) {
+            droppedCount++;
+        } else {
+            names[index] = name;
+            details[index] = null;
+            startOffsets[index] = System.nanoTime() - startNanos;
+            durations[index] = -1;
+            depths[index] = depth;
+        }
+        depth++;
+        return index;
+    }
+
+    /**
+     * Closes a span opened with begin()
+     * @param index Index returned by begin()
+     */
+    public void end(int index) {
+        depth = Math.max(0, depth - 1);
+        if (index >= 0) {
+            durations[index] = System.nanoTime() - startNanos - startOffsets[index];
+        }
+    }
+
+    /**
+     * Records a span that has already finished
+     * @param name Span name
+     * @param spanStartNanos System.nanoTime() at which the span started
+     * @param durationNanos Span duration
+     */
+    public void record(String name, long spanStartNanos, long durationNanos) {
+        record(name, null, spanStartNanos, durationNanos);
+    }
+
+    /**
+     * Records a span that has already finished
+     * @param name Span name
+     * @param detail What the span did (e.g. the SQL), may be null
+     * @param spanStartNanos System.nanoTime() at which the span started
+     * @param durationNanos Span duration
+     */
+    public void record(String name, String detail, long spanStartNanos, long durationNanos) {
+        if (spanCount >= names.length) {
+            droppedCount++;
+            return;
+        }
+        int index = spanCount++;
+        names[index] = name;
+        details[index] = detail;
+        startOffsets[index] = spanStartNanos - startNanos;
+        durations[index] = durationNanos;
+        depths[index] = depth;
+    }
+
+    /**
+     * Gets the time since the trace started
+     * @return Elapsed nanoseconds
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public int getSpanCount() {
+        return spanCount;
+    }
+
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets what a span did, such as the SQL of a DAO statement
+     * @param index Span index
+     * @return Detail, or null if the span has none
+     */
+    public String getDetail(int index) {
+        return details[index];
+    }
+
+    /**
+     * Gets a span's start relative to the start of the trace
+     * @param index Span index
+     * @return Offset in nanoseconds
+     */
+    public long getStartOffsetNanos(int index) {
+        return startOffsets[index];
+    }
+
+    /**
+     * Gets a span's duration
+     * @param index Span index
+     * @return Duration in nanoseconds, or -1 if the span was never closed
+     */
+    public long getDurationNanos(int index) {
+        return durations[index];
+    }
+
+    public int getDepth(int index) {
+        return depths[index];
+    }
+}
@@ -0,0 +1,499 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.exception.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Chunked, resumable deletion of rows matching predicates, in foreign-key order
+ *
+ * A job names the rows to remove with per-table predicates (several predicates on one table
+ * are OR'ed). Rows that reference a doomed row are removed too: requests and resources of a
+ * doomed user, feedback on a doomed request, and so on.
+ *
+ * The job runs in two phases, each a series of short transactions:
+ * 1. Collect, parents first (users, resources, requests, feedback): scan the table once in
+ *    rowid ranges and record the rowid and key of every matching row in retention_candidates.
+ *    Child tables match against the recorded parent keys, so every predicate is evaluated
+ *    in one pass per table instead of one scan per pattern.
+ * 2. Delete, children first (feedback, requests, resources, users):
+ *    DELETE ... WHERE rowid IN (SELECT row_id FROM retention_candidates ... LIMIT n)
+ *
+ * DESIGN DECISION: Commit after every chunk and pause before the next
+ * WHY: SQLite has one writer. A single long DELETE transaction holds the write lock for the
+ *      whole run and blocks every request that writes. Short chunks plus a pause let
+ *      foreground writers in between; the chunk size shrinks when chunks get slow.
+ *
+ * DESIGN DECISION: Progress is stored in the database after every chunk
+ * WHY: An interrupted or crashed job resumes where it stopped when run again under the same
+ *      name. If the predicates changed, the stale progress is discarded and the job restarts.
+ *
+ * Deletes match on both rowid and primary key, so a VACUUM that renumbers rowids between
+ * runs can never remove a row that was not collected. Rows inserted after a table was
+ * scanned are left for the next run.
+ *
+ * CRITICAL: The job runs on the shared primary connection, so every chunk transaction holds
+ * DBConnection's transaction lock from its first statement to its commit. Without it a commit
+ * here would also commit whatever another thread had half-written. The lock is released
+ * between chunks, so request threads wait for one chunk at most, not for the whole job.
+ *
+ * Every transaction starts with its write; reads that decide what to do are committed
+ * first. SQLite cannot upgrade a read lock while another connection waits to commit, and
+ * fails with SQLITE_BUSY instead of waiting for the busy timeout.
+ */
+public class RetentionEngine {
+
+    private static final Logger logger = Logger.getLogger(RetentionEngine.class.getName());
+
+    // Parents before children; deletion runs in reverse
+    private static final String[] TABLE_ORDER = {"users", "resources", "requests", "feedback"};
+    private static final Map<String, String> PRIMARY_KEYS = new LinkedHashMap<>();
+    private static final String[][] FOREIGN_KEYS = {
+        // child table, column, parent table
+        {"resources", "created_by", "users"},
+        {"requests", "requester_id", "users"},
+        {"requests", "volunteer_id", "users"},
+        {"requests", "resource_id", "resources"},
+        {"feedback", "user_id", "users"},
+        {"feedback", "request_id", "requests"}
+    };
+    private static final String PHASE_COLLECT = "COLLECT";
+    private static final String PHASE_DELETE = "DELETE";
+    private static final long PROGRESS_LOG_INTERVAL_MS = 2000;
+    private static final int MIN_CHUNK_SIZE = 100;
+    private static final int MIN_SCAN_RANGE = 1000;
+
+    static {
+        PRIMARY_KEYS.put("users", "user_id");
+        PRIMARY_KEYS.put("resources", "resource_id");
+        PRIMARY_KEYS.put("requests", "request_id");
+        PRIMARY_KEYS.put("feedback", "feedback_id");
+    }
+
+    private final String jobName;
+    private final Map<String, List<String>> predicates = new LinkedHashMap<>();
+    private final Map<String, List<Object>> parameters = new LinkedHashMap<>();
+    private final int maxChunkSize;
+    private final int maxScanRange;
+    private final long targetChunkMs;
+    private final long pauseMs;
+
+    private Connection conn;
+    private ReentrantLock transactionLock;
+    private boolean inTransaction;
+    private int chunkSize;
+    private int scanRange;
+    private long lastProgressLog;
+
+    /**
+     * Creates a job
+     * @param jobName Name under which progress is stored; rerunning the same name resumes
+     */
+    public RetentionEngine(String jobName) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.jobName = jobName;
+        this.maxChunkSize = config.getInt("retention.chunk.size", 2000);
+        this.maxScanRange = config.getInt("retention.scan.range", 50000);
+        this.targetChunkMs = config.getLong("retention.target.chunk.ms", 100);
+        this.pauseMs = config.getLong("retention.pause.ms", 20);
+    }
+
+    /**
+     * Adds a predicate selecting rows of a table to delete
+     * @param table users, resources, requests or feedback
+     * @param predicate SQL condition on the table's columns, with ? placeholders
+     * @param params Values for the placeholders
+     * @return this job
+     */
+    public RetentionEngine where(String table, String predicate, Object... params) {
+        if (!PRIMARY_KEYS.containsKey(table)) {
+            throw new IllegalArgumentException("Unsupported table: " + table);
+        }
+        predicates.computeIfAbsent(table, key -> new ArrayList<>()).add("(" + predicate + ")");
+        parameters.computeIfAbsent(table, key -> new ArrayList<>()).addAll(Arrays.asList(params));
+        return this;
+    }
+
+    /**
+     * Runs (or resumes) the job
+     * @return Rows deleted per table in this run, in deletion order
+     * @throws DatabaseException if a chunk fails or the job is interrupted; progress is kept
+     */
+    public Map<String, Long> run() throws DatabaseException {
+        Map<String, Long> deleted = new LinkedHashMap<>();
+        try {
+            DBConnection db = DBConnection.getInstance();
+            conn = db.getConnection();
+            transactionLock = db.getTransactionLock();
+            // Start small and let fast chunks grow towards the configured maximum
+            chunkSize = Math.max(MIN_CHUNK_SIZE, maxChunkSize / 4);
+            scanRange = Math.max(MIN_SCAN_RANGE, maxScanRange / 8);
+            ensureTables();
+            startOrResume();
+
+            List<String> involved = involvedTables();
+            for (String table : involved) {
+                collect(table, involved);
+            }
+            for (int i = involved.size() - 1; i >= 0; i--) {
+                String table = involved.get(i);
+                deleted.put(table, delete(table));
+            }
+            clearJob();
+            logger.info("Retention job " + jobName + " finished: " + deleted);
+            return deleted;
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Retention job " + jobName + " failed; rerun to resume", "retention", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Retention job " + jobName + " interrupted; rerun to resume");
+        } finally {
+            // Also on unchecked exceptions, so the transaction lock is never left held
+            rollbackQuietly();
+        }
+    }
+
+    /**
+     * Tables the job touches, parents first: those with predicates and their descendants
+     */
+    private List<String> involvedTables() {
+        List<String> involved = new ArrayList<>();
+        for (String table : TABLE_ORDER) {
+            boolean hasDoomedParent = false;
+            for (String[] fk : FOREIGN_KEYS) {
+                hasDoomedParent |= fk[0].equals(table) && involved.contains(fk[2]);
+            }
+            if (predicates.containsKey(table) || hasDoomedParent) {
+                involved.add(table);
+            }
+        }
+        return involved;
+    }
+
+    // ========== Phase 1: collect ==========
+
+    private void collect(String table, List<String> involved) throws SQLException, InterruptedException {
+        begin();
+        long[] progress = loadProgress(table, PHASE_COLLECT);
+        long maxRowId = queryLong("SELECT COALESCE(MAX(rowid), 0) FROM " + table);
+        commit();
+        if (progress[2] == 1) {
+            return;
+        }
+        long lastRowId = progress[0];
+        long collected = progress[1];
+
+        List<String> conditions = new ArrayList<>(predicates.getOrDefault(table, new ArrayList<>()));
+        List<Object> params = new ArrayList<>(parameters.getOrDefault(table, new ArrayList<>()));
+        for (String[] fk : FOREIGN_KEYS) {
+            if (fk[0].equals(table) && involved.contains(fk[2])) {
+                // Correlated probe of the key index; IN (SELECT ...) would rebuild the whole parent set every chunk
+                conditions.add("EXISTS (SELECT 1 FROM retention_candidates c WHERE c.job = ? AND c.table_name = ? " +
+                               "AND c.key = " + table + "." + fk[1] + ")");
+                params.add(jobName);
+                params.add(fk[2]);
+            }
+        }
+        String sql = "INSERT OR IGNORE INTO retention_candidates (job, table_name, row_id, key) " +
+                     "SELECT ?, ?, rowid, " + PRIMARY_KEYS.get(table) + " FROM " + table +
+                     " WHERE rowid > ? AND rowid <= ? AND (" + String.join(" OR ", conditions) + ")";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            while (lastRowId < maxRowId) {
+                long started = System.nanoTime();
+                long upTo = Math.min(maxRowId, lastRowId + scanRange);
+                begin();
+                stmt.setString(1, jobName);
+                stmt.setString(2, table);
+                stmt.setLong(3, lastRowId);
+                stmt.setLong(4, upTo);
+                for (int i = 0; i < params.size(); i++) {
+                    stmt.setObject(5 + i, params.get(i));
+                }
+                collected += stmt.executeUpdate();
+                lastRowId = upTo;
+                saveProgress(table, PHASE_COLLECT, lastRowId, collected, false);
+                commit();
+                scanRange = adapt(scanRange, MIN_SCAN_RANGE, maxScanRange, (System.nanoTime() - started) / 1_000_000);
+                logProgress(table, "collected " + collected + " rows, scanned to rowid " + lastRowId + "/" + maxRowId);
+                Thread.sleep(pauseMs);
+            }
+        }
+        begin();
+        saveProgress(table, PHASE_COLLECT, lastRowId, collected, true);
+        commit();
+        logger.info("Retention job " + jobName + ": " + collected + " " + table + " rows to delete");
+    }
+
+    // ========== Phase 2: delete ==========
+
+    private long delete(String table) throws SQLException, InterruptedException {
+        begin();
+        long[] progress = loadProgress(table, PHASE_DELETE);
+        long total = loadProgress(table, PHASE_COLLECT)[1];
+        commit();
+        if (progress[2] == 1) {
+            return 0;
+        }
+        long lastRowId = progress[0];
+        long deleted = progress[1];
+        long deletedThisRun = 0;
+
+        String boundSql = "SELECT COALESCE(MAX(row_id), ?) FROM (SELECT row_id FROM retention_candidates " +
+                          "WHERE job = ? AND table_name = ? AND row_id > ? ORDER BY row_id LIMIT ?)";
+        String candidates = "SELECT %s FROM retention_candidates " +
+                            "WHERE job = ? AND table_name = ? AND row_id > ? AND row_id <= ?";
+        String deleteSql = "DELETE FROM " + table + " WHERE rowid IN (" + String.format(candidates, "row_id") + ") " +
+                           "AND " + PRIMARY_KEYS.get(table) + " IN (" + String.format(candidates, "key") + ")";
+
+        try (PreparedStatement boundStmt = conn.prepareStatement(boundSql);
+             PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
+            begin();
+            long upTo = nextChunkBound(boundStmt, table, lastRowId);
+            commit();
+            while (upTo > lastRowId) {
+                long started = System.nanoTime();
+                begin();
+                for (int offset : new int[] {0, 4}) {
+                    deleteStmt.setString(offset + 1, jobName);
+                    deleteStmt.setString(offset + 2, table);
+                    deleteStmt.setLong(offset + 3, lastRowId);
+                    deleteStmt.setLong(offset + 4, upTo);
+                }
+                int count = deleteStmt.executeUpdate();
+                deleted += count;
+                deletedThisRun += count;
+                lastRowId = upTo;
+                saveProgress(table, PHASE_DELETE, lastRowId, deleted, false);
+                chunkSize = adapt(chunkSize, MIN_CHUNK_SIZE, maxChunkSize, (System.nanoTime() - started) / 1_000_000);
+                // Find the next chunk while still holding the write lock
+                upTo = nextChunkBound(boundStmt, table, lastRowId);
+                commit();
+                logProgress(table, "deleted " + deleted + "/" + total + " rows (chunk size " + chunkSize + ")");
+                Thread.sleep(pauseMs);
+            }
+        }
+        begin();
+        saveProgress(table, PHASE_DELETE, lastRowId, deleted, true);
+        commit();
+        logger.info("Retention job " + jobName + ": deleted " + deleted + " " + table + " rows");
+        return deletedThisRun;
+    }
+
+    /**
+     * @return Highest candidate rowid of the next chunk after lastRowId, or lastRowId if none are left
+     */
+    private long nextChunkBound(PreparedStatement boundStmt, String table, long lastRowId) throws SQLException {
+        boundStmt.setLong(1, lastRowId);
+        boundStmt.setString(2, jobName);
+        boundStmt.setString(3, table);
+        boundStmt.setLong(4, lastRowId);
+        boundStmt.setInt(5, chunkSize);
+        try (ResultSet rs = boundStmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : lastRowId;
+        }
+    }
+
+    /**
+     * Halves a chunk that overran the target time, doubles one that finished well under it
+     */
+    private int adapt(int current, int min, int max, long elapsedMs) {
+        if (elapsedMs > targetChunkMs) {
+            return Math.max(min, current / 2);
+        }
+        if (elapsedMs < targetChunkMs / 4) {
+            return Math.min(max, current * 2);
+        }
+        return current;
+    }
+
+    // ========== Job bookkeeping ==========
+
+    private void ensureTables() throws SQLException {
+        begin();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS retention_jobs (" +
+                "job TEXT PRIMARY KEY," +
+                "plan TEXT NOT NULL," +
+                "started_at INTEGER NOT NULL" +
+                ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS retention_progress (" +
+                "job TEXT NOT NULL," +
+                "table_name TEXT NOT NULL," +
+                "phase TEXT NOT NULL," +
+                "last_row_id INTEGER NOT NULL," +
+                "row_count INTEGER NOT NULL," +
+                "done INTEGER NOT NULL," +
+                "updated_at INTEGER NOT NULL," +
+                "PRIMARY KEY (job, table_name, phase)" +
+                ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS retention_candidates (" +
+                "job TEXT NOT NULL," +
+                "table_name TEXT NOT NULL," +
+                "row_id INTEGER NOT NULL," +
+                "key TEXT NOT NULL," +
+                "PRIMARY KEY (job, table_name, row_id)" +
+                ")");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_retention_candidates_key " +
+                "ON retention_candidates(job, table_name, key)");
+        }
+        commit();
+    }
+
+    /**
+     * Registers the job, discarding leftovers of an earlier run with different predicates
+     */
+    private void startOrResume() throws SQLException, InterruptedException {
+        String plan = predicates + " " + parameters;
+        String previousPlan = null;
+        begin();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT plan FROM retention_jobs WHERE job = ?")) {
+            stmt.setString(1, jobName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    previousPlan = rs.getString(1);
+                }
+            }
+        }
+        commit();
+        if (plan.equals(previousPlan)) {
+            logger.info("Resuming retention job " + jobName);
+            return;
+        }
+        if (previousPlan != null) {
+            logger.warning("Retention job " + jobName + " was started with different predicates, starting over");
+            clearJob();
+        }
+        begin();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO retention_jobs (job, plan, started_at) VALUES (?, ?, ?)")) {
+            stmt.setString(1, jobName);
+            stmt.setString(2, plan);
+            stmt.setLong(3, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+        commit();
+        logger.info("Started retention job " + jobName + ": " + plan);
+    }
+
+    /**
+     * Removes the job's candidates (in chunks, they can be millions of rows) and progress
+     */
+    private void clearJob() throws SQLException, InterruptedException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM retention_candidates WHERE rowid IN " +
+                "(SELECT rowid FROM retention_candidates WHERE job = ? LIMIT ?)")) {
+            int count;
+            do {
+                begin();
+                stmt.setString(1, jobName);
+                stmt.setInt(2, maxChunkSize);
+                count = stmt.executeUpdate();
+                commit();
+                if (count > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            } while (count > 0);
+        }
+        begin();
+        for (String table : new String[] {"retention_progress", "retention_jobs"}) {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE job = ?")) {
+                stmt.setString(1, jobName);
+                stmt.executeUpdate();
+            }
+        }
+        commit();
+    }
+
+    /**
+     * @return {last_row_id, row_count, done}, zeros if the phase has not started
+     */
+    private long[] loadProgress(String table, String phase) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT last_row_id, row_count, done " +
+                "FROM retention_progress WHERE job = ? AND table_name = ? AND phase = ?")) {
+            stmt.setString(1, jobName);
+            stmt.setString(2, table);
+            stmt.setString(3, phase);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)} : new long[3];
+            }
+        }
+    }
+
+    private void saveProgress(String table, String phase, long lastRowId, long rowCount, boolean done)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT OR REPLACE INTO retention_progress " +
+                "(job, table_name, phase, last_row_id, row_count, done, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            stmt.setString(1, jobName);
+            stmt.setString(2, table);
+            stmt.setString(3, phase);
+            stmt.setLong(4, lastRowId);
+            stmt.setLong(5, rowCount);
+            stmt.setInt(6, done ? 1 : 0);
+            stmt.setLong(7, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void logProgress(String table, String message) {
+        long now = System.currentTimeMillis();
+        if (now - lastProgressLog >= PROGRESS_LOG_INTERVAL_MS) {
+            lastProgressLog = now;
+            logger.info("Retention job " + jobName + " [" + table + "]: " + message);
+        }
+    }
+
+    /**
+     * Starts a chunk transaction on the shared connection
+     */
+    private void begin() {
+        transactionLock.lock();
+        inTransaction = true;
+    }
+
+    /**
+     * Commits the chunk transaction and lets other threads use the connection
+     */
+    private void commit() throws SQLException {
+        conn.commit();
+        inTransaction = false;
+        transactionLock.unlock();
+    }
+
+    /**
+     * Rolls back the open chunk transaction, if any; never touches another thread's transaction
+     */
+    private void rollbackQuietly() {
+        if (!inTransaction) {
+            return;
+        }
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Rollback after retention failure failed", e);
+        } finally {
+            inTransaction = false;
+            transactionLock.unlock();
+        }
+    }
+}
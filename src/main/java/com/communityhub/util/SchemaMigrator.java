@@ -0,0 +1,246 @@
+package com.communityhub.util;
+
+import com.communityhub.exception.DatabaseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Applies versioned, checksummed migration scripts to the database at startup
+ *
+ * DESIGN DECISION: Scripts live on the classpath under db/migration and are named
+ * V<version>__<description>.sql. They are listed in SCRIPTS in version order, because
+ * classpath directories cannot be listed reliably inside a WAR. Each pending script runs
+ * in its own transaction together with its schema_version row, so a failed script leaves
+ * no trace and is retried on the next start. SQLite DDL is transactional, which makes each
+ * migration all or nothing. The SHA-256 of every applied script is stored, and startup fails
+ * if a script was edited after it ran: released migrations are immutable, and a change
+ * needs a new version.
+ *
+ * WHY: initializeDatabase only ever ran CREATE TABLE IF NOT EXISTS, so databases never
+ * received the indexes in sql/schema_sqlite.sql and every lookup by column was a full scan.
+ * Versioned scripts let the index set evolve on databases that already exist.
+ */
+public final class SchemaMigrator {
+
+    private static final Logger logger = Logger.getLogger(SchemaMigrator.class.getName());
+    private static final String LOCATION = "db/migration/";
+
+    // Append new scripts here; never edit or reorder a script once it has been released
+    private static final String[] SCRIPTS = {
+        "V1__baseline_indexes.sql",
+        "V2__request_composite_indexes.sql",
+        "V3__hot_query_indexes.sql"
+    };
+
+    private static final String CREATE_VERSION_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS schema_version (" +
+        "version INTEGER PRIMARY KEY," +
+        "description TEXT NOT NULL," +
+        "script TEXT NOT NULL," +
+        "checksum TEXT NOT NULL," +
+        "applied_at INTEGER NOT NULL," +
+        "execution_ms INTEGER NOT NULL" +
+        ")";
+
+    private static final String INSERT_VERSION_SQL =
+        "INSERT INTO schema_version (version, description, script, checksum, applied_at, execution_ms) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Applies every pending migration after checking the applied ones are unchanged
+     * @param connection Connection to migrate; any open transaction on it is committed first
+     * @return Number of migrations applied
+     * @throws DatabaseException if a script is missing, was modified, or fails
+     */
+    public static int migrate(Connection connection) throws DatabaseException {
+        List<Migration> migrations = load();
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+
+        try {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(CREATE_VERSION_TABLE_SQL);
+            }
+            connection.commit();
+
+            Map<Integer, String> applied = appliedChecksums(connection);
+            int count = 0;
+            for (Migration migration : migrations) {
+                String checksum = applied.remove(migration.version);
+                if (checksum == null) {
+                    apply(connection, migration);
+                    count++;
+                } else if (!checksum.equals(migration.checksum)) {
+                    throw new DatabaseException("Migration " + migration.script + " was modified after it was applied " +
+                                                "(checksum " + checksum + ", now " + migration.checksum + ")");
+                }
+            }
+            if (!applied.isEmpty()) {
+                logger.warning("Database has migrations this build does not know about: versions " + applied.keySet());
+            }
+            logger.info("Schema is at version " + migrations.get(migrations.size() - 1).version +
+                       (count > 0 ? " (" + count + " migrations applied)" : ""));
+            return count;
+
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            throw new DatabaseException("Failed to migrate database schema", "migrate schema", e);
+        } finally {
+            transactionLock.unlock();
+        }
+    }
+
+    private static void apply(Connection connection, Migration migration) throws DatabaseException {
+        long start = System.currentTimeMillis();
+        try {
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : migration.statements) {
+                    stmt.execute(sql);
+                }
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            try (PreparedStatement stmt = connection.prepareStatement(INSERT_VERSION_SQL)) {
+                stmt.setInt(1, migration.version);
+                stmt.setString(2, migration.description);
+                stmt.setString(3, migration.script);
+                stmt.setString(4, migration.checksum);
+                stmt.setLong(5, System.currentTimeMillis());
+                stmt.setLong(6, elapsed);
+                stmt.executeUpdate();
+            }
+            connection.commit();
+            logger.info("Applied migration " + migration.script + " in " + elapsed + " ms");
+
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            throw new DatabaseException("Migration " + migration.script + " failed", "migrate schema", e);
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        connection.commit();
+        return applied;
+    }
+
+    /**
+     * Reads and parses every listed script, checking versions strictly increase
+     */
+    static List<Migration> load() throws DatabaseException {
+        List<Migration> migrations = new ArrayList<>();
+        int previous = 0;
+        for (String script : SCRIPTS) {
+            Migration migration = new Migration(script, read(script));
+            if (migration.version <= previous) {
+                throw new DatabaseException("Migration " + script + " is out of order after version " + previous);
+            }
+            previous = migration.version;
+            migrations.add(migration);
+        }
+        return migrations;
+    }
+
+    private static String read(String script) throws DatabaseException {
+        try (InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(LOCATION + script)) {
+            if (in == null) {
+                throw new DatabaseException("Migration script not found on classpath: " + LOCATION + script);
+            }
+            // Line endings are normalised so a checkout on Windows keeps the same checksum
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to read migration " + script, e);
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            logger.warning("Failed to rollback migration: " + rollbackEx.getMessage());
+        }
+    }
+
+    /**
+     * One parsed migration script
+     */
+    static final class Migration {
+        final String script;
+        final int version;
+        final String description;
+        final String checksum;
+        final List<String> statements;
+
+        Migration(String script, String content) throws DatabaseException {
+            int separator = script.indexOf("__");
+            if (!script.startsWith("V") || separator < 2 || !script.endsWith(".sql")) {
+                throw new DatabaseException("Migration name must look like V<version>__<description>.sql: " + script);
+            }
+            this.script = script;
+            this.version = Integer.parseInt(script.substring(1, separator));
+            this.description = script.substring(separator + 2, script.length() - 4).replace('_', ' ');
+            this.checksum = sha256(content);
+            this.statements = split(content);
+        }
+
+        /**
+         * Splits a script into statements at semicolons ending a line, dropping -- comment lines
+         * Scripts are plain DDL; statements with semicolons inside literals or triggers are not supported
+         */
+        private static List<String> split(String content) {
+            List<String> statements = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            for (String line : content.split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                current.append(trimmed).append('\n');
+                if (trimmed.endsWith(";")) {
+                    statements.add(current.substring(0, current.length() - 2));
+                    current.setLength(0);
+                }
+            }
+            if (current.length() > 0) {
+                statements.add(current.toString().trim());
+            }
+            return statements;
+        }
+
+        private static String sha256(String content) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder(hash.length * 2);
+                for (byte b : hash) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
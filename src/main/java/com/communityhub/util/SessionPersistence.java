@@ -0,0 +1,330 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.SessionRecord;
+import com.communityhub.model.User;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Near-cache and write-behind layer in front of a pluggable SessionStore
+ *
+ * DESIGN DECISION: Requests are served from the in-memory near-cache. Creating a session
+ * queues an insert, touching one queues an update of its last access time, and a background
+ * task writes both in batches every flush interval; touches are coalesced so an active
+ * session is written at most once per touch interval. A node that sees a session key it does
+ * not know (after failover or a rolling deploy) loads the record from the store.
+ *
+ * Cached records are checked against the store again once they are older than
+ * session.store.revalidate.ms, and a touch only ever updates an existing row, so a logout
+ * on any node ends the session on every node within one flush plus one revalidation
+ * interval, and a late touch cannot bring it back. If the store cannot be read the cached
+ * record keeps being served and is checked again on the next request.
+ *
+ * WHY: Container sessions live in one JVM, so a second node loses every login made on the
+ * first. Writing through to shared storage on every request would add a database round trip
+ * to each page view; write-behind keeps the store at most a few seconds behind, and a
+ * revalidation costs one read per session per interval.
+ *
+ * The store is selected with session.store.type ("none" disables persistence, "sqlite" uses
+ * SqliteSessionStore at session.store.path).
+ */
+public final class SessionPersistence {
+
+    private static final Logger logger = Logger.getLogger(SessionPersistence.class.getName());
+    private static final int KEY_BYTES = 24;
+    private static final int PURGE_EVERY_FLUSHES = 60;
+    private static volatile SessionPersistence instance;
+
+    private final SessionStore store;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long touchIntervalMs;
+    private final long revalidateMs;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, CachedSession> nearCache = new ConcurrentHashMap<>();
+    private final Set<String> created = ConcurrentHashMap.newKeySet();
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private int flushCount;
+
+    /**
+     * Creates the layer over a store and starts the write-behind task
+     * Package-private so tests can run several nodes over one store
+     * @param store Store to persist to
+     */
+    SessionPersistence(SessionStore store) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.store = store;
+        this.idleTimeoutMs = TimeUnit.MINUTES.toMillis(
+            config.getInt("session.idle.timeout.minutes", Constants.Session.IDLE_TIMEOUT_MINUTES));
+        this.maxLifetimeMs = TimeUnit.HOURS.toMillis(
+            config.getInt("session.timeout.hours", Constants.Session.TIMEOUT_HOURS));
+        this.touchIntervalMs = config.getLong("session.store.touch.interval.ms", Constants.Session.STORE_TOUCH_INTERVAL_MS);
+        this.revalidateMs = config.getLong("session.store.revalidate.ms", Constants.Session.STORE_REVALIDATE_MS);
+
+        long flushMs = config.getLong("session.store.flush.ms", Constants.Session.STORE_FLUSH_MS);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether session persistence is configured
+     * @return true unless session.store.type is "none"
+     */
+    public static boolean isEnabled() {
+        return !Constants.Session.STORE_TYPE_NONE.equalsIgnoreCase(
+            ConfigurationManager.getInstance().getString("session.store.type", Constants.Session.STORE_TYPE));
+    }
+
+    /**
+     * Gets singleton instance, opening the configured store on first use
+     * @return SessionPersistence instance
+     * @throws DatabaseException if the store cannot be opened
+     */
+    public static SessionPersistence getInstance() throws DatabaseException {
+        if (instance == null) {
+            synchronized (SessionPersistence.class) {
+                if (instance == null) {
+                    instance = new SessionPersistence(openStore());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Flushes pending writes and closes the store if persistence was ever started
+     */
+    public static void shutdownIfStarted() {
+        SessionPersistence current = instance;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    /**
+     * Creates a persisted session for a user who just logged in
+     * @param user Authenticated user
+     * @return Session key to hand to the client
+     */
+    public String create(User user) {
+        byte[] bytes = new byte[KEY_BYTES];
+        random.nextBytes(bytes);
+        String sessionKey = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long now = System.currentTimeMillis();
+        SessionRecord record = new SessionRecord(sessionKey, user.getUserId(), user.getRole().ordinal(), now, now);
+        nearCache.put(sessionKey, new CachedSession(record, now));
+        created.add(sessionKey);
+        return sessionKey;
+    }
+
+    /**
+     * Gets a live session, loading it from the store on first access on this node and
+     * checking it against the store again once the cached copy is older than revalidateMs
+     * @param sessionKey Session key from the client
+     * @return Record, or null if unknown, expired or removed on any node
+     * @throws DatabaseException if the store cannot be read and the session is not cached
+     */
+    public SessionRecord get(String sessionKey) throws DatabaseException {
+        long now = System.currentTimeMillis();
+        CachedSession cached = nearCache.get(sessionKey);
+        if (cached == null) {
+            SessionRecord loaded = store.load(sessionKey);
+            if (loaded == null) {
+                return null;
+            }
+            cached = new CachedSession(loaded, now);
+            CachedSession raced = nearCache.putIfAbsent(sessionKey, cached);
+            if (raced != null) {
+                cached = raced;
+            }
+        } else if (now - cached.validatedAt >= revalidateMs && !created.contains(sessionKey)) {
+            if (!revalidate(sessionKey, cached, now)) {
+                return null;
+            }
+        }
+
+        if (isExpired(cached.record, now)) {
+            nearCache.remove(sessionKey);
+            return null;
+        }
+        return cached.record;
+    }
+
+    /**
+     * Records activity on a session; the store is updated at most once per touch interval
+     * @param sessionKey Session key
+     */
+    public void touch(String sessionKey) {
+        CachedSession cached = nearCache.get(sessionKey);
+        if (cached == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - cached.record.getLastAccessAt() >= touchIntervalMs) {
+            cached.record.setLastAccessAt(now);
+            touched.add(sessionKey);
+        }
+    }
+
+    /**
+     * Removes a session (logout)
+     * @param sessionKey Session key
+     */
+    public void remove(String sessionKey) {
+        nearCache.remove(sessionKey);
+        created.remove(sessionKey);
+        touched.remove(sessionKey);
+        deleted.add(sessionKey);
+    }
+
+    /**
+     * Writes all pending changes to the store
+     * Sessions whose touch found no row were removed on another node and leave the near-cache
+     * @throws DatabaseException if the store cannot be written
+     */
+    public synchronized void flush() throws DatabaseException {
+        List<SessionRecord> toInsert = cachedRecords(drain(created));
+        List<SessionRecord> toTouch = cachedRecords(drain(touched));
+        List<String> toDelete = drain(deleted);
+
+        try {
+            store.insertAll(toInsert);
+            for (String sessionKey : store.touchAll(toTouch)) {
+                nearCache.remove(sessionKey);
+            }
+            store.deleteAll(toDelete);
+        } catch (DatabaseException e) {
+            // Keep the changes for the next attempt; inserts that already landed are ignored then
+            for (SessionRecord record : toInsert) {
+                created.add(record.getSessionKey());
+            }
+            for (SessionRecord record : toTouch) {
+                touched.add(record.getSessionKey());
+            }
+            deleted.addAll(toDelete);
+            throw e;
+        }
+    }
+
+    /**
+     * Reloads a cached session from the store
+     * @return false if the session no longer exists in the store
+     */
+    private boolean revalidate(String sessionKey, CachedSession cached, long now) {
+        SessionRecord stored;
+        try {
+            stored = store.load(sessionKey);
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Could not revalidate session against the store, using cached copy", e);
+            return true;
+        }
+        if (stored == null) {
+            nearCache.remove(sessionKey);
+            touched.remove(sessionKey);
+            return false;
+        }
+        if (stored.getLastAccessAt() > cached.record.getLastAccessAt()) {
+            // Another node saw more recent activity
+            cached.record.setLastAccessAt(stored.getLastAccessAt());
+        }
+        cached.validatedAt = now;
+        return true;
+    }
+
+    private List<SessionRecord> cachedRecords(List<String> sessionKeys) {
+        List<SessionRecord> records = new ArrayList<>(sessionKeys.size());
+        for (String sessionKey : sessionKeys) {
+            CachedSession cached = nearCache.get(sessionKey);
+            if (cached != null) {
+                records.add(cached.record);
+            }
+        }
+        return records;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+
+            if (++flushCount % PURGE_EVERY_FLUSHES == 0) {
+                long now = System.currentTimeMillis();
+                nearCache.values().removeIf(cached -> isExpired(cached.record, now));
+                int purged = store.deleteExpired(now - idleTimeoutMs, now - maxLifetimeMs);
+                if (purged > 0) {
+                    logger.fine("Purged " + purged + " expired sessions from the store");
+                }
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic task
+            logger.log(Level.WARNING, "Error flushing session store", e);
+        }
+    }
+
+    private void shutdown() {
+        flusher.shutdownNow();
+        try {
+            flush();
+        } catch (DatabaseException e) {
+            logger.log(Level.WARNING, "Failed to flush sessions on shutdown", e);
+        }
+        store.close();
+    }
+
+    private boolean isExpired(SessionRecord record, long now) {
+        return record.getLastAccessAt() + idleTimeoutMs <= now || record.getCreatedAt() + maxLifetimeMs <= now;
+    }
+
+    private static List<String> drain(Set<String> keys) {
+        List<String> drained = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (keys.remove(key)) {
+                drained.add(key);
+            }
+        }
+        return drained;
+    }
+
+    private static SessionStore openStore() throws DatabaseException {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        String type = config.getString("session.store.type", Constants.Session.STORE_TYPE);
+        if (Constants.Session.STORE_TYPE_SQLITE.equalsIgnoreCase(type)) {
+            return new SqliteSessionStore(config.getString("session.store.path", Constants.Session.STORE_PATH));
+        }
+        throw new DatabaseException("Unknown session store type: " + type);
+    }
+
+    /**
+     * A near-cached record and when it was last known to match the store
+     */
+    private static final class CachedSession {
+        private final SessionRecord record;
+        private volatile long validatedAt;
+
+        private CachedSession(SessionRecord record, long validatedAt) {
+            this.record = record;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.model.User;
+import com.communityhub.model.UserRole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Server-side registry of authenticated HTTP sessions
+ *
+ * DESIGN DECISION: Sessions are keyed by HTTP session ID and spread over a fixed number of
+ * shards, each with its own map and its own timing wheel. A session has one timer set to
+ * its earliest possible expiry. Touching a session only writes its last-access time; when
+ * the timer fires the real deadline is recomputed and the timer is re-armed if the session
+ * was used in the meantime. Requests therefore never take a lock, and expiry work is
+ * proportional to sessions actually coming due instead of a scan of every session.
+ *
+ * WHY: The previous SessionManager held a single JVM-wide "current user" and kept every
+ * logged-in user until an explicit logout. Abandoned sessions were never released.
+ *
+ * A session expires after the idle timeout or the absolute lifetime, whichever comes
+ * first. SessionListener unregisters sessions the container destroys, so the registry
+ * never outlives the HTTP session it mirrors. The active count is an atomic counter.
+ */
+public final class SessionRegistry {
+
+    private static final Logger logger = Logger.getLogger(SessionRegistry.class.getName());
+    private static volatile SessionRegistry instance;
+
+    private final Shard[] shards;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long tickMs;
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong timerSequence = new AtomicLong();
+    private final ScheduledExecutorService expiryExecutor;
+
+    /**
+     * Private constructor creates the shards from configuration and starts the expiry tick
+     */
+    private SessionRegistry() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.idleTimeoutMs = TimeUnit.MINUTES.toMillis(
+            config.getInt("session.idle.timeout.minutes", Constants.Session.IDLE_TIMEOUT_MINUTES));
+        this.maxLifetimeMs = TimeUnit.HOURS.toMillis(
+            config.getInt("session.timeout.hours", Constants.Session.TIMEOUT_HOURS));
+        this.tickMs = config.getLong("session.expiry.tick.ms", Constants.Session.EXPIRY_TICK_MS);
+
+        int shardCount = Integer.highestOneBit(Math.max(1,
+            config.getInt("session.registry.shards", Constants.Session.REGISTRY_SHARDS)));
+        long now = System.currentTimeMillis();
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(new HierarchicalTimingWheel(tickMs, Constants.Session.EXPIRY_WHEEL_SIZE,
+                                                              Constants.Session.EXPIRY_WHEEL_LEVELS, now));
+        }
+
+        this.expiryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryExecutor.scheduleAtFixedRate(this::expireDue, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        MetricsRegistry.getInstance().gauge("sessions_authenticated", "Logged-in sessions in the registry",
+                                            this::getActiveCount);
+
+        logger.info("Session registry started with " + shardCount + " shards, idle timeout "
+                    + idleTimeoutMs + " ms");
+    }
+
+    /**
+     * Gets singleton instance
+     *
+     * @return SessionRegistry instance
+     */
+    public static SessionRegistry getInstance() {
+        if (instance == null) {
+            synchronized (SessionRegistry.class) {
+                if (instance == null) {
+                    instance = new SessionRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Registers an authenticated session, replacing any previous login on the same session
+     *
+     * @param sessionId HTTP session ID
+     * @param user Authenticated user
+     */
+    public void register(String sessionId, User user) {
+        long now = System.currentTimeMillis();
+        Shard shard = shardFor(sessionId);
+        RegisteredSession session = new RegisteredSession(timerSequence.incrementAndGet(), sessionId,
+            user.getUserId(), user.getUsername(), user.getRole(), now);
+
+        // CRITICAL: The timer must exist before the session becomes visible. An unregister that
+        // removes the session then always finds a timer to release, whereas publishing first
+        // would let it run in between and leave the byTimer entry and the wheel timer behind
+        shard.byTimer.put(session.timerId, session);
+        shard.wheel.schedule(session.timerId, deadline(session));
+        activeCount.incrementAndGet();
+
+        RegisteredSession previous = shard.sessions.put(sessionId, session);
+        if (previous != null) {
+            release(shard, previous);
+        }
+    }
+
+    /**
+     * Removes a session (logout or container-side invalidation)
+     *
+     * @param sessionId HTTP session ID
+     * @return The removed session, or null if it was not registered
+     */
+    public RegisteredSession unregister(String sessionId) {
+        Shard shard = shardFor(sessionId);
+        RegisteredSession session = shard.sessions.remove(sessionId);
+        if (session != null) {
+            release(shard, session);
+        }
+        return session;
+    }
+
+    /**
+     * Records activity on a session
+     *
+     * @param sessionId HTTP session ID
+     * @return The session, or null if it is unknown or has expired
+     */
+    public RegisteredSession touch(String sessionId) {
+        RegisteredSession session = shardFor(sessionId).sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (deadline(session) <= now) {
+            // Due but not yet collected by the expiry tick
+            return null;
+        }
+        // Skip the write when nothing would change at tick resolution
+        if (now - session.lastAccessMs >= tickMs) {
+            session.lastAccessMs = now;
+        }
+        return session;
+    }
+
+    /**
+     * Gets a session without recording activity
+     *
+     * @param sessionId HTTP session ID
+     * @return The session, or null if it is not registered
+     */
+    public RegisteredSession get(String sessionId) {
+        return shardFor(sessionId).sessions.get(sessionId);
+    }
+
+    /**
+     * Gets the number of registered sessions
+     *
+     * @return Active session count
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Gets a snapshot of all registered sessions (for admin use)
+     *
+     * @return Registered sessions
+     */
+    public List<RegisteredSession> getActiveSessions() {
+        List<RegisteredSession> snapshot = new ArrayList<>(activeCount.get());
+        for (Shard shard : shards) {
+            snapshot.addAll(shard.sessions.values());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Stops the expiry tick
+     */
+    public void shutdown() {
+        expiryExecutor.shutdownNow();
+    }
+
+    /**
+     * Stops the registry if it was ever created
+     */
+    public static void shutdownIfStarted() {
+        SessionRegistry current = instance;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    /**
+     * Expires sessions whose timers came due, re-arming those touched since the timer was set
+     */
+    private void expireDue() {
+        try {
+            long now = System.currentTimeMillis();
+            int expired = 0;
+            for (Shard shard : shards) {
+                for (Long timerId : shard.wheel.advance(now)) {
+                    RegisteredSession session = shard.byTimer.get(timerId);
+                    if (session == null) {
+                        continue;
+                    }
+                    long deadline = deadline(session);
+                    if (deadline > now) {
+                        shard.wheel.schedule(timerId, deadline);
+                    } else if (shard.sessions.remove(session.sessionId, session)) {
+                        release(shard, session);
+                        expired++;
+                    }
+                }
+            }
+            if (expired > 0) {
+                logger.info("Expired " + expired + " idle sessions, active sessions: " + activeCount.get());
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the periodic task
+            logger.log(Level.WARNING, "Error expiring sessions", e);
+        }
+    }
+
+    private void release(Shard shard, RegisteredSession session) {
+        shard.byTimer.remove(session.timerId);
+        shard.wheel.cancel(session.timerId);
+        activeCount.decrementAndGet();
+    }
+
+    private long deadline(RegisteredSession session) {
+        return Math.min(session.lastAccessMs + idleTimeoutMs, session.createdAtMs + maxLifetimeMs);
+    }
+
+    private Shard shardFor(String sessionId) {
+        int hash = sessionId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private static final class Shard {
+        final Map<String, RegisteredSession> sessions = new ConcurrentHashMap<>();
+        final Map<Long, RegisteredSession> byTimer = new ConcurrentHashMap<>();
+        final HierarchicalTimingWheel wheel;
+
+        Shard(HierarchicalTimingWheel wheel) {
+            this.wheel = wheel;
+        }
+    }
+
+    /**
+     * An authenticated session as seen by the registry
+     */
+    public static final class RegisteredSession {
+        private final long timerId;
+        private final String sessionId;
+        private final String userId;
+        private final String username;
+        private final UserRole role;
+        private final long createdAtMs;
+        private volatile long lastAccessMs;
+
+        private RegisteredSession(long timerId, String sessionId, String userId, String username,
+                                  UserRole role, long createdAtMs) {
+            this.timerId = timerId;
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.username = username;
+            this.role = role;
+            this.createdAtMs = createdAtMs;
+            this.lastAccessMs = createdAtMs;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public UserRole getRole() {
+            return role;
+        }
+
+        public long getCreatedAtMs() {
+            return createdAtMs;
+        }
+
+        public long getLastAccessMs() {
+            return lastAccessMs;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.communityhub.util;
+
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.SessionRecord;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Durable storage for session records shared by application nodes
+ * Implementations are called from SessionPersistence, which batches writes and caches reads;
+ * they do not need their own caching.
+ */
+public interface SessionStore {
+
+    /**
+     * Loads a session record
+     * @param sessionKey Session key
+     * @return Record, or null if none is stored
+     * @throws DatabaseException if reading fails
+     */
+    SessionRecord load(String sessionKey) throws DatabaseException;
+
+    /**
+     * Inserts new records in one batch; records whose key already exists are left unchanged
+     * @param records Records to write
+     * @throws DatabaseException if writing fails
+     */
+    void insertAll(Collection<SessionRecord> records) throws DatabaseException;
+
+    /**
+     * Moves the last access time of existing records forward in one batch
+     * Never creates a record: a session deleted on another node must stay deleted
+     * @param records Records carrying the new last access time
+     * @return Keys of the records that no longer exist
+     * @throws DatabaseException if writing fails
+     */
+    Set<String> touchAll(Collection<SessionRecord> records) throws DatabaseException;
+
+    /**
+     * Deletes records in one batch
+     * @param sessionKeys Keys to delete
+     * @throws DatabaseException if deletion fails
+     */
+    void deleteAll(Collection<String> sessionKeys) throws DatabaseException;
+
+    /**
+     * Deletes records idle since before the given time or created before the given time
+     * @param idleBefore Records last accessed before this time are deleted
+     * @param createdBefore Records created before this time are deleted
+     * @return Number of records deleted
+     * @throws DatabaseException if deletion fails
+     */
+    int deleteExpired(long idleBefore, long createdBefore) throws DatabaseException;
+
+    /**
+     * Releases the store's resources
+     */
+    void close();
+}
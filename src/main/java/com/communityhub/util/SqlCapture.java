@@ -0,0 +1,145 @@
+package com.communityhub.util;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the SQL executed on the current thread, for assertions in tests and diagnostics
+ *
+ * Usage:
+ * <pre>
+ * try (SqlCapture capture = SqlCapture.start()) {
+ *     dashboardServlet.doGet(request, response);
+ *     capture.assertNoNPlusOne(5);
+ *     capture.assertExecutionsAtMost("FROM requests", 3);
+ * }
+ * </pre>
+ * Statements are keyed by their normalized SQL (see SqlProfiler.normalize). Only statements
+ * run through connections handed out by DBConnection are seen.
+ */
+public final class SqlCapture implements AutoCloseable {
+
+    private static final ThreadLocal<SqlCapture> current = new ThreadLocal<>();
+
+    private final SqlCapture previous;
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private final Map<String, Set<Integer>> parameterSets = new LinkedHashMap<>();
+
+    private SqlCapture(SqlCapture previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Starts capturing on the current thread; captures nest
+     * @return Capture to close when done
+     */
+    public static SqlCapture start() {
+        SqlCapture capture = new SqlCapture(current.get());
+        current.set(capture);
+        return capture;
+    }
+
+    static SqlCapture active() {
+        return current.get();
+    }
+
+    void record(String sql, int parameterHash) {
+        executions.merge(sql, 1, Integer::sum);
+        parameterSets.computeIfAbsent(sql, key -> new HashSet<>()).add(parameterHash);
+        if (previous != null) {
+            previous.record(sql, parameterHash);
+        }
+    }
+
+    /**
+     * Gets the total number of statement executions captured
+     * @return Execution count
+     */
+    public int getExecutionCount() {
+        int total = 0;
+        for (int count : executions.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of executions of statements containing a fragment (case-insensitive)
+     * @param sqlFragment Fragment of normalized SQL, e.g. "FROM requests"
+     * @return Execution count
+     */
+    public int getExecutionCount(String sqlFragment) {
+        String fragment = sqlFragment.toLowerCase();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (entry.getKey().toLowerCase().contains(fragment)) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets executions per normalized statement, in first-seen order
+     * @return Copy of the execution counts
+     */
+    public Map<String, Integer> getExecutions() {
+        return new LinkedHashMap<>(executions);
+    }
+
+    /**
+     * Fails if more than the given number of statements ran
+     * @param max Maximum executions
+     * @throws AssertionError if exceeded
+     */
+    public void assertExecutionsAtMost(int max) {
+        int count = getExecutionCount();
+        if (count > max) {
+            throw new AssertionError("Expected at most " + max + " SQL executions but saw " + count + ": " + executions);
+        }
+    }
+
+    /**
+     * Fails if statements containing a fragment ran more than the given number of times
+     * @param sqlFragment Fragment of normalized SQL
+     * @param max Maximum executions
+     * @throws AssertionError if exceeded
+     */
+    public void assertExecutionsAtMost(String sqlFragment, int max) {
+        int count = getExecutionCount(sqlFragment);
+        if (count > max) {
+            throw new AssertionError("Expected at most " + max + " executions of SQL containing '" + sqlFragment
+                                     + "' but saw " + count + ": " + executions);
+        }
+    }
+
+    /**
+     * Fails if any statement ran with more than the given number of distinct parameter sets
+     * @param threshold Largest acceptable number of distinct parameter sets per statement
+     * @throws AssertionError naming the offending statements
+     */
+    public void assertNoNPlusOne(int threshold) {
+        StringBuilder offenders = new StringBuilder();
+        for (Map.Entry<String, Set<Integer>> entry : parameterSets.entrySet()) {
+            if (entry.getValue().size() > threshold) {
+                offenders.append("\n  ").append(entry.getValue().size()).append("x ").append(entry.getKey());
+            }
+        }
+        if (offenders.length() > 0) {
+            throw new AssertionError("N+1 query pattern (more than " + threshold + " parameter sets):" + offenders);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (current.get() == this) {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Per-SQL statistics and N+1 detection for the connections handed out by DBConnection
+ *
+ * DESIGN DECISION: DBConnection wraps its connection once with wrap(), and DAO connections are
+ * wrapped by TimedConnection; both use TimedConnection's statement proxy, which reports every
+ * execution here, so profiling adds no second proxy layer. Executions are attributed
+ * to the statement's normalized SQL (whitespace collapsed, literals and IN lists replaced by
+ * placeholders), so the same query issued from different DAOs or with different values is
+ * counted as one statement. For each statement the profiler keeps call count, total and
+ * maximum time, rows returned by the driver, and rows hydrated (rows whose columns were read).
+ *
+ * N+1 detection: while the current thread handles a traced request (see TracingFilter), the
+ * profiler counts the distinct parameter sets each statement is executed with. A statement
+ * that exceeds db.nplusone.threshold within one request is flagged once: a warning with the
+ * correlation ID is logged, a marker span is added to the trace, and db_sql_nplusone_total
+ * is incremented.
+ *
+ * WHY: Per-DAO timings (TimedConnection) show which DAO is slow but not which of its queries,
+ * and a loop issuing one query per row is invisible in averages. Keying by normalized SQL and
+ * by request makes both visible.
+ *
+ * The number of distinct statements tracked is capped by db.profiling.max.statements; further
+ * statements are counted under "other".
+ */
+public final class SqlProfiler {
+
+    private static final Logger logger = Logger.getLogger(SqlProfiler.class.getName());
+    private static final String OVERFLOW_SQL = "other";
+    private static final int NORMALIZED_CACHE_LIMIT = 2000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("\\(\\?\\.\\.\\.\\)(?:\\s*,\\s*\\(\\?\\.\\.\\.\\))+");
+
+    private static volatile SqlProfiler instance;
+
+    private final Map<String, String> normalizedCache = new ConcurrentHashMap<>();
+    private final Map<String, SqlStatistics> statistics = new ConcurrentHashMap<>();
+    private final ThreadLocal<RequestScope> requestScope = new ThreadLocal<>();
+    private final MetricsRegistry registry;
+    private final int nPlusOneThreshold;
+    private final int maxStatements;
+
+    private SqlProfiler() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.registry = MetricsRegistry.getInstance();
+        this.nPlusOneThreshold = Math.max(1, config.getInt("db.nplusone.threshold", Constants.Database.NPLUSONE_THRESHOLD));
+        this.maxStatements = Math.max(1, config.getInt("db.profiling.max.statements",
+                                                       Constants.Database.PROFILING_MAX_STATEMENTS));
+        logger.info("SQL profiler enabled, N+1 threshold " + nPlusOneThreshold + " parameter sets per request");
+    }
+
+    /**
+     * Gets singleton instance
+     * @return SqlProfiler instance
+     */
+    public static SqlProfiler getInstance() {
+        if (instance == null) {
+            synchronized (SqlProfiler.class) {
+                if (instance == null) {
+                    instance = new SqlProfiler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether profiling is configured
+     * @return true unless db.profiling.enabled is false
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getInstance().getBoolean("db.profiling.enabled", Constants.Database.PROFILING_ENABLED);
+    }
+
+    /**
+     * Wraps a connection so everything executed on it is profiled
+     * @param connection Underlying connection
+     * @return Profiling connection
+     */
+    public Connection wrap(Connection connection) {
+        return TimedConnection.wrapForProfiling(connection, this);
+    }
+
+    /**
+     * Gets statistics for every statement seen so far
+     * @return Snapshot list, most total time first
+     */
+    public List<SqlStatistics> getStatistics() {
+        List<SqlStatistics> snapshot = new ArrayList<>(statistics.values());
+        snapshot.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return snapshot;
+    }
+
+    /**
+     * Normalizes SQL so executions of the same statement share one key
+     * @param sql Raw SQL
+     * @return SQL with whitespace collapsed, literals replaced by ? and IN and VALUES lists collapsed
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return OVERFLOW_SQL;
+        }
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return VALUES_ROWS.matcher(normalized).replaceAll("(?...), ...");
+    }
+
+    private String normalizeCached(String sql) {
+        String normalized = normalizedCache.get(sql);
+        if (normalized == null) {
+            normalized = normalize(sql);
+            if (normalizedCache.size() < NORMALIZED_CACHE_LIMIT) {
+                normalizedCache.put(sql, normalized);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Gets the statistics a raw SQL statement is counted under
+     */
+    SqlStatistics statisticsForSql(String sql) {
+        return statisticsFor(normalizeCached(sql));
+    }
+
+    private SqlStatistics statisticsFor(String normalizedSql) {
+        SqlStatistics stats = statistics.get(normalizedSql);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statistics.size() < maxStatements ? normalizedSql : OVERFLOW_SQL;
+        return statistics.computeIfAbsent(key, sql -> new SqlStatistics(sql, registry));
+    }
+
+    /**
+     * Called by TimedConnection after every statement execution
+     */
+    void onExecuted(SqlStatistics stats, int parameterHash, long nanos) {
+        stats.recordExecution(nanos);
+
+        SqlCapture capture = SqlCapture.active();
+        if (capture != null) {
+            capture.record(stats.getSql(), parameterHash);
+        }
+
+        RequestTrace trace = RequestContext.getTrace();
+        if (trace == null) {
+            return;
+        }
+        RequestScope scope = requestScope.get();
+        if (scope == null || scope.trace.get() != trace) {
+            // First statement of a new request on this thread
+            scope = new RequestScope(trace);
+            requestScope.set(scope);
+        }
+        if (scope.flagged.contains(stats.getSql())) {
+            return;
+        }
+        Set<Integer> seen = scope.parameterSets.computeIfAbsent(stats.getSql(), sql -> new HashSet<>());
+        seen.add(parameterHash);
+        if (seen.size() > nPlusOneThreshold) {
+            scope.flagged.add(stats.getSql());
+            scope.parameterSets.remove(stats.getSql());
+            stats.recordNPlusOne();
+            trace.record("N+1 detected: " + stats.getSql(), System.nanoTime(), 0);
+            RequestContext.logWarning("Possible N+1 query: executed with more than " + nPlusOneThreshold
+                                      + " different parameter sets in one request: " + stats.getSql());
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Per-thread N+1 bookkeeping for the request currently being handled
+     */
+    private static final class RequestScope {
+        // Weak so a finished request's trace is not kept alive by an idle worker thread
+        private final WeakReference<RequestTrace> trace;
+        private final Map<String, Set<Integer>> parameterSets = new HashMap<>();
+        private final Set<String> flagged = new HashSet<>();
+
+        private RequestScope(RequestTrace trace) {
+            this.trace = new WeakReference<>(trace);
+        }
+    }
+
+    /**
+     * Wraps a result set so rows returned and rows hydrated are counted for a statement
+     */
+    static ResultSet wrapResultSet(ResultSet resultSet, SqlStatistics stats) {
+        return (ResultSet) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+            new ResultSetHandler(resultSet, stats));
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final SqlStatistics stats;
+        private boolean onRow;
+        private boolean rowHydrated;
+
+        private ResultSetHandler(ResultSet target, SqlStatistics stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlProfiler.invoke(target, method, args);
+            String name = method.getName();
+
+            if ("next".equals(name)) {
+                onRow = Boolean.TRUE.equals(result);
+                rowHydrated = false;
+                if (onRow) {
+                    stats.recordRowReturned();
+                }
+            } else if (onRow && !rowHydrated && name.startsWith("get") && args != null && args.length > 0) {
+                rowHydrated = true;
+                stats.recordRowHydrated();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.communityhub.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated execution statistics for one normalized SQL statement
+ * Maintained by SqlProfiler and exported through MetricsRegistry
+ */
+public final class SqlStatistics {
+
+    private static final int MAX_LABEL_LENGTH = 240;
+
+    private final String sql;
+    private final MetricsRegistry.Counter calls;
+    private final MetricsRegistry.Counter rowsReturned;
+    private final MetricsRegistry.Counter rowsHydrated;
+    private final MetricsRegistry.Counter nPlusOneDetections;
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    SqlStatistics(String sql, MetricsRegistry registry) {
+        this.sql = sql;
+        String label = sql.length() > MAX_LABEL_LENGTH ? sql.substring(0, MAX_LABEL_LENGTH - 3) + "..." : sql;
+        this.calls = registry.counter("db_sql_calls_total", "Executions per normalized SQL statement", "sql", label);
+        this.rowsReturned = registry.counter("db_sql_rows_returned_total",
+            "Rows returned by the driver per normalized SQL statement", "sql", label);
+        this.rowsHydrated = registry.counter("db_sql_rows_hydrated_total",
+            "Returned rows whose columns were actually read", "sql", label);
+        this.nPlusOneDetections = registry.counter("db_sql_nplusone_total",
+            "Requests in which the statement looked like an N+1 query", "sql", label);
+        registry.gauge("db_sql_seconds_sum", "Total execution time per normalized SQL statement",
+            () -> totalNanos.sum() / 1e9, "sql", label);
+        registry.gauge("db_sql_seconds_max", "Slowest execution per normalized SQL statement",
+            () -> maxNanos.get() / 1e9, "sql", label);
+    }
+
+    void recordExecution(long nanos) {
+        calls.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    void recordRowReturned() {
+        rowsReturned.increment();
+    }
+
+    void recordRowHydrated() {
+        rowsHydrated.increment();
+    }
+
+    void recordNPlusOne() {
+        nPlusOneDetections.increment();
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getRowsReturned() {
+        return rowsReturned.get();
+    }
+
+    public long getRowsHydrated() {
+        return rowsHydrated.get();
+    }
+
+    public long getNPlusOneDetections() {
+        return nPlusOneDetections.get();
+    }
+}
@@ -0,0 +1,203 @@
+package com.communityhub.util;
+
+import com.communityhub.exception.DatabaseException;
+import com.communityhub.model.SessionRecord;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * SessionStore backed by a SQLite file that co-located nodes open together
+ *
+ * The file is separate from the application database and opened in WAL mode with a busy
+ * timeout, so several processes on one host can read and write it concurrently. A single
+ * connection is used per process; methods are synchronized around it.
+ */
+public class SqliteSessionStore implements SessionStore {
+
+    private static final Logger logger = Logger.getLogger(SqliteSessionStore.class.getName());
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private final Connection connection;
+
+    /**
+     * Opens (and if needed creates) the session store file
+     * @param path File path of the SQLite database
+     * @throws DatabaseException if the file cannot be opened
+     */
+    public SqliteSessionStore(String path) throws DatabaseException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + path);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+                stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
+                stmt.execute("CREATE TABLE IF NOT EXISTS sessions (" +
+                    "session_key TEXT PRIMARY KEY," +
+                    "user_id TEXT NOT NULL," +
+                    "role INTEGER NOT NULL," +
+                    "created_at INTEGER NOT NULL," +
+                    "last_access_at INTEGER NOT NULL" +
+                    ")");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_sessions_last_access ON sessions(last_access_at)");
+            }
+            connection.setAutoCommit(false);
+            logger.info("Session store opened: " + path);
+
+        } catch (ClassNotFoundException e) {
+            throw new DatabaseException("Database driver not found", e);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to open session store", "open session store", e);
+        }
+    }
+
+    @Override
+    public synchronized SessionRecord load(String sessionKey) throws DatabaseException {
+        String sql = "SELECT session_key, user_id, role, created_at, last_access_at FROM sessions WHERE session_key = ?";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, sessionKey);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new SessionRecord(
+                    rs.getString("session_key"),
+                    rs.getString("user_id"),
+                    rs.getInt("role"),
+                    rs.getLong("created_at"),
+                    rs.getLong("last_access_at"));
+            } finally {
+                // End the read transaction so this connection does not pin an old WAL snapshot
+                connection.commit();
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to load session", "load session", e);
+        }
+    }
+
+    @Override
+    public synchronized void insertAll(Collection<SessionRecord> records) throws DatabaseException {
+        if (records.isEmpty()) {
+            return;
+        }
+        // A retried flush may insert a record that already landed; keep the stored one
+        String sql = "INSERT INTO sessions (session_key, user_id, role, created_at, last_access_at) " +
+                     "VALUES (?, ?, ?, ?, ?) ON CONFLICT(session_key) DO NOTHING";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (SessionRecord record : records) {
+                stmt.setString(1, record.getSessionKey());
+                stmt.setString(2, record.getUserId());
+                stmt.setInt(3, record.getRoleOrdinal());
+                stmt.setLong(4, record.getCreatedAt());
+                stmt.setLong(5, record.getLastAccessAt());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            connection.commit();
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to save sessions", "save sessions", e);
+        }
+    }
+
+    @Override
+    public synchronized Set<String> touchAll(Collection<SessionRecord> records) throws DatabaseException {
+        Set<String> missing = new HashSet<>();
+        if (records.isEmpty()) {
+            return missing;
+        }
+        // Concurrent writers only ever move last_access_at forward
+        String sql = "UPDATE sessions SET last_access_at = MAX(last_access_at, ?) WHERE session_key = ?";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            List<String> keys = new ArrayList<>(records.size());
+            for (SessionRecord record : records) {
+                stmt.setLong(1, record.getLastAccessAt());
+                stmt.setString(2, record.getSessionKey());
+                stmt.addBatch();
+                keys.add(record.getSessionKey());
+            }
+            int[] counts = stmt.executeBatch();
+            connection.commit();
+
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(keys.get(i));
+                }
+            }
+            return missing;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to touch sessions", "touch sessions", e);
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> sessionKeys) throws DatabaseException {
+        if (sessionKeys.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM sessions WHERE session_key = ?")) {
+            for (String sessionKey : sessionKeys) {
+                stmt.setString(1, sessionKey);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            connection.commit();
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to delete sessions", "delete sessions", e);
+        }
+    }
+
+    @Override
+    public synchronized int deleteExpired(long idleBefore, long createdBefore) throws DatabaseException {
+        String sql = "DELETE FROM sessions WHERE last_access_at < ? OR created_at < ?";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, idleBefore);
+            stmt.setLong(2, createdBefore);
+            int rows = stmt.executeUpdate();
+            connection.commit();
+            return rows;
+
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new DatabaseException("Failed to delete expired sessions", "delete expired sessions", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error closing session store", e);
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            logger.log(Level.SEVERE, "Failed to rollback session store transaction", rollbackEx);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.communityhub.util;
+
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Wraps a JDBC connection so every statement a DAO executes is timed into MetricsRegistry
+ *
+ * DESIGN DECISION: DAOs keep writing plain JDBC against their connection field; the DAO
+ * constructor wraps that field once. Statements prepared through the wrapper record each
+ * execute call into a dao_statement_duration_seconds histogram labelled with the DAO and
+ * the statement kind (select, insert, update, delete, other). The histograms are looked up
+ * when the wrapper is created and the kind is classified when the statement is prepared,
+ * so execution itself only reads the clock and records.
+ *
+ * This is the only JDBC wrapper: when SQL profiling is enabled the same statement proxy also
+ * feeds SqlProfiler (per-SQL statistics, N+1 detection, SqlCapture): DBConnection's profiling
+ * wrapper is replaced here by one that does both, rather than wrapped again, so a statement
+ * call passes through one proxy. With profiling off, parameters and result sets pass straight through.
+ *
+ * When the current thread is handling a traced request, each execution is also added to the
+ * RequestTrace as a span carrying the DAO name and the SQL. A DaoQueryEvent is only created
+ * while a Flight Recorder recording has the event enabled.
+ *
+ * The remaining per-call cost is the reflective Proxy dispatch itself, which allocates the
+ * argument array and boxes primitive arguments of every JDBC call.
+ *
+ * Every other method, including commit and rollback, passes straight through.
+ */
+public final class TimedConnection {
+
+    private static final String[] KINDS = {"select", "insert", "update", "delete", "other"};
+    private static final int OTHER = KINDS.length - 1;
+    private static final EventType DAO_QUERY_EVENT = EventType.getEventType(DaoQueryEvent.class);
+
+    private TimedConnection() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Wraps a connection for a DAO
+     * @param connection Underlying connection, or a connection returned by another wrap call
+     * @param daoName Label value identifying the DAO
+     * @return Connection whose statements are timed, and profiled if the given connection was
+     */
+    public static Connection wrap(Connection connection, String daoName) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        LatencyHistogram[] histograms = new LatencyHistogram[KINDS.length];
+        for (int i = 0; i < KINDS.length; i++) {
+            histograms[i] = registry.histogram("dao_statement_duration_seconds",
+                "Time spent executing DAO statements", "dao", daoName, "kind", KINDS[i]);
+        }
+        MetricsRegistry.Counter errors = registry.counter("dao_statement_errors_total",
+            "DAO statements that threw an exception", "dao", daoName);
+        ConnectionHandler wrapped = handlerOf(connection);
+        if (wrapped != null) {
+            return newConnection(wrapped.target, daoName, histograms, errors, wrapped.profiler);
+        }
+        return newConnection(connection, daoName, histograms, errors, null);
+    }
+
+    /**
+     * Wraps a connection for SQL profiling only, without DAO timing
+     * Used by SqlProfiler.wrap for statements issued outside DAOs
+     */
+    static Connection wrapForProfiling(Connection connection, SqlProfiler profiler) {
+        ConnectionHandler wrapped = handlerOf(connection);
+        return newConnection(wrapped != null ? wrapped.target : connection, null, null, null, profiler);
+    }
+
+    /**
+     * Classifies SQL by its leading keyword without allocating
+     */
+    static int classify(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        for (int i = 0; i < OTHER; i++) {
+            if (sql.regionMatches(true, start, KINDS[i], 0, KINDS[i].length())) {
+                return i;
+            }
+        }
+        return OTHER;
+    }
+
+    private static Connection newConnection(Connection target, String daoName, LatencyHistogram[] histograms,
+                                            MetricsRegistry.Counter errors, SqlProfiler profiler) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(target, daoName, histograms, errors, profiler));
+    }
+
+    /**
+     * Gets the handler of a connection returned by a wrap call, so wrappers never stack
+     */
+    private static ConnectionHandler handlerOf(Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(connection);
+            if (handler instanceof ConnectionHandler) {
+                return (ConnectionHandler) handler;
+            }
+        }
+        return null;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final String daoName;
+        private final LatencyHistogram[] histograms;
+        private final MetricsRegistry.Counter errors;
+        private final SqlProfiler profiler;
+
+        private ConnectionHandler(Connection target, String daoName, LatencyHistogram[] histograms,
+                                  MetricsRegistry.Counter errors, SqlProfiler profiler) {
+            this.target = target;
+            this.daoName = daoName;
+            this.histograms = histograms;
+            this.errors = errors;
+            this.profiler = profiler;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedConnection.invoke(target, method, args);
+            String name = method.getName();
+
+            if (result instanceof CallableStatement) {
+                return wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement && "prepareStatement".equals(name)) {
+                return wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof Statement && "createStatement".equals(name)) {
+                return wrapStatement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {type},
+                new StatementHandler(statement, sql, this));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final int preparedKind;
+        private final String daoName;
+        private final LatencyHistogram[] histograms;
+        private final MetricsRegistry.Counter errors;
+        private final SqlProfiler profiler;
+        private final SqlStatistics preparedStats;
+        private Object[] parameters;
+
+        private StatementHandler(Statement target, String preparedSql, ConnectionHandler connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.preparedKind = preparedSql != null ? classify(preparedSql) : -1;
+            this.daoName = connection.daoName;
+            this.histograms = connection.histograms;
+            this.errors = connection.errors;
+            this.profiler = connection.profiler;
+            this.preparedStats = profiler != null && preparedSql != null ? profiler.statisticsForSql(preparedSql) : null;
+            this.parameters = profiler != null ? new Object[8] : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (profiler != null) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    rememberParameter((Integer) args[0], args[1]);
+                } else if ("clearParameters".equals(name)) {
+                    Arrays.fill(parameters, null);
+                } else if ("getResultSet".equals(name) && preparedStats != null) {
+                    Object result = TimedConnection.invoke(target, method, args);
+                    return result instanceof ResultSet ? SqlProfiler.wrapResultSet((ResultSet) result, preparedStats) : result;
+                }
+            }
+            if (!name.startsWith("execute")) {
+                return TimedConnection.invoke(target, method, args);
+            }
+
+            // Plain statements carry their SQL, literals included, in the execute call
+            String sql = preparedSql != null ? preparedSql
+                : (args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null);
+            int kind = preparedKind >= 0 ? preparedKind : classify(sql);
+            SqlStatistics stats = null;
+            int parameterHash = 0;
+            if (profiler != null) {
+                stats = preparedStats != null ? preparedStats : profiler.statisticsForSql(sql);
+                parameterHash = preparedSql != null ? Arrays.hashCode(parameters) : (sql != null ? sql.hashCode() : 0);
+            }
+
+            DaoQueryEvent event = null;
+            if (daoName != null && DAO_QUERY_EVENT.isEnabled()) {
+                event = new DaoQueryEvent();
+                event.begin();
+            }
+            long start = System.nanoTime();
+            boolean succeeded = false;
+            Object result;
+            try {
+                result = TimedConnection.invoke(target, method, args);
+                succeeded = true;
+            } catch (Throwable t) {
+                if (errors != null) {
+                    errors.increment();
+                }
+                throw t;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (event != null) {
+                    event.complete(daoName, KINDS[kind], sql, succeeded);
+                }
+                if (daoName != null) {
+                    histograms[kind].recordNanos(elapsed);
+                    RequestTrace trace = RequestContext.getTrace();
+                    if (trace != null) {
+                        trace.record(daoName, sql != null ? sql : name, start, elapsed);
+                    }
+                }
+                if (profiler != null) {
+                    profiler.onExecuted(stats, parameterHash, elapsed);
+                }
+            }
+            return profiler != null && result instanceof ResultSet ? SqlProfiler.wrapResultSet((ResultSet) result, stats) : result;
+        }
+
+        private void rememberParameter(int index, Object value) {
+            if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            if (index >= 0) {
+                parameters[index] = value;
+            }
+        }
+    }
+}
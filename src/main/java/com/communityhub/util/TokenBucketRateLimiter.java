@@ -0,0 +1,117 @@
+package com.communityhub.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token-bucket rate limiter
+ *
+ * DESIGN DECISION: Each bucket is a single AtomicLong holding its "theoretical arrival
+ * time" (the GCRA formulation of a token bucket). A check is one read and one CAS on a
+ * primitive - no locks and no object allocation once the key's bucket exists.
+ *
+ * WHY: A fixed "one per interval" rule drops legitimate bursts (e.g. an assignment and a
+ * status change a second apart). A bucket of capacity N allows N back-to-back events and
+ * then refills at a steady rate.
+ *
+ * Keys idle long enough for their bucket to be full again carry no state worth keeping;
+ * evictIdle() removes them so the map does not grow with every key ever seen.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final long emissionIntervalNanos; // Time to refill one token
+    private final long burstToleranceNanos;   // How far ahead of "now" the bucket may be drawn
+
+    /**
+     * Creates a limiter
+     * @param capacity Maximum number of tokens (burst size), at least 1
+     * @param refillTokens Tokens added per refill period, at least 1
+     * @param refillPeriod Refill period length
+     * @param unit Unit of refillPeriod
+     */
+    public TokenBucketRateLimiter(int capacity, int refillTokens, long refillPeriod, TimeUnit unit) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriod < 1) {
+            throw new IllegalArgumentException("Capacity, refill tokens and refill period must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, unit.toNanos(refillPeriod) / refillTokens);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    /**
+     * Attempts to take one token for the key
+     * @param key Bucket key (e.g. user ID)
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquireOrDelay(key, TimeUnit.MILLISECONDS) == 0;
+    }
+
+    /**
+     * Attempts to take one token for the key
+     * @param key Bucket key (e.g. user ID)
+     * @param unit Unit of the returned delay
+     * @return 0 if a token was taken, otherwise the time until one becomes available (at least 1)
+     */
+    public long tryAcquireOrDelay(String key, TimeUnit unit) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            // A fresh or long-idle bucket starts full
+            long base = (tat == Long.MIN_VALUE || tat - now < 0) ? now : tat;
+            long earliest = base - burstToleranceNanos;
+
+            if (earliest - now > 0) {
+                return Math.max(1, unit.convert(earliest - now, TimeUnit.NANOSECONDS));
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have been idle for at least the given time and are full again
+     * @param idleTime Minimum idle time
+     * @param unit Unit of idleTime
+     * @return Number of buckets removed
+     */
+    public int evictIdle(long idleTime, TimeUnit unit) {
+        long cutoff = System.nanoTime() - unit.toNanos(idleTime);
+        int removed = 0;
+
+        for (ConcurrentMap.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            long tat = entry.getValue().get();
+            // tat is when the bucket is full again; remove only if that happened before the cutoff.
+            // An untouched bucket is full by definition. remove(key, value) leaves a bucket alone
+            // if it was replaced concurrently.
+            boolean idle = tat == Long.MIN_VALUE || tat - cutoff < 0;
+            if (idle && buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of tracked keys
+     * @return Bucket count
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Gets the bucket capacity
+     * @return Maximum burst size
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
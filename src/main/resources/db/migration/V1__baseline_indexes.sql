@@ -0,0 +1,32 @@
+-- Single-column and lookup indexes from sql/schema_sqlite.sql that databases created by
+-- DBConnection.initializeDatabase never received.
+-- requests(requester_id), requests(volunteer_id) and requests(status) are not created here:
+-- they are the leading columns of the composite indexes added in V2. Nor is feedback(user_id),
+-- the leading column of idx_feedback_user_created in V3.
+
+CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
+CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+CREATE INDEX IF NOT EXISTS idx_users_role ON users(role);
+CREATE INDEX IF NOT EXISTS idx_users_role_user_id ON users(role, user_id);
+
+CREATE INDEX IF NOT EXISTS idx_resources_category ON resources(category);
+CREATE INDEX IF NOT EXISTS idx_resources_name ON resources(name);
+CREATE INDEX IF NOT EXISTS idx_resources_created_by ON resources(created_by);
+
+CREATE INDEX IF NOT EXISTS idx_requests_resource ON requests(resource_id);
+CREATE INDEX IF NOT EXISTS idx_requests_urgency ON requests(urgency_level);
+CREATE INDEX IF NOT EXISTS idx_requests_created_at ON requests(created_at);
+CREATE INDEX IF NOT EXISTS idx_requests_status_updated_at ON requests(status, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_feedback_request ON feedback(request_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_type ON feedback(feedback_type);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next_attempt ON notification_outbox(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_user_status ON notification_outbox(user_id, status);
+CREATE INDEX IF NOT EXISTS idx_scheduled_status_fire_at ON scheduled_notifications(status, fire_at, schedule_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_archive_requester ON requests_archive(requester_id);
+CREATE INDEX IF NOT EXISTS idx_requests_archive_volunteer ON requests_archive(volunteer_id);
+CREATE INDEX IF NOT EXISTS idx_requests_archive_archived_at ON requests_archive(archived_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_archive_request ON feedback_archive(request_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_archive_user ON feedback_archive(user_id);
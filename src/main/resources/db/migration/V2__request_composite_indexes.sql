@@ -0,0 +1,13 @@
+-- Composite indexes for the hot request queries:
+--   volunteer dashboard   WHERE volunteer_id = ? [AND status = ?]
+--   requester dashboard   WHERE requester_id = ? [AND status = ?]
+--   status filters        WHERE status = ? [AND urgency_level = ?] [ORDER BY created_at]
+CREATE INDEX IF NOT EXISTS idx_requests_volunteer_status ON requests(volunteer_id, status);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_status ON requests(requester_id, status);
+CREATE INDEX IF NOT EXISTS idx_requests_status_urgency_created ON requests(status, urgency_level, created_at);
+
+-- The single-column indexes are prefixes of the composites above and only cost writes.
+-- They exist in databases built from the old sql/schema_sqlite.sql.
+DROP INDEX IF EXISTS idx_requests_requester;
+DROP INDEX IF EXISTS idx_requests_volunteer;
+DROP INDEX IF EXISTS idx_requests_status;
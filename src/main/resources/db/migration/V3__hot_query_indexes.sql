@@ -0,0 +1,14 @@
+-- Indexes for hot queries that still read whole tables or sorted every match
+-- (found by the query plan check, see src/test/resources/query-plans.txt):
+--   admin activity        resources ORDER BY created_at DESC LIMIT ?
+--   volunteer activity    requests WHERE volunteer_id = ? ORDER BY updated_at DESC LIMIT ?
+--   requester activity    requests WHERE requester_id = ? ORDER BY updated_at DESC LIMIT ?
+--                         feedback WHERE user_id = ? ORDER BY created_at DESC LIMIT ?
+--   recent feedback       feedback WHERE created_at >= ?
+--   revocation cleanup    auth_token_revocations WHERE expires_at <= ?
+CREATE INDEX IF NOT EXISTS idx_resources_created_at ON resources(created_at);
+CREATE INDEX IF NOT EXISTS idx_requests_volunteer_updated ON requests(volunteer_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_updated ON requests(requester_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_user_created ON feedback(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_created_at ON feedback(created_at);
+CREATE INDEX IF NOT EXISTS idx_token_revocations_expires_at ON auth_token_revocations(expires_at);
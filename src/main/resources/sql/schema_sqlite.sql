@@ -2,6 +2,11 @@
 -- This schema is fully compatible with SQLite and matches the Java application
 
 -- Drop existing tables (in correct order to handle foreign keys)
+DROP TABLE IF EXISTS feedback_archive;
+DROP TABLE IF EXISTS requests_archive;
+DROP TABLE IF EXISTS auth_token_revocations;
+DROP TABLE IF EXISTS scheduled_notifications;
+DROP TABLE IF EXISTS notification_outbox;
 DROP TABLE IF EXISTS feedback;
 DROP TABLE IF EXISTS requests;
 DROP TABLE IF EXISTS resources;
@@ -62,26 +67,109 @@ CREATE TABLE IF NOT EXISTS feedback (
     FOREIGN KEY (request_id) REFERENCES requests(request_id)
 );
 
+-- Create notification outbox table (written in the same transaction as request changes)
+-- next_attempt_at holds epoch millis so due rows can be found with a range scan
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    outbox_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id TEXT NOT NULL,
+    title TEXT NOT NULL,
+    message TEXT,
+    priority INTEGER DEFAULT 3,
+    reference_id TEXT,
+    status TEXT DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'DELIVERED', 'FAILED')),
+    attempts INTEGER DEFAULT 0,
+    next_attempt_at INTEGER NOT NULL,
+    last_error TEXT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    delivered_at DATETIME
+);
+
+-- Create scheduled notifications table (one-shot and recurring reminders)
+-- fire_at holds epoch millis of the next firing; period_ms is 0 for one-shot schedules
+CREATE TABLE IF NOT EXISTS scheduled_notifications (
+    schedule_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id TEXT NOT NULL,
+    title TEXT NOT NULL,
+    message TEXT,
+    priority INTEGER DEFAULT 3,
+    fire_at INTEGER NOT NULL,
+    period_ms INTEGER DEFAULT 0,
+    status TEXT DEFAULT 'SCHEDULED' CHECK (status IN ('SCHEDULED', 'FIRED', 'CANCELLED')),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create auth token revocations table (stateless auth mode)
+-- token_id NULL revokes every token of the user issued before revoked_at; times are epoch millis
+CREATE TABLE IF NOT EXISTS auth_token_revocations (
+    revocation_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    token_id TEXT,
+    user_id TEXT NOT NULL,
+    revoked_at INTEGER NOT NULL,
+    expires_at INTEGER NOT NULL
+);
+
+-- Cold storage for closed requests and their feedback, filled by RequestArchiver
+-- No foreign keys: archived rows must outlive the users and resources they mention
+CREATE TABLE IF NOT EXISTS requests_archive (
+    request_id TEXT PRIMARY KEY,
+    requester_id TEXT NOT NULL,
+    resource_id TEXT NOT NULL,
+    volunteer_id TEXT,
+    status TEXT,
+    description TEXT,
+    urgency_level TEXT,
+    created_at DATETIME,
+    updated_at DATETIME,
+    archived_at INTEGER NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS feedback_archive (
+    feedback_id TEXT PRIMARY KEY,
+    user_id TEXT NOT NULL,
+    request_id TEXT,
+    rating INTEGER,
+    comments TEXT,
+    feedback_type TEXT,
+    created_at DATETIME,
+    archived_at INTEGER NOT NULL
+);
+
 -- Create indexes for performance optimization
+-- The application creates these through the migrations in db/migration (see SchemaMigrator)
 CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_users_role ON users(role);
+CREATE INDEX IF NOT EXISTS idx_users_role_user_id ON users(role, user_id);
 
 CREATE INDEX IF NOT EXISTS idx_resources_category ON resources(category);
 CREATE INDEX IF NOT EXISTS idx_resources_name ON resources(name);
 CREATE INDEX IF NOT EXISTS idx_resources_created_by ON resources(created_by);
+CREATE INDEX IF NOT EXISTS idx_resources_created_at ON resources(created_at);
 
-CREATE INDEX IF NOT EXISTS idx_requests_requester ON requests(requester_id);
-CREATE INDEX IF NOT EXISTS idx_requests_volunteer ON requests(volunteer_id);
+CREATE INDEX IF NOT EXISTS idx_requests_volunteer_updated ON requests(volunteer_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_updated ON requests(requester_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_requests_status_urgency_created ON requests(status, urgency_level, created_at);
 CREATE INDEX IF NOT EXISTS idx_requests_resource ON requests(resource_id);
-CREATE INDEX IF NOT EXISTS idx_requests_status ON requests(status);
 CREATE INDEX IF NOT EXISTS idx_requests_urgency ON requests(urgency_level);
 CREATE INDEX IF NOT EXISTS idx_requests_created_at ON requests(created_at);
+CREATE INDEX IF NOT EXISTS idx_requests_status_updated_at ON requests(status, updated_at);
 
-CREATE INDEX IF NOT EXISTS idx_feedback_user ON feedback(user_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_user_created ON feedback(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_created_at ON feedback(created_at);
 CREATE INDEX IF NOT EXISTS idx_feedback_request ON feedback(request_id);
 CREATE INDEX IF NOT EXISTS idx_feedback_type ON feedback(feedback_type);
 
+CREATE INDEX IF NOT EXISTS idx_requests_archive_requester ON requests_archive(requester_id);
+CREATE INDEX IF NOT EXISTS idx_requests_archive_volunteer ON requests_archive(volunteer_id);
+CREATE INDEX IF NOT EXISTS idx_requests_archive_archived_at ON requests_archive(archived_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_archive_request ON feedback_archive(request_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_archive_user ON feedback_archive(user_id);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next_attempt ON notification_outbox(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_user_status ON notification_outbox(user_id, status);
+CREATE INDEX IF NOT EXISTS idx_scheduled_status_fire_at ON scheduled_notifications(status, fire_at, schedule_id);
+CREATE INDEX IF NOT EXISTS idx_token_revocations_expires_at ON auth_token_revocations(expires_at);
+
 -- Insert sample data for testing
 INSERT OR IGNORE INTO users (user_id, username, email, password_hash, role) VALUES
 ('admin-001', 'admin', 'admin@communityhub.org', 'salt:hash', 'ADMIN'),
@@ -236,7 +236,7 @@
         <div class="sidebar-footer">
             <div class="sidebar-footer-text">Current Role</div>
             <div class="sidebar-footer-content">
-                <span class="sidebar-footer-role">${sessionScope.user.role}</span>
+                <span class="sidebar-footer-role">${requestScope.user.role}</span>
                 <a href="${pageContext.request.contextPath}/logout" class="sidebar-logout-btn">🚪 Logout</a>
             </div>
         </div>
@@ -37,7 +37,7 @@
                     <span class="sidebar-menu-label">Requests</span>
                 </a>
             </li>
-            <c:if test="${sessionScope.user.role == 'ADMIN'}">
+            <c:if test="${requestScope.user.role == 'ADMIN'}">
                 <li class="sidebar-menu-item">
                     <a href="${pageContext.request.contextPath}/admin" class="sidebar-menu-link" title="Admin Panel">
                         <span class="sidebar-menu-icon">⚙️</span>
@@ -50,7 +50,7 @@
         <div class="sidebar-footer">
             <div class="sidebar-footer-text">Current Role</div>
             <div class="sidebar-footer-content">
-                <span class="sidebar-footer-role">${sessionScope.user.role}</span>
+                <span class="sidebar-footer-role">${requestScope.user.role}</span>
                 <a href="${pageContext.request.contextPath}/logout" class="sidebar-logout-btn">🚪 Logout</a>
             </div>
         </div>
@@ -102,7 +102,7 @@
             </div>
             
             <!-- VOLUNTEER-SPECIFIC METRICS -->
-            <c:if test="${sessionScope.user.role == 'VOLUNTEER'}">
+            <c:if test="${requestScope.user.role == 'VOLUNTEER'}">
                 <div class="section mb-lg">
                     <div class="section-header">
                         <h2 class="section-title">Your Performance</h2>
@@ -128,7 +128,7 @@
             </c:if>
             
             <!-- REQUESTER-SPECIFIC METRICS -->
-            <c:if test="${sessionScope.user.role == 'REQUESTER'}">
+            <c:if test="${requestScope.user.role == 'REQUESTER'}">
                 <div class="section mb-lg">
                     <div class="section-header">
                         <h2 class="section-title">Your Requests</h2>
@@ -166,19 +166,19 @@
                     <h2 class="section-title">Quick Actions</h2>
                 </div>
                 <div class="quick-actions-grid">
-                    <c:if test="${sessionScope.user.role == 'REQUESTER'}">
+                    <c:if test="${requestScope.user.role == 'REQUESTER'}">
                         <a href="${pageContext.request.contextPath}/requests?action=create" class="action-card action-primary">
                             <span class="action-icon">➕</span>
                             <span class="action-text">Create Request</span>
                         </a>
                     </c:if>
-                    <c:if test="${sessionScope.user.role == 'VOLUNTEER'}">
+                    <c:if test="${requestScope.user.role == 'VOLUNTEER'}">
                         <a href="${pageContext.request.contextPath}/requests" class="action-card action-primary">
                             <span class="action-icon">👀</span>
                             <span class="action-text">View Requests</span>
                         </a>
                     </c:if>
-                    <c:if test="${sessionScope.user.role == 'ADMIN'}">
+                    <c:if test="${requestScope.user.role == 'ADMIN'}">
                         <a href="${pageContext.request.contextPath}/resources?action=create" class="action-card action-primary">
                             <span class="action-icon">➕</span>
                             <span class="action-text">Add Resource</span>
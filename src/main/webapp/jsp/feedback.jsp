@@ -244,10 +244,10 @@
             </a>
             <div class="navbar-menu">
                 <div class="navbar-user">
-                    <div class="navbar-user-avatar" title="User Avatar"><c:out value="${fn:toUpperCase(fn:substring(sessionScope.user.username, 0, 1))}"/></div>
+                    <div class="navbar-user-avatar" title="User Avatar"><c:out value="${fn:toUpperCase(fn:substring(requestScope.user.username, 0, 1))}"/></div>
                     <div class="navbar-user-info">
-                        <span class="navbar-user-name">${sessionScope.user.username}</span>
-                        <span class="navbar-user-role">${sessionScope.user.role}</span>
+                        <span class="navbar-user-name">${requestScope.user.username}</span>
+                        <span class="navbar-user-role">${requestScope.user.role}</span>
                     </div>
                     <a href="${pageContext.request.contextPath}/logout" class="navbar-logout-btn">Logout</a>
                 </div>
@@ -260,7 +260,7 @@
             <li><a href="${pageContext.request.contextPath}/dashboard">Dashboard</a></li>
             <li><a href="${pageContext.request.contextPath}/resources">Resources</a></li>
             <li><a href="${pageContext.request.contextPath}/requests">Requests</a></li>
-            <c:if test="${sessionScope.user.role == 'ADMIN'}">
+            <c:if test="${requestScope.user.role == 'ADMIN'}">
                 <li><a href="${pageContext.request.contextPath}/admin">Admin Panel</a></li>
             </c:if>
         </ul>
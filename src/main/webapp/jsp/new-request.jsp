@@ -19,10 +19,10 @@
             </a>
             <div class="navbar-menu">
                 <div class="navbar-user">
-                    <div class="navbar-user-avatar" title="User Avatar"><c:out value="${fn:toUpperCase(fn:substring(sessionScope.user.username, 0, 1))}"/></div>
+                    <div class="navbar-user-avatar" title="User Avatar"><c:out value="${fn:toUpperCase(fn:substring(requestScope.user.username, 0, 1))}"/></div>
                     <div class="navbar-user-info">
-                        <span class="navbar-user-name">${sessionScope.user.username}</span>
-                        <span class="navbar-user-role">${sessionScope.user.role}</span>
+                        <span class="navbar-user-name">${requestScope.user.username}</span>
+                        <span class="navbar-user-role">${requestScope.user.role}</span>
                     </div>
                     <a href="${pageContext.request.contextPath}/logout" class="navbar-logout-btn">Logout</a>
                 </div>
@@ -56,7 +56,7 @@
                     <span class="sidebar-menu-label">Requests</span>
                 </a>
             </li>
-            <c:if test="${sessionScope.user.role == 'ADMIN'}">
+            <c:if test="${requestScope.user.role == 'ADMIN'}">
                 <li class="sidebar-menu-item">
                     <a href="${pageContext.request.contextPath}/admin" class="sidebar-menu-link" title="Admin Panel">
                         <span class="sidebar-menu-icon">⚙️</span>
@@ -67,7 +67,7 @@
         </ul>
         
         <div class="sidebar-footer">
-            <span class="sidebar-footer-role">${sessionScope.user.role}</span>
+            <span class="sidebar-footer-role">${requestScope.user.role}</span>
         </div>
     </aside>
     
@@ -359,7 +359,7 @@
                     <span class="sidebar-menu-label">Requests</span>
                 </a>
             </li>
-            <c:if test="${sessionScope.user.role == 'ADMIN'}">
+            <c:if test="${requestScope.user.role == 'ADMIN'}">
                 <li class="sidebar-menu-item">
                     <a href="${pageContext.request.contextPath}/admin" class="sidebar-menu-link" title="Admin Panel">
                         <span class="sidebar-menu-icon">⚙️</span>
@@ -372,7 +372,7 @@
         <div class="sidebar-footer">
             <div class="sidebar-footer-text">Current Role</div>
             <div class="sidebar-footer-content">
-                <span class="sidebar-footer-role">${sessionScope.user.role}</span>
+                <span class="sidebar-footer-role">${requestScope.user.role}</span>
                 <a href="${pageContext.request.contextPath}/logout" class="sidebar-logout-btn">🚪 Logout</a>
             </div>
         </div>
@@ -428,6 +428,15 @@
                     </select>
                     
                     <button class="filter-clear-btn" onclick="clearFilters()">Clear Filters</button>
+                    
+                    <c:choose>
+                        <c:when test="${param.archived == 'true'}">
+                            <a href="${pageContext.request.contextPath}/requests" class="filter-clear-btn">Hide Archived</a>
+                        </c:when>
+                        <c:otherwise>
+                            <a href="${pageContext.request.contextPath}/requests?archived=true" class="filter-clear-btn">Include Archived</a>
+                        </c:otherwise>
+                    </c:choose>
                 </div>
             </div>
         
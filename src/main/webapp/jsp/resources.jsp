@@ -34,7 +34,7 @@
                     <span class="sidebar-menu-label">Requests</span>
                 </a>
             </li>
-            <c:if test="${sessionScope.user.role == 'ADMIN'}">
+            <c:if test="${requestScope.user.role == 'ADMIN'}">
                 <li class="sidebar-menu-item">
                     <a href="${pageContext.request.contextPath}/admin" class="sidebar-menu-link" title="Admin Panel">
                         <span class="sidebar-menu-icon">⚙️</span>
@@ -46,7 +46,7 @@
         <div class="sidebar-footer">
             <div class="sidebar-footer-text">Current Role</div>
             <div class="sidebar-footer-content">
-                <span class="sidebar-footer-role">${sessionScope.user.role}</span>
+                <span class="sidebar-footer-role">${requestScope.user.role}</span>
                 <a href="${pageContext.request.contextPath}/logout" class="sidebar-logout-btn">🚪 Logout</a>
             </div>
         </div>
@@ -68,7 +68,7 @@
                         <input type="text" id="searchInput" class="search-input" placeholder="Search resources...">
                         <div id="searchResults" class="search-results"></div>
                     </div>
-                    <c:if test="${sessionScope.user.role == 'ADMIN'}">
+                    <c:if test="${requestScope.user.role == 'ADMIN'}">
                         <a href="${pageContext.request.contextPath}/resources?action=create" class="btn btn-primary btn-with-icon">
                             <span class="btn-icon">➕</span>
                             <span class="btn-label">Add Resource</span>
@@ -94,7 +94,7 @@
                 <div class="alert alert-success"><span>${success}</span></div>
             </c:if>
             
-            <c:if test="${param.action == 'create' && sessionScope.user.role == 'ADMIN'}">
+            <c:if test="${param.action == 'create' && requestScope.user.role == 'ADMIN'}">
                 <div class="section mb-lg">
                     <div class="section-header">
                         <h2 class="section-title">Add New Resource</h2>
@@ -139,7 +139,7 @@
                 </div>
             </c:if>
             
-            <c:if test="${param.action == 'edit' && sessionScope.user.role == 'ADMIN' && not empty param.id}">
+            <c:if test="${param.action == 'edit' && requestScope.user.role == 'ADMIN' && not empty param.id}">
                 <div class="section mb-lg">
                     <div class="section-header">
                         <h2 class="section-title">Edit Resource</h2>
@@ -206,10 +206,10 @@
                             <div class="empty-state-icon">📦</div>
                             <div class="empty-state-title">No Resources Found</div>
                             <div class="empty-state-text">
-                                <c:if test="${sessionScope.user.role == 'ADMIN'}">Start by adding your first resource to help the community.</c:if>
-                                <c:if test="${sessionScope.user.role != 'ADMIN'}">No resources are currently available. Check back soon!</c:if>
+                                <c:if test="${requestScope.user.role == 'ADMIN'}">Start by adding your first resource to help the community.</c:if>
+                                <c:if test="${requestScope.user.role != 'ADMIN'}">No resources are currently available. Check back soon!</c:if>
                             </div>
-                            <c:if test="${sessionScope.user.role == 'ADMIN'}">
+                            <c:if test="${requestScope.user.role == 'ADMIN'}">
                                 <a href="${pageContext.request.contextPath}/resources?action=create" class="btn btn-primary mt-lg">Add First Resource</a>
                             </c:if>
                         </div>
@@ -247,13 +247,13 @@
                                     </div>
                                 </div>
                                 <div class="resource-card-actions">
-                                    <c:if test="${sessionScope.user.role == 'REQUESTER'}">
+                                    <c:if test="${requestScope.user.role == 'REQUESTER'}">
                                         <a href="${pageContext.request.contextPath}/requests?action=create&resourceId=${resource.resourceId}" class="action-btn action-primary">
                                             <span class="action-icon">📝</span>
                                             <span class="action-label">Request</span>
                                         </a>
                                     </c:if>
-                                    <c:if test="${sessionScope.user.role == 'ADMIN'}">
+                                    <c:if test="${requestScope.user.role == 'ADMIN'}">
                                         <a href="${pageContext.request.contextPath}/resources?action=edit&id=${resource.resourceId}" class="action-btn action-edit">
                                             <span class="action-icon">✏️</span>
                                             <span class="action-label">Edit</span>
@@ -0,0 +1,286 @@
+package com.communityhub.queryplan;
+
+import com.communityhub.dao.ActivityDAO;
+import com.communityhub.dao.FeedbackDAO;
+import com.communityhub.dao.NotificationOutboxDAO;
+import com.communityhub.dao.RequestArchiveDAO;
+import com.communityhub.dao.RequestDAO;
+import com.communityhub.dao.ResourceDAO;
+import com.communityhub.dao.ScheduledNotificationDAO;
+import com.communityhub.dao.TokenRevocationDAO;
+import com.communityhub.dao.UserDAO;
+import com.communityhub.model.Feedback;
+import com.communityhub.model.FeedbackType;
+import com.communityhub.model.OutboxNotification;
+import com.communityhub.model.Request;
+import com.communityhub.model.RequestStatus;
+import com.communityhub.model.Requester;
+import com.communityhub.model.Resource;
+import com.communityhub.model.ScheduledNotification;
+import com.communityhub.model.TokenRevocation;
+import com.communityhub.model.UrgencyLevel;
+import com.communityhub.model.User;
+import com.communityhub.model.UserRole;
+import com.communityhub.util.SqlCapture;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Calls every public DAO method once and records the SQL each call issues
+ *
+ * Steps are marked hot or cold. Hot steps serve pages, background jobs and point writes and
+ * must only read through indexes. Cold steps read whole tables on purpose (findAll, counts,
+ * averages, unselective filters such as findByRating) and are recorded for review without
+ * being held to that rule. A new DAO method needs a step here, or its SQL is never checked.
+ */
+final class PlanWorkload {
+
+    /**
+     * One DAO call
+     */
+    interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * SQL captured for one step, in execution order
+     */
+    static final class StepResult {
+        final String label;
+        final boolean hot;
+        final List<String> statements;
+
+        StepResult(String label, boolean hot, List<String> statements) {
+            this.label = label;
+            this.hot = hot;
+            this.statements = statements;
+        }
+    }
+
+    private final List<StepResult> results = new ArrayList<>();
+
+    private String requesterId;
+    private String volunteerId;
+    private String resourceId;
+    private String requestId;
+    private String category;
+
+    /**
+     * Runs every step against the generated dataset
+     * @param sample Connection used to pick existing IDs for the calls
+     * @return Steps in the order they ran
+     */
+    List<StepResult> run(Connection sample) throws Exception {
+        pickSampleRows(sample);
+
+        runActivitySteps();
+        runRequestSteps();
+        runFeedbackSteps();
+        runUserSteps();
+        runResourceSteps();
+        runNotificationSteps();
+        runTokenRevocationSteps();
+        runArchiveSteps();
+
+        return Collections.unmodifiableList(results);
+    }
+
+    private void pickSampleRows(Connection sample) throws SQLException {
+        requesterId = firstValue(sample, "SELECT requester_id FROM requests LIMIT 1");
+        volunteerId = firstValue(sample, "SELECT volunteer_id FROM requests WHERE volunteer_id IS NOT NULL LIMIT 1");
+        resourceId = firstValue(sample, "SELECT resource_id FROM resources LIMIT 1");
+        requestId = firstValue(sample, "SELECT request_id FROM requests LIMIT 1");
+        category = firstValue(sample, "SELECT category FROM resources LIMIT 1");
+    }
+
+    private static String firstValue(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                throw new IllegalStateException("Dataset is empty: " + sql);
+            }
+            return rs.getString(1);
+        }
+    }
+
+    private void runActivitySteps() throws Exception {
+        ActivityDAO activityDAO = new ActivityDAO();
+        hot("ActivityDAO.getRecentActivityForUser(ADMIN)",
+            () -> activityDAO.getRecentActivityForUser("admin", UserRole.ADMIN, 10));
+        hot("ActivityDAO.getRecentActivityForUser(VOLUNTEER)",
+            () -> activityDAO.getRecentActivityForUser(volunteerId, UserRole.VOLUNTEER, 10));
+        hot("ActivityDAO.getRecentActivityForUser(REQUESTER)",
+            () -> activityDAO.getRecentActivityForUser(requesterId, UserRole.REQUESTER, 10));
+    }
+
+    private void runRequestSteps() throws Exception {
+        RequestDAO requestDAO = new RequestDAO();
+        Request request = new Request(requesterId, resourceId, "Query plan check", UrgencyLevel.MEDIUM);
+
+        hot("RequestDAO.create", () -> requestDAO.create(request));
+        hot("RequestDAO.read", () -> requestDAO.read(requestId));
+        hot("RequestDAO.read(archived)", () -> requestDAO.read(requestId, true));
+        hot("RequestDAO.exists", () -> requestDAO.exists(requestId));
+        hot("RequestDAO.findByField(requester_id)", () -> requestDAO.findByField("requester_id", requesterId));
+        hot("RequestDAO.findByField(volunteer_id)", () -> requestDAO.findByField("volunteer_id", volunteerId));
+        hot("RequestDAO.findByField(status)", () -> requestDAO.findByField("status", RequestStatus.PENDING.toString()));
+        hot("RequestDAO.findByField(requester_id, archived)",
+            () -> requestDAO.findByField("requester_id", requesterId, true));
+        hot("RequestDAO.findByField(volunteer_id, archived)",
+            () -> requestDAO.findByField("volunteer_id", volunteerId, true));
+        hot("RequestDAO.update", () -> {
+            request.setVolunteerId(volunteerId);
+            request.setStatus(RequestStatus.ASSIGNED);
+            requestDAO.update(request);
+        });
+        hot("RequestDAO.update(notifications)", () -> {
+            request.setStatus(RequestStatus.IN_PROGRESS);
+            requestDAO.update(request, Collections.singletonList(
+                new OutboxNotification(requesterId, "Request update", "In progress", 1, request.getRequestId())));
+        });
+        hot("RequestDAO.delete", () -> requestDAO.delete(request.getRequestId()));
+        cold("RequestDAO.findAll", requestDAO::findAll);
+        cold("RequestDAO.findAll(archived)", () -> requestDAO.findAll(true));
+        cold("RequestDAO.count", requestDAO::count);
+    }
+
+    private void runFeedbackSteps() throws Exception {
+        FeedbackDAO feedbackDAO = new FeedbackDAO();
+        Feedback feedback = new Feedback(requesterId, "Query plan check", 5);
+        feedback.setRequestId(requestId);
+        feedback.setFeedbackType(FeedbackType.REQUEST_SPECIFIC);
+
+        hot("FeedbackDAO.create", () -> feedbackDAO.create(feedback));
+        hot("FeedbackDAO.read", () -> feedbackDAO.read(feedback.getFeedbackId()));
+        hot("FeedbackDAO.exists", () -> feedbackDAO.exists(feedback.getFeedbackId()));
+        hot("FeedbackDAO.findByUserId", () -> feedbackDAO.findByUserId(requesterId));
+        hot("FeedbackDAO.findByRequestId", () -> feedbackDAO.findByRequestId(requestId));
+        hot("FeedbackDAO.findByUserId(archived)", () -> feedbackDAO.findByUserId(requesterId, true));
+        hot("FeedbackDAO.findByRequestId(archived)", () -> feedbackDAO.findByRequestId(requestId, true));
+        hot("FeedbackDAO.getRecentFeedback", () -> feedbackDAO.getRecentFeedback(7));
+        hot("FeedbackDAO.update", () -> {
+            feedback.setRating(4);
+            feedbackDAO.update(feedback);
+        });
+        hot("FeedbackDAO.delete", () -> feedbackDAO.delete(feedback.getFeedbackId()));
+        cold("FeedbackDAO.findByType", () -> feedbackDAO.findByType(FeedbackType.GENERAL));
+        cold("FeedbackDAO.findByRating", () -> feedbackDAO.findByRating(3));
+        cold("FeedbackDAO.findPositiveFeedback", feedbackDAO::findPositiveFeedback);
+        cold("FeedbackDAO.findNegativeFeedback", feedbackDAO::findNegativeFeedback);
+        cold("FeedbackDAO.getAverageRating", feedbackDAO::getAverageRating);
+        cold("FeedbackDAO.findAll", feedbackDAO::findAll);
+        cold("FeedbackDAO.count", feedbackDAO::count);
+    }
+
+    private void runUserSteps() throws Exception {
+        UserDAO userDAO = new UserDAO();
+        User user = new Requester("queryplan_user", "queryplan@example.com", "x");
+
+        hot("UserDAO.create", () -> userDAO.create(user));
+        hot("UserDAO.read", () -> userDAO.read(user.getUserId()));
+        hot("UserDAO.exists", () -> userDAO.exists(user.getUserId()));
+        hot("UserDAO.findByUsername", () -> userDAO.findByUsername("queryplan_user"));
+        hot("UserDAO.findByEmail", () -> userDAO.findByEmail("queryplan@example.com"));
+        hot("UserDAO.authenticate", () -> userDAO.authenticate("queryplan_user", "x"));
+        hot("UserDAO.findUserIdsByRole", () -> userDAO.findUserIdsByRole(UserRole.VOLUNTEER, "", 100));
+        hot("UserDAO.update", () -> {
+            user.setEmail("queryplan2@example.com");
+            userDAO.update(user);
+        });
+        hot("UserDAO.delete", () -> userDAO.delete(user.getUserId()));
+        cold("UserDAO.findByRole", () -> userDAO.findByRole(UserRole.VOLUNTEER));
+        cold("UserDAO.countByRole", () -> userDAO.countByRole(UserRole.VOLUNTEER));
+        cold("UserDAO.findAll", userDAO::findAll);
+        cold("UserDAO.count", userDAO::count);
+    }
+
+    private void runResourceSteps() throws Exception {
+        ResourceDAO resourceDAO = new ResourceDAO();
+        Resource resource = new Resource("Query plan check", "Scratch row", category, 1,
+                                         "Nowhere", "none", requesterId);
+
+        hot("ResourceDAO.create", () -> resourceDAO.create(resource));
+        hot("ResourceDAO.read", () -> resourceDAO.read(resource.getResourceId()));
+        hot("ResourceDAO.exists", () -> resourceDAO.exists(resource.getResourceId()));
+        hot("ResourceDAO.findByField(category)", () -> resourceDAO.findByField("category", category));
+        hot("ResourceDAO.update", () -> {
+            resource.setName("Query plan check 2");
+            resourceDAO.update(resource);
+        });
+        hot("ResourceDAO.delete", () -> resourceDAO.delete(resource.getResourceId()));
+        cold("ResourceDAO.findAll", resourceDAO::findAll);
+        cold("ResourceDAO.count", resourceDAO::count);
+    }
+
+    private void runNotificationSteps() throws Exception {
+        NotificationOutboxDAO outboxDAO = new NotificationOutboxDAO();
+        List<OutboxNotification> due = new ArrayList<>();
+
+        hot("NotificationOutboxDAO.enqueue", () -> outboxDAO.enqueue(Collections.singletonList(
+            new OutboxNotification(requesterId, "Query plan check", "Scratch row", 1, requestId))));
+        hot("NotificationOutboxDAO.findDueBatch", () -> due.addAll(outboxDAO.findDueBatch(10)));
+        hot("NotificationOutboxDAO.findPendingForUsers",
+            () -> outboxDAO.findPendingForUsers(List.of(requesterId, volunteerId)));
+        hot("NotificationOutboxDAO.reschedule", () -> outboxDAO.reschedule(due, 5));
+        hot("NotificationOutboxDAO.markDelivered", () -> outboxDAO.markDelivered(
+            due.stream().map(OutboxNotification::getOutboxId).collect(Collectors.toList())));
+        hot("NotificationOutboxDAO.countPending", outboxDAO::countPending);
+
+        ScheduledNotificationDAO scheduledDAO = new ScheduledNotificationDAO();
+        long now = System.currentTimeMillis();
+        long[] scheduleIds = new long[2];
+
+        hot("ScheduledNotificationDAO.insert", () -> {
+            scheduleIds[0] = scheduledDAO.insert(new ScheduledNotification(requesterId, "Reminder", "Scratch row", 1, now, 0));
+            scheduleIds[1] = scheduledDAO.insert(new ScheduledNotification(requesterId, "Reminder", "Scratch row", 1, now, 0));
+        });
+        hot("ScheduledNotificationDAO.findPendingBefore", () -> scheduledDAO.findPendingBefore(now + 1, 0, 0, 100));
+        hot("ScheduledNotificationDAO.fire", () -> scheduledDAO.fire(List.of(scheduleIds[0]), now));
+        hot("ScheduledNotificationDAO.cancel", () -> scheduledDAO.cancel(scheduleIds[1]));
+        hot("ScheduledNotificationDAO.countPending", scheduledDAO::countPending);
+    }
+
+    private void runTokenRevocationSteps() throws Exception {
+        TokenRevocationDAO revocationDAO = new TokenRevocationDAO();
+        long now = System.currentTimeMillis();
+
+        hot("TokenRevocationDAO.insert", () -> revocationDAO.insert(
+            new TokenRevocation("queryplan-token", requesterId, now, now + TimeUnit.HOURS.toMillis(1))));
+        hot("TokenRevocationDAO.findAfter", () -> revocationDAO.findAfter(0, now));
+        hot("TokenRevocationDAO.deleteExpired", () -> revocationDAO.deleteExpired(now));
+    }
+
+    private void runArchiveSteps() throws Exception {
+        RequestArchiveDAO archiveDAO = new RequestArchiveDAO();
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(90));
+        hot("RequestArchiveDAO.archiveBatch", () -> archiveDAO.archiveBatch(cutoff, 50));
+    }
+
+    private void hot(String label, Action action) throws Exception {
+        step(label, true, action);
+    }
+
+    private void cold(String label, Action action) throws Exception {
+        step(label, false, action);
+    }
+
+    private void step(String label, boolean hot, Action action) throws Exception {
+        try (SqlCapture capture = SqlCapture.start()) {
+            action.run();
+            Map<String, Integer> executions = capture.getExecutions();
+            if (executions.isEmpty()) {
+                throw new IllegalStateException("No SQL captured for " + label + "; is db.profiling.enabled off?");
+            }
+            results.add(new StepResult(label, hot, new ArrayList<>(executions.keySet())));
+        }
+    }
+}
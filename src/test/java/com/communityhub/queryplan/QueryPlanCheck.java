@@ -0,0 +1,129 @@
+package com.communityhub.queryplan;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.util.DBConnection;
+import com.communityhub.util.DatasetGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Checks that hot DAO queries read through indexes and keeps their plans in a snapshot
+ *
+ * Generates a scratch dataset (DatasetGenerator, then the schema migrations), runs
+ * PlanWorkload so every DAO method issues its SQL, and runs EXPLAIN QUERY PLAN on each
+ * captured statement. The check fails when:
+ * - a hot statement's plan contains a full "SCAN table" rather than a SEARCH or an index scan
+ * - a hot statement with a LIMIT sorts every matching row in a temp B-tree to return the page
+ * - the plans differ from the committed snapshot (src/test/resources/query-plans.txt)
+ *
+ * QueryPlanTest runs the check on a small dataset in every build. The queryplans profile runs
+ * main() on the full-size dataset below:
+ *   mvn -P queryplans verify
+ *   mvn -P queryplans verify -Dqueryplans.args=--update     accept new plans into the snapshot
+ *
+ * Options: --snapshot=path --update --users=N --resources=N --requests=N --feedback=N --seed=N
+ * The dataset options go to DatasetGenerator; plans do not depend on them, only the time taken.
+ */
+public final class QueryPlanCheck {
+
+    static final String DEFAULT_SNAPSHOT = "src/test/resources/query-plans.txt";
+    private static final Logger logger = Logger.getLogger(QueryPlanCheck.class.getName());
+
+    private QueryPlanCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        options.put("users", "2000");
+        options.put("resources", "5000");
+        options.put("requests", "100000");
+        options.put("feedback", "20000");
+        for (String arg : args) {
+            if (arg.isEmpty()) {
+                continue;
+            }
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals),
+                        equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+
+        List<String> problems = check(options);
+        problems.forEach(System.out::println);
+        System.exit(problems.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Generates the dataset, explains the workload's statements and compares them to the snapshot
+     * @param options Dataset options plus snapshot and update (see class comment)
+     * @return Problems found, one message per line; empty when the check passes
+     * @throws Exception if the dataset or the workload cannot be run
+     */
+    static List<String> check(Map<String, String> options) throws Exception {
+        Path snapshotFile = Paths.get(options.getOrDefault("snapshot", DEFAULT_SNAPSHOT));
+        boolean update = Boolean.parseBoolean(options.getOrDefault("update", "false"));
+
+        Path database = Files.createTempFile("community-hub-plans-", ".db");
+        String url = "jdbc:sqlite:" + database.toAbsolutePath();
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("db.url", url);
+        // Statements are collected through SqlCapture, which only sees profiled connections
+        config.setProperty("db.profiling.enabled", "true");
+
+        List<String> problems = new ArrayList<>();
+        try {
+            DBConnection db = DBConnection.getInstance();
+            db.createTables();
+            new DatasetGenerator(options).generate();
+            db.initializeDatabase();
+
+            QueryPlanSnapshot snapshot;
+            try (Connection connection = DriverManager.getConnection(url)) {
+                List<PlanWorkload.StepResult> steps = new PlanWorkload().run(connection);
+                snapshot = QueryPlanSnapshot.explain(steps, connection);
+                logger.info("Explained " + snapshot.size() + " statements from " + steps.size() + " DAO calls");
+            }
+
+            List<String> violations = snapshot.violations();
+            if (!violations.isEmpty()) {
+                problems.add("Hot queries not served by an index:");
+                violations.forEach(line -> problems.add("  " + line));
+            }
+
+            if (update) {
+                snapshot.write(snapshotFile);
+                logger.info("Snapshot written to " + snapshotFile);
+            } else if (!Files.exists(snapshotFile)) {
+                problems.add("No snapshot at " + snapshotFile + "; run with --update to create it");
+            } else {
+                List<String> changes = snapshot.diff(snapshotFile);
+                String committed = new String(Files.readAllBytes(snapshotFile), StandardCharsets.UTF_8).replace("\r\n", "\n");
+                if (!changes.isEmpty() || !committed.equals(snapshot.render())) {
+                    problems.add("Query plans differ from " + snapshotFile + " (review, then rerun with --update):");
+                    changes.forEach(line -> problems.add("  " + line));
+                    if (changes.isEmpty()) {
+                        problems.add("  statements were reordered");
+                    }
+                } else if (violations.isEmpty()) {
+                    logger.info("Query plans match " + snapshotFile);
+                }
+            }
+        } finally {
+            DBConnection.getInstance().closeConnection();
+            Files.deleteIfExists(database);
+        }
+        return problems;
+    }
+}
@@ -0,0 +1,180 @@
+package com.communityhub.queryplan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * EXPLAIN QUERY PLAN output for every captured statement, as a reviewable text snapshot
+ *
+ * Statements are listed in the order the workload first issued them, each with the steps
+ * that issued it and its plan indented by parent. A statement is hot if any hot step
+ * issued it. The snapshot depends only on the SQL and the schema, never on row counts:
+ * the database is not ANALYZEd, just as in production, so the planner works from
+ * indexes alone.
+ */
+final class QueryPlanSnapshot {
+
+    // A full pass over a table or alias; "SCAN t USING [COVERING] INDEX i" walks an index instead
+    private static final Pattern TABLE_SCAN = Pattern.compile("^SCAN (TABLE )?\\S+( AS \\S+)?$");
+
+    // A top-N query that sorts every matching row first; an index in ORDER BY order stops at N
+    private static final String TEMP_SORT = "USE TEMP B-TREE FOR ORDER BY";
+
+    // SqlProfiler.normalize collapses IN lists and VALUES rows; EXPLAIN needs valid SQL back
+    private static final Pattern COLLAPSED_VALUES = Pattern.compile("\\(([^()]+)\\) VALUES \\(\\?\\.\\.\\.\\)(, \\.\\.\\.)?");
+    private static final Pattern COLLAPSED_LIST = Pattern.compile("\\(\\?\\.\\.\\.\\)");
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Explains every statement issued by the workload
+     * @param steps Workload steps in the order they ran
+     * @param connection Connection to the generated database
+     */
+    static QueryPlanSnapshot explain(List<PlanWorkload.StepResult> steps, Connection connection) throws SQLException {
+        QueryPlanSnapshot snapshot = new QueryPlanSnapshot();
+        for (PlanWorkload.StepResult step : steps) {
+            for (String sql : step.statements) {
+                Entry entry = snapshot.entries.get(sql);
+                if (entry == null) {
+                    entry = new Entry(sql, plan(connection, sql));
+                    snapshot.entries.put(sql, entry);
+                }
+                entry.steps.add(step.label);
+                entry.hot |= step.hot;
+            }
+        }
+        return snapshot;
+    }
+
+    private static List<String> plan(Connection connection, String sql) throws SQLException {
+        String explainable = COLLAPSED_LIST.matcher(expandValues(sql)).replaceAll("(?)");
+        List<String> lines = new ArrayList<>();
+        Map<Integer, Integer> depths = new HashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN QUERY PLAN " + explainable)) {
+            ParameterMetaData parameters = stmt.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                stmt.setObject(i, null);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                    depths.put(id, depth);
+                    lines.add("  ".repeat(depth) + rs.getString("detail"));
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Restores one row of placeholders per INSERT column list
+     */
+    private static String expandValues(String sql) {
+        Matcher matcher = COLLAPSED_VALUES.matcher(sql);
+        StringBuffer expanded = new StringBuffer();
+        while (matcher.find()) {
+            int columns = matcher.group(1).split(",").length;
+            String row = String.join(", ", Collections.nCopies(columns, "?"));
+            matcher.appendReplacement(expanded, Matcher.quoteReplacement("(" + matcher.group(1) + ") VALUES (" + row + ")"));
+        }
+        matcher.appendTail(expanded);
+        return expanded.toString();
+    }
+
+    /**
+     * Lists hot statements whose plan reads a whole table, or sorts all matches to return a page
+     * @return One line per offending plan step, empty if every hot statement uses an index
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (!entry.hot) {
+                continue;
+            }
+            for (String line : entry.plan) {
+                String detail = line.trim();
+                if (TABLE_SCAN.matcher(detail).matches()
+                        || (detail.equals(TEMP_SORT) && entry.sql.contains(" LIMIT "))) {
+                    violations.add(detail + " in " + String.join(", ", entry.steps) + ": " + entry.sql);
+                }
+            }
+        }
+        return violations;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    String render() {
+        StringBuilder text = new StringBuilder();
+        text.append("# Query plans of every DAO statement, written by QueryPlanCheck.\n");
+        text.append("# Regenerate with: mvn -P queryplans verify -Dqueryplans.args=--update\n");
+        for (Entry entry : entries.values()) {
+            text.append('\n');
+            text.append(entry.hot ? "[hot] " : "[cold] ").append(String.join(", ", entry.steps)).append('\n');
+            text.append(entry.sql).append('\n');
+            for (String line : entry.plan) {
+                text.append("  ").append(line).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, render().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compares this snapshot with a committed one line by line
+     * @return Lines added (+) and removed (-) relative to the committed file, empty if identical
+     */
+    List<String> diff(Path committed) throws IOException {
+        List<String> expected = new ArrayList<>(List.of(
+            new String(Files.readAllBytes(committed), StandardCharsets.UTF_8).replace("\r\n", "\n").split("\n")));
+        List<String> actual = new ArrayList<>(List.of(render().split("\n")));
+        List<String> removed = new ArrayList<>(expected);
+        actual.forEach(removed::remove);
+        List<String> added = new ArrayList<>(actual);
+        expected.forEach(added::remove);
+
+        List<String> changes = new ArrayList<>();
+        removed.forEach(line -> changes.add("- " + line));
+        added.forEach(line -> changes.add("+ " + line));
+        return changes;
+    }
+
+    private static final class Entry {
+        final String sql;
+        final List<String> plan;
+        final List<String> steps = new ArrayList<>();
+        boolean hot;
+
+        Entry(String sql, List<String> plan) {
+            this.sql = sql;
+            this.plan = plan;
+        }
+    }
+}
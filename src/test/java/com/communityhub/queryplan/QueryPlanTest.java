@@ -0,0 +1,30 @@
+package com.communityhub.queryplan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs QueryPlanCheck against the committed snapshot on a small dataset
+ * Plans do not depend on row counts, so a few thousand requests cover the same statements as
+ * the 100k-request run of the queryplans profile in a fraction of the time.
+ */
+class QueryPlanTest {
+
+    @Test
+    void hotQueriesUseIndexesAndPlansMatchTheSnapshot() throws Exception {
+        Map<String, String> options = new HashMap<>();
+        options.put("users", "200");
+        options.put("resources", "300");
+        options.put("requests", "3000");
+        options.put("feedback", "500");
+
+        List<String> problems = QueryPlanCheck.check(options);
+
+        assertTrue(problems.isEmpty(), String.join("\n", problems));
+    }
+}
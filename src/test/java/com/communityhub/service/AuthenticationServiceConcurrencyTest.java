@@ -0,0 +1,119 @@
+package com.communityhub.service;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.core.Constants;
+import com.communityhub.exception.AuthenticationException;
+import com.communityhub.model.User;
+import com.communityhub.model.UserRole;
+import com.communityhub.util.DBConnection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lockout semantics of AuthenticationService.login under concurrent attempts for one username
+ */
+class AuthenticationServiceConcurrencyTest {
+
+    private static final String PASSWORD = "Str0ngPassw0rd!";
+    private static final int THREADS = 20;
+
+    private static Path database;
+    private static AuthenticationService authService;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        database = Files.createTempFile("auth-concurrency-", ".db");
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("db.url", "jdbc:sqlite:" + database.toAbsolutePath());
+        // Enough work per hash that the concurrent attempts overlap, without slowing the build
+        config.setProperty("security.password.pbkdf2.iterations", "20000");
+        DBConnection.getInstance().initializeDatabase();
+
+        authService = new AuthenticationService();
+        authService.register("wrongguess", "wrongguess@example.org", PASSWORD, PASSWORD, UserRole.REQUESTER);
+        authService.register("rushhour", "rushhour@example.org", PASSWORD, PASSWORD, UserRole.REQUESTER);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        DBConnection.getInstance().closeConnection();
+        Files.deleteIfExists(database);
+    }
+
+    @Test
+    void concurrentWrongPasswordsAreEvaluatedExactlyMaxAttemptsTimes() throws Exception {
+        Map<String, AtomicInteger> errors = loginConcurrently("wrongguess", "not-the-password");
+
+        assertEquals(Constants.Security.MAX_LOGIN_ATTEMPTS, count(errors, "AUTH_FAILED"),
+                     "password checks before the lockout: " + errors);
+        assertEquals(THREADS - Constants.Security.MAX_LOGIN_ATTEMPTS, count(errors, "ACCOUNT_LOCKED"),
+                     "attempts refused by the lockout: " + errors);
+
+        AuthenticationException locked = assertThrows(AuthenticationException.class,
+            () -> authService.login("wrongguess", PASSWORD));
+        assertEquals("ACCOUNT_LOCKED", locked.getErrorCode());
+    }
+
+    @Test
+    void concurrentValidLoginsAreNeverReportedAsLocked() throws Exception {
+        Map<String, AtomicInteger> errors = loginConcurrently("rushhour", PASSWORD);
+
+        assertEquals(THREADS, count(errors, "OK"), "outcomes: " + errors);
+        assertNotNull(authService.login("rushhour", PASSWORD));
+    }
+
+    /**
+     * Starts THREADS logins at once and counts their outcomes by error code ("OK" for success)
+     */
+    private static Map<String, AtomicInteger> loginConcurrently(String username, String password) throws Exception {
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    String outcome;
+                    try {
+                        User user = authService.login(username, password);
+                        outcome = user != null ? "OK" : "NULL";
+                    } catch (AuthenticationException e) {
+                        outcome = e.getErrorCode();
+                    }
+                    outcomes.computeIfAbsent(outcome, key -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return outcomes;
+    }
+
+    private static int count(Map<String, AtomicInteger> outcomes, String outcome) {
+        AtomicInteger count = outcomes.get(outcome);
+        return count != null ? count.get() : 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.communityhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Failure counting and eviction of LoginAttemptTracker
+ */
+class LoginAttemptTrackerTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void recordedFailuresLockTheKeyWithoutReservations() {
+        LoginAttemptTracker tracker = new LoginAttemptTracker(64, 3, MINUTE, MINUTE);
+
+        assertEquals(1, tracker.recordFailure("10.0.0.1"));
+        assertEquals(2, tracker.recordFailure("10.0.0.1"));
+        assertFalse(tracker.isLocked("10.0.0.1"));
+        assertEquals(3, tracker.recordFailure("10.0.0.1"));
+
+        assertTrue(tracker.isLocked("10.0.0.1"));
+        assertFalse(tracker.tryBegin("10.0.0.1"));
+        assertFalse(tracker.isLocked("10.0.0.2"));
+    }
+
+    @Test
+    void floodOfOneOffKeysEvictsThemBeforeAnAccountWithMoreFailures() {
+        // A single set of eight slots, so every key competes for the same ones
+        LoginAttemptTracker tracker = new LoginAttemptTracker(8, 5, MINUTE, MINUTE);
+        assertEquals(8, tracker.getCapacity());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(tracker.tryBegin("alice"));
+            tracker.finish("alice", LoginAttemptTracker.Outcome.FAILURE);
+        }
+        for (int i = 0; i < 1000; i++) {
+            String randomName = "user" + i;
+            assertTrue(tracker.tryBegin(randomName));
+            tracker.finish(randomName, LoginAttemptTracker.Outcome.FAILURE);
+        }
+
+        assertTrue(tracker.tryBegin("alice"));
+        assertEquals(4, tracker.finish("alice", LoginAttemptTracker.Outcome.FAILURE),
+                     "alice's earlier failures were evicted by the flood");
+    }
+
+    @Test
+    void lockoutSurvivesASetFullOfLockedKeys() {
+        // A single set of eight slots: lock every one of them, the victim first
+        LoginAttemptTracker tracker = new LoginAttemptTracker(8, 3, MINUTE, MINUTE);
+        lock(tracker, "victim");
+        for (int i = 0; i < 7; i++) {
+            lock(tracker, "filler" + i);
+        }
+
+        assertFalse(tracker.tryBegin("attacker-new"), "a new key was given a locked key's slot");
+        assertTrue(tracker.isLocked("attacker-new"), "an untrackable key must fail closed");
+        assertEquals(3, tracker.recordFailure("attacker-new"));
+
+        assertTrue(tracker.isLocked("victim"));
+        assertFalse(tracker.tryBegin("victim"));
+    }
+
+    @Test
+    void inFlightReservationSurvivesASetFullOfLockedKeys() {
+        LoginAttemptTracker tracker = new LoginAttemptTracker(8, 3, MINUTE, MINUTE);
+        assertTrue(tracker.tryBegin("pending"));
+        for (int i = 0; i < 7; i++) {
+            lock(tracker, "filler" + i);
+        }
+
+        assertFalse(tracker.tryBegin("attacker-new"));
+        assertEquals(1, tracker.finish("pending", LoginAttemptTracker.Outcome.FAILURE),
+                     "the pending attempt's slot was evicted");
+
+        // Idle again, so a new key may now take it over
+        assertTrue(tracker.tryBegin("attacker-new"));
+    }
+
+    @Test
+    void successClearsFailures() {
+        LoginAttemptTracker tracker = new LoginAttemptTracker(64, 3, MINUTE, MINUTE);
+
+        assertTrue(tracker.tryBegin("bob"));
+        tracker.finish("bob", LoginAttemptTracker.Outcome.FAILURE);
+        assertTrue(tracker.tryBegin("bob"));
+        assertEquals(0, tracker.finish("bob", LoginAttemptTracker.Outcome.SUCCESS));
+    }
+
+    private static void lock(LoginAttemptTracker tracker, String key) {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(tracker.tryBegin(key));
+            tracker.finish(key, LoginAttemptTracker.Outcome.FAILURE);
+        }
+        assertTrue(tracker.isLocked(key));
+    }
+}
@@ -0,0 +1,292 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.dao.ResourceDAO;
+import com.communityhub.dao.UserDAO;
+import com.communityhub.model.Requester;
+import com.communityhub.model.Resource;
+import com.communityhub.model.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Read routing between a SQLite primary and replica files copied from it
+ *
+ * The copies tell the connections apart: the primary gains a resource after the copies are
+ * taken and replica r2 loses one, so ResourceDAO.count() shows which database served a read
+ * (the replicated count on r1 and r3, one less on r2, one more on the primary).
+ * Replica r3 starts out missing and is created by a test.
+ */
+class ReplicaRouterTest {
+
+    private static final long STICKY_MS = 500;
+    private static final long WAIT_MS = 5000;
+
+    private static Path directory;
+    private static ResourceDAO resourceDAO;
+    private static long replicated;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        directory = Files.createTempDirectory("replica-router-");
+        Path primary = directory.resolve("primary.db");
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("db.url", "jdbc:sqlite:" + primary);
+        config.setProperty("db.replica.urls", replicaUrl("r1") + "," + replicaUrl("r2") + "," + replicaUrl("r3"));
+        config.setProperty("db.replica.pool.size", "1");
+        config.setProperty("db.replica.health.interval.ms", "100");
+        config.setProperty("db.replica.sticky.ms", String.valueOf(STICKY_MS));
+        DBConnection.getInstance().initializeDatabase();
+
+        User owner = new Requester("replicaowner", "replicaowner@example.org", "unused");
+        new UserDAO().create(owner);
+        resourceDAO = new ResourceDAO();
+        resourceDAO.create(resource("Blankets", owner));
+        // The schema seeds sample resources; no request context, so this reads the primary
+        replicated = resourceDAO.count();
+
+        copyPrimaryTo("r1");
+        copyPrimaryTo("r2");
+        try (Connection r2 = DriverManager.getConnection(replicaUrl("r2"));
+             Statement statement = r2.createStatement()) {
+            statement.executeUpdate("DELETE FROM resources WHERE name = 'Blankets'");
+        }
+        // Written after the copies, so only the primary has it
+        resourceDAO.create(resource("Not yet replicated", owner));
+
+        ReplicaRouter.getInstance();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        ReplicaRouter.shutdownIfStarted();
+        DBConnection.getInstance().closeConnection();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @AfterEach
+    void clearContext() {
+        RequestContext.clear();
+    }
+
+    @Test
+    void getReadsAreSpreadRoundRobinOverReplicas() throws Exception {
+        beginRequest(true, "reader");
+
+        Set<Long> counts = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            counts.add(resourceDAO.count());
+        }
+
+        assertFalse(counts.contains(replicated + 1), "a GET read saw the unreplicated row: " + counts);
+        assertTrue(counts.contains(replicated) && counts.contains(replicated - 1),
+                   "reads did not alternate between r1 and r2: " + counts);
+    }
+
+    @Test
+    void postReadsAndBackgroundReadsGoToThePrimary() throws Exception {
+        beginRequest(false, "poster");
+        assertEquals(replicated + 1, resourceDAO.count());
+
+        RequestContext.clear();
+        assertEquals(replicated + 1, resourceDAO.count());
+    }
+
+    @Test
+    void readsUnderTheTransactionLockGoToThePrimary() throws Exception {
+        beginRequest(true, "reader");
+        ReentrantLock transactionLock = DBConnection.getInstance().getTransactionLock();
+        transactionLock.lock();
+        try {
+            assertEquals(replicated + 1, resourceDAO.count());
+        } finally {
+            transactionLock.unlock();
+        }
+        assertNotEquals(replicated + 1, resourceDAO.count());
+    }
+
+    @Test
+    void userIsStickyToThePrimaryAfterAWrite() throws Exception {
+        ReplicaRouter.recordWrite("writer");
+        long recordedAt = System.currentTimeMillis();
+
+        beginRequest(true, "writer");
+        assertEquals(replicated + 1, resourceDAO.count());
+        RequestContext.setUserId("bystander");
+        assertNotEquals(replicated + 1, resourceDAO.count(), "stickiness applies to the writer only");
+
+        RequestContext.setUserId("writer");
+        Thread.sleep(Math.max(0, recordedAt + STICKY_MS + 50 - System.currentTimeMillis()));
+        assertNotEquals(replicated + 1, resourceDAO.count(), "still sticky after db.replica.sticky.ms");
+    }
+
+    @Test
+    void replicaThatComesUpLaterJoinsTheRotation() throws Exception {
+        assertFalse(Files.exists(replicaFile("r3")));
+        assertEquals(2, healthyReplicas(), "a replica that cannot be opened is not counted");
+
+        // Nothing writes to r1, so a file copy is a consistent snapshot of it
+        Files.createDirectories(replicaFile("r3").getParent());
+        Files.copy(replicaFile("r1"), replicaFile("r3"));
+        awaitHealthy(3);
+    }
+
+    @Test
+    void failedReplicaIsSkippedUntilItReconnects() throws Exception {
+        beginRequest(true, "reader");
+        int before = healthyReplicas();
+
+        // r2 is the only replica that answers replicated - 1
+        Connection r2 = routedConnectionCounting(replicated - 1);
+        takeOffline("r2");
+        try {
+            r2.close();
+            awaitHealthy(before - 1);
+
+            for (int i = 0; i < 6; i++) {
+                assertEquals(replicated, resourceDAO.count(), "read served by the failed replica or the primary");
+            }
+        } finally {
+            bringOnline("r2");
+        }
+        awaitHealthy(before);
+        routedConnectionCounting(replicated - 1);
+    }
+
+    @Test
+    void primaryServesGetReadsWhenNoReplicaIsHealthy() throws Exception {
+        beginRequest(true, "reader");
+        int before = healthyReplicas();
+
+        List<String> offline = new ArrayList<>();
+        for (String name : new String[] {"r1", "r2", "r3"}) {
+            if (Files.exists(replicaFile(name))) {
+                takeOffline(name);
+                offline.add(name);
+            }
+        }
+        try {
+            Set<Connection> routed = new HashSet<>();
+            for (int i = 0; i < 10; i++) {
+                routed.add(ReplicaRouter.routeRead("ResourceDAO"));
+            }
+            for (Connection connection : routed) {
+                connection.close();
+            }
+            awaitHealthy(0);
+
+            assertEquals(replicated + 1, resourceDAO.count());
+        } finally {
+            for (String name : offline) {
+                bringOnline(name);
+            }
+        }
+        awaitHealthy(before);
+        assertNotEquals(replicated + 1, resourceDAO.count());
+    }
+
+    private static void beginRequest(boolean readOnly, String userId) {
+        RequestContext.initialize();
+        RequestContext.setReadOnly(readOnly);
+        RequestContext.setUserId(userId);
+    }
+
+    private static Resource resource(String name, User owner) {
+        return new Resource(name, "Warm blankets", "Clothing", 10, "Depot", "depot@example.org", owner.getUserId());
+    }
+
+    private static Path replicaFile(String name) {
+        return directory.resolve(name).resolve("replica.db");
+    }
+
+    private static String replicaUrl(String name) {
+        return "jdbc:sqlite:" + replicaFile(name);
+    }
+
+    private static void copyPrimaryTo(String name) throws Exception {
+        Files.createDirectories(replicaFile(name).getParent());
+        try (Connection primary = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("primary.db"));
+             Statement statement = primary.createStatement()) {
+            statement.execute("VACUUM INTO '" + replicaFile(name) + "'");
+        }
+    }
+
+    /**
+     * Moves a replica's directory away so reconnecting to it fails
+     */
+    private static void takeOffline(String name) throws Exception {
+        Files.move(replicaFile(name).getParent(), directory.resolve(name + "-offline"));
+    }
+
+    private static void bringOnline(String name) throws Exception {
+        Files.move(directory.resolve(name + "-offline"), replicaFile(name).getParent());
+    }
+
+    /**
+     * Gets the routed replica connection whose resource count is the given value
+     */
+    private static Connection routedConnectionCounting(long expected) throws Exception {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            Connection connection = ReplicaRouter.routeRead("ResourceDAO");
+            if (connection != null) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM resources")) {
+                    if (rs.next() && rs.getLong(1) == expected) {
+                        return connection;
+                    }
+                }
+            }
+        }
+        return fail("no replica connection counts " + expected + " resources");
+    }
+
+    private static void awaitHealthy(int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (healthyReplicas() != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("db_replicas_healthy is " + healthyReplicas() + ", expected " + expected);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static int healthyReplicas() throws IOException {
+        StringWriter out = new StringWriter();
+        MetricsRegistry.getInstance().writePrometheus(out);
+        for (String line : out.toString().split("\n")) {
+            if (line.startsWith("db_replicas_healthy ")) {
+                return (int) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        throw new IllegalStateException("db_replicas_healthy is not registered");
+    }
+}
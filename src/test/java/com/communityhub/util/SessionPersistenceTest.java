@@ -0,0 +1,108 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.model.Requester;
+import com.communityhub.model.SessionRecord;
+import com.communityhub.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two SessionPersistence nodes sharing one SQLite session store
+ * Flushes are triggered by hand; the background flush interval is set out of reach.
+ */
+class SessionPersistenceTest {
+
+    private Path storeFile;
+    private SqliteSessionStore storeA;
+    private SqliteSessionStore storeB;
+    private SessionPersistence nodeA;
+    private SessionPersistence nodeB;
+    private final User user = new Requester("sessionuser", "sessionuser@example.org", "unused");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("session.store.flush.ms", "3600000");
+        config.setProperty("session.store.revalidate.ms", "0");
+        config.setProperty("session.store.touch.interval.ms", "0");
+
+        storeFile = Files.createTempFile("sessions-", ".db");
+        storeA = new SqliteSessionStore(storeFile.toString());
+        storeB = new SqliteSessionStore(storeFile.toString());
+        nodeA = new SessionPersistence(storeA);
+        nodeB = new SessionPersistence(storeB);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storeA.close();
+        storeB.close();
+        Files.deleteIfExists(storeFile);
+        Files.deleteIfExists(Path.of(storeFile + "-wal"));
+        Files.deleteIfExists(Path.of(storeFile + "-shm"));
+    }
+
+    @Test
+    void loginOnOneNodeIsRestoredOnTheOther() throws Exception {
+        String sessionKey = nodeA.create(user);
+        assertNull(nodeB.get(sessionKey), "visible before the insert is flushed");
+
+        nodeA.flush();
+        SessionRecord restored = nodeB.get(sessionKey);
+        assertNotNull(restored);
+        assertEquals(user.getUserId(), restored.getUserId());
+    }
+
+    @Test
+    void logoutOnOneNodeEndsTheCachedSessionOnTheOther() throws Exception {
+        String sessionKey = nodeA.create(user);
+        nodeA.flush();
+        assertNotNull(nodeB.get(sessionKey));
+
+        nodeA.remove(sessionKey);
+        nodeA.flush();
+
+        assertNull(nodeB.get(sessionKey));
+    }
+
+    @Test
+    void pendingTouchDoesNotResurrectASessionDeletedElsewhere() throws Exception {
+        String sessionKey = nodeA.create(user);
+        nodeA.flush();
+        assertNotNull(nodeB.get(sessionKey));
+
+        // Node B records activity, then node A logs the session out before B flushes it
+        Thread.sleep(2);
+        nodeB.touch(sessionKey);
+        nodeA.remove(sessionKey);
+        nodeA.flush();
+        nodeB.flush();
+
+        assertNull(storeA.load(sessionKey), "touch flush re-inserted a logged-out session");
+        assertNull(nodeB.get(sessionKey));
+    }
+
+    @Test
+    void touchesMoveLastAccessForwardForOtherNodes() throws Exception {
+        String sessionKey = nodeA.create(user);
+        nodeA.flush();
+        long created = nodeB.get(sessionKey).getLastAccessAt();
+
+        Thread.sleep(5);
+        nodeA.touch(sessionKey);
+        nodeA.flush();
+
+        assertEquals(storeA.load(sessionKey).getLastAccessAt(), nodeB.get(sessionKey).getLastAccessAt());
+        assertTrue(nodeB.get(sessionKey).getLastAccessAt() > created);
+    }
+}
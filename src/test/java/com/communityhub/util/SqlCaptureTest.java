@@ -0,0 +1,150 @@
+package com.communityhub.util;
+
+import com.communityhub.core.ConfigurationManager;
+import com.communityhub.dao.UserDAO;
+import com.communityhub.model.Requester;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SqlCapture assertions over statements run against a temporary SQLite database
+ * Covers both DAO connections (TimedConnection) and the raw connection from DBConnection.
+ */
+class SqlCaptureTest {
+
+    private static final int USERS = 6;
+
+    private static Path database;
+    private static UserDAO userDAO;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        database = Files.createTempFile("sql-capture-", ".db");
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("db.url", "jdbc:sqlite:" + database.toAbsolutePath());
+        config.setProperty("db.profiling.enabled", "true");
+        DBConnection.getInstance().initializeDatabase();
+
+        userDAO = new UserDAO();
+        for (int i = 0; i < USERS; i++) {
+            userDAO.create(new Requester("capture" + i, "capture" + i + "@example.org", "unused"));
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        DBConnection.getInstance().closeConnection();
+        Files.deleteIfExists(database);
+    }
+
+    @Test
+    void normalizeReplacesLiteralsAndCollapsesLists() {
+        assertEquals("SELECT * FROM users WHERE username = ? AND age > ?",
+                     SqlProfiler.normalize("SELECT *\n  FROM users WHERE username = 'o''brien' AND age >  42"));
+        assertEquals("SELECT * FROM users WHERE user_id IN (?...)",
+                     SqlProfiler.normalize("SELECT * FROM users WHERE user_id IN (?, ?, ?)"));
+        assertEquals(SqlProfiler.normalize("SELECT * FROM users WHERE user_id IN (1, 2)"),
+                     SqlProfiler.normalize("SELECT * FROM users WHERE user_id IN ('a', 'b', 'c', 'd')"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?...), ...",
+                     SqlProfiler.normalize("INSERT INTO t (a, b) VALUES (1, 'x'), (2, 'y'), (3, 'z')"));
+        assertEquals("SELECT col1 FROM t2", SqlProfiler.normalize("SELECT col1 FROM t2"),
+                     "digits inside identifiers are not literals");
+    }
+
+    @Test
+    void lookupPerRowIsReportedAsNPlusOne() throws Exception {
+        try (SqlCapture capture = SqlCapture.start()) {
+            for (int i = 0; i < USERS; i++) {
+                assertNotNull(userDAO.findByUsername("capture" + i));
+            }
+
+            assertEquals(USERS, capture.getExecutionCount("FROM users"));
+            capture.assertNoNPlusOne(USERS);
+            AssertionError error = assertThrows(AssertionError.class, () -> capture.assertNoNPlusOne(USERS - 1));
+            assertTrue(error.getMessage().contains(USERS + "x "), error.getMessage());
+            capture.assertExecutionsAtMost("FROM users", USERS);
+            assertThrows(AssertionError.class, () -> capture.assertExecutionsAtMost("FROM users", 1));
+        }
+    }
+
+    @Test
+    void repeatingOneParameterSetIsNotNPlusOne() throws Exception {
+        try (SqlCapture capture = SqlCapture.start()) {
+            for (int i = 0; i < USERS; i++) {
+                userDAO.findByUsername("capture0");
+            }
+
+            capture.assertNoNPlusOne(1);
+            assertThrows(AssertionError.class, () -> capture.assertExecutionsAtMost(USERS - 1));
+        }
+    }
+
+    @Test
+    void inListsOfAnySizeCountAsOneStatement() throws Exception {
+        Connection connection = DBConnection.getInstance().getConnection();
+        try (SqlCapture capture = SqlCapture.start()) {
+            for (int size = 1; size <= 3; size++) {
+                StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM users WHERE username IN (?");
+                for (int i = 1; i < size; i++) {
+                    sql.append(", ?");
+                }
+                try (PreparedStatement statement = connection.prepareStatement(sql.append(')').toString())) {
+                    for (int i = 0; i < size; i++) {
+                        statement.setString(i + 1, "capture" + i);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        assertTrue(resultSet.next());
+                        assertEquals(size, resultSet.getInt(1));
+                    }
+                }
+            }
+
+            // A single-element list is not a list to the normalizer
+            assertEquals(2, capture.getExecutionCount("IN (?...)"), capture.getExecutions().toString());
+            assertEquals(2, capture.getExecutions().size(), capture.getExecutions().toString());
+        }
+    }
+
+    @Test
+    void literalsInPlainStatementsShareOneKey() throws Exception {
+        Connection connection = DBConnection.getInstance().getConnection();
+        try (SqlCapture capture = SqlCapture.start();
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 3; i++) {
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT user_id FROM users WHERE username = 'capture" + i + "'")) {
+                    assertTrue(resultSet.next());
+                }
+            }
+
+            assertEquals(1, capture.getExecutions().size(), capture.getExecutions().toString());
+            assertEquals(3, capture.getExecutionCount("WHERE username = ?"));
+            assertThrows(AssertionError.class, () -> capture.assertNoNPlusOne(2));
+        }
+    }
+
+    @Test
+    void nestedCapturesAlsoRecordIntoTheOuterOne() throws Exception {
+        try (SqlCapture outer = SqlCapture.start()) {
+            userDAO.count();
+            try (SqlCapture inner = SqlCapture.start()) {
+                userDAO.count();
+                inner.assertExecutionsAtMost(1);
+            }
+            assertEquals(2, outer.getExecutionCount());
+        }
+    }
+}